@@ -0,0 +1,34 @@
+package com.example.questionbank.config.search;
+
+import com.example.questionbank.search.TextAnalyzer;
+import com.example.questionbank.search.analysis.ArabicScriptFoldingFilter;
+import com.example.questionbank.search.analysis.DiacriticFoldingFilter;
+import com.example.questionbank.search.analysis.EnglishMinimalStemmer;
+import com.example.questionbank.search.analysis.FormulaAwareTextAnalyzer;
+import com.example.questionbank.search.analysis.FormulaNormalizer;
+import com.example.questionbank.search.analysis.IcuTextAnalyzer;
+import com.example.questionbank.search.analysis.ScriptStemmingFilter;
+import com.example.questionbank.search.analysis.UrduLightStemmer;
+import com.ibm.icu.lang.UScript;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class SearchConfig {
+
+    // Shared by indexing and querying; changing the chain requires an index rebuild
+    @Bean
+    public TextAnalyzer textAnalyzer() {
+        TextAnalyzer wordAnalyzer = new IcuTextAnalyzer(List.of(
+                // Before script folding, so hamza carriers decompose to their base letters first
+                new DiacriticFoldingFilter(),
+                new ArabicScriptFoldingFilter(),
+                new ScriptStemmingFilter(Map.of(
+                        UScript.LATIN, new EnglishMinimalStemmer(),
+                        UScript.ARABIC, new UrduLightStemmer()))));
+        return new FormulaAwareTextAnalyzer(wordAnalyzer, new FormulaNormalizer());
+    }
+}
@@ -4,7 +4,9 @@ import com.example.questionbank.dto.request.CreateClassRequestDTO;
 import com.example.questionbank.dto.request.UpdateClassRequestDTO;
 import com.example.questionbank.dto.response.ClassResponseDTO;
 import com.example.questionbank.dto.response.ClassSummaryDTO;
+import com.example.questionbank.dto.response.HierarchyCacheStatsDTO;
 import com.example.questionbank.service.ClassService;
+import com.example.questionbank.service.HierarchyCacheService;
 import io.swagger.annotations.*;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
@@ -32,6 +34,9 @@ public class ClassController {
     @Autowired
     private ClassService classService;
 
+    @Autowired
+    private HierarchyCacheService hierarchyCacheService;
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @ApiOperation(
@@ -255,4 +260,29 @@ public class ClassController {
         boolean exists = classService.existsByName(name);
         return ResponseEntity.ok(exists);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/hierarchy-cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(
+            value = "Get hierarchy cache statistics",
+            notes = "Size and hit/miss counts of the in-memory class/subject/chapter cache (Admin only)",
+            response = HierarchyCacheStatsDTO.class
+    )
+    public ResponseEntity<HierarchyCacheStatsDTO> getHierarchyCacheStats() {
+        log.debug("Request to get hierarchy cache statistics");
+        return ResponseEntity.ok(hierarchyCacheService.getStats());
+    }
+
+    @PostMapping("/hierarchy-cache/reload")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(
+            value = "Reload hierarchy cache",
+            notes = "Reload the in-memory class/subject/chapter cache after changes made outside the API (Admin only)",
+            response = HierarchyCacheStatsDTO.class
+    )
+    public ResponseEntity<HierarchyCacheStatsDTO> reloadHierarchyCache() {
+        log.info("Request to reload hierarchy cache");
+        hierarchyCacheService.reload();
+        return ResponseEntity.ok(hierarchyCacheService.getStats());
+    }
+}
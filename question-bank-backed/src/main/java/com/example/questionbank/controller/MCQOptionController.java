@@ -2,6 +2,7 @@ package com.example.questionbank.controller;
 
 import com.example.questionbank.dto.request.CreateMCQOptionRequestDTO;
 import com.example.questionbank.dto.request.UpdateMCQOptionRequestDTO;
+import com.example.questionbank.dto.response.BulkUpdateResultDTO;
 import com.example.questionbank.dto.response.MCQOptionResponseDTO;
 import com.example.questionbank.service.MCQOptionService;
 import io.swagger.annotations.*;
@@ -178,21 +179,25 @@ public class MCQOptionController {
     @PreAuthorize("hasRole('ADMIN')")
     @ApiOperation(
             value = "Delete multiple MCQ options",
-            notes = "Delete multiple MCQ options by IDs"
+            notes = "Soft delete multiple MCQ options by IDs; returns how many were deleted",
+            response = BulkUpdateResultDTO.class
     )
     @ApiResponses(value = {
-            @ApiResponse(code = 204, message = "MCQ options deleted successfully"),
+            @ApiResponse(code = 200, message = "MCQ options deleted successfully", response = BulkUpdateResultDTO.class),
             @ApiResponse(code = 401, message = "Unauthorized"),
             @ApiResponse(code = 403, message = "Access denied"),
             @ApiResponse(code = 500, message = "Internal server error")
     })
-    public ResponseEntity<Void> deleteMCQOptionsByIds(
+    public ResponseEntity<BulkUpdateResultDTO> deleteMCQOptionsByIds(
             @ApiParam(value = "List of MCQ option IDs", required = true)
             @RequestBody List<Long> ids) {
 
         log.info("Request to delete {} MCQ options in bulk", ids.size());
-        mcqOptionService.deleteMCQOptionsByIds(ids);
-        return ResponseEntity.noContent().build();
+        int updated = mcqOptionService.deleteMCQOptionsByIds(ids);
+        return ResponseEntity.ok(BulkUpdateResultDTO.builder()
+                .requestedCount((int) ids.stream().distinct().count())
+                .updatedCount(updated)
+                .build());
     }
 
     // ============ QUESTION-BASED OPERATIONS ============
@@ -571,17 +576,19 @@ public class MCQOptionController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @ApiOperation(
             value = "Set multiple correct options",
-            notes = "Set multiple options as correct for a question"
+            notes = "Set multiple options as correct for a question and the rest as incorrect; " +
+                    "returns how many options changed",
+            response = BulkUpdateResultDTO.class
     )
-    public ResponseEntity<Void> setMultipleCorrectOptions(
+    public ResponseEntity<BulkUpdateResultDTO> setMultipleCorrectOptions(
             @ApiParam(value = "Question ID", required = true)
             @PathVariable Long questionId,
             @ApiParam(value = "List of option IDs to mark as correct", required = true)
             @RequestBody List<Long> optionIds) {
 
         log.info("Request to set multiple correct options for question {}: {}", questionId, optionIds);
-        mcqOptionService.setMultipleCorrectOptions(questionId, optionIds);
-        return ResponseEntity.ok().build();
+        int updated = mcqOptionService.setMultipleCorrectOptions(questionId, optionIds);
+        return ResponseEntity.ok(BulkUpdateResultDTO.builder().updatedCount(updated).build());
     }
 
     @PatchMapping("/question/{questionId}/reorder")
@@ -637,29 +644,32 @@ public class MCQOptionController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @ApiOperation(
             value = "Activate all options for question",
-            notes = "Activate all MCQ options for a specific question"
+            notes = "Activate all MCQ options for a specific question; returns how many were inactive",
+            response = BulkUpdateResultDTO.class
     )
-    public ResponseEntity<Void> activateAllOptionsForQuestion(
+    public ResponseEntity<BulkUpdateResultDTO> activateAllOptionsForQuestion(
             @ApiParam(value = "Question ID", required = true)
             @PathVariable Long questionId) {
 
         log.info("Request to activate all options for question: {}", questionId);
-        mcqOptionService.activateAllOptionsForQuestion(questionId);
-        return ResponseEntity.ok().build();
+        int updated = mcqOptionService.activateAllOptionsForQuestion(questionId);
+        return ResponseEntity.ok(BulkUpdateResultDTO.builder().updatedCount(updated).build());
     }
 
     @PatchMapping("/question/{questionId}/deactivate-all")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @ApiOperation(
-            value = "Deactivate all options for question",notes = "Deactivate all MCQ options for a specific question"
+            value = "Deactivate all options for question",
+            notes = "Deactivate all MCQ options for a specific question; returns how many were active",
+            response = BulkUpdateResultDTO.class
     )
-    public ResponseEntity<Void> deactivateAllOptionsForQuestion(
+    public ResponseEntity<BulkUpdateResultDTO> deactivateAllOptionsForQuestion(
             @ApiParam(value = "Question ID", required = true)
             @PathVariable Long questionId) {
 
         log.info("Request to deactivate all options for question: {}", questionId);
-        mcqOptionService.deactivateAllOptionsForQuestion(questionId);
-        return ResponseEntity.ok().build();
+        int updated = mcqOptionService.deactivateAllOptionsForQuestion(questionId);
+        return ResponseEntity.ok(BulkUpdateResultDTO.builder().updatedCount(updated).build());
     }
 
     // ============ VALIDATION ENDPOINTS ============
@@ -0,0 +1,301 @@
+package com.example.questionbank.controller;
+
+import com.example.questionbank.dto.request.GeneratePaperRequestDTO;
+import com.example.questionbank.dto.request.PaperVariantsRequestDTO;
+import com.example.questionbank.dto.request.RenderPaperRequestDTO;
+import com.example.questionbank.dto.response.ArtifactCacheStatsDTO;
+import com.example.questionbank.dto.response.FormulaCacheStatsDTO;
+import com.example.questionbank.dto.response.GeneratedPaperDTO;
+import com.example.questionbank.dto.response.PaperDraftDTO;
+import com.example.questionbank.dto.response.PaperVariantSetDTO;
+import com.example.questionbank.dto.response.RenderJobDTO;
+import com.example.questionbank.service.FormulaRenderService;
+import com.example.questionbank.service.PaperDraftService;
+import com.example.questionbank.service.PaperGenerationService;
+import com.example.questionbank.service.PaperRenderService;
+import com.example.questionbank.service.PaperVariantService;
+import com.example.questionbank.service.RenderJobService;
+import com.example.questionbank.service.RenderedArtifactService;
+import com.example.questionbank.service.RenderedArtifactService.CachedArtifact;
+import com.example.questionbank.web.FileDownloads;
+import io.swagger.annotations.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/papers")
+@Api(tags = "Papers", description = "Question paper generation operations")
+public class PaperController {
+
+    private static final int MAX_WAIT_SECONDS = 30;
+
+    @Autowired
+    private PaperGenerationService paperGenerationService;
+
+    @Autowired
+    private PaperVariantService paperVariantService;
+
+    @Autowired
+    private PaperDraftService paperDraftService;
+
+    @Autowired
+    private RenderJobService renderJobService;
+
+    @Autowired
+    private PaperRenderService paperRenderService;
+
+    @Autowired
+    private RenderedArtifactService renderedArtifactService;
+
+    @Autowired
+    private FormulaRenderService formulaRenderService;
+
+    @PostMapping("/generate")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(
+            value = "Generate paper from blueprint",
+            notes = "Select questions matching section marks, difficulty distribution, chapter weights and time limit. " +
+                    "Pass the returned seed to regenerate the same paper.",
+            response = GeneratedPaperDTO.class
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Paper generated", response = GeneratedPaperDTO.class),
+            @ApiResponse(code = 400, message = "Invalid blueprint"),
+            @ApiResponse(code = 403, message = "Access denied - Admin/Teacher role required"),
+            @ApiResponse(code = 404, message = "Subject not found")
+    })
+    public ResponseEntity<GeneratedPaperDTO> generatePaper(
+            @ApiParam(value = "Paper blueprint", required = true)
+            @Valid @RequestBody GeneratePaperRequestDTO request) {
+
+        log.info("Request to generate paper for subject ID: {}", request.getSubjectId());
+        GeneratedPaperDTO paper = paperGenerationService.generatePaper(request);
+        return ResponseEntity.ok(paper);
+    }
+
+    @PostMapping("/variants")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(
+            value = "Generate paper variants",
+            notes = "Produce shuffled sets (A, B, C, ...) of one question set, each with its own answer key",
+            response = PaperVariantSetDTO.class
+    )
+    public ResponseEntity<PaperVariantSetDTO> generateVariants(
+            @ApiParam(value = "Questions and number of sets", required = true)
+            @Valid @RequestBody PaperVariantsRequestDTO request) {
+
+        log.info("Request to generate {} variants of {} questions",
+                request.getVariantCount(), request.getQuestionIds().size());
+        PaperVariantSetDTO variants = paperVariantService.generateVariants(request);
+        return ResponseEntity.ok(variants);
+    }
+
+    @PostMapping(value = "/variants/pdf", produces = "application/zip")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(
+            value = "Download paper variants as PDF",
+            notes = "Zip with one PDF per set and a CSV of the answer keys; sets are rendered in parallel"
+    )
+    public void downloadVariantPdfs(
+            @ApiParam(value = "Questions and number of sets", required = true)
+            @Valid @RequestBody PaperVariantsRequestDTO request,
+            HttpServletResponse response) throws IOException {
+
+        log.info("Request to render {} variants of {} questions",
+                request.getVariantCount(), request.getQuestionIds().size());
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"paper-variants.zip\"");
+        paperVariantService.writeVariantPdfs(request, response.getOutputStream());
+    }
+
+    @PostMapping("/render-jobs")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(
+            value = "Queue paper render",
+            notes = "Render a paper to PDF or DOCX in the background. Poll the returned job and download the document " +
+                    "when it is completed.",
+            response = RenderJobDTO.class
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "Render queued", response = RenderJobDTO.class),
+            @ApiResponse(code = 400, message = "Invalid request or unsupported format"),
+            @ApiResponse(code = 503, message = "Render queue is full, retry after the Retry-After delay")
+    })
+    public ResponseEntity<RenderJobDTO> submitRenderJob(
+            @ApiParam(value = "Questions and format", required = true)
+            @Valid @RequestBody RenderPaperRequestDTO request) {
+
+        log.info("Request to render {} questions as {}", request.getQuestionIds().size(), request.getFormat());
+        RenderJobDTO job = renderJobService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/papers/render-jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/render-jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(
+            value = "Get paper render status",
+            notes = "With waitSeconds, the response is held until the job finishes or the wait runs out",
+            response = RenderJobDTO.class
+    )
+    public CompletableFuture<RenderJobDTO> getRenderJob(
+            @ApiParam(value = "Render job ID", required = true)
+            @PathVariable Long jobId,
+            @ApiParam(value = "Seconds to wait for the job to finish, at most 30", defaultValue = "0")
+            @RequestParam(defaultValue = "0") int waitSeconds) {
+
+        log.debug("Request to get render job {} waiting up to {} s", jobId, waitSeconds);
+        return renderJobService.awaitJob(jobId, Duration.ofSeconds(Math.max(0, Math.min(waitSeconds, MAX_WAIT_SECONDS))));
+    }
+
+    @GetMapping("/render-jobs/{jobId}/artifact")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(value = "Download rendered paper", notes = "Only available once the job is completed")
+    public void downloadRenderArtifact(
+            @ApiParam(value = "Render job ID", required = true)
+            @PathVariable Long jobId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        log.info("Request to download render job {}", jobId);
+        RenderJobDTO job = renderJobService.getJob(jobId);
+        Path artifact = renderJobService.getArtifact(jobId);
+        FileDownloads.send(artifact, job.getFormat().getContentType(), artifact.getFileName().toString(), true,
+                request, response);
+    }
+
+    @PostMapping("/render")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(
+            value = "Render paper",
+            notes = "Render a paper and send the document. A paper rendered before from the same question versions " +
+                    "is served from the artifact cache. Use render jobs for large papers."
+    )
+    public void renderPaper(
+            @ApiParam(value = "Questions and format", required = true)
+            @Valid @RequestBody RenderPaperRequestDTO request,
+            HttpServletRequest httpRequest,
+            HttpServletResponse response) throws IOException {
+
+        log.info("Request to render {} questions as {}", request.getQuestionIds().size(), request.getFormat());
+        try (CachedArtifact document = paperRenderService.renderToArtifact(request.getQuestionIds(),
+                request.getTitle(), request.getFormat())) {
+            // No sendfile: the pin is released on return, before the container would read the file
+            FileDownloads.send(document.getFile(), request.getFormat().getContentType(),
+                    "paper." + request.getFormat().getExtension(), false, httpRequest, response);
+        }
+    }
+
+    @GetMapping("/artifact-cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(
+            value = "Get rendered paper cache statistics",
+            notes = "Size, hit ratio and evictions of the on-disk rendered paper cache (Admin only)",
+            response = ArtifactCacheStatsDTO.class
+    )
+    public ResponseEntity<ArtifactCacheStatsDTO> getArtifactCacheStats() {
+        log.debug("Request to get rendered paper cache stats");
+        return ResponseEntity.ok(renderedArtifactService.getStats());
+    }
+
+    @DeleteMapping("/artifact-cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Clear rendered paper cache", notes = "Delete every cached rendered paper (Admin only)")
+    public ResponseEntity<Void> clearArtifactCache() {
+        log.info("Request to clear rendered paper cache");
+        renderedArtifactService.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/formula-cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(
+            value = "Get formula image cache statistics",
+            notes = "Size and hit ratio of the cache of rendered LaTeX formulas (Admin only)",
+            response = FormulaCacheStatsDTO.class
+    )
+    public ResponseEntity<FormulaCacheStatsDTO> getFormulaCacheStats() {
+        log.debug("Request to get formula cache stats");
+        return ResponseEntity.ok(formulaRenderService.getStats());
+    }
+
+    @DeleteMapping("/formula-cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Clear formula image cache", notes = "Drop rendered formulas held in memory (Admin only)")
+    public ResponseEntity<Void> clearFormulaCache() {
+        log.info("Request to clear formula cache");
+        formulaRenderService.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/draft")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(
+            value = "Get paper draft",
+            notes = "Questions the current user has added to their paper, in paper order",
+            response = PaperDraftDTO.class
+    )
+    public ResponseEntity<PaperDraftDTO> getDraft() {
+        log.debug("Request to get paper draft");
+        return ResponseEntity.ok(paperDraftService.getDraft());
+    }
+
+    @PutMapping("/draft/order")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(
+            value = "Reorder paper draft",
+            notes = "Listed questions move to the front in the given order; the rest keep their relative order",
+            response = PaperDraftDTO.class
+    )
+    public ResponseEntity<PaperDraftDTO> reorderDraft(
+            @ApiParam(value = "Question IDs in paper order", required = true)
+            @RequestBody List<Long> questionIds) {
+
+        log.info("Request to reorder paper draft with {} questions", questionIds.size());
+        paperDraftService.reorder(questionIds);
+        return ResponseEntity.ok(paperDraftService.getDraft());
+    }
+
+    @PutMapping("/draft/questions/{questionId}/marks")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(
+            value = "Override question marks in paper draft",
+            notes = "Omit marks to go back to the question's own marks",
+            response = PaperDraftDTO.class
+    )
+    public ResponseEntity<PaperDraftDTO> setDraftMarks(
+            @ApiParam(value = "Question ID", required = true)
+            @PathVariable Long questionId,
+            @ApiParam(value = "Marks for this paper")
+            @RequestParam(required = false) Double marks) {
+
+        log.info("Request to set marks {} for question {} in paper draft", marks, questionId);
+        paperDraftService.setMarksOverride(questionId, marks);
+        return ResponseEntity.ok(paperDraftService.getDraft());
+    }
+
+    @DeleteMapping("/draft")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(value = "Clear paper draft", notes = "Remove every question from the current user's paper")
+    public ResponseEntity<Void> clearDraft() {
+        log.info("Request to clear paper draft");
+        paperDraftService.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
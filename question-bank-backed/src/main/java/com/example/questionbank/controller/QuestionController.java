@@ -2,10 +2,26 @@ package com.example.questionbank.controller;
 
 import com.example.questionbank.dto.request.CreateQuestionRequestDTO;
 import com.example.questionbank.dto.request.UpdateQuestionRequestDTO;
+import com.example.questionbank.dto.response.BulkIngestReportDTO;
+import com.example.questionbank.dto.response.BulkUpdateResultDTO;
+import com.example.questionbank.dto.response.CursorPageDTO;
+import com.example.questionbank.dto.response.DuplicateClusterDTO;
+import com.example.questionbank.dto.response.QuestionCounterReportDTO;
+import com.example.questionbank.dto.response.QuestionImportJobDTO;
 import com.example.questionbank.dto.response.QuestionResponseDTO;
+import com.example.questionbank.dto.response.SearchIndexStatsDTO;
 import com.example.questionbank.model.enums.SectionType;
 import com.example.questionbank.model.enums.QuestionType;
 import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.QuestionExportFormat;
+import com.example.questionbank.repository.pagination.CursorPageRequest;
+import com.example.questionbank.repository.pagination.KeysetOrder;
+import com.example.questionbank.service.NearDuplicateService;
+import com.example.questionbank.service.QuestionCounterService;
+import com.example.questionbank.service.QuestionExportService;
+import com.example.questionbank.service.QuestionImportService;
+import com.example.questionbank.service.QuestionIngestService;
+import com.example.questionbank.service.QuestionSearchService;
 import com.example.questionbank.service.QuestionService;
 import io.swagger.annotations.*;
 import lombok.extern.slf4j.Slf4j;
@@ -14,15 +30,21 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Slf4j
 @RestController
@@ -30,9 +52,29 @@ import java.util.Map;
 @Api(tags = "Questions", description = "Question management operations")
 public class QuestionController {
 
+    private static final String RANDOM_SEED_HEADER = "X-Random-Seed";
+
     @Autowired
     private QuestionService questionService;
 
+    @Autowired
+    private QuestionCounterService questionCounterService;
+
+    @Autowired
+    private QuestionSearchService questionSearchService;
+
+    @Autowired
+    private NearDuplicateService nearDuplicateService;
+
+    @Autowired
+    private QuestionImportService questionImportService;
+
+    @Autowired
+    private QuestionExportService questionExportService;
+
+    @Autowired
+    private QuestionIngestService questionIngestService;
+
     // ============ BASIC CRUD OPERATIONS ============
 
     @PostMapping
@@ -181,6 +223,31 @@ public class QuestionController {
         return ResponseEntity.ok(questions);
     }
 
+    @GetMapping("/page/cursor")
+    @PreAuthorize("hasRole('USER') or hasRole('TEACHER') or hasRole('ADMIN')")
+    @ApiOperation(
+            value = "Get all questions with cursor pagination",
+            notes = "Keyset paginated listing ordered by id or (updatedAt, id); no total count is computed",
+            response = CursorPageDTO.class
+    )
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "cursor", value = "nextCursor of the previous page, omit for the first page", dataType = "string", paramType = "query"),
+            @ApiImplicitParam(name = "size", value = "Page size (1-100)", dataType = "int", paramType = "query", defaultValue = "10"),
+            @ApiImplicitParam(name = "orderBy", value = "ID or UPDATED_AT (ignored when a cursor is given)", dataType = "string", paramType = "query", defaultValue = "ID"),
+            @ApiImplicitParam(name = "direction", value = "ASC or DESC (ignored when a cursor is given)", dataType = "string", paramType = "query", defaultValue = "DESC")
+    })
+    public ResponseEntity<CursorPageDTO<QuestionResponseDTO>> getAllQuestionsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "ID") KeysetOrder orderBy,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
+
+        log.debug("Request to get all questions by cursor");
+        CursorPageDTO<QuestionResponseDTO> questions = questionService.getAllQuestionsByCursor(
+                CursorPageRequest.of(cursor, size, orderBy, direction));
+        return ResponseEntity.ok(questions);
+    }
+
     @GetMapping("/active")
     @PreAuthorize("hasRole('USER') or hasRole('TEACHER') or hasRole('ADMIN')")
     @ApiOperation(
@@ -255,7 +322,7 @@ public class QuestionController {
     @PreAuthorize("hasRole('USER') or hasRole('TEACHER') or hasRole('ADMIN')")
     @ApiOperation(
             value = "Search by keywords",
-            notes = "Search questions using multiple keywords",
+            notes = "Search questions using multiple keywords; returns at most the 1000 best matches",
             response = QuestionResponseDTO.class,
             responseContainer = "List"
     )
@@ -307,6 +374,41 @@ public class QuestionController {
         return ResponseEntity.ok(questions);
     }
 
+    @GetMapping("/filter/cursor")
+    @PreAuthorize("hasRole('USER') or hasRole('TEACHER') or hasRole('ADMIN')")
+    @ApiOperation(
+            value = "Filter questions with cursor pagination",
+            notes = "Same criteria as /filter, keyset paginated without a total count",
+            response = CursorPageDTO.class
+    )
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "cursor", value = "nextCursor of the previous page, omit for the first page", dataType = "string", paramType = "query"),
+            @ApiImplicitParam(name = "size", value = "Page size (1-100)", dataType = "int", paramType = "query", defaultValue = "10"),
+            @ApiImplicitParam(name = "orderBy", value = "ID or UPDATED_AT (ignored when a cursor is given)", dataType = "string", paramType = "query", defaultValue = "ID"),
+            @ApiImplicitParam(name = "direction", value = "ASC or DESC (ignored when a cursor is given)", dataType = "string", paramType = "query", defaultValue = "DESC")
+    })
+    public ResponseEntity<CursorPageDTO<QuestionResponseDTO>> getFilteredQuestionsByCursor(
+            @RequestParam(required = false) SectionType sectionType,
+            @RequestParam(required = false) QuestionType questionType,
+            @RequestParam(required = false) DifficultyLevel difficultyLevel,
+            @RequestParam(required = false) Long chapterId,
+            @RequestParam(required = false) Long subjectId,
+            @RequestParam(required = false) Long classId,
+            @RequestParam(required = false) Boolean isAddedToPaper,
+            @RequestParam(required = false) Double minMarks,
+            @RequestParam(required = false) Double maxMarks,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "ID") KeysetOrder orderBy,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
+
+        log.debug("Request to filter questions by cursor");
+        CursorPageDTO<QuestionResponseDTO> questions = questionService.getFilteredQuestionsByCursor(
+                sectionType, questionType, difficultyLevel, chapterId, subjectId,
+                classId, isAddedToPaper, minMarks, maxMarks, CursorPageRequest.of(cursor, size, orderBy, direction));
+        return ResponseEntity.ok(questions);
+    }
+
     // ============ CHAPTER-BASED OPERATIONS ============
 
     @GetMapping("/chapter/{chapterId}")
@@ -343,6 +445,33 @@ public class QuestionController {
         return ResponseEntity.ok(questions);
     }
 
+    @GetMapping("/chapter/{chapterId}/page/cursor")
+    @PreAuthorize("hasRole('USER') or hasRole('TEACHER') or hasRole('ADMIN')")
+    @ApiOperation(
+            value = "Get questions by chapter with cursor pagination",
+            notes = "Active questions of a chapter, keyset paginated without a total count",
+            response = CursorPageDTO.class
+    )
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "cursor", value = "nextCursor of the previous page, omit for the first page", dataType = "string", paramType = "query"),
+            @ApiImplicitParam(name = "size", value = "Page size (1-100)", dataType = "int", paramType = "query", defaultValue = "10"),
+            @ApiImplicitParam(name = "orderBy", value = "ID or UPDATED_AT (ignored when a cursor is given)", dataType = "string", paramType = "query", defaultValue = "ID"),
+            @ApiImplicitParam(name = "direction", value = "ASC or DESC (ignored when a cursor is given)", dataType = "string", paramType = "query", defaultValue = "DESC")
+    })
+    public ResponseEntity<CursorPageDTO<QuestionResponseDTO>> getQuestionsByChapterByCursor(
+            @ApiParam(value = "Chapter ID", required = true)
+            @PathVariable Long chapterId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "ID") KeysetOrder orderBy,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
+
+        log.debug("Request to get questions for chapter ID: {} by cursor", chapterId);
+        CursorPageDTO<QuestionResponseDTO> questions = questionService.getQuestionsByChapterByCursor(
+                chapterId, CursorPageRequest.of(cursor, size, orderBy, direction));
+        return ResponseEntity.ok(questions);
+    }
+
     @GetMapping("/chapter/{chapterId}/count")
     @PreAuthorize("hasRole('USER') or hasRole('TEACHER') or hasRole('ADMIN')")
     @ApiOperation(
@@ -377,6 +506,23 @@ public class QuestionController {
         return ResponseEntity.ok(questions);
     }
 
+    @GetMapping("/subject/{subjectId}/duplicate-clusters")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(
+            value = "Get near-duplicate clusters by subject",
+            notes = "Group the active questions of a subject whose text is nearly identical, largest group first",
+            response = DuplicateClusterDTO.class,
+            responseContainer = "List"
+    )
+    public ResponseEntity<List<DuplicateClusterDTO>> getDuplicateClustersBySubject(
+            @ApiParam(value = "Subject ID", required = true)
+            @PathVariable Long subjectId) {
+
+        log.debug("Request to get duplicate clusters for subject ID: {}", subjectId);
+        List<DuplicateClusterDTO> clusters = nearDuplicateService.findDuplicateClusters(subjectId);
+        return ResponseEntity.ok(clusters);
+    }
+
     @GetMapping("/subject/{subjectId}/added-to-paper")
     @PreAuthorize("hasRole('USER') or hasRole('TEACHER') or hasRole('ADMIN')")
     @ApiOperation(
@@ -594,11 +740,16 @@ public class QuestionController {
     )
     public ResponseEntity<List<QuestionResponseDTO>> getRandomQuestions(
             @ApiParam(value = "Number of questions", required = true)
-            @RequestParam int count) {
+            @RequestParam int count,
+            @ApiParam(value = "Seed to repeat an earlier pick; returned in the X-Random-Seed header")
+            @RequestParam(required = false) Long seed) {
 
         log.debug("Request to get {} random questions", count);
-        List<QuestionResponseDTO> questions = questionService.getRandomQuestions(count);
-        return ResponseEntity.ok(questions);
+        long effectiveSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        List<QuestionResponseDTO> questions = questionService.getRandomQuestions(count, effectiveSeed);
+        return ResponseEntity.ok()
+                .header(RANDOM_SEED_HEADER, Long.toString(effectiveSeed))
+                .body(questions);
     }
 
     @GetMapping("/subject/{subjectId}/random")
@@ -613,11 +764,16 @@ public class QuestionController {
             @ApiParam(value = "Subject ID", required = true)
             @PathVariable Long subjectId,
             @ApiParam(value = "Number of questions", required = true)
-            @RequestParam int count) {
+            @RequestParam int count,
+            @ApiParam(value = "Seed to repeat an earlier pick; returned in the X-Random-Seed header")
+            @RequestParam(required = false) Long seed) {
 
         log.debug("Request to get {} random questions for subject ID: {}", count, subjectId);
-        List<QuestionResponseDTO> questions = questionService.getRandomQuestionsBySubject(subjectId, count);
-        return ResponseEntity.ok(questions);
+        long effectiveSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        List<QuestionResponseDTO> questions = questionService.getRandomQuestionsBySubject(subjectId, count, effectiveSeed);
+        return ResponseEntity.ok()
+                .header(RANDOM_SEED_HEADER, Long.toString(effectiveSeed))
+                .body(questions);
     }
 
     // ============ QUESTION DUPLICATION ============
@@ -724,30 +880,32 @@ public class QuestionController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @ApiOperation(
             value = "Activate multiple questions",
-            notes = "Activate multiple questions by IDs"
+            notes = "Activate multiple questions by IDs; returns how many were inactive and are now active",
+            response = BulkUpdateResultDTO.class
     )
-    public ResponseEntity<Void> activateQuestions(
+    public ResponseEntity<BulkUpdateResultDTO> activateQuestions(
             @ApiParam(value = "List of question IDs", required = true)
             @RequestBody List<Long> ids) {
 
         log.info("Request to activate {} questions", ids.size());
-        questionService.activateQuestions(ids);
-        return ResponseEntity.ok().build();
+        int updated = questionService.activateQuestions(ids);
+        return ResponseEntity.ok(bulkResult(ids, updated));
     }
 
     @PostMapping("/bulk/deactivate")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @ApiOperation(
             value = "Deactivate multiple questions",
-            notes = "Deactivate multiple questions by IDs"
+            notes = "Deactivate multiple questions by IDs; returns how many were active and are now inactive",
+            response = BulkUpdateResultDTO.class
     )
-    public ResponseEntity<Void> deactivateQuestions(
+    public ResponseEntity<BulkUpdateResultDTO> deactivateQuestions(
             @ApiParam(value = "List of question IDs", required = true)
             @RequestBody List<Long> ids) {
 
         log.info("Request to deactivate {} questions", ids.size());
-        questionService.deactivateQuestions(ids);
-        return ResponseEntity.ok().build();
+        int updated = questionService.deactivateQuestions(ids);
+        return ResponseEntity.ok(bulkResult(ids, updated));
     }
 
     // ============ BULK OPERATIONS ============
@@ -769,6 +927,23 @@ public class QuestionController {
         return new ResponseEntity<>(createdQuestions, HttpStatus.CREATED);
     }
 
+    @PostMapping("/bulk/ingest")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(
+            value = "Ingest many questions",
+            notes = "Bulk create for large uploads. Questions are validated in parallel and saved in chunks, one " +
+                    "transaction each, so an invalid question or a failed chunk does not undo the rest. Returns the " +
+                    "outcome of every question instead of failing the request.",
+            response = BulkIngestReportDTO.class
+    )
+    public ResponseEntity<BulkIngestReportDTO> ingestQuestions(
+            @ApiParam(value = "List of question creation data", required = true)
+            @RequestBody List<CreateQuestionRequestDTO> dtos) {
+
+        log.info("Request to ingest {} questions", dtos.size());
+        return ResponseEntity.ok(questionIngestService.ingest(dtos));
+    }
+
     @PutMapping("/bulk")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @ApiOperation(
@@ -790,45 +965,55 @@ public class QuestionController {
     @PreAuthorize("hasRole('ADMIN')")
     @ApiOperation(
             value = "Delete multiple questions",
-            notes = "Delete multiple questions by IDs"
+            notes = "Soft delete multiple questions and their options by IDs; returns how many questions were deleted",
+            response = BulkUpdateResultDTO.class
     )
-    public ResponseEntity<Void> deleteQuestions(
+    public ResponseEntity<BulkUpdateResultDTO> deleteQuestions(
             @ApiParam(value = "List of question IDs", required = true)
             @RequestBody List<Long> ids) {
 
         log.info("Request to delete {} questions in bulk", ids.size());
-        questionService.deleteQuestionsByIds(ids);
-        return ResponseEntity.noContent().build();
+        int updated = questionService.deleteQuestionsByIds(ids);
+        return ResponseEntity.ok(bulkResult(ids, updated));
     }
 
     @PostMapping("/bulk/add-to-paper")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @ApiOperation(
             value = "Add multiple questions to paper",
-            notes = "Add multiple questions to paper by IDs"
+            notes = "Add multiple questions to paper by IDs; returns how many were not on the paper yet",
+            response = BulkUpdateResultDTO.class
     )
-    public ResponseEntity<Void> addQuestionsToPaper(
+    public ResponseEntity<BulkUpdateResultDTO> addQuestionsToPaper(
             @ApiParam(value = "List of question IDs", required = true)
             @RequestBody List<Long> questionIds) {
 
         log.info("Request to add {} questions to paper", questionIds.size());
-        questionService.addQuestionsToPaper(questionIds);
-        return ResponseEntity.ok().build();
+        int updated = questionService.addQuestionsToPaper(questionIds);
+        return ResponseEntity.ok(bulkResult(questionIds, updated));
     }
 
     @PostMapping("/bulk/remove-from-paper")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @ApiOperation(
             value = "Remove multiple questions from paper",
-            notes = "Remove multiple questions from paper by IDs"
+            notes = "Remove multiple questions from paper by IDs; returns how many were on the paper",
+            response = BulkUpdateResultDTO.class
     )
-    public ResponseEntity<Void> removeQuestionsFromPaper(
+    public ResponseEntity<BulkUpdateResultDTO> removeQuestionsFromPaper(
             @ApiParam(value = "List of question IDs", required = true)
             @RequestBody List<Long> questionIds) {
 
         log.info("Request to remove {} questions from paper", questionIds.size());
-        questionService.removeQuestionsFromPaper(questionIds);
-        return ResponseEntity.ok().build();
+        int updated = questionService.removeQuestionsFromPaper(questionIds);
+        return ResponseEntity.ok(bulkResult(questionIds, updated));
+    }
+
+    private static BulkUpdateResultDTO bulkResult(List<Long> ids, int updated) {
+        return BulkUpdateResultDTO.builder()
+                .requestedCount((int) ids.stream().distinct().count())
+                .updatedCount(updated)
+                .build();
     }
 
     // ============ MARKS AND TOTALS ============
@@ -884,7 +1069,7 @@ public class QuestionController {
     @PreAuthorize("hasRole('USER') or hasRole('TEACHER') or hasRole('ADMIN')")
     @ApiOperation(
             value = "Advanced search",
-            notes = "Perform advanced search with multiple criteria",
+            notes = "Perform advanced search with multiple criteria; search text keeps the 1000 best-matching questions",
             response = QuestionResponseDTO.class
     )
     public ResponseEntity<Page<QuestionResponseDTO>> advancedSearch(
@@ -909,6 +1094,44 @@ public class QuestionController {
         return ResponseEntity.ok(questions);
     }
 
+    @PostMapping("/advanced-search/cursor")
+    @PreAuthorize("hasRole('USER') or hasRole('TEACHER') or hasRole('ADMIN')")
+    @ApiOperation(
+            value = "Advanced search with cursor pagination",
+            notes = "Same criteria and search text limit as /advanced-search, keyset paginated without a total count",
+            response = CursorPageDTO.class
+    )
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "cursor", value = "nextCursor of the previous page, omit for the first page", dataType = "string", paramType = "query"),
+            @ApiImplicitParam(name = "size", value = "Page size (1-100)", dataType = "int", paramType = "query", defaultValue = "10"),
+            @ApiImplicitParam(name = "orderBy", value = "ID or UPDATED_AT (ignored when a cursor is given)", dataType = "string", paramType = "query", defaultValue = "ID"),
+            @ApiImplicitParam(name = "direction", value = "ASC or DESC (ignored when a cursor is given)", dataType = "string", paramType = "query", defaultValue = "DESC")
+    })
+    public ResponseEntity<CursorPageDTO<QuestionResponseDTO>> advancedSearchByCursor(
+            @ApiParam(value = "Search text") @RequestParam(required = false) String searchText,
+            @ApiParam(value = "Section types") @RequestParam(required = false) List<SectionType> sectionTypes,
+            @ApiParam(value = "Question types") @RequestParam(required = false) List<QuestionType> questionTypes,
+            @ApiParam(value = "Difficulty levels") @RequestParam(required = false) List<DifficultyLevel> difficultyLevels,
+            @ApiParam(value = "Chapter IDs") @RequestParam(required = false) List<Long> chapterIds,
+            @ApiParam(value = "Subject IDs") @RequestParam(required = false) List<Long> subjectIds,
+            @ApiParam(value = "Class IDs") @RequestParam(required = false) List<Long> classIds,
+            @ApiParam(value = "Added to paper status") @RequestParam(required = false) Boolean isAddedToPaper,
+            @ApiParam(value = "Active status") @RequestParam(required = false) Boolean isActive,
+            @ApiParam(value = "Minimum marks") @RequestParam(required = false) Double minMarks,
+            @ApiParam(value = "Maximum marks") @RequestParam(required = false) Double maxMarks,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "ID") KeysetOrder orderBy,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
+
+        log.debug("Request for advanced search by cursor");
+        CursorPageDTO<QuestionResponseDTO> questions = questionService.advancedSearchByCursor(
+                searchText, sectionTypes, questionTypes, difficultyLevels,
+                chapterIds, subjectIds, classIds, isAddedToPaper, isActive,
+                minMarks, maxMarks, CursorPageRequest.of(cursor, size, orderBy, direction));
+        return ResponseEntity.ok(questions);
+    }
+
     // ============ RECOMMENDATIONS ============
 
     @GetMapping("/{id}/recommendations")
@@ -934,7 +1157,7 @@ public class QuestionController {
     @PreAuthorize("hasRole('USER') or hasRole('TEACHER') or hasRole('ADMIN')")
     @ApiOperation(
             value = "Get similar questions",
-            notes = "Get questions similar to a specific question",
+            notes = "Get active questions closest in content to a specific question, optionally within a chapter, subject or difficulty",
             response = QuestionResponseDTO.class,
             responseContainer = "List"
     )
@@ -942,10 +1165,17 @@ public class QuestionController {
             @ApiParam(value = "Question ID", required = true)
             @PathVariable Long id,
             @ApiParam(value = "Number of similar questions", required = true)
-            @RequestParam int count) {
+            @RequestParam int count,
+            @ApiParam(value = "Chapter ID filter")
+            @RequestParam(required = false) Long chapterId,
+            @ApiParam(value = "Subject ID filter")
+            @RequestParam(required = false) Long subjectId,
+            @ApiParam(value = "Difficulty level filter")
+            @RequestParam(required = false) DifficultyLevel difficultyLevel) {
 
         log.debug("Request to get {} similar questions for question ID: {}", count, id);
-        List<QuestionResponseDTO> questions = questionService.getSimilarQuestions(id, count);
+        List<QuestionResponseDTO> questions = questionService.getSimilarQuestions(
+                id, count, chapterId, subjectId, difficultyLevel);
         return ResponseEntity.ok(questions);
     }
 
@@ -981,6 +1211,147 @@ public class QuestionController {
         return ResponseEntity.ok(counts);
     }
 
+    @GetMapping("/counters/verify")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(
+            value = "Verify question counters",
+            notes = "Compare the materialized question counters against the questions table and report any drift"
+    )
+    public ResponseEntity<QuestionCounterReportDTO> verifyQuestionCounters() {
+        log.debug("Request to verify question counters");
+        QuestionCounterReportDTO report = questionCounterService.verifyCounters();
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping("/counters/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(
+            value = "Rebuild question counters",
+            notes = "Recompute the materialized question counters from the questions table"
+    )
+    public ResponseEntity<QuestionCounterReportDTO> rebuildQuestionCounters() {
+        log.info("Request to rebuild question counters");
+        QuestionCounterReportDTO report = questionCounterService.rebuildCounters();
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/search-index/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(
+            value = "Get search index statistics",
+            notes = "Document and term counts of the in-memory question search index"
+    )
+    public ResponseEntity<SearchIndexStatsDTO> getSearchIndexStats() {
+        log.debug("Request to get search index stats");
+        return ResponseEntity.ok(questionSearchService.getIndexStats());
+    }
+
+    @PostMapping("/search-index/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(
+            value = "Rebuild search index",
+            notes = "Re-read every question and replace the in-memory search index"
+    )
+    public ResponseEntity<SearchIndexStatsDTO> rebuildSearchIndex() {
+        log.info("Request to rebuild search index");
+        return ResponseEntity.ok(questionSearchService.rebuildIndex());
+    }
+
+    // ============ IMPORT ============
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(
+            value = "Import questions from a spreadsheet",
+            notes = "Queue an .xlsx import. The first row names the columns: Chapter ID, Section Type and Question Text " +
+                    "are required; Question Type, Difficulty, Marks, Negative Marks, Time Limit, Question Image URL, " +
+                    "Explanation, Option A, Option B, ... and Correct Options (e.g. \"A, C\") are optional. Poll the " +
+                    "returned job for progress and rejected rows.",
+            response = QuestionImportJobDTO.class
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "Import queued", response = QuestionImportJobDTO.class),
+            @ApiResponse(code = 400, message = "Empty file or not an .xlsx workbook"),
+            @ApiResponse(code = 503, message = "Import queue is full, retry after the Retry-After delay")
+    })
+    public ResponseEntity<QuestionImportJobDTO> importQuestions(
+            @ApiParam(value = "Workbook in the question import template", required = true)
+            @RequestParam("file") MultipartFile file) {
+
+        log.info("Request to import questions from {}", file.getOriginalFilename());
+        QuestionImportJobDTO job = questionImportService.submit(file);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/questions/import/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/import/{jobId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(
+            value = "Get question import progress",
+            notes = "Rows read, imported and rejected so far, with the reasons rows were rejected",
+            response = QuestionImportJobDTO.class
+    )
+    public ResponseEntity<QuestionImportJobDTO> getImportJob(
+            @ApiParam(value = "Import job ID", required = true)
+            @PathVariable String jobId) {
+
+        log.debug("Request to get question import {}", jobId);
+        return ResponseEntity.ok(questionImportService.getJob(jobId));
+    }
+
+    // ============ EXPORT ============
+
+    @GetMapping("/subject/{subjectId}/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(
+            value = "Export questions by subject",
+            notes = "Stream every question of a subject with its options, in id order. NDJSON has one question " +
+                    "per line; CSV uses the import template columns. Gzip-compressed unless compress=false."
+    )
+    public void exportQuestionsBySubject(
+            @ApiParam(value = "Subject ID", required = true)
+            @PathVariable Long subjectId,
+            @ApiParam(value = "NDJSON or CSV", defaultValue = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") QuestionExportFormat format,
+            @ApiParam(value = "Gzip the file", defaultValue = "true")
+            @RequestParam(defaultValue = "true") boolean compress,
+            HttpServletResponse response) throws IOException {
+
+        log.info("Request to export questions of subject ID {} as {}", subjectId, format);
+        prepareExport(response, "questions-subject-" + subjectId, format, compress);
+        questionExportService.exportBySubject(subjectId, format, compress, response.getOutputStream());
+    }
+
+    @GetMapping("/class/{classId}/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @ApiOperation(
+            value = "Export questions by class",
+            notes = "Stream every question of a class with its options, in id order. NDJSON has one question " +
+                    "per line; CSV uses the import template columns. Gzip-compressed unless compress=false."
+    )
+    public void exportQuestionsByClass(
+            @ApiParam(value = "Class ID", required = true)
+            @PathVariable Long classId,
+            @ApiParam(value = "NDJSON or CSV", defaultValue = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") QuestionExportFormat format,
+            @ApiParam(value = "Gzip the file", defaultValue = "true")
+            @RequestParam(defaultValue = "true") boolean compress,
+            HttpServletResponse response) throws IOException {
+
+        log.info("Request to export questions of class ID {} as {}", classId, format);
+        prepareExport(response, "questions-class-" + classId, format, compress);
+        questionExportService.exportByClass(classId, format, compress, response.getOutputStream());
+    }
+
+    // Compressed exports are .gz downloads rather than Content-Encoding, so clients keep the file as sent
+    private static void prepareExport(HttpServletResponse response, String baseName, QuestionExportFormat format,
+                                      boolean compress) {
+        String fileName = baseName + "." + format.getExtension() + (compress ? ".gz" : "");
+        response.setContentType(compress ? "application/gzip" : format.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+    }
+
     // ============ LEGACY ENDPOINTS (for backward compatibility) ============
 
     @GetMapping("/pagination")
@@ -0,0 +1,46 @@
+package com.example.questionbank.dto.request;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Blueprint for generating a question paper from the bank")
+public class GeneratePaperRequestDTO {
+
+    @ApiModelProperty(value = "Subject to draw questions from", required = true)
+    @NotNull(message = "Subject ID is required")
+    private Long subjectId;
+
+    @ApiModelProperty(value = "Marks required for each section type", required = true,
+            example = "{\"MCQ\": 20, \"SHORT_QUESTION\": 30, \"LONG_QUESTION\": 50}")
+    @NotEmpty(message = "At least one section is required")
+    private Map<SectionType, Double> sectionMarks;
+
+    @ApiModelProperty(value = "Relative share of the total marks per difficulty level",
+            example = "{\"EASY\": 0.3, \"MEDIUM\": 0.5, \"HARD\": 0.2}")
+    private Map<DifficultyLevel, Double> difficultyDistribution;
+
+    @ApiModelProperty(value = "Relative share of the total marks per chapter ID; chapters left out are avoided")
+    private Map<Long, Double> chapterWeights;
+
+    @ApiModelProperty(value = "Upper bound on the sum of the questions' time limits, in seconds", example = "10800")
+    @Positive(message = "Time limit must be positive")
+    private Integer timeLimitSeconds;
+
+    @ApiModelProperty(value = "Seed to regenerate an earlier paper; a random one is used when omitted")
+    private Long seed;
+}
@@ -0,0 +1,44 @@
+package com.example.questionbank.dto.request;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Request DTO for producing shuffled sets of one question paper")
+public class PaperVariantsRequestDTO {
+
+    @ApiModelProperty(value = "Questions of the paper, in section order", required = true)
+    @NotEmpty(message = "At least one question is required")
+    private List<Long> questionIds;
+
+    @ApiModelProperty(value = "Number of sets to produce", required = true, example = "4")
+    @NotNull(message = "Variant count is required")
+    @Min(value = 2, message = "At least 2 variants are required")
+    @Max(value = 10, message = "At most 10 variants can be produced")
+    private Integer variantCount;
+
+    @ApiModelProperty(value = "Paper title printed on every set", example = "Physics Mid-Term")
+    @Size(max = 200)
+    private String title;
+
+    @ApiModelProperty(value = "Shuffle MCQ option order per set", example = "true")
+    @Builder.Default
+    private Boolean shuffleOptions = true;
+
+    @ApiModelProperty(value = "Seed to reproduce earlier sets; a random one is used when omitted")
+    private Long seed;
+}
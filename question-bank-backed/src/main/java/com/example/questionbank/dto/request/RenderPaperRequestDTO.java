@@ -0,0 +1,35 @@
+package com.example.questionbank.dto.request;
+
+import com.example.questionbank.model.enums.RenderFormat;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Request DTO for rendering a question paper to a document")
+public class RenderPaperRequestDTO {
+
+    @ApiModelProperty(value = "Questions of the paper, in section order", required = true)
+    @NotEmpty(message = "At least one question is required")
+    @Size(max = 2000, message = "At most 2000 questions can be rendered")
+    private List<Long> questionIds;
+
+    @ApiModelProperty(value = "Paper title", example = "Physics Mid-Term")
+    @Size(max = 200)
+    private String title;
+
+    @ApiModelProperty(value = "Document format, PDF or DOCX", required = true, example = "PDF")
+    @NotNull(message = "Format is required")
+    private RenderFormat format;
+}
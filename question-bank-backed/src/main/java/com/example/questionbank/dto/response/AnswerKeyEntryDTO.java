@@ -0,0 +1,27 @@
+package com.example.questionbank.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Correct answer of one MCQ in a paper set")
+public class AnswerKeyEntryDTO {
+
+    @ApiModelProperty(value = "Question number as printed in the set", example = "3")
+    private Integer questionNumber;
+
+    @ApiModelProperty(value = "Question ID", example = "42")
+    private Long questionId;
+
+    @ApiModelProperty(value = "Labels of the correct options as printed in the set", example = "[\"B\"]")
+    private List<String> correctOptions;
+}
@@ -0,0 +1,41 @@
+package com.example.questionbank.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Size and hit/miss metrics of the on-disk cache of rendered papers")
+public class ArtifactCacheStatsDTO {
+
+    @ApiModelProperty(value = "Number of cached documents", example = "320")
+    private Integer entryCount;
+
+    @ApiModelProperty(value = "Bytes on disk", example = "52428800")
+    private Long totalBytes;
+
+    @ApiModelProperty(value = "Size cap in bytes; least recently used documents are removed beyond it",
+            example = "1073741824")
+    private Long maxBytes;
+
+    @ApiModelProperty(value = "Requests served from the cache", example = "1830")
+    private Long hits;
+
+    @ApiModelProperty(value = "Requests that rendered the document", example = "410")
+    private Long misses;
+
+    @ApiModelProperty(value = "Requests that waited for another request rendering the same document", example = "35")
+    private Long joins;
+
+    @ApiModelProperty(value = "hits / (hits + misses + joins)", example = "0.805")
+    private Double hitRatio;
+
+    @ApiModelProperty(value = "Documents removed to stay under the size cap", example = "12")
+    private Long evictions;
+}
@@ -0,0 +1,36 @@
+package com.example.questionbank.dto.response;
+
+import com.example.questionbank.model.enums.BulkIngestItemStatus;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Outcome of one question of a bulk ingest")
+public class BulkIngestItemDTO {
+
+    @ApiModelProperty(value = "Position of the question in the request, from 0", example = "9999")
+    private Integer index;
+
+    @ApiModelProperty(value = "CREATED, INVALID (rejected by validation) or FAILED (its chunk could not be saved)",
+            example = "CREATED")
+    private BulkIngestItemStatus status;
+
+    @ApiModelProperty(value = "ID of the created question", example = "48213")
+    private Long questionId;
+
+    @ApiModelProperty(value = "Problems by field, for questions that were not created")
+    private Map<String, String> errors;
+
+    @ApiModelProperty(value = "Existing questions with nearly the same text, closest first")
+    private List<NearDuplicateDTO> nearDuplicates;
+}
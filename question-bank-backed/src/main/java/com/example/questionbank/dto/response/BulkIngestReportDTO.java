@@ -0,0 +1,36 @@
+package com.example.questionbank.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Per-question outcome of a bulk ingest")
+public class BulkIngestReportDTO {
+
+    @ApiModelProperty(value = "Questions in the request", example = "10000")
+    private Integer requestedCount;
+
+    @ApiModelProperty(value = "Questions saved", example = "9990")
+    private Integer createdCount;
+
+    @ApiModelProperty(value = "Questions rejected by validation", example = "8")
+    private Integer invalidCount;
+
+    @ApiModelProperty(value = "Valid questions in chunks that failed to save", example = "2")
+    private Integer failedCount;
+
+    @ApiModelProperty(value = "Time taken, in milliseconds", example = "5400")
+    private Long elapsedMillis;
+
+    @ApiModelProperty(value = "One entry per question, in request order")
+    private List<BulkIngestItemDTO> items;
+}
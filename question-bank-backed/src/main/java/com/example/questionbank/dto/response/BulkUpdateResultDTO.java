@@ -0,0 +1,24 @@
+package com.example.questionbank.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Outcome of a bulk state change")
+public class BulkUpdateResultDTO {
+
+    @ApiModelProperty(value = "Distinct ids in the request; absent when the change targets all options of a question",
+            example = "250")
+    private Integer requestedCount;
+
+    @ApiModelProperty(value = "Rows actually changed; rows already in the requested state are not counted",
+            example = "240")
+    private Integer updatedCount;
+}
@@ -0,0 +1,30 @@
+package com.example.questionbank.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "One page of a cursor (keyset) paginated listing. No total count is computed.")
+public class CursorPageDTO<T> {
+
+    @ApiModelProperty(value = "Items on this page")
+    private List<T> content;
+
+    @ApiModelProperty(value = "Number of items on this page", example = "20")
+    private Integer size;
+
+    @ApiModelProperty(value = "Whether another page follows")
+    private Boolean hasNext;
+
+    @ApiModelProperty(value = "Opaque token to pass as 'cursor' for the next page, null on the last page")
+    private String nextCursor;
+}
@@ -0,0 +1,24 @@
+package com.example.questionbank.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Group of active questions that are near-duplicates of each other")
+public class DuplicateClusterDTO {
+
+    @ApiModelProperty(value = "Number of questions in the cluster", example = "3")
+    private Integer size;
+
+    @ApiModelProperty(value = "Questions in the cluster, oldest first; distance is measured from the oldest")
+    private List<NearDuplicateDTO> questions;
+}
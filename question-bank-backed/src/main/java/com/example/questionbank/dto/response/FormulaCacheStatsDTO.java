@@ -0,0 +1,47 @@
+package com.example.questionbank.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Size and hit/miss metrics of the rendered formula image cache")
+public class FormulaCacheStatsDTO {
+
+    @ApiModelProperty(value = "Formulas held in memory, including ones that failed to parse", example = "1200")
+    private Integer entryCount;
+
+    @ApiModelProperty(value = "Bytes of images held in memory", example = "8388608")
+    private Long memoryBytes;
+
+    @ApiModelProperty(value = "Memory cap in bytes; least recently used formulas are dropped beyond it",
+            example = "33554432")
+    private Long maxMemoryBytes;
+
+    @ApiModelProperty(value = "Whether rendered formulas are also kept on disk", example = "true")
+    private Boolean diskEnabled;
+
+    @ApiModelProperty(value = "Formulas served from memory", example = "15400")
+    private Long memoryHits;
+
+    @ApiModelProperty(value = "Formulas read back from disk", example = "300")
+    private Long diskHits;
+
+    @ApiModelProperty(value = "Formulas that had to be rasterized", example = "1200")
+    private Long misses;
+
+    @ApiModelProperty(value = "Formulas that could not be parsed", example = "3")
+    private Long failures;
+
+    @ApiModelProperty(value = "(memoryHits + diskHits) / all lookups", example = "0.929")
+    private Double hitRatio;
+
+    @ApiModelProperty(value = "Formulas dropped from memory to stay under the cap", example = "0")
+    private Long evictions;
+}
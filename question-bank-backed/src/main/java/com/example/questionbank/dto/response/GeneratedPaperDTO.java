@@ -0,0 +1,50 @@
+package com.example.questionbank.dto.response;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Question paper generated from a blueprint")
+public class GeneratedPaperDTO {
+
+    @ApiModelProperty(value = "Subject ID")
+    private Long subjectId;
+
+    @ApiModelProperty(value = "Seed that regenerates this paper from the same blueprint")
+    private Long seed;
+
+    @ApiModelProperty(value = "Total marks the blueprint asked for", example = "100.0")
+    private Double targetMarks;
+
+    @ApiModelProperty(value = "Total marks of the selected questions", example = "100.0")
+    private Double totalMarks;
+
+    @ApiModelProperty(value = "Sum of the selected questions' time limits, in seconds", example = "9000")
+    private Long totalTimeSeconds;
+
+    @ApiModelProperty(value = "Selected marks per difficulty level")
+    private Map<DifficultyLevel, Double> marksByDifficulty;
+
+    @ApiModelProperty(value = "Selected marks per chapter ID")
+    private Map<Long, Double> marksByChapter;
+
+    @ApiModelProperty(value = "Sections in blueprint order")
+    private List<PaperSectionDTO> sections;
+
+    @ApiModelProperty(value = "Number of questions the generator chose from", example = "100000")
+    private Integer candidateCount;
+
+    @ApiModelProperty(value = "Time spent selecting questions, in milliseconds", example = "180")
+    private Long solveMillis;
+}
@@ -0,0 +1,42 @@
+package com.example.questionbank.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Hit/miss metrics and size of the in-memory class/subject/chapter hierarchy cache")
+public class HierarchyCacheStatsDTO {
+
+    @ApiModelProperty(value = "Number of cached classes", example = "12")
+    private Integer classCount;
+
+    @ApiModelProperty(value = "Number of cached subjects", example = "48")
+    private Integer subjectCount;
+
+    @ApiModelProperty(value = "Number of cached chapters", example = "310")
+    private Integer chapterCount;
+
+    @ApiModelProperty(value = "Lookups answered from the cache", example = "15230")
+    private Long hits;
+
+    @ApiModelProperty(value = "Lookups that fell back to the database entity", example = "4")
+    private Long misses;
+
+    @ApiModelProperty(value = "hits / (hits + misses)", example = "0.9997")
+    private Double hitRatio;
+
+    @ApiModelProperty(value = "Number of snapshot reloads since startup", example = "7")
+    private Long reloads;
+
+    @ApiModelProperty(value = "When the current snapshot was loaded")
+    private LocalDateTime loadedAt;
+}
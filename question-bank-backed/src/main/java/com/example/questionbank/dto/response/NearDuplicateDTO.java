@@ -0,0 +1,31 @@
+package com.example.questionbank.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "An existing question whose text is nearly identical to another one")
+public class NearDuplicateDTO {
+
+    @ApiModelProperty(value = "Question ID", example = "1")
+    private Long questionId;
+
+    @ApiModelProperty(value = "Question text")
+    private String questionText;
+
+    @ApiModelProperty(value = "Chapter ID", example = "1")
+    private Long chapterId;
+
+    @ApiModelProperty(value = "Number of differing signature bits out of 64, 0 for identical text", example = "2")
+    private Integer distance;
+
+    @ApiModelProperty(value = "Signature similarity between 0 and 1", example = "0.97")
+    private Double similarity;
+}
@@ -0,0 +1,34 @@
+package com.example.questionbank.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "The current user's paper draft")
+public class PaperDraftDTO {
+
+    @ApiModelProperty(value = "Username owning the draft", example = "teacher1")
+    private String owner;
+
+    @ApiModelProperty(value = "Number of questions in the draft", example = "25")
+    private Integer questionCount;
+
+    @ApiModelProperty(value = "Total marks, with overrides applied", example = "100.0")
+    private Double totalMarks;
+
+    @ApiModelProperty(value = "Marks overrides by question ID")
+    private Map<Long, Double> marksOverrides;
+
+    @ApiModelProperty(value = "Questions in paper order; questions deleted since they were added are left out")
+    private List<QuestionResponseDTO> questions;
+}
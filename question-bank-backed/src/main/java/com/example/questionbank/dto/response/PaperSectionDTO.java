@@ -0,0 +1,31 @@
+package com.example.questionbank.dto.response;
+
+import com.example.questionbank.model.enums.SectionType;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "One section of a generated paper")
+public class PaperSectionDTO {
+
+    @ApiModelProperty(value = "Section type")
+    private SectionType sectionType;
+
+    @ApiModelProperty(value = "Marks the blueprint asked for", example = "20.0")
+    private Double targetMarks;
+
+    @ApiModelProperty(value = "Marks of the selected questions", example = "20.0")
+    private Double marks;
+
+    @ApiModelProperty(value = "Selected questions")
+    private List<QuestionResponseDTO> questions;
+}
@@ -0,0 +1,27 @@
+package com.example.questionbank.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "One shuffled set of a question paper")
+public class PaperVariantDTO {
+
+    @ApiModelProperty(value = "Set label", example = "A")
+    private String label;
+
+    @ApiModelProperty(value = "Sections with questions and options in this set's order")
+    private List<PaperSectionDTO> sections;
+
+    @ApiModelProperty(value = "Answer key for the MCQs of this set")
+    private List<AnswerKeyEntryDTO> answerKey;
+}
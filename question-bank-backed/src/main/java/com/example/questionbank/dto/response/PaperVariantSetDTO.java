@@ -0,0 +1,30 @@
+package com.example.questionbank.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Shuffled sets of one question paper")
+public class PaperVariantSetDTO {
+
+    @ApiModelProperty(value = "Paper title")
+    private String title;
+
+    @ApiModelProperty(value = "Seed that reproduces these sets from the same questions")
+    private Long seed;
+
+    @ApiModelProperty(value = "Total marks of every set", example = "100.0")
+    private Double totalMarks;
+
+    @ApiModelProperty(value = "Sets in label order")
+    private List<PaperVariantDTO> variants;
+}
@@ -0,0 +1,36 @@
+package com.example.questionbank.dto.response;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "A question counter whose stored value differs from the questions table")
+public class QuestionCounterDriftDTO {
+
+    @ApiModelProperty(value = "Chapter ID")
+    private Long chapterId;
+
+    @ApiModelProperty(value = "Section type")
+    private SectionType sectionType;
+
+    @ApiModelProperty(value = "Difficulty level")
+    private DifficultyLevel difficultyLevel;
+
+    @ApiModelProperty(value = "Active status")
+    private Boolean isActive;
+
+    @ApiModelProperty(value = "Count recomputed from the questions table")
+    private Long expectedCount;
+
+    @ApiModelProperty(value = "Count stored in the counters table")
+    private Long storedCount;
+}
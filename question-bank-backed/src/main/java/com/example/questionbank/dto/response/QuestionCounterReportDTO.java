@@ -0,0 +1,30 @@
+package com.example.questionbank.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Result of verifying or rebuilding the question counters")
+public class QuestionCounterReportDTO {
+
+    @ApiModelProperty(value = "Number of counter keys compared")
+    private Integer checkedKeys;
+
+    @ApiModelProperty(value = "Number of counter keys with a wrong stored value")
+    private Integer driftCount;
+
+    @ApiModelProperty(value = "Whether the counters were rebuilt from the questions table")
+    private Boolean rebuilt;
+
+    @ApiModelProperty(value = "Counters that did not match the questions table")
+    private List<QuestionCounterDriftDTO> drifts;
+}
@@ -0,0 +1,25 @@
+package com.example.questionbank.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "A problem with one cell or row of an imported spreadsheet")
+public class QuestionImportErrorDTO {
+
+    @ApiModelProperty(value = "Spreadsheet row, as numbered in Excel", example = "17")
+    private Integer rowNumber;
+
+    @ApiModelProperty(value = "Question field the problem is with", example = "correctOptions")
+    private String field;
+
+    @ApiModelProperty(value = "What is wrong", example = "Single choice questions must have exactly 1 correct option")
+    private String message;
+}
@@ -0,0 +1,51 @@
+package com.example.questionbank.dto.response;
+
+import com.example.questionbank.model.enums.ImportJobStatus;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Progress of a spreadsheet question import")
+public class QuestionImportJobDTO {
+
+    @ApiModelProperty(value = "Job ID", example = "5f0c2a9e-3c1b-4c5e-9a53-2f1d7b0e8c41")
+    private String id;
+
+    @ApiModelProperty(value = "QUEUED, RUNNING, COMPLETED or FAILED", example = "RUNNING")
+    private ImportJobStatus status;
+
+    @ApiModelProperty(value = "Name of the uploaded file", example = "physics-bank.xlsx")
+    private String fileName;
+
+    @ApiModelProperty(value = "Data rows read so far, not counting the header or blank rows", example = "12000")
+    private Long rowsRead;
+
+    @ApiModelProperty(value = "Questions saved so far", example = "11950")
+    private Long importedCount;
+
+    @ApiModelProperty(value = "Rows rejected so far", example = "50")
+    private Long failedCount;
+
+    @ApiModelProperty(value = "Why rows were rejected, in row order")
+    private List<QuestionImportErrorDTO> errors;
+
+    @ApiModelProperty(value = "Whether more row errors occurred than are listed", example = "false")
+    private Boolean errorsTruncated;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @ApiModelProperty(value = "Why the import stopped; only set when failed")
+    private String errorMessage;
+}
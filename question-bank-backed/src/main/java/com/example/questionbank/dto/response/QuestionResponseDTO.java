@@ -69,4 +69,7 @@ public class QuestionResponseDTO extends BaseDTO {
 
     @ApiModelProperty(value = "Number of options")
     private Integer optionCount;
+
+    @ApiModelProperty(value = "Existing questions that look like near-duplicates, only set when creating a question")
+    private List<NearDuplicateDTO> nearDuplicates;
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.example.questionbank.dto.response;
+
+import com.example.questionbank.model.enums.RenderFormat;
+import com.example.questionbank.model.enums.RenderJobStatus;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "State of an asynchronous paper render")
+public class RenderJobDTO {
+
+    @ApiModelProperty(value = "Job ID", example = "42")
+    private Long id;
+
+    @ApiModelProperty(value = "QUEUED, RUNNING, COMPLETED or FAILED", example = "RUNNING")
+    private RenderJobStatus status;
+
+    @ApiModelProperty(value = "Document format", example = "PDF")
+    private RenderFormat format;
+
+    @ApiModelProperty(value = "Paper title", example = "Physics Mid-Term")
+    private String title;
+
+    @ApiModelProperty(value = "Number of questions in the paper", example = "60")
+    private Integer questionCount;
+
+    @ApiModelProperty(value = "Jobs queued ahead of this one; only set while queued", example = "3")
+    private Long queuePosition;
+
+    @ApiModelProperty(value = "Number of times a worker has started this job", example = "1")
+    private Integer attempts;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @ApiModelProperty(value = "Size of the rendered document in bytes; only set when completed", example = "184320")
+    private Long artifactSize;
+
+    @ApiModelProperty(value = "Where to download the document; only set when completed")
+    private String downloadUrl;
+
+    @ApiModelProperty(value = "Why the render failed; only set when failed")
+    private String errorMessage;
+}
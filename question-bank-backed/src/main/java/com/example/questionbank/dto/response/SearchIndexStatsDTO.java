@@ -0,0 +1,30 @@
+package com.example.questionbank.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Size and build information of the in-memory question search index")
+public class SearchIndexStatsDTO {
+
+    @ApiModelProperty(value = "Number of indexed questions", example = "12500")
+    private Integer documentCount;
+
+    @ApiModelProperty(value = "Number of distinct index terms", example = "48210")
+    private Integer termCount;
+
+    @ApiModelProperty(value = "When the index was last rebuilt from the database")
+    private LocalDateTime lastRebuiltAt;
+
+    @ApiModelProperty(value = "Duration of the last rebuild in milliseconds", example = "1830")
+    private Long lastRebuildMillis;
+}
@@ -0,0 +1,14 @@
+package com.example.questionbank.event;
+
+import lombok.Value;
+
+/**
+ * Published after a class, subject or chapter is created, updated or deleted.
+ * Listeners that keep derived copies of the hierarchy reload once the publishing transaction commits.
+ */
+@Value
+public class HierarchyChangedEvent {
+
+    String entityType;
+    Long entityId;
+}
@@ -0,0 +1,20 @@
+package com.example.questionbank.event;
+
+import lombok.Value;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published when the text, options or active state of questions may have changed.
+ * Derived in-memory structures refresh the listed questions after the publishing transaction commits.
+ */
+@Value
+public class QuestionChangedEvent {
+
+    Collection<Long> questionIds;
+
+    public static QuestionChangedEvent of(Long questionId) {
+        return new QuestionChangedEvent(List.of(questionId));
+    }
+}
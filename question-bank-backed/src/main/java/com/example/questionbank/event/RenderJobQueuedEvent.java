@@ -0,0 +1,13 @@
+package com.example.questionbank.event;
+
+import lombok.Value;
+
+/**
+ * Published when a paper render is queued. Workers are woken after the submitting transaction
+ * commits, so the job row is visible to them.
+ */
+@Value
+public class RenderJobQueuedEvent {
+
+    Long jobId;
+}
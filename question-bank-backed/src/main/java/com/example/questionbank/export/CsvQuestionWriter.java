@@ -0,0 +1,131 @@
+package com.example.questionbank.export;
+
+import com.example.questionbank.importer.QuestionTemplate;
+import com.example.questionbank.repository.projection.MCQOptionExportProjection;
+import com.example.questionbank.repository.projection.QuestionExportProjection;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV in the columns of the import template ({@link QuestionTemplate}), so an export can be
+ * edited and imported again. The number of option columns is fixed up front; options past it
+ * are left out. Starts with a byte order mark so spreadsheet programs read the file as UTF-8.
+ */
+public class CsvQuestionWriter implements QuestionExportWriter {
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    private static final String LINE_END = "\r\n";
+
+    private final Writer writer;
+    private final int optionColumns;
+
+    public CsvQuestionWriter(OutputStream out, int optionColumns) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        this.optionColumns = optionColumns;
+
+        writer.write(BYTE_ORDER_MARK);
+        List<String> headers = new ArrayList<>(List.of(
+                QuestionTemplate.QUESTION_ID, QuestionTemplate.CHAPTER_ID, QuestionTemplate.CHAPTER,
+                QuestionTemplate.SECTION_TYPE, QuestionTemplate.QUESTION_TYPE, QuestionTemplate.DIFFICULTY,
+                QuestionTemplate.MARKS, QuestionTemplate.NEGATIVE_MARKS, QuestionTemplate.TIME_LIMIT,
+                QuestionTemplate.QUESTION_TEXT, QuestionTemplate.QUESTION_IMAGE_URL, QuestionTemplate.EXPLANATION,
+                QuestionTemplate.ACTIVE));
+        for (int i = 0; i < optionColumns; i++) {
+            headers.add(QuestionTemplate.optionColumn(i));
+        }
+        headers.add(QuestionTemplate.CORRECT_OPTIONS);
+        writeRow(headers);
+    }
+
+    @Override
+    public void write(QuestionExportProjection question, Iterable<MCQOptionExportProjection> options) throws IOException {
+        List<String> row = new ArrayList<>(14 + optionColumns);
+        row.add(text(question.getId()));
+        row.add(text(question.getChapterId()));
+        row.add(question.getChapterName());
+        row.add(text(question.getSectionType()));
+        row.add(text(question.getQuestionType()));
+        row.add(text(question.getDifficultyLevel()));
+        row.add(text(question.getMarks()));
+        row.add(text(question.getNegativeMarks()));
+        row.add(text(question.getTimeLimitSeconds()));
+        row.add(question.getQuestionText());
+        row.add(question.getQuestionImageUrl());
+        row.add(question.getExplanation());
+        row.add(text(question.getIsActive()));
+
+        StringBuilder correct = new StringBuilder();
+        int column = 0;
+        for (MCQOptionExportProjection option : options) {
+            if (column == optionColumns) {
+                break;
+            }
+            row.add(option.getOptionText());
+            if (Boolean.TRUE.equals(option.getIsCorrect())) {
+                if (correct.length() > 0) {
+                    correct.append(", ");
+                }
+                correct.append(QuestionTemplate.optionLetter(column));
+            }
+            column++;
+        }
+        for (; column < optionColumns; column++) {
+            row.add(null);
+        }
+        row.add(correct.toString());
+        writeRow(row);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeRow(List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeValue(values.get(i));
+        }
+        writer.write(LINE_END);
+    }
+
+    // Quoted only when needed, with embedded quotes doubled (RFC 4180)
+    private void writeValue(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String text(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.questionbank.export;
+
+import com.example.questionbank.repository.projection.MCQOptionExportProjection;
+import com.example.questionbank.repository.projection.QuestionExportProjection;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * One JSON object per line: the question's fields, its chapter and subject, and an
+ * mcqOptions array. Field names follow QuestionResponseDTO.
+ */
+public class NdjsonQuestionWriter implements QuestionExportWriter {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final JsonGenerator generator;
+    private boolean empty = true;
+
+    public NdjsonQuestionWriter(OutputStream out) throws IOException {
+        this.generator = JSON.createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Root values are separated by the newline instead of the default space
+        this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+    }
+
+    @Override
+    public void write(QuestionExportProjection question, Iterable<MCQOptionExportProjection> options) throws IOException {
+        generator.writeStartObject();
+        writeNumber("id", question.getId());
+        writeNumber("chapterId", question.getChapterId());
+        generator.writeStringField("chapterName", question.getChapterName());
+        writeNumber("subjectId", question.getSubjectId());
+        generator.writeStringField("subjectName", question.getSubjectName());
+        writeString("sectionType", question.getSectionType());
+        writeString("questionType", question.getQuestionType());
+        writeString("difficultyLevel", question.getDifficultyLevel());
+        writeNumber("marks", question.getMarks());
+        writeNumber("negativeMarks", question.getNegativeMarks());
+        writeNumber("timeLimitSeconds", question.getTimeLimitSeconds());
+        generator.writeStringField("questionText", question.getQuestionText());
+        generator.writeStringField("questionImageUrl", question.getQuestionImageUrl());
+        generator.writeStringField("explanation", question.getExplanation());
+        writeBoolean("isActive", question.getIsActive());
+        writeTimestamp("createdAt", question.getCreatedAt());
+        writeTimestamp("updatedAt", question.getUpdatedAt());
+
+        generator.writeArrayFieldStart("mcqOptions");
+        for (MCQOptionExportProjection option : options) {
+            generator.writeStartObject();
+            generator.writeStringField("optionText", option.getOptionText());
+            writeBoolean("isCorrect", option.getIsCorrect());
+            writeNumber("optionOrder", option.getOptionOrder());
+            generator.writeStringField("optionImageUrl", option.getOptionImageUrl());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        empty = false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        // The last record gets its newline too
+        if (!empty) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+
+    private void writeNumber(String field, Number value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else if (value instanceof Double) {
+            generator.writeNumberField(field, value.doubleValue());
+        } else {
+            generator.writeNumberField(field, value.longValue());
+        }
+    }
+
+    private void writeString(String field, Enum<?> value) throws IOException {
+        generator.writeStringField(field, value != null ? value.name() : null);
+    }
+
+    private void writeBoolean(String field, Boolean value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeBooleanField(field, value);
+        }
+    }
+
+    private void writeTimestamp(String field, LocalDateTime value) throws IOException {
+        generator.writeStringField(field, value != null ? value.toString() : null);
+    }
+}
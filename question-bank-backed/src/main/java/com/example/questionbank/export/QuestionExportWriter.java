@@ -0,0 +1,21 @@
+package com.example.questionbank.export;
+
+import com.example.questionbank.repository.projection.MCQOptionExportProjection;
+import com.example.questionbank.repository.projection.QuestionExportProjection;
+
+import java.io.IOException;
+
+/**
+ * Writes exported questions one at a time. Nothing is kept between questions, so an export
+ * of any size runs in constant memory. Call {@link #flush()} between batches and
+ * {@link #finish()} after the last question; the target stream is not closed.
+ */
+public interface QuestionExportWriter {
+
+    // Options are the question's active ones, in option order
+    void write(QuestionExportProjection question, Iterable<MCQOptionExportProjection> options) throws IOException;
+
+    void flush() throws IOException;
+
+    void finish() throws IOException;
+}
@@ -0,0 +1,194 @@
+package com.example.questionbank.importer;
+
+import com.example.questionbank.dto.request.CreateMCQOptionRequestDTO;
+import com.example.questionbank.dto.request.CreateQuestionRequestDTO;
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.QuestionType;
+import com.example.questionbank.model.enums.SectionType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Turns one row of the question import template ({@link QuestionTemplate}) into a
+ * {@link CreateQuestionRequestDTO}. Headers are matched ignoring case, spaces and punctuation:
+ *
+ *   Chapter ID, Section Type, Question Text            required
+ *   Question Type, Difficulty, Marks, Negative Marks,  optional, defaults as for the API
+ *   Time Limit, Question Image URL, Explanation
+ *   Option A ... Option Z                              option texts, in letter order
+ *   Correct Options                                    letters of the correct options, e.g. "A" or "A, C"
+ *
+ * Only the format of each cell is checked here; the question rules are QuestionService's.
+ */
+public final class QuestionRowParser {
+
+    public static final List<String> REQUIRED_COLUMNS = List.of(
+            QuestionTemplate.CHAPTER_ID, QuestionTemplate.SECTION_TYPE, QuestionTemplate.QUESTION_TEXT);
+
+    private static final String OPTION_PREFIX = "option";
+
+    private QuestionRowParser() {
+    }
+
+    // Required columns the header row lacks, by their template names
+    public static List<String> missingColumns(Collection<String> headers) {
+        Set<String> present = new HashSet<>();
+        for (String header : headers) {
+            if (header != null) {
+                present.add(normalize(header));
+            }
+        }
+        List<String> missing = new ArrayList<>();
+        for (String column : REQUIRED_COLUMNS) {
+            if (!present.contains(normalize(column))) {
+                missing.add(column);
+            }
+        }
+        return missing;
+    }
+
+    // Cells that cannot be read are reported in errors by DTO field and left at their defaults
+    public static CreateQuestionRequestDTO parse(Map<String, ?> row, Map<String, String> errors) {
+        Map<String, String> values = new TreeMap<>();
+        row.forEach((header, value) -> {
+            if (header != null && value != null && !String.valueOf(value).isBlank()) {
+                values.put(normalize(header), String.valueOf(value).trim());
+            }
+        });
+
+        CreateQuestionRequestDTO dto = new CreateQuestionRequestDTO();
+        dto.setChapterId(parse(values, errors, "chapterId", Long.class, QuestionRowParser::parseLong, "chapterid"));
+        dto.setSectionType(parse(values, errors, "sectionType", SectionType.class, SectionType::fromString,
+                "sectiontype", "section"));
+        dto.setQuestionText(first(values, "questiontext", "question"));
+        dto.setQuestionImageUrl(first(values, "questionimageurl", "questionimage", "imageurl"));
+        dto.setExplanation(first(values, "explanation"));
+
+        QuestionType questionType = parse(values, errors, "questionType", QuestionType.class,
+                QuestionType::fromString, "questiontype", "type");
+        if (questionType != null) {
+            dto.setQuestionType(questionType);
+        }
+        DifficultyLevel difficulty = parse(values, errors, "difficultyLevel", DifficultyLevel.class,
+                QuestionRowParser::parseDifficulty, "difficulty", "difficultylevel");
+        if (difficulty != null) {
+            dto.setDifficultyLevel(difficulty);
+        }
+        Double marks = parse(values, errors, "marks", Double.class, Double::valueOf, "marks");
+        if (marks != null) {
+            dto.setMarks(marks);
+        }
+        Double negativeMarks = parse(values, errors, "negativeMarks", Double.class, Double::valueOf,
+                "negativemarks");
+        if (negativeMarks != null) {
+            dto.setNegativeMarks(negativeMarks);
+        }
+        dto.setTimeLimitSeconds(parse(values, errors, "timeLimitSeconds", Integer.class,
+                value -> Math.toIntExact(parseLong(value)), "timelimit", "timelimitseconds"));
+
+        dto.setMcqOptions(parseOptions(values, errors));
+        return dto;
+    }
+
+    private static List<CreateMCQOptionRequestDTO> parseOptions(Map<String, String> values, Map<String, String> errors) {
+        // Keyed by lower-case letter; values is sorted, so options come out in letter order
+        Map<Character, String> texts = new TreeMap<>();
+        values.forEach((header, value) -> {
+            if (header.length() == OPTION_PREFIX.length() + 1 && header.startsWith(OPTION_PREFIX)
+                    && Character.isLetter(header.charAt(OPTION_PREFIX.length()))) {
+                texts.put(header.charAt(OPTION_PREFIX.length()), value);
+            }
+        });
+
+        Set<Character> correct = new HashSet<>();
+        String correctLetters = first(values, "correctoptions", "correctoption", "answer", "answers");
+        if (correctLetters != null) {
+            for (String letter : correctLetters.toLowerCase(Locale.ROOT).split("[\\s,;/]+")) {
+                if (letter.isEmpty()) {
+                    continue;
+                }
+                if (letter.length() != 1 || !texts.containsKey(letter.charAt(0))) {
+                    errors.put("correctOptions", "Correct option '" + letter.toUpperCase(Locale.ROOT)
+                            + "' is not one of the filled option columns");
+                    continue;
+                }
+                correct.add(letter.charAt(0));
+            }
+        }
+
+        if (texts.isEmpty()) {
+            return null;
+        }
+        List<CreateMCQOptionRequestDTO> options = new ArrayList<>(texts.size());
+        texts.forEach((letter, text) -> options.add(CreateMCQOptionRequestDTO.builder()
+                .optionText(text)
+                .isCorrect(correct.contains(letter))
+                .optionOrder(options.size() + 1)
+                .build()));
+        return options;
+    }
+
+    private static <T> T parse(Map<String, String> values, Map<String, String> errors, String field,
+                               Class<T> type, Function<String, T> parser, String... headers) {
+        String value = first(values, headers);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            errors.put(field, "'" + value + "' is not a valid " + describe(type));
+            return null;
+        }
+    }
+
+    private static String first(Map<String, String> values, String... headers) {
+        for (String header : headers) {
+            String value = values.get(header);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    // Numeric cells formatted as General may still read "12.0"
+    private static Long parseLong(String value) {
+        return new BigDecimal(value).longValueExact();
+    }
+
+    // Either a name or the 1 to 5 level
+    private static DifficultyLevel parseDifficulty(String value) {
+        if (value.length() == 1 && Character.isDigit(value.charAt(0))) {
+            return DifficultyLevel.fromLevel(value.charAt(0) - '0');
+        }
+        return DifficultyLevel.fromString(value);
+    }
+
+    private static String describe(Class<?> type) {
+        if (type.isEnum()) {
+            return type.getSimpleName() + " (one of " + List.of(type.getEnumConstants()) + ")";
+        }
+        return type == Double.class ? "number" : "whole number";
+    }
+
+    private static String normalize(String header) {
+        StringBuilder normalized = new StringBuilder(header.length());
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+}
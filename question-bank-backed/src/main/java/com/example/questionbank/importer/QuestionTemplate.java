@@ -0,0 +1,35 @@
+package com.example.questionbank.importer;
+
+/**
+ * Column names of the question spreadsheet template, as written by exports. Imports also
+ * accept the aliases listed in {@link QuestionRowParser}.
+ */
+public final class QuestionTemplate {
+
+    public static final String QUESTION_ID = "Question ID";
+    public static final String CHAPTER_ID = "Chapter ID";
+    public static final String CHAPTER = "Chapter";
+    public static final String SECTION_TYPE = "Section Type";
+    public static final String QUESTION_TYPE = "Question Type";
+    public static final String DIFFICULTY = "Difficulty";
+    public static final String MARKS = "Marks";
+    public static final String NEGATIVE_MARKS = "Negative Marks";
+    public static final String TIME_LIMIT = "Time Limit";
+    public static final String QUESTION_TEXT = "Question Text";
+    public static final String QUESTION_IMAGE_URL = "Question Image URL";
+    public static final String EXPLANATION = "Explanation";
+    public static final String ACTIVE = "Active";
+    public static final String CORRECT_OPTIONS = "Correct Options";
+
+    private QuestionTemplate() {
+    }
+
+    // "Option A" for 0; past Z the letters repeat, which imports cannot tell apart
+    public static String optionColumn(int index) {
+        return "Option " + optionLetter(index);
+    }
+
+    public static char optionLetter(int index) {
+        return (char) ('A' + index % 26);
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.questionbank.importer;
+
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The shared string table of a workbook spooled to a temporary file. POI's own tables keep
+ * every string in memory, which for a large question bank is most of the workbook: each
+ * question and option text is a shared string. Entries are written once as UTF-8, with their
+ * offsets in a second file, and read back on demand through a small LRU of recently used
+ * strings, which keeps repeated values like section names off the disk.
+ *
+ * Not thread-safe; one instance serves one sheet parse.
+ */
+public class SpreadsheetSharedStrings implements SharedStrings, Closeable {
+
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final int RECENT_CAPACITY = 1024;
+
+    private final Path dataFile;
+    private final Path indexFile;
+    private final FileChannel data;
+    private final FileChannel index;
+    private final int count;
+
+    private final ByteBuffer offsetBuffer = ByteBuffer.allocate(Long.BYTES * 2);
+    private final Map<Integer, String> recent = new LinkedHashMap<>(RECENT_CAPACITY, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return size() > RECENT_CAPACITY;
+        }
+    };
+
+    private SpreadsheetSharedStrings(Path dataFile, Path indexFile, int count) throws IOException {
+        this.dataFile = dataFile;
+        this.indexFile = indexFile;
+        this.count = count;
+        this.data = FileChannel.open(dataFile, StandardOpenOption.READ);
+        this.index = FileChannel.open(indexFile, StandardOpenOption.READ);
+    }
+
+    // Spools the sharedStrings.xml part; a workbook without one reads as an empty table
+    public static SpreadsheetSharedStrings spool(InputStream sharedStringsXml, Path workDirectory) throws IOException {
+        Path dataFile = Files.createTempFile(workDirectory, "shared-strings", ".data");
+        Path indexFile = Files.createTempFile(workDirectory, "shared-strings", ".index");
+        try {
+            int count = 0;
+            if (sharedStringsXml != null) {
+                try (DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(dataFile)));
+                     DataOutputStream indexOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile)))) {
+                    count = copyEntries(sharedStringsXml, dataOut, indexOut);
+                }
+            }
+            return new SpreadsheetSharedStrings(dataFile, indexFile, count);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(dataFile);
+            Files.deleteIfExists(indexFile);
+            throw e;
+        }
+    }
+
+    @Override
+    public RichTextString getItemAt(int idx) {
+        return new XSSFRichTextString(getString(idx));
+    }
+
+    public String getString(int idx) {
+        if (idx < 0 || idx >= count) {
+            throw new IllegalArgumentException("Shared string " + idx + " is out of range, the table has " + count);
+        }
+        String cached = recent.get(idx);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            offsetBuffer.clear();
+            readFully(index, offsetBuffer, (long) idx * Long.BYTES);
+            offsetBuffer.flip();
+            long start = offsetBuffer.getLong();
+            long end = offsetBuffer.getLong();
+
+            ByteBuffer bytes = ByteBuffer.allocate((int) (end - start));
+            readFully(data, bytes, start);
+            String value = new String(bytes.array(), StandardCharsets.UTF_8);
+            recent.put(idx, value);
+            return value;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read shared string " + idx, e);
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public int getUniqueCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            data.close();
+            index.close();
+        } finally {
+            Files.deleteIfExists(dataFile);
+            Files.deleteIfExists(indexFile);
+        }
+    }
+
+    // One entry per <si>: the text of its <t> elements, plain or in rich text runs, without phonetic hints
+    private static int copyEntries(InputStream xml, DataOutputStream dataOut, DataOutputStream indexOut) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        int count = 0;
+        long offset = 0;
+        try {
+            XMLStreamReader reader = factory.createXMLStreamReader(xml);
+            StringBuilder text = new StringBuilder();
+            int phoneticDepth = 0;
+            boolean inText = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && MAIN_NS.equals(reader.getNamespaceURI())) {
+                    String name = reader.getLocalName();
+                    if ("si".equals(name)) {
+                        text.setLength(0);
+                    } else if ("rPh".equals(name)) {
+                        phoneticDepth++;
+                    } else if ("t".equals(name)) {
+                        inText = phoneticDepth == 0;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && MAIN_NS.equals(reader.getNamespaceURI())) {
+                    String name = reader.getLocalName();
+                    if ("si".equals(name)) {
+                        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+                        indexOut.writeLong(offset);
+                        dataOut.write(bytes);
+                        offset += bytes.length;
+                        count++;
+                    } else if ("rPh".equals(name)) {
+                        phoneticDepth--;
+                    } else if ("t".equals(name)) {
+                        inText = false;
+                    }
+                } else if (inText && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                        || event == XMLStreamConstants.SPACE)) {
+                    text.append(reader.getText());
+                }
+            }
+            reader.close();
+            // End offset of the last entry, so every entry's length is the next offset minus its own
+            indexOut.writeLong(offset);
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to read the shared strings of the workbook", e);
+        }
+        return count;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of spooled shared strings");
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.questionbank.importer;
+
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the first sheet of an XLSX workbook row by row with the XSSF event API, so only the
+ * current row is in memory. The first non-empty row is the header; every later row is handed
+ * over keyed by header text, with blank cells left out and blank rows skipped. Cell values
+ * are formatted the way Excel shows them.
+ */
+public final class XlsxRowReader {
+
+    public interface RowHandler {
+
+        void header(List<String> headers);
+
+        // Row numbers are 1-based, as Excel shows them
+        void row(int rowNumber, Map<String, String> values);
+    }
+
+    private XlsxRowReader() {
+    }
+
+    // Temporary files go to workDirectory and are removed before returning
+    public static void read(Path workbook, Path workDirectory, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(workbook.toFile(), PackageAccess.READ);
+             SpreadsheetSharedStrings sharedStrings = spoolSharedStrings(pkg, workDirectory)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IOException("The workbook has no sheets");
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, sharedStrings,
+                        new HeaderKeyedRows(handler), new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | UnsupportedFileFormatException | SAXException | ParserConfigurationException e) {
+            // Includes uploads that are not XLSX at all, which POI reports unchecked
+            throw new IOException("Failed to read the workbook: " + e.getMessage(), e);
+        }
+    }
+
+    private static SpreadsheetSharedStrings spoolSharedStrings(OPCPackage pkg, Path workDirectory) throws IOException {
+        List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+        if (parts.isEmpty()) {
+            return SpreadsheetSharedStrings.spool(null, workDirectory);
+        }
+        try (InputStream xml = parts.get(0).getInputStream()) {
+            return SpreadsheetSharedStrings.spool(xml, workDirectory);
+        }
+    }
+
+    private static final class HeaderKeyedRows implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final RowHandler handler;
+        private List<String> headers;
+        private final Map<Integer, String> cells = new LinkedHashMap<>();
+
+        private HeaderKeyedRows(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (cellReference == null || formattedValue == null || formattedValue.isBlank()) {
+                return;
+            }
+            cells.put((int) new CellReference(cellReference).getCol(), formattedValue.trim());
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (cells.isEmpty()) {
+                return;
+            }
+
+            if (headers == null) {
+                int width = Collections.max(cells.keySet()) + 1;
+                headers = new ArrayList<>(Collections.nCopies(width, null));
+                cells.forEach(headers::set);
+                handler.header(Collections.unmodifiableList(headers));
+                return;
+            }
+
+            Map<String, String> values = new LinkedHashMap<>();
+            cells.forEach((column, value) -> {
+                // Cells outside the header columns have no name to go by
+                if (column < headers.size() && headers.get(column) != null) {
+                    values.put(headers.get(column), value);
+                }
+            });
+            if (!values.isEmpty()) {
+                handler.row(rowNum + 1, values);
+            }
+        }
+    }
+}
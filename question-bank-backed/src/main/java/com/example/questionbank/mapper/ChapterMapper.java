@@ -19,7 +19,7 @@ public interface ChapterMapper {
     Chapter toEntity(CreateChapterRequestDTO dto);
 
     @Mapping(target = "subjectInfo", source = "subject")
-    @Mapping(target = "questionCount", expression = "java(entity.getQuestionCount())")
+    @Mapping(target = "questionCount", ignore = true) // filled from QuestionCounterService
     ChapterResponseDTO toResponseDTO(Chapter entity);
 
     List<ChapterResponseDTO> toResponseDTOList(List<Chapter> entities);
@@ -0,0 +1,29 @@
+package com.example.questionbank.mapper;
+
+import com.example.questionbank.dto.response.ChapterSummaryDTO;
+import com.example.questionbank.model.Chapter;
+import com.example.questionbank.service.HierarchyCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves nested chapter summaries for the question mappers from the hierarchy cache.
+ * Only the chapter id is read from the entity, so a lazy chapter proxy is never initialized on a hit.
+ */
+@Component
+public class HierarchySummaryResolver {
+
+    @Autowired
+    private HierarchyCacheService hierarchyCacheService;
+
+    @Autowired
+    private ChapterMapper chapterMapper;
+
+    public ChapterSummaryDTO toChapterSummary(Chapter chapter) {
+        if (chapter == null) {
+            return null;
+        }
+        return hierarchyCacheService.getChapterSummary(chapter.getId())
+                .orElseGet(() -> chapterMapper.toSummaryDTO(chapter));
+    }
+}
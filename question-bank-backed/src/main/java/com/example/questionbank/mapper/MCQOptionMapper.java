@@ -21,6 +21,9 @@ public interface MCQOptionMapper {
     // Convert List of Entities to List of ResponseDTOs
     List<MCQOptionResponseDTO> toResponseDTOList(List<MCQOption> entities);
 
+    // Copy for paper variants, which renumber options per set
+    MCQOptionResponseDTO copy(MCQOptionResponseDTO dto);
+
     // Convert List of CreateDTOs to List of Entities
     List<MCQOption> toEntityList(List<CreateMCQOptionRequestDTO> dtos);
 
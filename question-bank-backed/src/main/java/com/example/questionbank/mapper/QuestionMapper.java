@@ -9,7 +9,7 @@ import org.mapstruct.*;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring", uses = {MCQOptionMapper.class, ChapterMapper.class})
+@Mapper(componentModel = "spring", uses = {MCQOptionMapper.class, HierarchySummaryResolver.class})
 public interface QuestionMapper {
 
     // Convert CreateQuestionRequestDTO to Entity
@@ -17,11 +17,13 @@ public interface QuestionMapper {
     @Mapping(target = "isAddedToPaper", constant = "false")
     @Mapping(target = "transientOptions", ignore = true)
     @Mapping(target = "mcqOptions", ignore = true)
+    @Mapping(target = "textSignature", ignore = true) // Computed by the service from the question text
     Question toEntity(CreateQuestionRequestDTO dto);
 
     // Convert Entity to QuestionResponseDTO
     @Named("toResponseDTO")
     @Mapping(target = "chapterInfo", source = "chapter")
+    @Mapping(target = "nearDuplicates", ignore = true) // Set by the service on create and update
     QuestionResponseDTO toResponseDTO(Question entity);
 
     // Convert List of Entities to List of ResponseDTOs
@@ -30,7 +32,9 @@ public interface QuestionMapper {
 
     // Update entity from UpdateQuestionRequestDTO
     @Mapping(target = "chapter", source = "chapterId")
+    @Mapping(target = "isAddedToPaper", ignore = true)
     @Mapping(target = "transientOptions", ignore = true)
+    @Mapping(target = "textSignature", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateEntityFromDTO(UpdateQuestionRequestDTO dto, @MappingTarget Question entity);
 
@@ -42,8 +46,14 @@ public interface QuestionMapper {
     @Named("toResponseDTOWithoutOptions")
     @Mapping(target = "chapterInfo", source = "chapter")
     @Mapping(target = "mcqOptions", ignore = true) // Add this line to explicitly ignore mcqOptions
+    @Mapping(target = "isAddedToPaper", ignore = true) // Set by the service from the caller's paper draft
+    @Mapping(target = "nearDuplicates", ignore = true)
     QuestionResponseDTO toResponseDTOWithoutOptions(Question entity);
 
+    // Shallow copy for paper variants, which set their own option order
+    @Mapping(target = "mcqOptions", ignore = true)
+    QuestionResponseDTO copyWithoutOptions(QuestionResponseDTO dto);
+
     // Custom mapping method to convert Long chapterId to Chapter
     default Chapter mapChapterId(Long chapterId) {
         if (chapterId == null) {
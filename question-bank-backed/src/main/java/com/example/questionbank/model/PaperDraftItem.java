@@ -0,0 +1,32 @@
+package com.example.questionbank.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * One question in a user's paper draft. Drafts are edited in memory and written back in
+ * batches, so like {@link QuestionCounter} this row carries no audit columns or
+ * {@code @Version}; the owner's whole draft is replaced on each write.
+ */
+@Entity
+@Table(name = "paper_draft_items",
+        indexes = @Index(name = "idx_paper_draft_owner_position", columnList = "owner, position"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaperDraftItem {
+
+    @EmbeddedId
+    private PaperDraftItemId id;
+
+    @Column(name = "position", nullable = false)
+    private Integer position;
+
+    @Column(name = "marks_override")
+    private Double marksOverride;
+}
@@ -0,0 +1,24 @@
+package com.example.questionbank.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaperDraftItemId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "owner", nullable = false, length = 100)
+    private String owner;
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+}
@@ -19,11 +19,33 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
+@NamedEntityGraph(
+        name = Question.GRAPH_LIST,
+        attributeNodes = @NamedAttributeNode(value = "chapter", subgraph = "chapter.hierarchy"),
+        subgraphs = {
+                @NamedSubgraph(name = "chapter.hierarchy",
+                        attributeNodes = @NamedAttributeNode(value = "subject", subgraph = "subject.hierarchy")),
+                @NamedSubgraph(name = "subject.hierarchy",
+                        attributeNodes = @NamedAttributeNode("classEntity"))
+        })
+@NamedEntityGraph(
+        name = Question.GRAPH_DETAIL,
+        attributeNodes = {
+                @NamedAttributeNode(value = "chapter", subgraph = "chapter.hierarchy"),
+                @NamedAttributeNode("mcqOptions")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "chapter.hierarchy",
+                        attributeNodes = @NamedAttributeNode(value = "subject", subgraph = "subject.hierarchy")),
+                @NamedSubgraph(name = "subject.hierarchy",
+                        attributeNodes = @NamedAttributeNode("classEntity"))
+        })
 @Table(name = "questions",
         indexes = {
                 @Index(name = "idx_question_section", columnList = "section_type"),
                 @Index(name = "idx_question_type", columnList = "question_type"),
-                @Index(name = "idx_question_difficulty", columnList = "difficulty_level")
+                @Index(name = "idx_question_difficulty", columnList = "difficulty_level"),
+                @Index(name = "idx_question_updated_at", columnList = "updated_at, id")
         })
 @Data
 @NoArgsConstructor
@@ -33,6 +55,11 @@ import java.util.Set;
 @ToString(exclude = {"mcqOptions"})
 public class Question extends BaseEntity {
 
+    // Fetch plans: list pages need the to-one hierarchy only, detail and paper rendering also need the options.
+    // Collection graphs must not be combined with database paging.
+    public static final String GRAPH_LIST = "Question.list";
+    public static final String GRAPH_DETAIL = "Question.detail";
+
     @Column(name = "question_text", nullable = false, columnDefinition = "TEXT")
     @NotBlank(message = "Question text is required")
     @Size(min = 10, max = 5000, message = "Question text must be between 10 and 5000 characters")
@@ -82,7 +109,11 @@ public class Question extends BaseEntity {
     @Column(name = "time_limit_seconds")
     private Integer timeLimitSeconds;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // SimHash of the analyzed question text, maintained by NearDuplicateService
+    @Column(name = "text_signature")
+    private Long textSignature;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "chapter_id", nullable = false)
     @NotNull(message = "Chapter is required")
     private Chapter chapter;
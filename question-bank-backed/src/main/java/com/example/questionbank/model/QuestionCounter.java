@@ -0,0 +1,65 @@
+package com.example.questionbank.model;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.*;
+
+/**
+ * Materialized question count for one chapter and one combination of section type,
+ * difficulty and active flag. Rows are adjusted in place by the question
+ * write paths, so this entity deliberately does not extend {@link BaseEntity}: a
+ * {@code @Version} column would turn every concurrent increment into a lock conflict.
+ */
+@Entity
+@Table(name = "question_counts",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_question_count_key",
+                columnNames = {"chapter_id", "section_type", "difficulty_level", "is_active"}),
+        indexes = @Index(name = "idx_question_counter_chapter", columnList = "chapter_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"chapter"})
+public class QuestionCounter {
+
+    // Stored for questions without a difficulty. MySQL treats NULLs in a unique key as distinct,
+    // so a null difficulty would insert a new row on every upsert instead of updating one
+    public static final String NO_DIFFICULTY = "NONE";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "chapter_id", nullable = false)
+    private Chapter chapter;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "section_type", nullable = false, length = 20)
+    private SectionType sectionType;
+
+    @Column(name = "difficulty_level", nullable = false, length = 20)
+    private String difficultyLevel;
+
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive;
+
+    @Column(name = "question_count", nullable = false)
+    @Builder.Default
+    private Long questionCount = 0L;
+
+    public static String toDifficultyColumn(DifficultyLevel difficultyLevel) {
+        return difficultyLevel != null ? difficultyLevel.name() : NO_DIFFICULTY;
+    }
+
+    public static DifficultyLevel fromDifficultyColumn(String difficultyLevel) {
+        return NO_DIFFICULTY.equals(difficultyLevel) ? null : DifficultyLevel.valueOf(difficultyLevel);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.questionbank.model;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+import lombok.Value;
+
+/**
+ * The attributes of a question that decide which {@link QuestionCounter} row it is counted in.
+ * Take one before changing a question and compare it with the key afterwards to know
+ * which counters have to move. Paper membership is not part of the key: it lives in per-user
+ * drafts, which a global counter cannot represent.
+ */
+@Value
+public class QuestionCounterKey {
+
+    Long chapterId;
+    SectionType sectionType;
+    DifficultyLevel difficultyLevel;
+    boolean active;
+
+    public static QuestionCounterKey of(Question question) {
+        return new QuestionCounterKey(
+                question.getChapter() != null ? question.getChapter().getId() : null,
+                question.getSectionType(),
+                question.getDifficultyLevel(),
+                Boolean.TRUE.equals(question.getIsActive()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.questionbank.model;
+
+import com.example.questionbank.model.enums.RenderFormat;
+import com.example.questionbank.model.enums.RenderJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A queued paper render. The table is the queue: workers claim QUEUED rows with a conditional
+ * update, so a job is rendered once even with several instances, and jobs survive restarts.
+ */
+@Entity
+@Table(name = "render_jobs",
+        indexes = {
+                @Index(name = "idx_render_job_status", columnList = "status, id"),
+                @Index(name = "idx_render_job_owner", columnList = "owner")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@ToString(exclude = {"questionIds"})
+public class RenderJob extends BaseEntity {
+
+    @Column(name = "owner", nullable = false, length = 100)
+    private String owner;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private RenderJobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 10)
+    private RenderFormat format;
+
+    @Column(name = "title", length = 200)
+    private String title;
+
+    // Comma-separated, in paper order
+    @Column(name = "question_ids", nullable = false, columnDefinition = "TEXT")
+    private String questionIds;
+
+    @Column(name = "question_count", nullable = false)
+    private Integer questionCount;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "artifact_path", length = 500)
+    private String artifactPath;
+
+    @Column(name = "artifact_size")
+    private Long artifactSize;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+}
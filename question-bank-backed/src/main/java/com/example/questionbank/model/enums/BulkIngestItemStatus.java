@@ -0,0 +1,7 @@
+package com.example.questionbank.model.enums;
+
+public enum BulkIngestItemStatus {
+    CREATED,
+    INVALID,
+    FAILED
+}
@@ -0,0 +1,17 @@
+package com.example.questionbank.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum QuestionExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    QuestionExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+}
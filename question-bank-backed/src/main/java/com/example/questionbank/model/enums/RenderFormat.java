@@ -0,0 +1,17 @@
+package com.example.questionbank.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum RenderFormat {
+    PDF("application/pdf", "pdf"),
+    DOCX("application/vnd.openxmlformats-officedocument.wordprocessingml.document", "docx");
+
+    private final String contentType;
+    private final String extension;
+
+    RenderFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+}
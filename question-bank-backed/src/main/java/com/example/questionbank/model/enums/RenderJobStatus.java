@@ -0,0 +1,12 @@
+package com.example.questionbank.model.enums;
+
+public enum RenderJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
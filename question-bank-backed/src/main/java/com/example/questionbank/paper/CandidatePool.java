@@ -0,0 +1,116 @@
+package com.example.questionbank.paper;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The questions a paper may be built from, as parallel primitive arrays indexed by candidate
+ * position. Chapters are renumbered densely so solver state can live in plain arrays too.
+ */
+public final class CandidatePool {
+
+    final long[] questionIds;
+    final int[] sections;
+    final int[] difficulties;
+    final int[] chapters;
+    final double[] marks;
+    final int[] seconds;
+    final long[] chapterIds;
+
+    private CandidatePool(long[] questionIds, int[] sections, int[] difficulties, int[] chapters,
+                          double[] marks, int[] seconds, long[] chapterIds) {
+        this.questionIds = questionIds;
+        this.sections = sections;
+        this.difficulties = difficulties;
+        this.chapters = chapters;
+        this.marks = marks;
+        this.seconds = seconds;
+        this.chapterIds = chapterIds;
+    }
+
+    public int size() {
+        return questionIds.length;
+    }
+
+    public long questionId(int candidate) {
+        return questionIds[candidate];
+    }
+
+    int chapterOrdinal(long chapterId) {
+        for (int c = 0; c < chapterIds.length; c++) {
+            if (chapterIds[c] == chapterId) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public static final class Builder {
+
+        private long[] questionIds;
+        private int[] sections;
+        private int[] difficulties;
+        private int[] chapters;
+        private double[] marks;
+        private int[] seconds;
+        private int size;
+        private final Map<Long, Integer> chapterOrdinals = new HashMap<>();
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            questionIds = new long[capacity];
+            sections = new int[capacity];
+            difficulties = new int[capacity];
+            chapters = new int[capacity];
+            marks = new double[capacity];
+            seconds = new int[capacity];
+        }
+
+        // A question without a difficulty counts as the entity default, MEDIUM
+        public Builder add(long questionId, long chapterId, SectionType section, DifficultyLevel difficulty,
+                           Double questionMarks, Integer timeLimitSeconds) {
+            if (size == questionIds.length) {
+                grow();
+            }
+            questionIds[size] = questionId;
+            sections[size] = section.ordinal();
+            difficulties[size] = (difficulty != null ? difficulty : DifficultyLevel.MEDIUM).ordinal();
+            chapters[size] = chapterOrdinals.computeIfAbsent(chapterId, id -> chapterOrdinals.size());
+            marks[size] = questionMarks != null ? questionMarks : 0.0;
+            seconds[size] = timeLimitSeconds != null ? timeLimitSeconds : 0;
+            size++;
+            return this;
+        }
+
+        public CandidatePool build() {
+            long[] chapterIds = new long[chapterOrdinals.size()];
+            chapterOrdinals.forEach((id, ordinal) -> chapterIds[ordinal] = id);
+            return new CandidatePool(
+                    Arrays.copyOf(questionIds, size),
+                    Arrays.copyOf(sections, size),
+                    Arrays.copyOf(difficulties, size),
+                    Arrays.copyOf(chapters, size),
+                    Arrays.copyOf(marks, size),
+                    Arrays.copyOf(seconds, size),
+                    chapterIds);
+        }
+
+        private void grow() {
+            int capacity = questionIds.length * 2;
+            questionIds = Arrays.copyOf(questionIds, capacity);
+            sections = Arrays.copyOf(sections, capacity);
+            difficulties = Arrays.copyOf(difficulties, capacity);
+            chapters = Arrays.copyOf(chapters, capacity);
+            marks = Arrays.copyOf(marks, capacity);
+            seconds = Arrays.copyOf(seconds, capacity);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.questionbank.paper;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * What a generated paper has to look like. Section marks are hard targets; the difficulty
+ * distribution and chapter weights are relative shares of the total marks, and the time
+ * limit caps the sum of the questions' timeLimitSeconds. Null or empty maps do not constrain.
+ */
+@Value
+@Builder
+public class PaperBlueprint {
+
+    Map<SectionType, Double> sectionMarks;
+    Map<DifficultyLevel, Double> difficultyShares;
+    Map<Long, Double> chapterWeights;
+    Integer timeLimitSeconds;
+
+    public double totalMarks() {
+        return sectionMarks.values().stream().mapToDouble(Double::doubleValue).sum();
+    }
+}
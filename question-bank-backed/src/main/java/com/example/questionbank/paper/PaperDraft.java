@@ -0,0 +1,187 @@
+package com.example.questionbank.paper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One user's working paper: question ids in paper order, each with an optional marks
+ * override. Every change bumps a modification count; the writer snapshots the draft,
+ * persists the snapshot and then marks that count as flushed, so changes made while a
+ * write is in flight stay dirty for the next one. A flushed draft that has not been used
+ * for a while can be evicted; callers touch it before every use and reload it once evicted.
+ */
+public final class PaperDraft {
+
+    private final String owner;
+    // Insertion-ordered; a null value means the question's own marks apply
+    private final LinkedHashMap<Long, Double> items = new LinkedHashMap<>();
+    private long modCount;
+    private long flushedModCount;
+    private long lastUsedAt;
+    private boolean evicted;
+
+    public PaperDraft(String owner) {
+        this.owner = owner;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Loads persisted items without marking the draft dirty.
+     */
+    public synchronized void restore(Long questionId, Double marksOverride) {
+        items.put(questionId, marksOverride);
+    }
+
+    public synchronized int addAll(Collection<Long> questionIds) {
+        int added = 0;
+        for (Long questionId : questionIds) {
+            if (!items.containsKey(questionId)) {
+                items.put(questionId, null);
+                added++;
+            }
+        }
+        return changed(added);
+    }
+
+    public synchronized int removeAll(Collection<Long> questionIds) {
+        int removed = 0;
+        for (Long questionId : questionIds) {
+            if (items.containsKey(questionId)) {
+                items.remove(questionId);
+                removed++;
+            }
+        }
+        return changed(removed);
+    }
+
+    /**
+     * Returns whether the question is in the draft afterwards.
+     */
+    public synchronized boolean toggle(Long questionId) {
+        modCount++;
+        if (items.containsKey(questionId)) {
+            items.remove(questionId);
+            return false;
+        }
+        items.put(questionId, null);
+        return true;
+    }
+
+    /**
+     * Returns false when the question is not in the draft.
+     */
+    public synchronized boolean setMarksOverride(Long questionId, Double marks) {
+        if (!items.containsKey(questionId)) {
+            return false;
+        }
+        items.put(questionId, marks);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Moves the given questions to the front in the given order; questions not listed keep
+     * their relative order after them, and ids not in the draft are ignored.
+     */
+    public synchronized void reorder(List<Long> questionIds) {
+        LinkedHashMap<Long, Double> reordered = new LinkedHashMap<>();
+        for (Long questionId : questionIds) {
+            if (items.containsKey(questionId)) {
+                reordered.put(questionId, items.get(questionId));
+            }
+        }
+        items.forEach(reordered::putIfAbsent);
+        items.clear();
+        items.putAll(reordered);
+        modCount++;
+    }
+
+    public synchronized void clear() {
+        if (!items.isEmpty()) {
+            items.clear();
+            modCount++;
+        }
+    }
+
+    public synchronized boolean contains(Long questionId) {
+        return items.containsKey(questionId);
+    }
+
+    public synchronized List<Long> questionIds() {
+        return new ArrayList<>(items.keySet());
+    }
+
+    public synchronized Map<Long, Double> marksOverrides() {
+        Map<Long, Double> overrides = new LinkedHashMap<>();
+        items.forEach((questionId, marks) -> {
+            if (marks != null) {
+                overrides.put(questionId, marks);
+            }
+        });
+        return overrides;
+    }
+
+    public synchronized boolean isDirty() {
+        return modCount != flushedModCount;
+    }
+
+    /**
+     * Records a use at the given time. Returns false once the draft is evicted, so the caller
+     * loads it again instead of editing a copy that is no longer written back.
+     */
+    public synchronized boolean touch(long now) {
+        if (evicted) {
+            return false;
+        }
+        lastUsedAt = Math.max(lastUsedAt, now);
+        return true;
+    }
+
+    /**
+     * Evicts the draft when all its changes are flushed and it was last used before the given
+     * time. Returns whether it was evicted.
+     */
+    public synchronized boolean evictIfIdle(long idleSince) {
+        if (evicted || isDirty() || lastUsedAt >= idleSince) {
+            return false;
+        }
+        evicted = true;
+        return true;
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(new LinkedHashMap<>(items), modCount);
+    }
+
+    public synchronized void markFlushed(Snapshot snapshot) {
+        flushedModCount = Math.max(flushedModCount, snapshot.modCount);
+    }
+
+    private int changed(int count) {
+        if (count > 0) {
+            modCount++;
+        }
+        return count;
+    }
+
+    public static final class Snapshot {
+
+        private final LinkedHashMap<Long, Double> items;
+        private final long modCount;
+
+        private Snapshot(LinkedHashMap<Long, Double> items, long modCount) {
+            this.items = items;
+            this.modCount = modCount;
+        }
+
+        public Map<Long, Double> items() {
+            return items;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.questionbank.paper;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Fills a blueprint from a candidate pool. The cost of a selection is its weighted absolute
+ * deviation from the section, difficulty and chapter mark targets plus any time overrun.
+ * A greedy pass repeatedly adds the candidate that lowers the cost most; local search then
+ * tries random add, remove and same-section swap moves and keeps those that do not raise it.
+ * Every move is scored in constant time from per-group running totals, and all randomness
+ * comes from the seed, so the same pool, blueprint and seed give the same paper.
+ */
+public final class PaperSolver {
+
+    // Section marks are what the paper is graded on, so they dominate the softer shares
+    private static final double SECTION_WEIGHT = 100.0;
+    private static final double DIFFICULTY_WEIGHT = 10.0;
+    private static final double CHAPTER_WEIGHT = 5.0;
+    private static final double TIME_WEIGHT_PER_MINUTE = 10.0;
+
+    private static final int LOCAL_SEARCH_MOVES = 40_000;
+    private static final double EPSILON = 1e-9;
+
+    private final CandidatePool pool;
+    private final SplittableRandom random;
+
+    private final double[] sectionTargets = new double[SectionType.values().length];
+    private final double[] difficultyTargets = new double[DifficultyLevel.values().length];
+    private final double[] chapterTargets;
+    private final boolean constrainDifficulty;
+    private final boolean constrainChapters;
+    private final int timeLimit;
+
+    private final double[] sectionMarks = new double[sectionTargets.length];
+    private final double[] difficultyMarks = new double[difficultyTargets.length];
+    private final double[] chapterMarks;
+    private long seconds;
+
+    private final boolean[] selected;
+    // Selected candidates in a dense array for uniform random picks, with each one's slot in it
+    private final int[] selection;
+    private final int[] slotOf;
+    private int selectionSize;
+
+    private final int[][] bySection;
+
+    private PaperSolver(CandidatePool pool, PaperBlueprint blueprint, long seed) {
+        this.pool = pool;
+        this.random = new SplittableRandom(seed);
+        this.chapterTargets = new double[pool.chapterIds.length];
+        this.chapterMarks = new double[pool.chapterIds.length];
+        this.selected = new boolean[pool.size()];
+        this.selection = new int[pool.size()];
+        this.slotOf = new int[pool.size()];
+
+        double total = blueprint.totalMarks();
+        blueprint.getSectionMarks().forEach((section, target) -> sectionTargets[section.ordinal()] = target);
+        constrainDifficulty = distribute(blueprint.getDifficultyShares(), total, difficultyTargets);
+        constrainChapters = blueprint.getChapterWeights() != null && !blueprint.getChapterWeights().isEmpty();
+        if (constrainChapters) {
+            double weights = blueprint.getChapterWeights().values().stream().mapToDouble(Double::doubleValue).sum();
+            blueprint.getChapterWeights().forEach((chapterId, weight) -> {
+                int chapter = pool.chapterOrdinal(chapterId);
+                if (chapter >= 0 && weights > 0) {
+                    chapterTargets[chapter] = total * weight / weights;
+                }
+            });
+        }
+        timeLimit = blueprint.getTimeLimitSeconds() != null ? blueprint.getTimeLimitSeconds() : Integer.MAX_VALUE;
+
+        int[] counts = new int[sectionTargets.length];
+        for (int i = 0; i < pool.size(); i++) {
+            counts[pool.sections[i]]++;
+        }
+        bySection = new int[sectionTargets.length][];
+        for (int s = 0; s < bySection.length; s++) {
+            bySection[s] = new int[counts[s]];
+            counts[s] = 0;
+        }
+        for (int i = 0; i < pool.size(); i++) {
+            bySection[pool.sections[i]][counts[pool.sections[i]]++] = i;
+        }
+    }
+
+    /**
+     * Returns the chosen candidate positions, ordered by section and then by pool order.
+     */
+    public static int[] solve(CandidatePool pool, PaperBlueprint blueprint, long seed) {
+        PaperSolver solver = new PaperSolver(pool, blueprint, seed);
+        solver.greedy();
+        solver.localSearch();
+        return solver.result();
+    }
+
+    private void greedy() {
+        // Visiting candidates in a seeded order breaks ties between equally good questions randomly
+        int[] order = new int[pool.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        for (int i = order.length - 1; i > 0; i--) {
+            int k = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[k];
+            order[k] = swap;
+        }
+
+        while (true) {
+            int best = -1;
+            double bestDelta = -EPSILON;
+            for (int candidate : order) {
+                if (!selected[candidate]) {
+                    double delta = moveDelta(-1, candidate);
+                    if (delta < bestDelta) {
+                        bestDelta = delta;
+                        best = candidate;
+                    }
+                }
+            }
+            if (best < 0) {
+                return;
+            }
+            add(best);
+        }
+    }
+
+    private void localSearch() {
+        if (pool.size() == 0) {
+            // Nothing to move, and no candidate to draw at random
+            return;
+        }
+        for (int move = 0; move < LOCAL_SEARCH_MOVES && cost() > EPSILON; move++) {
+            int out = -1;
+            int in = -1;
+            int kind = random.nextInt(3);
+            if (kind == 0 || selectionSize == 0) {
+                in = random.nextInt(pool.size());
+            } else {
+                out = selection[random.nextInt(selectionSize)];
+                if (kind == 2) {
+                    int[] section = bySection[pool.sections[out]];
+                    in = section[random.nextInt(section.length)];
+                }
+            }
+            if (in >= 0 && selected[in]) {
+                continue;
+            }
+
+            // Equal-cost moves are accepted so the search can drift across plateaus
+            if (moveDelta(out, in) <= EPSILON) {
+                if (out >= 0) {
+                    remove(out);
+                }
+                if (in >= 0) {
+                    add(in);
+                }
+            }
+        }
+    }
+
+    // Change in cost from removing out and adding in; either may be -1
+    private double moveDelta(int out, int in) {
+        double delta = 0;
+
+        int sectionOut = out >= 0 ? pool.sections[out] : -1;
+        int sectionIn = in >= 0 ? pool.sections[in] : -1;
+        delta += SECTION_WEIGHT * groupDelta(sectionMarks, sectionTargets, out, sectionOut, in, sectionIn);
+        if (constrainDifficulty) {
+            int difficultyOut = out >= 0 ? pool.difficulties[out] : -1;
+            int difficultyIn = in >= 0 ? pool.difficulties[in] : -1;
+            delta += DIFFICULTY_WEIGHT
+                    * groupDelta(difficultyMarks, difficultyTargets, out, difficultyOut, in, difficultyIn);
+        }
+        if (constrainChapters) {
+            int chapterOut = out >= 0 ? pool.chapters[out] : -1;
+            int chapterIn = in >= 0 ? pool.chapters[in] : -1;
+            delta += CHAPTER_WEIGHT * groupDelta(chapterMarks, chapterTargets, out, chapterOut, in, chapterIn);
+        }
+
+        long newSeconds = seconds - (out >= 0 ? pool.seconds[out] : 0) + (in >= 0 ? pool.seconds[in] : 0);
+        delta += TIME_WEIGHT_PER_MINUTE * (overrun(newSeconds) - overrun(seconds)) / 60.0;
+        return delta;
+    }
+
+    private double groupDelta(double[] totals, double[] targets, int out, int keyOut, int in, int keyIn) {
+        double before = 0;
+        double after = 0;
+        if (keyOut >= 0) {
+            double change = -pool.marks[out] + (keyIn == keyOut ? pool.marks[in] : 0);
+            before += Math.abs(totals[keyOut] - targets[keyOut]);
+            after += Math.abs(totals[keyOut] + change - targets[keyOut]);
+        }
+        if (keyIn >= 0 && keyIn != keyOut) {
+            before += Math.abs(totals[keyIn] - targets[keyIn]);
+            after += Math.abs(totals[keyIn] + pool.marks[in] - targets[keyIn]);
+        }
+        return after - before;
+    }
+
+    private double cost() {
+        double cost = SECTION_WEIGHT * deviation(sectionMarks, sectionTargets);
+        if (constrainDifficulty) {
+            cost += DIFFICULTY_WEIGHT * deviation(difficultyMarks, difficultyTargets);
+        }
+        if (constrainChapters) {
+            cost += CHAPTER_WEIGHT * deviation(chapterMarks, chapterTargets);
+        }
+        return cost + TIME_WEIGHT_PER_MINUTE * overrun(seconds) / 60.0;
+    }
+
+    private void add(int candidate) {
+        apply(candidate, 1);
+        selected[candidate] = true;
+        slotOf[candidate] = selectionSize;
+        selection[selectionSize++] = candidate;
+    }
+
+    private void remove(int candidate) {
+        apply(candidate, -1);
+        selected[candidate] = false;
+        int last = selection[--selectionSize];
+        selection[slotOf[candidate]] = last;
+        slotOf[last] = slotOf[candidate];
+    }
+
+    private void apply(int candidate, int sign) {
+        double marks = sign * pool.marks[candidate];
+        sectionMarks[pool.sections[candidate]] += marks;
+        difficultyMarks[pool.difficulties[candidate]] += marks;
+        chapterMarks[pool.chapters[candidate]] += marks;
+        seconds += (long) sign * pool.seconds[candidate];
+    }
+
+    private int[] result() {
+        int[] chosen = Arrays.copyOf(selection, selectionSize);
+        Arrays.sort(chosen);
+        int[] ordered = new int[chosen.length];
+        int n = 0;
+        for (int section = 0; section < sectionTargets.length; section++) {
+            for (int candidate : chosen) {
+                if (pool.sections[candidate] == section) {
+                    ordered[n++] = candidate;
+                }
+            }
+        }
+        return ordered;
+    }
+
+    private double overrun(long totalSeconds) {
+        return Math.max(0, totalSeconds - timeLimit);
+    }
+
+    private static double deviation(double[] totals, double[] targets) {
+        double sum = 0;
+        for (int i = 0; i < totals.length; i++) {
+            sum += Math.abs(totals[i] - targets[i]);
+        }
+        return sum;
+    }
+
+    private static <K extends Enum<K>> boolean distribute(Map<K, Double> shares, double total, double[] targets) {
+        if (shares == null || shares.isEmpty()) {
+            return false;
+        }
+        double sum = shares.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (sum <= 0) {
+            return false;
+        }
+        shares.forEach((key, share) -> targets[key.ordinal()] = total * share / sum);
+        return true;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.questionbank.paper;
+
+import java.util.SplittableRandom;
+
+/**
+ * Question and option orderings for the sets of a multi-variant paper. Sections stay
+ * contiguous and in their original order. Inside a section each difficulty level is spread
+ * evenly over the positions, so no set puts all its hard questions first; which question
+ * of a level lands where is random.
+ */
+public final class VariantShuffler {
+
+    private VariantShuffler() {
+    }
+
+    /**
+     * Returns a permutation of the question positions: element i is the original position of
+     * the question printed i-th.
+     */
+    public static int[] orderQuestions(int[] sections, int[] difficulties, SplittableRandom random) {
+        int n = sections.length;
+        int[] order = new int[n];
+        boolean[] placed = new boolean[n];
+        int next = 0;
+
+        for (int first = 0; first < n; first++) {
+            if (placed[first]) {
+                continue;
+            }
+
+            int section = sections[first];
+            int levels = 0;
+            for (int i = first; i < n; i++) {
+                if (sections[i] == section) {
+                    levels = Math.max(levels, difficulties[i] + 1);
+                }
+            }
+
+            // Positions of this section per difficulty level, each shuffled
+            int[][] groups = new int[levels][];
+            int[] sizes = new int[levels];
+            for (int i = first; i < n; i++) {
+                if (sections[i] == section) {
+                    sizes[difficulties[i]]++;
+                }
+            }
+            for (int level = 0; level < levels; level++) {
+                groups[level] = new int[sizes[level]];
+                sizes[level] = 0;
+            }
+            for (int i = first; i < n; i++) {
+                if (sections[i] == section) {
+                    groups[difficulties[i]][sizes[difficulties[i]]++] = i;
+                    placed[i] = true;
+                }
+            }
+            for (int[] group : groups) {
+                shuffle(group, random);
+            }
+
+            // Each level's k-th question is due at (k + 1) / size of the section; taking the
+            // earliest due level spreads every level evenly, random priorities break ties
+            int[] taken = new int[levels];
+            int[] priority = permutation(levels, random);
+            int remaining = 0;
+            for (int size : sizes) {
+                remaining += size;
+            }
+            while (remaining-- > 0) {
+                int best = -1;
+                for (int level = 0; level < levels; level++) {
+                    if (taken[level] == sizes[level]) {
+                        continue;
+                    }
+                    if (best < 0 || isDueBefore(level, best, taken, sizes, priority)) {
+                        best = level;
+                    }
+                }
+                order[next++] = groups[best][taken[best]++];
+            }
+        }
+        return order;
+    }
+
+    public static int[] permutation(int n, SplittableRandom random) {
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+        shuffle(permutation, random);
+        return permutation;
+    }
+
+    private static boolean isDueBefore(int a, int b, int[] taken, int[] sizes, int[] priority) {
+        // (taken[a] + 1) / sizes[a] < (taken[b] + 1) / sizes[b], without division
+        long dueA = (long) (taken[a] + 1) * sizes[b];
+        long dueB = (long) (taken[b] + 1) * sizes[a];
+        return dueA < dueB || (dueA == dueB && priority[a] < priority[b]);
+    }
+
+    private static void shuffle(int[] values, SplittableRandom random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int k = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[k];
+            values[k] = swap;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.example.questionbank.render;
+
+import com.example.questionbank.dto.response.MCQOptionResponseDTO;
+import com.example.questionbank.dto.response.QuestionResponseDTO;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a question paper as a .docx package straight to a stream. The document part is
+ * written element by element while questions are added, so memory does not grow with the
+ * paper; only the distinct formula images are remembered until the end, where each is stored
+ * once as a media part and shared by every place it appears.
+ *
+ * Call {@link #finish()} after the last question. The target stream is not closed.
+ */
+public class DocxPaperWriter {
+
+    // Part of the rendered paper cache key; bump when the generated layout changes
+    public static final String VERSION = "1";
+
+    private static final String W = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String R = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String WP = "http://schemas.openxmlformats.org/drawingml/2006/wordprocessingDrawing";
+    private static final String A = "http://schemas.openxmlformats.org/drawingml/2006/main";
+    private static final String PIC = "http://schemas.openxmlformats.org/drawingml/2006/picture";
+    private static final String REL_TYPES = "http://schemas.openxmlformats.org/officeDocument/2006/relationships/";
+
+    private static final String CONTENT_TYPES =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                    + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                    + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                    + "<Default Extension=\"png\" ContentType=\"image/png\"/>"
+                    + "<Override PartName=\"/word/document.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml\"/>"
+                    + "<Override PartName=\"/word/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.wordprocessingml.styles+xml\"/>"
+                    + "</Types>";
+
+    private static final String PACKAGE_RELS =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                    + "<Relationship Id=\"rId1\" Type=\"" + REL_TYPES + "officeDocument\" Target=\"word/document.xml\"/>"
+                    + "</Relationships>";
+
+    private static final String STYLES_RESOURCE = "/templates/docx/styles.xml";
+
+    // A4 with the margins of the PDF template, in twentieths of a point
+    private static final int PAGE_WIDTH = 11906;
+    private static final int PAGE_HEIGHT = 16838;
+    private static final int MARGIN_VERTICAL = 1021;
+    private static final int MARGIN_HORIZONTAL = 907;
+    private static final int EMU_PER_POINT = 12700;
+
+    private final ZipOutputStream zip;
+    private final XMLStreamWriter xml;
+    private final FormulaText formulas;
+
+    // Formula URI -> relationship id of its media part, in order of first use
+    private final Map<String, String> mediaIds = new LinkedHashMap<>();
+    private int drawingCount;
+
+    public DocxPaperWriter(OutputStream out, FormulaText formulas) throws IOException {
+        this.formulas = formulas;
+        // Finishing the zip must not close the caller's stream
+        this.zip = new ZipOutputStream(new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.flush();
+            }
+        });
+
+        writeEntry("[Content_Types].xml", CONTENT_TYPES);
+        writeEntry("_rels/.rels", PACKAGE_RELS);
+        try (InputStream styles = DocxPaperWriter.class.getResourceAsStream(STYLES_RESOURCE)) {
+            if (styles == null) {
+                throw new IOException("Missing " + STYLES_RESOURCE);
+            }
+            zip.putNextEntry(new ZipEntry("word/styles.xml"));
+            styles.transferTo(zip);
+            zip.closeEntry();
+        }
+
+        zip.putNextEntry(new ZipEntry("word/document.xml"));
+        try {
+            Writer writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+            xml = XMLOutputFactory.newFactory().createXMLStreamWriter(writer);
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("w", "document", W);
+            xml.writeNamespace("w", W);
+            xml.writeNamespace("r", R);
+            xml.writeNamespace("wp", WP);
+            xml.writeNamespace("a", A);
+            xml.writeNamespace("pic", PIC);
+            xml.writeStartElement("w", "body", W);
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to start document", e);
+        }
+    }
+
+    public void title(String title, String subtitle) throws IOException {
+        try {
+            styledParagraph("Title", title);
+            styledParagraph("Subtitle", subtitle);
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write title", e);
+        }
+    }
+
+    public void section(String heading) throws IOException {
+        try {
+            styledParagraph("Heading1", heading);
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write section", e);
+        }
+    }
+
+    public void question(int number, QuestionResponseDTO question, List<String> optionLabels) throws IOException {
+        List<MCQOptionResponseDTO> options = question.getMcqOptions();
+        boolean hasOptions = options != null && !options.isEmpty();
+        try {
+            // Kept on one page with its options, like page-break-inside: avoid in the PDF
+            startParagraph("Question", hasOptions);
+            run(number + ". ", true);
+            segments(question.getQuestionText());
+            xml.writeStartElement("w", "r", W);
+            xml.writeEmptyElement("w", "tab", W);
+            xml.writeEndElement();
+            run("[" + question.getMarks() + "]", false);
+            xml.writeEndElement();
+
+            if (hasOptions) {
+                for (int i = 0; i < options.size(); i++) {
+                    startParagraph("Option", i < options.size() - 1);
+                    run("(" + (i < optionLabels.size() ? optionLabels.get(i) : String.valueOf(i + 1)) + ") ", false);
+                    segments(options.get(i).getOptionText());
+                    xml.writeEndElement();
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write question " + question.getId(), e);
+        }
+    }
+
+    public void finish() throws IOException {
+        try {
+            xml.writeStartElement("w", "sectPr", W);
+            xml.writeEmptyElement("w", "pgSz", W);
+            xml.writeAttribute("w", W, "w", String.valueOf(PAGE_WIDTH));
+            xml.writeAttribute("w", W, "h", String.valueOf(PAGE_HEIGHT));
+            xml.writeEmptyElement("w", "pgMar", W);
+            xml.writeAttribute("w", W, "top", String.valueOf(MARGIN_VERTICAL));
+            xml.writeAttribute("w", W, "bottom", String.valueOf(MARGIN_VERTICAL));
+            xml.writeAttribute("w", W, "left", String.valueOf(MARGIN_HORIZONTAL));
+            xml.writeAttribute("w", W, "right", String.valueOf(MARGIN_HORIZONTAL));
+            xml.writeAttribute("w", W, "header", "0");
+            xml.writeAttribute("w", W, "footer", "0");
+            xml.writeAttribute("w", W, "gutter", "0");
+            xml.writeEndElement();
+            xml.writeEndElement();
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to finish document", e);
+        }
+        zip.closeEntry();
+
+        StringBuilder rels = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + REL_TYPES + "styles\" Target=\"styles.xml\"/>");
+        for (Map.Entry<String, String> media : mediaIds.entrySet()) {
+            String fileName = mediaFileName(media.getValue());
+            rels.append("<Relationship Id=\"").append(media.getValue()).append("\" Type=\"").append(REL_TYPES)
+                    .append("image\" Target=\"media/").append(fileName).append("\"/>");
+
+            zip.putNextEntry(new ZipEntry("word/media/" + fileName));
+            zip.write(formulas.image(media.getKey()).getPng());
+            zip.closeEntry();
+        }
+        rels.append("</Relationships>");
+        writeEntry("word/_rels/document.xml.rels", rels.toString());
+
+        zip.finish();
+        zip.flush();
+    }
+
+    private void styledParagraph(String style, String text) throws XMLStreamException {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        startParagraph(style, false);
+        run(text, false);
+        xml.writeEndElement();
+    }
+
+    private void startParagraph(String style, boolean keepNext) throws XMLStreamException {
+        xml.writeStartElement("w", "p", W);
+        xml.writeStartElement("w", "pPr", W);
+        xml.writeEmptyElement("w", "pStyle", W);
+        xml.writeAttribute("w", W, "val", style);
+        if (keepNext) {
+            xml.writeEmptyElement("w", "keepNext", W);
+        }
+        xml.writeEndElement();
+    }
+
+    private void segments(String text) throws XMLStreamException {
+        for (FormulaText.Segment segment : formulas.segments(text)) {
+            if (segment.getImage() != null) {
+                drawing(segment);
+            } else {
+                run(segment.getText(), false);
+            }
+        }
+    }
+
+    private void run(String text, boolean bold) throws XMLStreamException {
+        xml.writeStartElement("w", "r", W);
+        if (bold) {
+            xml.writeStartElement("w", "rPr", W);
+            xml.writeEmptyElement("w", "b", W);
+            xml.writeEndElement();
+        }
+
+        // Line breaks and tabs are elements in WordprocessingML, not characters
+        StringBuilder chunk = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\t') {
+                textElement(chunk);
+                xml.writeEmptyElement("w", c == '\n' ? "br" : "tab", W);
+            } else if (c == '\r') {
+                continue;
+            } else if (isXmlChar(c)) {
+                chunk.append(c);
+            }
+        }
+        textElement(chunk);
+        xml.writeEndElement();
+    }
+
+    private void textElement(StringBuilder chunk) throws XMLStreamException {
+        if (chunk.length() == 0) {
+            return;
+        }
+        xml.writeStartElement("w", "t", W);
+        xml.writeAttribute("xml", "http://www.w3.org/XML/1998/namespace", "space", "preserve");
+        xml.writeCharacters(chunk.toString());
+        xml.writeEndElement();
+        chunk.setLength(0);
+    }
+
+    private void drawing(FormulaText.Segment segment) throws XMLStreamException {
+        FormulaImage image = segment.getImage();
+        String mediaId = mediaIds.computeIfAbsent(segment.getSrc(), uri -> "rId" + (mediaIds.size() + 2));
+        int id = ++drawingCount;
+        String cx = String.valueOf(Math.round(image.getWidthPoints() * EMU_PER_POINT));
+        String cy = String.valueOf(Math.round(image.getHeightPoints() * EMU_PER_POINT));
+
+        xml.writeStartElement("w", "r", W);
+        // Lowered by its depth, in half-points, so the formula sits on the text baseline
+        xml.writeStartElement("w", "rPr", W);
+        xml.writeEmptyElement("w", "position", W);
+        xml.writeAttribute("w", W, "val", String.valueOf(-Math.round(image.getDepthPoints() * 2)));
+        xml.writeEndElement();
+
+        xml.writeStartElement("w", "drawing", W);
+        xml.writeStartElement("wp", "inline", WP);
+        for (String distance : new String[]{"distT", "distB", "distL", "distR"}) {
+            xml.writeAttribute(distance, "0");
+        }
+        xml.writeEmptyElement("wp", "extent", WP);
+        xml.writeAttribute("cx", cx);
+        xml.writeAttribute("cy", cy);
+        xml.writeEmptyElement("wp", "docPr", WP);
+        xml.writeAttribute("id", String.valueOf(id));
+        xml.writeAttribute("name", "Formula " + id);
+        xml.writeAttribute("descr", sanitize(segment.getText()));
+
+        xml.writeStartElement("a", "graphic", A);
+        xml.writeStartElement("a", "graphicData", A);
+        xml.writeAttribute("uri", PIC);
+        xml.writeStartElement("pic", "pic", PIC);
+
+        xml.writeStartElement("pic", "nvPicPr", PIC);
+        xml.writeEmptyElement("pic", "cNvPr", PIC);
+        xml.writeAttribute("id", String.valueOf(id));
+        xml.writeAttribute("name", mediaFileName(mediaId));
+        xml.writeEmptyElement("pic", "cNvPicPr", PIC);
+        xml.writeEndElement();
+
+        xml.writeStartElement("pic", "blipFill", PIC);
+        xml.writeEmptyElement("a", "blip", A);
+        xml.writeAttribute("r", R, "embed", mediaId);
+        xml.writeStartElement("a", "stretch", A);
+        xml.writeEmptyElement("a", "fillRect", A);
+        xml.writeEndElement();
+        xml.writeEndElement();
+
+        xml.writeStartElement("pic", "spPr", PIC);
+        xml.writeStartElement("a", "xfrm", A);
+        xml.writeEmptyElement("a", "off", A);
+        xml.writeAttribute("x", "0");
+        xml.writeAttribute("y", "0");
+        xml.writeEmptyElement("a", "ext", A);
+        xml.writeAttribute("cx", cx);
+        xml.writeAttribute("cy", cy);
+        xml.writeEndElement();
+        xml.writeStartElement("a", "prstGeom", A);
+        xml.writeAttribute("prst", "rect");
+        xml.writeEmptyElement("a", "avLst", A);
+        xml.writeEndElement();
+        xml.writeEndElement();
+
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static String mediaFileName(String mediaId) {
+        return "formula" + mediaId.substring(3) + ".png";
+    }
+
+    private static String sanitize(String text) {
+        StringBuilder clean = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isXmlChar(c)) {
+                clean.append(c);
+            }
+        }
+        return clean.toString();
+    }
+
+    // Control characters other than tab and line breaks are not allowed in XML 1.0
+    private static boolean isXmlChar(char c) {
+        return c >= 0x20 ? c != 0xFFFE && c != 0xFFFF : c == '\t' || c == '\n' || c == '\r';
+    }
+}
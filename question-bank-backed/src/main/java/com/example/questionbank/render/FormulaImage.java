@@ -0,0 +1,58 @@
+package com.example.questionbank.render;
+
+/**
+ * A rasterized formula as PNG. Sizes are in pixels at {@code dpi}; depth is how far the image
+ * reaches below the text baseline, so it can be aligned with the surrounding line.
+ */
+public final class FormulaImage {
+
+    private final byte[] png;
+    private final int width;
+    private final int height;
+    private final int depth;
+    private final int dpi;
+
+    public FormulaImage(byte[] png, int width, int height, int depth, int dpi) {
+        this.png = png;
+        this.width = width;
+        this.height = height;
+        this.depth = depth;
+        this.dpi = dpi;
+    }
+
+    public byte[] getPng() {
+        return png;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getDpi() {
+        return dpi;
+    }
+
+    public float getWidthPoints() {
+        return toPoints(width);
+    }
+
+    public float getHeightPoints() {
+        return toPoints(height);
+    }
+
+    public float getDepthPoints() {
+        return toPoints(depth);
+    }
+
+    private float toPoints(int pixels) {
+        return pixels * 72f / dpi;
+    }
+}
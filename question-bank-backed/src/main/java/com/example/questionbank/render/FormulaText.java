@@ -0,0 +1,123 @@
+package com.example.questionbank.render;
+
+import com.example.questionbank.search.analysis.FormulaAwareTextAnalyzer;
+import com.example.questionbank.service.FormulaRenderService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Formulas of one document. Splits question and option text into plain text and rendered
+ * formulas for the template, and hands the images back to the renderer by URI. A formula that
+ * appears several times in the document gets one URI, so it is decoded and embedded once.
+ * Formulas that cannot be rendered stay in the text as written.
+ */
+public class FormulaText {
+
+    public static final String URI_PREFIX = "formula:";
+
+    private final FormulaRenderService formulaRenderService;
+    private final float fontSize;
+    private final int dpi;
+
+    // Guarded by this
+    private final Map<FormulaImage, String> uris = new IdentityHashMap<>();
+    private final Map<String, FormulaImage> images = new ConcurrentHashMap<>();
+
+    public FormulaText(FormulaRenderService formulaRenderService, float fontSize, int dpi) {
+        this.formulaRenderService = formulaRenderService;
+        this.fontSize = fontSize;
+        this.dpi = dpi;
+    }
+
+    public List<Segment> segments(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        int plainStart = 0;
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c != '$' && c != '\\') {
+                i++;
+                continue;
+            }
+
+            int[] formula = FormulaAwareTextAnalyzer.findDelimitedFormula(text, i);
+            if (formula == null) {
+                i += c == '\\' ? 2 : 1;
+                continue;
+            }
+
+            boolean display = text.startsWith("$$", i) || text.startsWith("\\[", i);
+            FormulaImage image = formulaRenderService.render(text.substring(formula[0], formula[1]), display,
+                    fontSize, dpi);
+            if (image != null) {
+                addPlain(segments, text.substring(plainStart, i));
+                segments.add(new Segment(text.substring(i, formula[2]), image, uriOf(image)));
+                plainStart = formula[2];
+            }
+            i = formula[2];
+        }
+        addPlain(segments, text.substring(plainStart));
+        return segments;
+    }
+
+    public FormulaImage image(String uri) {
+        return uri != null && uri.startsWith(URI_PREFIX) ? images.get(uri) : null;
+    }
+
+    private synchronized String uriOf(FormulaImage image) {
+        return uris.computeIfAbsent(image, key -> {
+            String uri = URI_PREFIX + uris.size();
+            images.put(uri, key);
+            return uri;
+        });
+    }
+
+    private static void addPlain(List<Segment> segments, String text) {
+        if (!text.isEmpty()) {
+            segments.add(new Segment(text, null, null));
+        }
+    }
+
+    public static final class Segment {
+
+        private final String text;
+        private final FormulaImage image;
+        private final String src;
+
+        private Segment(String text, FormulaImage image, String src) {
+            this.text = text;
+            this.image = image;
+            this.src = src;
+        }
+
+        // The source as written; alt text for formulas
+        public String getText() {
+            return text;
+        }
+
+        public FormulaImage getImage() {
+            return image;
+        }
+
+        public String getSrc() {
+            return src;
+        }
+
+        // Sized in points so the raster resolution does not change the printed size
+        public String getStyle() {
+            return image == null ? null : String.format(Locale.ROOT,
+                    "width: %.2fpt; height: %.2fpt; vertical-align: -%.2fpt",
+                    image.getWidthPoints(), image.getHeightPoints(), image.getDepthPoints());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.questionbank.render;
+
+import com.lowagie.text.BadElementException;
+import com.lowagie.text.Image;
+import lombok.extern.slf4j.Slf4j;
+import org.xhtmlrenderer.pdf.ITextFSImage;
+import org.xhtmlrenderer.pdf.ITextOutputDevice;
+import org.xhtmlrenderer.pdf.ITextUserAgent;
+import org.xhtmlrenderer.resource.ImageResource;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves formula image URIs of a {@link FormulaText} from memory; everything else is loaded
+ * as usual. Each formula is decoded once per document and every use is a copy of that image,
+ * which iText writes as a single shared XObject.
+ */
+@Slf4j
+public class FormulaUserAgent extends ITextUserAgent {
+
+    private final FormulaText formulas;
+    private final Map<String, Image> decoded = new HashMap<>();
+
+    public FormulaUserAgent(ITextOutputDevice outputDevice, FormulaText formulas) {
+        super(outputDevice);
+        this.formulas = formulas;
+    }
+
+    @Override
+    public ImageResource getImageResource(String uri) {
+        FormulaImage formula = formulas.image(uri);
+        if (formula == null) {
+            return super.getImageResource(uri);
+        }
+        try {
+            Image image = decoded.get(uri);
+            if (image == null) {
+                image = Image.getInstance(formula.getPng());
+                decoded.put(uri, image);
+            }
+            return new ImageResource(uri, new ITextFSImage(Image.getInstance(image)));
+        } catch (IOException | BadElementException e) {
+            log.warn("Failed to load formula image {}", uri, e);
+            return new ImageResource(uri, null);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.questionbank.repository;
 
 import com.example.questionbank.model.Chapter;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import org.springframework.data.domain.Page;
@@ -9,12 +10,27 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ChapterRepository extends JpaRepository<Chapter, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = {"subject", "subject.classEntity"})
+    List<Chapter> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"subject", "subject.classEntity"})
+    Page<Chapter> findAll(Pageable pageable);
+
+    /**
+     * Ids among the given ones that exist, for checking many questions at once
+     */
+    @Query("SELECT c.id FROM Chapter c WHERE c.id IN :ids")
+    List<Long> findExistingIdsByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Find chapter by name
      */
@@ -33,10 +49,13 @@ public interface ChapterRepository extends JpaRepository<Chapter, Long> {
     /**
      * Find chapters by subject id
      */
+    @EntityGraph(attributePaths = {"subject", "subject.classEntity"})
     List<Chapter> findBySubjectId(Long subjectId);
 
+    @EntityGraph(attributePaths = {"subject", "subject.classEntity"})
     Page<Chapter> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"subject", "subject.classEntity"})
     @Query("SELECT c FROM Chapter c WHERE " +
             "(:subjectId IS NULL OR c.subject.id = :subjectId) AND " +
             "(:classId IS NULL OR c.subject.classEntity.id = :classId)")
@@ -44,11 +63,16 @@ public interface ChapterRepository extends JpaRepository<Chapter, Long> {
                                         @Param("classId") Long classId);
 
     boolean existsByNameIgnoreCaseAndSubjectId(String name, Long subjectId);
+    @EntityGraph(attributePaths = {"subject", "subject.classEntity"})
     List<Chapter> findByIsActiveTrue();
+    @EntityGraph(attributePaths = {"subject", "subject.classEntity"})
     Page<Chapter> findByIsActiveTrue(Pageable pageable);
+    @EntityGraph(attributePaths = {"subject", "subject.classEntity"})
     List<Chapter> findBySubjectIdAndIsActiveTrue(Long subjectId);
+    @EntityGraph(attributePaths = {"subject", "subject.classEntity"})
     List<Chapter> findBySubjectClassEntityIdAndIsActiveTrue(Long classId);
 
+    @EntityGraph(attributePaths = {"subject", "subject.classEntity"})
     @Query("SELECT c FROM Chapter c WHERE " +
             "(:subjectId IS NULL OR c.subject.id = :subjectId) AND " +
             "(:classId IS NULL OR c.subject.classEntity.id = :classId) AND " +
@@ -56,6 +80,13 @@ public interface ChapterRepository extends JpaRepository<Chapter, Long> {
     List<Chapter> findActiveChaptersBySubjectAndClass(@Param("subjectId") Long subjectId,
                                                       @Param("classId") Long classId);
 
+    @Query("SELECT c.id FROM Chapter c WHERE c.subject.id = :subjectId")
+    List<Long> findIdsBySubjectId(@Param("subjectId") Long subjectId);
 
-}
+    @Query("SELECT c.id FROM Chapter c")
+    List<Long> findAllIds();
 
+    // Whole hierarchy in one round trip, used to build the in-memory hierarchy cache
+    @Query("SELECT c FROM Chapter c JOIN FETCH c.subject s JOIN FETCH s.classEntity")
+    List<Chapter> findAllWithHierarchy();
+}
@@ -4,10 +4,13 @@ import com.example.questionbank.model.MCQOption;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -50,6 +53,55 @@ public interface MCQOptionRepository extends JpaRepository<MCQOption, Long> {
             "o.isActive = true")
     boolean hasCorrectOption(@Param("questionId") Long questionId);
 
+    // Bulk state changes - one statement each; @Version and updatedAt are bumped by hand since bulk
+    // updates bypass the entity lifecycle, and the persistence context is cleared afterwards
+    @Query("SELECT DISTINCT o.question.id FROM MCQOption o WHERE o.id IN :ids")
+    List<Long> findQuestionIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT o.id FROM MCQOption o WHERE o.question.id = :questionId AND o.id IN :ids")
+    List<Long> findIdsByQuestionIdAndIdIn(@Param("questionId") Long questionId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE MCQOption o SET o.isActive = :active, o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.id IN :ids AND o.isActive <> :active")
+    int updateActiveByIdIn(@Param("ids") Collection<Long> ids, @Param("active") boolean active,
+                           @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE MCQOption o SET o.isActive = :active, o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.question.id IN :questionIds AND o.isActive <> :active")
+    int updateActiveByQuestionIdIn(@Param("questionIds") Collection<Long> questionIds, @Param("active") boolean active,
+                                   @Param("now") LocalDateTime now);
+
+    // Correct flags of a question's active options; the IdNotIn variant leaves the listed options alone
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE MCQOption o SET o.isCorrect = :correct, o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.question.id = :questionId AND o.isActive = true AND o.isCorrect <> :correct")
+    int updateCorrectByQuestionId(@Param("questionId") Long questionId, @Param("correct") boolean correct,
+                                  @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE MCQOption o SET o.isCorrect = :correct, o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.question.id = :questionId AND o.isActive = true AND o.isCorrect <> :correct " +
+            "AND o.id NOT IN :ids")
+    int updateCorrectByQuestionIdAndIdNotIn(@Param("questionId") Long questionId, @Param("ids") Collection<Long> ids,
+                                            @Param("correct") boolean correct, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE MCQOption o SET o.isCorrect = :correct, o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.id IN :ids AND o.isCorrect <> :correct")
+    int updateCorrectByIdIn(@Param("ids") Collection<Long> ids, @Param("correct") boolean correct,
+                            @Param("now") LocalDateTime now);
+
+    // Exports - the widest question, for the CSV option columns
+    @Query("SELECT COUNT(o) FROM MCQOption o WHERE o.isActive = true " +
+            "AND o.question.chapter.subject.id = :subjectId GROUP BY o.question.id ORDER BY COUNT(o) DESC")
+    List<Long> findActiveOptionCountsBySubjectId(@Param("subjectId") Long subjectId, Pageable pageable);
+
+    @Query("SELECT COUNT(o) FROM MCQOption o WHERE o.isActive = true " +
+            "AND o.question.chapter.subject.classEntity.id = :classId GROUP BY o.question.id ORDER BY COUNT(o) DESC")
+    List<Long> findActiveOptionCountsByClassId(@Param("classId") Long classId, Pageable pageable);
+
     // Delete by question
     void deleteByQuestionId(Long questionId);
 
@@ -0,0 +1,14 @@
+package com.example.questionbank.repository;
+
+import com.example.questionbank.model.PaperDraftItem;
+import com.example.questionbank.model.PaperDraftItemId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PaperDraftItemRepository extends JpaRepository<PaperDraftItem, PaperDraftItemId> {
+
+    List<PaperDraftItem> findByIdOwnerOrderByPosition(String owner);
+}
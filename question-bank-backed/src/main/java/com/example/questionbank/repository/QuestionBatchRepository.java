@@ -0,0 +1,15 @@
+package com.example.questionbank.repository;
+
+import com.example.questionbank.model.Question;
+
+import java.util.List;
+
+public interface QuestionBatchRepository {
+
+    /**
+     * Inserts new questions and their options with one JDBC batch per table, bypassing the
+     * persistence context, and sets the generated ids, timestamps and versions on the entities.
+     * Must run in a transaction. Chapters are referenced by id only.
+     */
+    void insertAllInBatch(List<Question> questions);
+}
@@ -0,0 +1,144 @@
+package com.example.questionbank.repository;
+
+import com.example.questionbank.model.MCQOption;
+import com.example.questionbank.model.Question;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Questions are IDENTITY-keyed, so Hibernate inserts them one statement at a time
+public class QuestionBatchRepositoryImpl implements QuestionBatchRepository {
+
+    private static final String INSERT_QUESTION_SQL = "INSERT INTO questions (created_at, updated_at, created_by, " +
+            "updated_by, version, question_text, question_image_url, explanation, is_added_to_paper, is_active, " +
+            "section_type, question_type, difficulty_level, marks, negative_marks, time_limit_seconds, " +
+            "text_signature, chapter_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_OPTION_SQL = "INSERT INTO mcq_options (created_at, updated_at, created_by, " +
+            "updated_by, version, option_text, is_correct, option_order, option_image_url, is_active, question_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAllInBatch(List<Question> questions) {
+        if (questions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            LocalDateTime now = LocalDateTime.now();
+            insertQuestions(connection, questions, now);
+
+            List<MCQOption> options = new ArrayList<>();
+            for (Question question : questions) {
+                for (MCQOption option : question.getMcqOptions()) {
+                    option.setQuestion(question);
+                    options.add(option);
+                }
+            }
+            insertOptions(connection, options, now);
+            return null;
+        });
+    }
+
+    private static void insertQuestions(Connection connection, List<Question> questions, LocalDateTime now)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_QUESTION_SQL,
+                Statement.RETURN_GENERATED_KEYS)) {
+            Timestamp timestamp = Timestamp.valueOf(now);
+            for (Question question : questions) {
+                statement.setTimestamp(1, timestamp);
+                statement.setTimestamp(2, timestamp);
+                statement.setString(3, question.getCreatedBy());
+                statement.setString(4, question.getUpdatedBy());
+                statement.setLong(5, 0L);
+                statement.setString(6, question.getQuestionText());
+                statement.setString(7, question.getQuestionImageUrl());
+                statement.setString(8, question.getExplanation());
+                statement.setBoolean(9, Boolean.TRUE.equals(question.getIsAddedToPaper()));
+                statement.setBoolean(10, !Boolean.FALSE.equals(question.getIsActive()));
+                statement.setString(11, question.getSectionType().name());
+                statement.setString(12, question.getQuestionType().name());
+                statement.setString(13, question.getDifficultyLevel() != null ? question.getDifficultyLevel().name() : null);
+                statement.setDouble(14, question.getMarks());
+                setNullable(statement, 15, question.getNegativeMarks(), Types.DOUBLE);
+                setNullable(statement, 16, question.getTimeLimitSeconds(), Types.INTEGER);
+                setNullable(statement, 17, question.getTextSignature(), Types.BIGINT);
+                statement.setLong(18, question.getChapter().getId());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                for (Question question : questions) {
+                    if (!keys.next()) {
+                        throw new SQLException("The driver returned fewer generated keys than questions inserted");
+                    }
+                    question.setId(keys.getLong(1));
+                    question.setCreatedAt(now);
+                    question.setUpdatedAt(now);
+                    question.setVersion(0L);
+                }
+            }
+        }
+    }
+
+    private static void insertOptions(Connection connection, List<MCQOption> options, LocalDateTime now)
+            throws SQLException {
+        if (options.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_OPTION_SQL,
+                Statement.RETURN_GENERATED_KEYS)) {
+            Timestamp timestamp = Timestamp.valueOf(now);
+            for (MCQOption option : options) {
+                statement.setTimestamp(1, timestamp);
+                statement.setTimestamp(2, timestamp);
+                statement.setString(3, option.getCreatedBy());
+                statement.setString(4, option.getUpdatedBy());
+                statement.setLong(5, 0L);
+                statement.setString(6, option.getOptionText());
+                statement.setBoolean(7, Boolean.TRUE.equals(option.getIsCorrect()));
+                setNullable(statement, 8, option.getOptionOrder(), Types.INTEGER);
+                statement.setString(9, option.getOptionImageUrl());
+                statement.setBoolean(10, !Boolean.FALSE.equals(option.getIsActive()));
+                statement.setLong(11, option.getQuestion().getId());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                for (MCQOption option : options) {
+                    if (!keys.next()) {
+                        throw new SQLException("The driver returned fewer generated keys than options inserted");
+                    }
+                    option.setId(keys.getLong(1));
+                    option.setCreatedAt(now);
+                    option.setUpdatedAt(now);
+                    option.setVersion(0L);
+                }
+            }
+        }
+    }
+
+    private static void setNullable(PreparedStatement statement, int index, Object value, int sqlType)
+            throws SQLException {
+        if (value == null) {
+            statement.setNull(index, sqlType);
+        } else {
+            statement.setObject(index, value, sqlType);
+        }
+    }
+}
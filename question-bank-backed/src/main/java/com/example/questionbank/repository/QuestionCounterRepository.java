@@ -0,0 +1,73 @@
+package com.example.questionbank.repository;
+
+import com.example.questionbank.model.QuestionCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface QuestionCounterRepository extends JpaRepository<QuestionCounter, Long> {
+
+    /**
+     * Atomically add {@code delta} to a counter row, creating the row if it does not exist yet.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO question_counts " +
+            "(chapter_id, section_type, difficulty_level, is_active, question_count) " +
+            "VALUES (:chapterId, :sectionType, :difficultyLevel, :isActive, :delta) " +
+            "ON DUPLICATE KEY UPDATE question_count = question_count + :delta",
+            nativeQuery = true)
+    int upsertCount(@Param("chapterId") Long chapterId,
+                    @Param("sectionType") String sectionType,
+                    @Param("difficultyLevel") String difficultyLevel,
+                    @Param("isActive") boolean isActive,
+                    @Param("delta") long delta);
+
+    /**
+     * Recount every counter row from the questions table in one statement, so increments from
+     * concurrent writers queue on the row locks instead of being lost between a delete and a
+     * re-insert. Rows whose questions are all gone are set to zero.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO question_counts " +
+            "(chapter_id, section_type, difficulty_level, is_active, question_count) " +
+            "SELECT * FROM (" +
+            "SELECT k.chapter_id, k.section_type, k.difficulty_level, k.is_active, COUNT(q.id) AS question_count " +
+            "FROM (SELECT chapter_id, section_type, difficulty_level, is_active FROM question_counts " +
+            "UNION SELECT chapter_id, section_type, COALESCE(difficulty_level, '" + QuestionCounter.NO_DIFFICULTY + "'), " +
+            "is_active FROM questions) k " +
+            "LEFT JOIN questions q ON q.chapter_id = k.chapter_id AND q.section_type = k.section_type " +
+            "AND COALESCE(q.difficulty_level, '" + QuestionCounter.NO_DIFFICULTY + "') = k.difficulty_level " +
+            "AND q.is_active = k.is_active " +
+            "GROUP BY k.chapter_id, k.section_type, k.difficulty_level, k.is_active) rebuilt " +
+            "ON DUPLICATE KEY UPDATE question_count = rebuilt.question_count",
+            nativeQuery = true)
+    int rebuildAll();
+
+    // Lookups - rows are summed because a chapter owns one row per counter key
+
+    @Query("SELECT COALESCE(SUM(c.questionCount), 0) FROM QuestionCounter c WHERE " +
+            "c.chapter.id = :chapterId AND " +
+            "c.isActive = true")
+    Long sumActiveByChapter(@Param("chapterId") Long chapterId);
+
+    @Query("SELECT COALESCE(SUM(c.questionCount), 0) FROM QuestionCounter c WHERE " +
+            "c.chapter.subject.id = :subjectId AND " +
+            "c.isActive = true")
+    Long sumActiveBySubject(@Param("subjectId") Long subjectId);
+
+    @Query("SELECT COALESCE(SUM(c.questionCount), 0) FROM QuestionCounter c WHERE " +
+            "c.chapter.subject.classEntity.id = :classId AND " +
+            "c.isActive = true")
+    Long sumActiveByClass(@Param("classId") Long classId);
+
+    @Query("SELECT c.chapter.id, SUM(c.questionCount) FROM QuestionCounter c WHERE " +
+            "c.chapter.id IN :chapterIds " +
+            "GROUP BY c.chapter.id")
+    List<Object[]> sumAllByChapterIds(@Param("chapterIds") Collection<Long> chapterIds);
+}
@@ -0,0 +1,16 @@
+package com.example.questionbank.repository;
+
+import com.example.questionbank.model.Question;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface QuestionKeysetRepository {
+
+    /**
+     * First {@code limit} questions matching the specification in the given order, with the
+     * Question.list fetch plan and without the count query a Page would issue.
+     */
+    List<Question> findSlice(Specification<Question> spec, Sort sort, int limit);
+}
@@ -0,0 +1,38 @@
+package com.example.questionbank.repository;
+
+import com.example.questionbank.model.Question;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+public class QuestionKeysetRepositoryImpl implements QuestionKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Question> findSlice(Specification<Question> spec, Sort sort, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Question> query = criteriaBuilder.createQuery(Question.class);
+        Root<Question> root = query.from(Question.class);
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, criteriaBuilder) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setHint("javax.persistence.fetchgraph", entityManager.getEntityGraph(Question.GRAPH_LIST))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -3,49 +3,104 @@ package com.example.questionbank.repository;
 import com.example.questionbank.model.Question;
 import com.example.questionbank.model.enums.SectionType;
 import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.repository.projection.QuestionBlueprintProjection;
+import com.example.questionbank.repository.projection.QuestionBucketProjection;
+import com.example.questionbank.repository.projection.QuestionCounterProjection;
+import com.example.questionbank.repository.projection.QuestionExportRowProjection;
+import com.example.questionbank.repository.projection.QuestionMarksProjection;
+import com.example.questionbank.repository.projection.QuestionSignatureProjection;
+import com.example.questionbank.repository.projection.QuestionStateProjection;
+import com.example.questionbank.repository.projection.QuestionStatsProjection;
+import com.example.questionbank.repository.projection.QuestionTextProjection;
+import com.example.questionbank.repository.projection.QuestionVersionProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface QuestionRepository extends JpaRepository<Question, Long>, JpaSpecificationExecutor<Question> {
+public interface QuestionRepository extends JpaRepository<Question, Long>, JpaSpecificationExecutor<Question>,
+        QuestionKeysetRepository, QuestionBatchRepository {
+
+    // Fetch plans - list finders load the chapter hierarchy in the same select (see Question.GRAPH_*)
+    @Override
+    @EntityGraph(Question.GRAPH_LIST)
+    List<Question> findAll();
+
+    @Override
+    @EntityGraph(Question.GRAPH_LIST)
+    Page<Question> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(Question.GRAPH_LIST)
+    List<Question> findAll(Specification<Question> spec);
+
+    @Override
+    @EntityGraph(Question.GRAPH_LIST)
+    Page<Question> findAll(Specification<Question> spec, Pageable pageable);
+
+    @EntityGraph(Question.GRAPH_DETAIL)
+    Optional<Question> findWithDetailById(Long id);
+
+    @EntityGraph(Question.GRAPH_DETAIL)
+    @Query("SELECT DISTINCT q FROM Question q WHERE q.id IN :ids")
+    List<Question> findWithDetailByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT q.id AS questionId, q.version AS questionVersion, o.id AS optionId, o.version AS optionVersion " +
+            "FROM Question q LEFT JOIN q.mcqOptions o WHERE q.id IN :ids ORDER BY q.id, o.id")
+    List<QuestionVersionProjection> findVersionsByIdIn(@Param("ids") Collection<Long> ids);
 
     // Existing methods
+    @EntityGraph(Question.GRAPH_LIST)
     Page<Question> findByQuestionTextContainingIgnoreCase(String questionText, Pageable pageable);
+    @EntityGraph(Question.GRAPH_LIST)
     List<Question> findByChapterSubjectId(Long subjectId);
-    List<Question> findByChapterSubjectIdAndIsAddedToPaper(Long subjectId, boolean isAddedToPaper);
 
     // New methods
+    @EntityGraph(Question.GRAPH_LIST)
     List<Question> findByIsActiveTrue();
+    @EntityGraph(Question.GRAPH_LIST)
     Page<Question> findByIsActiveTrue(Pageable pageable);
 
     // Filter by chapter
+    @EntityGraph(Question.GRAPH_LIST)
     List<Question> findByChapterIdAndIsActiveTrue(Long chapterId);
+    @EntityGraph(Question.GRAPH_LIST)
     Page<Question> findByChapterIdAndIsActiveTrue(Long chapterId, Pageable pageable);
 
     // Filter by section type
+    @EntityGraph(Question.GRAPH_LIST)
     List<Question> findBySectionTypeAndIsActiveTrue(SectionType sectionType);
+    @EntityGraph(Question.GRAPH_LIST)
     Page<Question> findBySectionTypeAndIsActiveTrue(SectionType sectionType, Pageable pageable);
 
     // Filter by difficulty
+    @EntityGraph(Question.GRAPH_LIST)
     List<Question> findByDifficultyLevelAndIsActiveTrue(DifficultyLevel difficultyLevel);
 
     // Complex queries
+    @EntityGraph(Question.GRAPH_LIST)
     @Query("SELECT q FROM Question q WHERE " +
             "q.chapter.subject.id = :subjectId AND " +
-            "q.isActive = true AND " +
-            "(:isAddedToPaper IS NULL OR q.isAddedToPaper = :isAddedToPaper)")
-    List<Question> findActiveQuestionsBySubjectAndPaperStatus(
-            @Param("subjectId") Long subjectId,
-            @Param("isAddedToPaper") Boolean isAddedToPaper);
+            "q.isActive = true")
+    List<Question> findActiveQuestionsBySubject(@Param("subjectId") Long subjectId);
 
+    @EntityGraph(Question.GRAPH_LIST)
     @Query("SELECT q FROM Question q WHERE " +
             "q.chapter.subject.classEntity.id = :classId AND " +
             "q.isActive = true")
@@ -56,6 +111,7 @@ public interface QuestionRepository extends JpaRepository<Question, Long>, JpaSp
             "q.isActive = true")
     Long countActiveQuestionsByChapter(@Param("chapterId") Long chapterId);
 
+    @EntityGraph(Question.GRAPH_LIST)
     @Query("SELECT q FROM Question q WHERE " +
             "q.questionText LIKE %:searchText% AND " +
             "q.isActive = true")
@@ -78,4 +134,152 @@ public interface QuestionRepository extends JpaRepository<Question, Long>, JpaSp
             "WHERE q.id = :id")
     Optional<Question> findByIdWithCompleteHierarchy(@Param("id") Long id);
 
+    // Search index loading
+    @Query("SELECT q.id FROM Question q ORDER BY q.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT DISTINCT q FROM Question q " +
+            "LEFT JOIN FETCH q.mcqOptions " +
+            "WHERE q.id IN :ids")
+    List<Question> findAllWithOptionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Near-duplicate detection
+    @Query("SELECT q.id AS id, q.textSignature AS textSignature FROM Question q " +
+            "WHERE q.isActive = true AND q.textSignature IS NOT NULL")
+    List<QuestionSignatureProjection> findActiveSignatures();
+
+    @Query("SELECT q.id AS id, q.textSignature AS textSignature FROM Question q " +
+            "WHERE q.isActive = true AND q.textSignature IS NOT NULL AND q.id IN :ids")
+    List<QuestionSignatureProjection> findActiveSignaturesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT q.id AS id, q.textSignature AS textSignature FROM Question q " +
+            "WHERE q.isActive = true AND q.textSignature IS NOT NULL AND q.chapter.subject.id = :subjectId")
+    List<QuestionSignatureProjection> findActiveSignaturesBySubjectId(@Param("subjectId") Long subjectId);
+
+    @Query("SELECT q.id AS id, q.questionText AS questionText FROM Question q " +
+            "WHERE q.textSignature IS NULL ORDER BY q.id")
+    List<QuestionTextProjection> findWithoutTextSignature(Pageable pageable);
+
+    // Bulk update so backfilling signatures does not touch updatedAt
+    @Modifying
+    @Query("UPDATE Question q SET q.textSignature = :signature WHERE q.id = :id")
+    void updateTextSignature(@Param("id") Long id, @Param("signature") Long signature);
+
+    // Bulk state changes - one statement per chunk of ids. Bulk updates bypass the entity lifecycle,
+    // so @Version and updatedAt are bumped here, and the persistence context is cleared afterwards.
+    // Locks the rows in id order before they are counted, so no other transaction can change them
+    // between the count and the update. A locking read also sees the latest committed state.
+    @Query(value = "SELECT id AS id, chapter_id AS chapterId, section_type AS sectionType, " +
+            "difficulty_level AS difficultyLevel, is_active AS isActive " +
+            "FROM questions WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<QuestionStateProjection> lockStatesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Question q SET q.isActive = :active, q.updatedAt = :now, q.version = q.version + 1 " +
+            "WHERE q.id IN :ids AND q.isActive <> :active")
+    int updateActiveByIdIn(@Param("ids") Collection<Long> ids, @Param("active") boolean active,
+                           @Param("now") LocalDateTime now);
+
+    // Paper membership moved to paper drafts; these read and clear the old global flag
+    List<Question> findByIsAddedToPaperTrueOrderById();
+
+    @Modifying
+    @Query("UPDATE Question q SET q.isAddedToPaper = false WHERE q.isAddedToPaper = true")
+    int clearLegacyPaperFlags();
+
+    // Random sampling buckets
+    @Query("SELECT q.id AS id, q.chapter.id AS chapterId, q.sectionType AS sectionType, " +
+            "q.difficultyLevel AS difficultyLevel FROM Question q " +
+            "WHERE q.isActive = true AND q.chapter.id IN :chapterIds")
+    List<QuestionBucketProjection> findActiveBucketRowsByChapterIdIn(@Param("chapterIds") Collection<Long> chapterIds);
+
+    @Query("SELECT DISTINCT q.chapter.id FROM Question q WHERE q.id IN :ids")
+    List<Long> findChapterIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Paper generation candidates, in id order so a seed always sees the same pool
+    @Query("SELECT q.id AS id, q.chapter.id AS chapterId, q.sectionType AS sectionType, " +
+            "q.difficultyLevel AS difficultyLevel, q.marks AS marks, q.timeLimitSeconds AS timeLimitSeconds " +
+            "FROM Question q WHERE q.isActive = true AND q.chapter.subject.id = :subjectId " +
+            "AND q.sectionType IN :sectionTypes ORDER BY q.id")
+    List<QuestionBlueprintProjection> findBlueprintCandidates(@Param("subjectId") Long subjectId,
+                                                              @Param("sectionTypes") Collection<SectionType> sectionTypes);
+
+    // Sections and marks of a paper's questions, without their content
+    @Query("SELECT q.id AS id, q.chapter.id AS chapterId, q.sectionType AS sectionType, " +
+            "q.difficultyLevel AS difficultyLevel, q.marks AS marks, q.timeLimitSeconds AS timeLimitSeconds " +
+            "FROM Question q WHERE q.id IN :ids")
+    List<QuestionBlueprintProjection> findBlueprintRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Exports - forward-only, one row per active option. A fetch size of Integer.MIN_VALUE makes Connector/J
+    // stream this statement row by row; the connection can run nothing else until the stream is closed,
+    // which is why the options are joined here rather than loaded per batch.
+    String EXPORT_SELECT = "SELECT q.id AS id, q.id AS questionId, c.id AS chapterId, c.name AS chapterName, " +
+            "s.id AS subjectId, s.name AS subjectName, q.sectionType AS sectionType, " +
+            "q.questionType AS questionType, q.difficultyLevel AS difficultyLevel, q.marks AS marks, " +
+            "q.negativeMarks AS negativeMarks, q.timeLimitSeconds AS timeLimitSeconds, " +
+            "q.questionText AS questionText, q.questionImageUrl AS questionImageUrl, " +
+            "q.explanation AS explanation, q.isActive AS isActive, q.createdAt AS createdAt, " +
+            "q.updatedAt AS updatedAt, o.id AS optionId, o.optionText AS optionText, o.isCorrect AS isCorrect, " +
+            "o.optionOrder AS optionOrder, o.optionImageUrl AS optionImageUrl " +
+            "FROM Question q JOIN q.chapter c JOIN c.subject s LEFT JOIN q.mcqOptions o WITH o.isActive = true ";
+
+    String EXPORT_ORDER = " ORDER BY q.id, o.optionOrder, o.id";
+
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query(EXPORT_SELECT + "WHERE s.id = :subjectId" + EXPORT_ORDER)
+    Stream<QuestionExportRowProjection> streamExportRowsBySubjectId(@Param("subjectId") Long subjectId);
+
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query(EXPORT_SELECT + "WHERE s.classEntity.id = :classId" + EXPORT_ORDER)
+    Stream<QuestionExportRowProjection> streamExportRowsByClassId(@Param("classId") Long classId);
+
+    // Statistics - grouped counts computed by the database
+    @Query("SELECT q.sectionType AS sectionType, q.questionType AS questionType, " +
+            "q.difficultyLevel AS difficultyLevel, " +
+            "COUNT(q) AS questionCount " +
+            "FROM Question q WHERE " +
+            "q.chapter.id = :chapterId AND " +
+            "q.isActive = true " +
+            "GROUP BY q.sectionType, q.questionType, q.difficultyLevel")
+    List<QuestionStatsProjection> aggregateActiveQuestionStatsByChapter(@Param("chapterId") Long chapterId);
+
+    @Query("SELECT q.sectionType AS sectionType, q.questionType AS questionType, " +
+            "q.difficultyLevel AS difficultyLevel, " +
+            "COUNT(q) AS questionCount " +
+            "FROM Question q WHERE " +
+            "q.chapter.subject.id = :subjectId AND " +
+            "q.isActive = true " +
+            "GROUP BY q.sectionType, q.questionType, q.difficultyLevel")
+    List<QuestionStatsProjection> aggregateActiveQuestionStatsBySubject(@Param("subjectId") Long subjectId);
+
+    @Query("SELECT q.sectionType AS sectionType, q.questionType AS questionType, " +
+            "q.difficultyLevel AS difficultyLevel, " +
+            "COUNT(q) AS questionCount " +
+            "FROM Question q WHERE " +
+            "q.chapter.subject.classEntity.id = :classId AND " +
+            "q.isActive = true " +
+            "GROUP BY q.sectionType, q.questionType, q.difficultyLevel")
+    List<QuestionStatsProjection> aggregateActiveQuestionStatsByClass(@Param("classId") Long classId);
+
+    // Paper draft totals - scope and marks of the draft's active questions, without loading the entities
+    @Query("SELECT q.id AS id, c.id AS chapterId, s.id AS subjectId, s.classEntity.id AS classId, " +
+            "q.sectionType AS sectionType, q.marks AS marks " +
+            "FROM Question q JOIN q.chapter c JOIN c.subject s " +
+            "WHERE q.id IN :ids AND q.isActive = true")
+    List<QuestionMarksProjection> findActiveMarksByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Source of truth for rebuilding the materialized question counters
+    @Query("SELECT q.chapter.id AS chapterId, q.sectionType AS sectionType, " +
+            "q.difficultyLevel AS difficultyLevel, q.isActive AS isActive, COUNT(q) AS questionCount " +
+            "FROM Question q " +
+            "GROUP BY q.chapter.id, q.sectionType, q.difficultyLevel, q.isActive")
+    List<QuestionCounterProjection> aggregateQuestionCounters();
+
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.example.questionbank.repository;
+
+import com.example.questionbank.model.RenderJob;
+import com.example.questionbank.model.enums.RenderJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RenderJobRepository extends JpaRepository<RenderJob, Long> {
+
+    long countByStatusIn(Collection<RenderJobStatus> statuses);
+
+    // Read from the database even when the job is already in the persistence context
+    @Query("SELECT j.status FROM RenderJob j WHERE j.id = :id")
+    RenderJobStatus findStatusById(@Param("id") Long id);
+
+    long countByStatusAndIdLessThan(RenderJobStatus status, Long id);
+
+    // Oldest first, so the queue is served in submission order
+    @Query("SELECT j.id FROM RenderJob j WHERE j.status = :status ORDER BY j.id")
+    List<Long> findIdsByStatus(@Param("status") RenderJobStatus status, Pageable pageable);
+
+    List<RenderJob> findByStatusInAndFinishedAtBefore(Collection<RenderJobStatus> statuses, LocalDateTime finishedAt);
+
+    // Succeeds for exactly one worker; the others see 0 rows and skip the job
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RenderJob j SET j.status = com.example.questionbank.model.enums.RenderJobStatus.RUNNING, " +
+            "j.startedAt = :now, j.updatedAt = :now, j.attempts = j.attempts + 1, j.version = j.version + 1 " +
+            "WHERE j.id = :id AND j.status = com.example.questionbank.model.enums.RenderJobStatus.QUEUED")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Jobs interrupted by a shutdown go back to the queue while they have attempts left
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RenderJob j SET j.status = com.example.questionbank.model.enums.RenderJobStatus.QUEUED, " +
+            "j.updatedAt = :now, j.version = j.version + 1 " +
+            "WHERE j.status = com.example.questionbank.model.enums.RenderJobStatus.RUNNING AND j.attempts < :maxAttempts")
+    int requeueInterrupted(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RenderJob j SET j.status = com.example.questionbank.model.enums.RenderJobStatus.FAILED, " +
+            "j.finishedAt = :now, j.updatedAt = :now, j.version = j.version + 1, " +
+            "j.errorMessage = 'Interrupted too many times' " +
+            "WHERE j.status = com.example.questionbank.model.enums.RenderJobStatus.RUNNING")
+    int failInterrupted(@Param("now") LocalDateTime now);
+}
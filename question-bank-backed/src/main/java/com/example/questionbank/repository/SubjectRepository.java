@@ -1,7 +1,9 @@
 package com.example.questionbank.repository;
 
 import com.example.questionbank.model.Subject;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,6 +15,14 @@ import java.util.Optional;
 @Repository
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = "classEntity")
+    List<Subject> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "classEntity")
+    Page<Subject> findAll(Pageable pageable);
+
     /**
      * Find subject by name
      */
@@ -30,11 +40,19 @@ public interface SubjectRepository extends JpaRepository<Subject, Long> {
 
     boolean existsByNameIgnoreCaseAndClassEntityId(String name, Long classId);
 
+    @EntityGraph(attributePaths = "classEntity")
     List<Subject> findByIsActiveTrue();
 
+    @EntityGraph(attributePaths = "classEntity")
     Page<Subject> findByIsActiveTrue(Pageable pageable);
 
+    @EntityGraph(attributePaths = "classEntity")
     Page<Subject> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
+    @EntityGraph(attributePaths = "classEntity")
     List<Subject> findByClassEntityIdAndIsActiveTrue(Long classId);
-}
\ No newline at end of file
+
+    // Whole hierarchy in one round trip, used to build the in-memory hierarchy cache
+    @Query("SELECT s FROM Subject s JOIN FETCH s.classEntity")
+    List<Subject> findAllWithHierarchy();
+}
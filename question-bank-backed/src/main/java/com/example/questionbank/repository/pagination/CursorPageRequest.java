@@ -0,0 +1,31 @@
+package com.example.questionbank.repository.pagination;
+
+import com.example.questionbank.exception.ValidationException;
+import lombok.Value;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Cursor counterpart of {@link org.springframework.data.domain.Pageable}. When a cursor is present its
+ * encoded order and direction win over the ones requested, so every page of a walk uses the same ordering.
+ */
+@Value
+public class CursorPageRequest {
+
+    public static final int MAX_SIZE = 100;
+
+    String cursor;
+    int size;
+    KeysetOrder order;
+    Sort.Direction direction;
+
+    public static CursorPageRequest of(String cursor, int size, KeysetOrder order, Sort.Direction direction) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_SIZE);
+        }
+        return new CursorPageRequest(
+                cursor == null || cursor.isBlank() ? null : cursor,
+                size,
+                order != null ? order : KeysetOrder.ID,
+                direction != null ? direction : Sort.Direction.DESC);
+    }
+}
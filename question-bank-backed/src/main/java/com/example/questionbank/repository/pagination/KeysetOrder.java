@@ -0,0 +1,9 @@
+package com.example.questionbank.repository.pagination;
+
+/**
+ * Orderings supported by cursor pagination. Each one ends in the primary key so the order is total.
+ */
+public enum KeysetOrder {
+    ID,
+    UPDATED_AT
+}
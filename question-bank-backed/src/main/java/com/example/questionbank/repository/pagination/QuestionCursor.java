@@ -0,0 +1,86 @@
+package com.example.questionbank.repository.pagination;
+
+import com.example.questionbank.exception.ValidationException;
+import com.example.questionbank.model.Question;
+import lombok.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Path;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last question on a page. Encoded as an opaque URL-safe token; clients must not parse it.
+ */
+@Value
+public class QuestionCursor {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    KeysetOrder order;
+    Sort.Direction direction;
+    LocalDateTime updatedAt;
+    Long id;
+
+    public static QuestionCursor after(Question last, KeysetOrder order, Sort.Direction direction) {
+        return new QuestionCursor(order, direction,
+                order == KeysetOrder.UPDATED_AT ? last.getUpdatedAt() : null,
+                last.getId());
+    }
+
+    public static Sort sort(KeysetOrder order, Sort.Direction direction) {
+        Sort byId = Sort.by(direction, "id");
+        return order == KeysetOrder.UPDATED_AT ? Sort.by(direction, "updatedAt").and(byId) : byId;
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, order.name(), direction.name(),
+                updatedAt != null ? updatedAt.toString() : "", id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static QuestionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new ValidationException("Invalid or expired cursor");
+            }
+
+            KeysetOrder order = KeysetOrder.valueOf(parts[1]);
+            LocalDateTime updatedAt = parts[3].isEmpty() ? null : LocalDateTime.parse(parts[3]);
+            if (order == KeysetOrder.UPDATED_AT && updatedAt == null) {
+                throw new ValidationException("Invalid or expired cursor");
+            }
+            return new QuestionCursor(order, Sort.Direction.valueOf(parts[2]), updatedAt, Long.valueOf(parts[4]));
+
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid or expired cursor");
+        }
+    }
+
+    // Seek predicate: rows strictly after this position in the (updatedAt, id) or (id) order
+    public Specification<Question> toSpecification() {
+        return (root, query, criteriaBuilder) -> {
+            Path<Long> idPath = root.get("id");
+            boolean ascending = direction.isAscending();
+
+            if (order == KeysetOrder.ID) {
+                return ascending ? criteriaBuilder.greaterThan(idPath, id) : criteriaBuilder.lessThan(idPath, id);
+            }
+
+            Path<LocalDateTime> updatedAtPath = root.get("updatedAt");
+            return criteriaBuilder.or(
+                    ascending
+                            ? criteriaBuilder.greaterThan(updatedAtPath, updatedAt)
+                            : criteriaBuilder.lessThan(updatedAtPath, updatedAt),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(updatedAtPath, updatedAt),
+                            ascending ? criteriaBuilder.greaterThan(idPath, id) : criteriaBuilder.lessThan(idPath, id)));
+        };
+    }
+}
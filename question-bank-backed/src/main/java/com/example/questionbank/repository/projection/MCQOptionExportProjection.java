@@ -0,0 +1,14 @@
+package com.example.questionbank.repository.projection;
+
+public interface MCQOptionExportProjection {
+
+    Long getQuestionId();
+
+    String getOptionText();
+
+    Boolean getIsCorrect();
+
+    Integer getOptionOrder();
+
+    String getOptionImageUrl();
+}
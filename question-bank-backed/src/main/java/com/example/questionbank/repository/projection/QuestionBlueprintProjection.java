@@ -0,0 +1,22 @@
+package com.example.questionbank.repository.projection;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+
+/**
+ * The columns the paper generator scores a question on, without loading the entity.
+ */
+public interface QuestionBlueprintProjection {
+
+    Long getId();
+
+    Long getChapterId();
+
+    SectionType getSectionType();
+
+    DifficultyLevel getDifficultyLevel();
+
+    Double getMarks();
+
+    Integer getTimeLimitSeconds();
+}
@@ -0,0 +1,18 @@
+package com.example.questionbank.repository.projection;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+
+/**
+ * The columns random sampling buckets questions by, without loading the entity.
+ */
+public interface QuestionBucketProjection {
+
+    Long getId();
+
+    Long getChapterId();
+
+    SectionType getSectionType();
+
+    DifficultyLevel getDifficultyLevel();
+}
@@ -0,0 +1,21 @@
+package com.example.questionbank.repository.projection;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+
+/**
+ * Question count grouped by the {@link com.example.questionbank.model.QuestionCounterKey} columns.
+ * Produced from the questions table, to rebuild the counters or to check them against it.
+ */
+public interface QuestionCounterProjection {
+
+    Long getChapterId();
+
+    SectionType getSectionType();
+
+    DifficultyLevel getDifficultyLevel();
+
+    Boolean getIsActive();
+
+    Long getQuestionCount();
+}
@@ -0,0 +1,47 @@
+package com.example.questionbank.repository.projection;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.QuestionType;
+import com.example.questionbank.model.enums.SectionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A question with its place in the hierarchy, as written by exports, without loading the entity.
+ */
+public interface QuestionExportProjection {
+
+    Long getId();
+
+    Long getChapterId();
+
+    String getChapterName();
+
+    Long getSubjectId();
+
+    String getSubjectName();
+
+    SectionType getSectionType();
+
+    QuestionType getQuestionType();
+
+    DifficultyLevel getDifficultyLevel();
+
+    Double getMarks();
+
+    Double getNegativeMarks();
+
+    Integer getTimeLimitSeconds();
+
+    String getQuestionText();
+
+    String getQuestionImageUrl();
+
+    String getExplanation();
+
+    Boolean getIsActive();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,10 @@
+package com.example.questionbank.repository.projection;
+
+/**
+ * One row of the export query: a question joined to one of its active options. A question without
+ * active options comes back once, with a null option id.
+ */
+public interface QuestionExportRowProjection extends QuestionExportProjection, MCQOptionExportProjection {
+
+    Long getOptionId();
+}
@@ -0,0 +1,22 @@
+package com.example.questionbank.repository.projection;
+
+import com.example.questionbank.model.enums.SectionType;
+
+/**
+ * The marks of one question together with the chapter, subject and class it belongs to, so
+ * paper draft totals can be scoped and summed without loading question entities.
+ */
+public interface QuestionMarksProjection {
+
+    Long getId();
+
+    Long getChapterId();
+
+    Long getSubjectId();
+
+    Long getClassId();
+
+    SectionType getSectionType();
+
+    Double getMarks();
+}
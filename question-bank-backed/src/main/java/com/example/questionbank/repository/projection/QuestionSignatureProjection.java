@@ -0,0 +1,12 @@
+package com.example.questionbank.repository.projection;
+
+/**
+ * Question id with its stored text signature, for loading the near-duplicate index
+ * without reading question text.
+ */
+public interface QuestionSignatureProjection {
+
+    Long getId();
+
+    Long getTextSignature();
+}
@@ -0,0 +1,21 @@
+package com.example.questionbank.repository.projection;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+
+/**
+ * The columns of a question that decide its counter row, read under a row lock before a bulk
+ * state change so the counters move by exactly what the update changes.
+ */
+public interface QuestionStateProjection {
+
+    Long getId();
+
+    Long getChapterId();
+
+    SectionType getSectionType();
+
+    DifficultyLevel getDifficultyLevel();
+
+    Boolean getIsActive();
+}
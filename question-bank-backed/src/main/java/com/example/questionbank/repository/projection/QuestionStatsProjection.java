@@ -0,0 +1,20 @@
+package com.example.questionbank.repository.projection;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.QuestionType;
+import com.example.questionbank.model.enums.SectionType;
+
+/**
+ * One GROUP BY row of question statistics: the number of questions for a single
+ * (section, type, difficulty) combination.
+ */
+public interface QuestionStatsProjection {
+
+    SectionType getSectionType();
+
+    QuestionType getQuestionType();
+
+    DifficultyLevel getDifficultyLevel();
+
+    Long getQuestionCount();
+}
@@ -0,0 +1,11 @@
+package com.example.questionbank.repository.projection;
+
+/**
+ * Question id with its text, for computing signatures of questions saved before they existed.
+ */
+public interface QuestionTextProjection {
+
+    Long getId();
+
+    String getQuestionText();
+}
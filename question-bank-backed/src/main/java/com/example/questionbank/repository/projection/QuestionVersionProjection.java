@@ -0,0 +1,16 @@
+package com.example.questionbank.repository.projection;
+
+/**
+ * Version of a question and of one of its options (option columns are null for questions
+ * without options), for content keys of rendered papers.
+ */
+public interface QuestionVersionProjection {
+
+    Long getQuestionId();
+
+    Long getQuestionVersion();
+
+    Long getOptionId();
+
+    Long getOptionVersion();
+}
@@ -6,7 +6,7 @@ import com.example.questionbank.model.enums.QuestionType;
 import com.example.questionbank.model.enums.DifficultyLevel;
 import org.springframework.data.jpa.domain.Specification;
 
-import javax.persistence.criteria.Join;
+import java.util.Collection;
 
 public class QuestionSpecification {
 
@@ -46,24 +46,27 @@ public class QuestionSpecification {
     public static Specification<Question> filterBySubject(Long subjectId) {
         return (root, query, criteriaBuilder) -> {
             if (subjectId == null) return null;
-            Join<Object, Object> chapterJoin = root.join("chapter");
-            return criteriaBuilder.equal(chapterJoin.get("subject").get("id"), subjectId);
+            // Path navigation instead of root.join(): implicit joins are shared between filters and
+            // the count query, and subject.id resolves to chapters.subject_id without joining subjects
+            return criteriaBuilder.equal(root.get("chapter").get("subject").get("id"), subjectId);
         };
     }
 
     public static Specification<Question> filterByClass(Long classId) {
         return (root, query, criteriaBuilder) -> {
             if (classId == null) return null;
-            Join<Object, Object> chapterJoin = root.join("chapter");
-            Join<Object, Object> subjectJoin = chapterJoin.join("subject");
-            return criteriaBuilder.equal(subjectJoin.get("classEntity").get("id"), classId);
+            return criteriaBuilder.equal(root.get("chapter").get("subject").get("classEntity").get("id"), classId);
         };
     }
 
-    public static Specification<Question> filterByPaperStatus(Boolean isAddedToPaper) {
+    // Paper membership lives in the caller's paper draft, not on the question row
+    public static Specification<Question> filterByDraftMembership(Boolean inDraft, Collection<Long> draftQuestionIds) {
         return (root, query, criteriaBuilder) -> {
-            if (isAddedToPaper == null) return null;
-            return criteriaBuilder.equal(root.get("isAddedToPaper"), isAddedToPaper);
+            if (inDraft == null) return null;
+            if (inDraft) {
+                return draftQuestionIds.isEmpty() ? criteriaBuilder.disjunction() : root.get("id").in(draftQuestionIds);
+            }
+            return draftQuestionIds.isEmpty() ? null : criteriaBuilder.not(root.get("id").in(draftQuestionIds));
         };
     }
 
@@ -80,6 +83,13 @@ public class QuestionSpecification {
         };
     }
 
+    public static Specification<Question> hasIdIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> {
+            if (ids.isEmpty()) return criteriaBuilder.disjunction();
+            return root.get("id").in(ids);
+        };
+    }
+
     public static Specification<Question> searchByText(String searchText) {
         return (root, query, criteriaBuilder) -> {
             if (searchText == null || searchText.trim().isEmpty()) return null;
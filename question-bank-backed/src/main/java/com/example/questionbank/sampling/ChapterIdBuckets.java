@@ -0,0 +1,97 @@
+package com.example.questionbank.sampling;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Active question ids of one chapter, split by section type and difficulty into sorted
+ * primitive arrays. Immutable once built, so samplers can read it without locking.
+ */
+public final class ChapterIdBuckets {
+
+    private static final SectionType[] SECTIONS = SectionType.values();
+    private static final DifficultyLevel[] DIFFICULTIES = DifficultyLevel.values();
+    // One extra slot per section for questions without a difficulty
+    private static final int DIFFICULTY_SLOTS = DIFFICULTIES.length + 1;
+
+    private static final long[] EMPTY = new long[0];
+
+    private final long[][] buckets;
+    private final int size;
+
+    private ChapterIdBuckets(long[][] buckets, int size) {
+        this.buckets = buckets;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(long questionId) {
+        for (long[] bucket : buckets) {
+            if (Arrays.binarySearch(bucket, questionId) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds every non-empty bucket matching the criteria to {@code out}, in a fixed slot order
+     * so the same seed always maps to the same ids.
+     */
+    public void collect(SamplingCriteria criteria, List<long[]> out) {
+        for (SectionType section : SECTIONS) {
+            for (int d = 0; d < DIFFICULTY_SLOTS; d++) {
+                DifficultyLevel difficulty = d < DIFFICULTIES.length ? DIFFICULTIES[d] : null;
+                long[] bucket = buckets[slot(section, difficulty)];
+                if (bucket.length > 0 && criteria.accepts(section, difficulty)) {
+                    out.add(bucket);
+                }
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static int slot(SectionType section, DifficultyLevel difficulty) {
+        int d = difficulty != null ? difficulty.ordinal() : DIFFICULTIES.length;
+        return section.ordinal() * DIFFICULTY_SLOTS + d;
+    }
+
+    public static final class Builder {
+
+        private final long[][] buckets = new long[SECTIONS.length * DIFFICULTY_SLOTS][];
+        private final int[] counts = new int[buckets.length];
+
+        private Builder() {
+            Arrays.fill(buckets, EMPTY);
+        }
+
+        public Builder add(long questionId, SectionType section, DifficultyLevel difficulty) {
+            int slot = slot(section, difficulty);
+            if (counts[slot] == buckets[slot].length) {
+                buckets[slot] = Arrays.copyOf(buckets[slot], Math.max(8, counts[slot] * 2));
+            }
+            buckets[slot][counts[slot]++] = questionId;
+            return this;
+        }
+
+        public ChapterIdBuckets build() {
+            long[][] trimmed = new long[buckets.length][];
+            int size = 0;
+            for (int slot = 0; slot < buckets.length; slot++) {
+                trimmed[slot] = counts[slot] == 0 ? EMPTY : Arrays.copyOf(buckets[slot], counts[slot]);
+                Arrays.sort(trimmed[slot]);
+                size += counts[slot];
+            }
+            return new ChapterIdBuckets(trimmed, size);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.questionbank.sampling;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Uniform sampling without replacement over several id arrays treated as one sequence,
+ * without copying them. Floyd's algorithm draws {@code count} distinct positions using
+ * memory proportional to {@code count}; each position is then resolved to its array by
+ * binary search over the running offsets.
+ */
+public final class IdSampler {
+
+    private IdSampler() {
+    }
+
+    public static long[] sample(List<long[]> buckets, int count, long seed) {
+        long[] offsets = new long[buckets.size() + 1];
+        for (int i = 0; i < buckets.size(); i++) {
+            offsets[i + 1] = offsets[i] + buckets.get(i).length;
+        }
+        long total = offsets[buckets.size()];
+        int picks = (int) Math.min(Math.max(count, 0), total);
+
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] positions = new long[picks];
+        Set<Long> chosen = new HashSet<>(picks * 2);
+        int n = 0;
+        for (long j = total - picks; j < total; j++) {
+            long candidate = random.nextLong(j + 1);
+            long position = chosen.add(candidate) ? candidate : j;
+            if (position == j) {
+                chosen.add(j);
+            }
+            positions[n++] = position;
+        }
+
+        // Floyd's picks are a uniform set but not in uniform order
+        for (int i = picks - 1; i > 0; i--) {
+            int k = random.nextInt(i + 1);
+            long swap = positions[i];
+            positions[i] = positions[k];
+            positions[k] = swap;
+        }
+
+        long[] ids = new long[picks];
+        for (int i = 0; i < picks; i++) {
+            int bucket = Arrays.binarySearch(offsets, positions[i]);
+            // An exact hit is the first position of that bucket; otherwise the insertion point follows it
+            bucket = bucket >= 0 ? bucket : -bucket - 2;
+            while (buckets.get(bucket).length == 0) {
+                bucket++;
+            }
+            ids[i] = buckets.get(bucket)[(int) (positions[i] - offsets[bucket])];
+        }
+        return ids;
+    }
+}
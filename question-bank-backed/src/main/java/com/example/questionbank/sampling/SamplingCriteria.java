@@ -0,0 +1,27 @@
+package com.example.questionbank.sampling;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Which active questions a random pick may draw from. Null fields do not restrict; a chapter
+ * takes precedence over a subject.
+ */
+@Value
+@Builder
+public class SamplingCriteria {
+
+    public static final SamplingCriteria ANY = SamplingCriteria.builder().build();
+
+    Long subjectId;
+    Long chapterId;
+    SectionType sectionType;
+    DifficultyLevel difficultyLevel;
+
+    public boolean accepts(SectionType section, DifficultyLevel difficulty) {
+        return (sectionType == null || sectionType == section)
+                && (difficultyLevel == null || difficultyLevel == difficulty);
+    }
+}
@@ -0,0 +1,426 @@
+package com.example.questionbank.search;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over questions with BM25 ranking for searches and TF-IDF cosine
+ * similarity for "more like this" lookups.
+ *
+ * Every indexed version of a question gets a new document ordinal; the previous ordinal is
+ * only tombstoned. Posting lists therefore stay sorted by ordinal and are compacted in place
+ * once a quarter of the ordinals are dead. Document frequencies only count live documents, so
+ * IDFs do not drift while tombstones pile up. Reads share a lock, writes are exclusive.
+ */
+public class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    // Terms in more than a tenth of a large index say little about similarity and have the longest posting lists
+    private static final float MAX_SIMILARITY_DF_RATIO = 0.1f;
+    private static final int MIN_DOCS_FOR_DF_PRUNING = 1000;
+
+    // 1 + ln(tf), precomputed because it is evaluated once per posting visited
+    private static final float[] TF_WEIGHTS = new float[64];
+
+    static {
+        for (int tf = 1; tf < TF_WEIGHTS.length; tf++) {
+            TF_WEIGHTS[tf] = 1 + (float) Math.log(tf);
+        }
+    }
+
+    private final TextAnalyzer analyzer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Sorted so the last query term can be expanded as a prefix (search as you type)
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, Integer> ordinalsByQuestionId = new HashMap<>();
+
+    private long[] questionIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private Long[] chapterIds = new Long[1024];
+    private DifficultyLevel[] difficulties = new DifficultyLevel[1024];
+    // The posting lists of each document's terms, so removing it can update their live counts
+    private PostingList[][] docPostings = new PostingList[1024][];
+    // TF-IDF vector lengths; recomputed whenever the index doubles so early documents don't keep small-index IDFs
+    private float[] docNorms = new float[1024];
+    private int normsRefreshedAt;
+    private final BitSet live = new BitSet();
+    private final BitSet active = new BitSet();
+    private int nextOrdinal;
+    private int liveCount;
+    private long liveLength;
+
+    public InvertedIndex(TextAnalyzer analyzer) {
+        this.analyzer = analyzer;
+    }
+
+    public void index(QuestionDocument document) {
+        long questionId = document.getQuestionId();
+        Map<String, Integer> termFreqs = termFrequencies(document.getTexts());
+        int length = termFreqs.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(questionId);
+
+            int ordinal = nextOrdinal++;
+            ensureCapacity(ordinal + 1);
+            questionIds[ordinal] = questionId;
+            docLengths[ordinal] = length;
+            chapterIds[ordinal] = document.getChapterId();
+            difficulties[ordinal] = document.getDifficultyLevel();
+            live.set(ordinal);
+            active.set(ordinal, document.isActive());
+            ordinalsByQuestionId.put(questionId, ordinal);
+            liveCount++;
+            liveLength += length;
+
+            double normSquared = 0;
+            PostingList[] lists = new PostingList[termFreqs.size()];
+            int term = 0;
+            for (Map.Entry<String, Integer> entry : termFreqs.entrySet()) {
+                PostingList list = postings.computeIfAbsent(entry.getKey(), t -> new PostingList());
+                list.add(ordinal, entry.getValue());
+                lists[term++] = list;
+                float weight = tfWeight(entry.getValue()) * similarityIdf(list.liveDocs());
+                normSquared += weight * weight;
+            }
+            docPostings[ordinal] = lists;
+            docNorms[ordinal] = (float) Math.sqrt(normSquared);
+
+            compactIfNeeded();
+            if (liveCount >= 2 * normsRefreshedAt) {
+                refreshNorms();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long questionId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(questionId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Documents containing every query term, best BM25 score first.
+     *
+     * @param prefixLastTerm treat the last query term as a prefix, for search boxes queried per keystroke
+     * @param limit          maximum number of hits returned; totalHits still counts every match
+     */
+    public SearchResult search(String query, boolean activeOnly, boolean prefixLastTerm, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(analyzer.analyze(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return SearchResult.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return SearchResult.EMPTY;
+            }
+
+            float[] scores = new float[nextOrdinal];
+            int[] matchedTerms = new int[nextOrdinal];
+            float avgDocLength = (float) liveLength / liveCount;
+
+            for (int t = 0; t < terms.size(); t++) {
+                boolean prefix = prefixLastTerm && t == terms.size() - 1;
+                List<PostingList> lists = lookup(terms.get(t), prefix);
+                if (lists.isEmpty()) {
+                    return SearchResult.EMPTY;
+                }
+                for (PostingList list : lists) {
+                    score(list, t, scores, matchedTerms, avgDocLength);
+                }
+            }
+
+            return collect(terms.size(), scores, matchedTerms, activeOnly, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Active questions whose text is most similar to the given texts by TF-IDF cosine, best first.
+     * The texts are analyzed like indexed documents, so passing a question's own texts finds
+     * questions like it.
+     */
+    public List<SearchHit> similar(Collection<String> texts, Long excludeQuestionId, SimilarityFilter filter, int limit) {
+        Map<String, Integer> queryFreqs = termFrequencies(texts);
+        if (queryFreqs.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return Collections.emptyList();
+            }
+
+            float[] scores = new float[nextOrdinal];
+            int maxDf = liveCount < MIN_DOCS_FOR_DF_PRUNING
+                    ? Integer.MAX_VALUE
+                    : (int) (liveCount * MAX_SIMILARITY_DF_RATIO);
+            double queryNormSquared = 0;
+
+            for (Map.Entry<String, Integer> entry : queryFreqs.entrySet()) {
+                PostingList list = postings.get(entry.getKey());
+                if (list == null || list.liveDocs() == 0) {
+                    continue;
+                }
+                float idf = similarityIdf(list.liveDocs());
+                float queryWeight = tfWeight(entry.getValue()) * idf;
+                queryNormSquared += queryWeight * queryWeight;
+                if (list.liveDocs() > maxDf) {
+                    continue;
+                }
+
+                for (int i = 0; i < list.size(); i++) {
+                    int doc = list.doc(i);
+                    if (live.get(doc)) {
+                        scores[doc] += queryWeight * tfWeight(list.freq(i)) * idf;
+                    }
+                }
+            }
+
+            return collectSimilar(scores, (float) Math.sqrt(queryNormSquared), excludeQuestionId, filter, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<SearchHit> collectSimilar(float[] scores, float queryNorm, Long excludeQuestionId,
+                                           SimilarityFilter filter, int limit) {
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(
+                Math.min(limit, 1024), (a, b) -> Float.compare(a.getScore(), b.getScore()));
+
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (scores[doc] == 0 || docNorms[doc] == 0) {
+                continue;
+            }
+            float cosine = scores[doc] / (docNorms[doc] * queryNorm);
+            // Cheap bound first; the filter is only evaluated for documents that would enter the top k
+            if (top.size() == limit && cosine <= top.peek().getScore()) {
+                continue;
+            }
+            if (!active.get(doc)
+                    || (excludeQuestionId != null && questionIds[doc] == excludeQuestionId)
+                    || !filter.accepts(chapterIds[doc], difficulties[doc])) {
+                continue;
+            }
+            if (top.size() == limit) {
+                top.poll();
+            }
+            top.add(new SearchHit(questionIds[doc], cosine));
+        }
+
+        List<SearchHit> hits = new ArrayList<>(top);
+        hits.sort((a, b) -> Float.compare(b.getScore(), a.getScore()));
+        return hits;
+    }
+
+    private Map<String, Integer> termFrequencies(Collection<String> texts) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        for (String text : texts) {
+            for (String term : analyzer.analyze(text)) {
+                termFreqs.merge(term, 1, Integer::sum);
+            }
+        }
+        return termFreqs;
+    }
+
+    private static float tfWeight(int tf) {
+        return tf < TF_WEIGHTS.length ? TF_WEIGHTS[tf] : 1 + (float) Math.log(tf);
+    }
+
+    private float similarityIdf(int df) {
+        return (float) Math.log((double) (liveCount + 1) / (df + 1)) + 1;
+    }
+
+    // Terms left only in removed documents are skipped, so they do not use up prefix expansions
+    private List<PostingList> lookup(String term, boolean prefix) {
+        if (!prefix) {
+            PostingList list = postings.get(term);
+            return list != null && list.liveDocs() > 0 ? Collections.singletonList(list) : Collections.emptyList();
+        }
+
+        List<PostingList> lists = new ArrayList<>();
+        for (PostingList list : postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+            if (list.liveDocs() == 0) {
+                continue;
+            }
+            lists.add(list);
+            if (lists.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+        return lists;
+    }
+
+    private void score(PostingList list, int termIndex, float[] scores, int[] matchedTerms, float avgDocLength) {
+        int df = list.liveDocs();
+        float idf = (float) Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+
+        for (int i = 0; i < list.size(); i++) {
+            int doc = list.doc(i);
+            if (!live.get(doc) || matchedTerms[doc] < termIndex) {
+                // Dead, or already missing an earlier term - cannot match all terms
+                continue;
+            }
+            float tf = list.freq(i);
+            float norm = K1 * (1 - B + B * docLengths[doc] / avgDocLength);
+            scores[doc] += idf * tf * (K1 + 1) / (tf + norm);
+            // A prefix can expand to several terms of the same document; count the query term once
+            matchedTerms[doc] = termIndex + 1;
+        }
+    }
+
+    private SearchResult collect(int termCount, float[] scores, int[] matchedTerms, boolean activeOnly, int limit) {
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(
+                Math.min(limit, 1024), (a, b) -> Float.compare(a.getScore(), b.getScore()));
+        int totalHits = 0;
+
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (matchedTerms[doc] != termCount || (activeOnly && !active.get(doc))) {
+                continue;
+            }
+            totalHits++;
+            if (top.size() < limit) {
+                top.add(new SearchHit(questionIds[doc], scores[doc]));
+            } else if (scores[doc] > top.peek().getScore()) {
+                top.poll();
+                top.add(new SearchHit(questionIds[doc], scores[doc]));
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(top);
+        hits.sort((a, b) -> Float.compare(b.getScore(), a.getScore()));
+        return new SearchResult(totalHits, hits);
+    }
+
+    private void removeLocked(long questionId) {
+        Integer ordinal = ordinalsByQuestionId.remove(questionId);
+        if (ordinal != null && live.get(ordinal)) {
+            live.clear(ordinal);
+            active.clear(ordinal);
+            liveCount--;
+            liveLength -= docLengths[ordinal];
+            for (PostingList list : docPostings[ordinal]) {
+                list.removeLive();
+            }
+            docPostings[ordinal] = null;
+        }
+    }
+
+    private void compactIfNeeded() {
+        int dead = nextOrdinal - liveCount;
+        if (dead < 1024 || dead < nextOrdinal / 4) {
+            return;
+        }
+
+        int[] ordinalMap = new int[nextOrdinal];
+        int next = 0;
+        for (int doc = 0; doc < nextOrdinal; doc++) {
+            if (live.get(doc)) {
+                ordinalMap[doc] = next;
+                questionIds[next] = questionIds[doc];
+                docLengths[next] = docLengths[doc];
+                chapterIds[next] = chapterIds[doc];
+                difficulties[next] = difficulties[doc];
+                docNorms[next] = docNorms[doc];
+                docPostings[next] = docPostings[doc];
+                active.set(next, active.get(doc));
+                next++;
+            } else {
+                ordinalMap[doc] = -1;
+            }
+        }
+
+        live.clear();
+        live.set(0, next);
+        active.clear(next, nextOrdinal);
+        Arrays.fill(chapterIds, next, nextOrdinal, null);
+        Arrays.fill(difficulties, next, nextOrdinal, null);
+        Arrays.fill(docPostings, next, nextOrdinal, null);
+        nextOrdinal = next;
+        ordinalsByQuestionId.replaceAll((questionId, ordinal) -> ordinalMap[ordinal]);
+
+        Set<String> emptyTerms = new LinkedHashSet<>();
+        postings.forEach((term, list) -> {
+            if (list.compact(ordinalMap) == 0) {
+                emptyTerms.add(term);
+            }
+        });
+        postings.keySet().removeAll(emptyTerms);
+        refreshNorms();
+    }
+
+    private void refreshNorms() {
+        double[] normsSquared = new double[nextOrdinal];
+        for (PostingList list : postings.values()) {
+            float idf = similarityIdf(list.liveDocs());
+            for (int i = 0; i < list.size(); i++) {
+                float weight = tfWeight(list.freq(i)) * idf;
+                normsSquared[list.doc(i)] += weight * weight;
+            }
+        }
+        for (int doc = 0; doc < nextOrdinal; doc++) {
+            docNorms[doc] = (float) Math.sqrt(normsSquared[doc]);
+        }
+        normsRefreshedAt = liveCount;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > questionIds.length) {
+            int newLength = Math.max(capacity, questionIds.length * 2);
+            questionIds = Arrays.copyOf(questionIds, newLength);
+            docLengths = Arrays.copyOf(docLengths, newLength);
+            chapterIds = Arrays.copyOf(chapterIds, newLength);
+            difficulties = Arrays.copyOf(difficulties, newLength);
+            docNorms = Arrays.copyOf(docNorms, newLength);
+            docPostings = Arrays.copyOf(docPostings, newLength);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.questionbank.search;
+
+import java.util.Arrays;
+
+/**
+ * Documents containing one term, as parallel primitive arrays sorted by document ordinal.
+ * Ordinals are only ever appended, so adding keeps the arrays sorted without shifting.
+ * Postings of removed documents stay until the next compaction, but are not counted as live.
+ */
+final class PostingList {
+
+    private int[] docs = new int[4];
+    private int[] freqs = new int[4];
+    private int size;
+    private int liveDocs;
+
+    void add(int doc, int freq) {
+        if (size == docs.length) {
+            int capacity = size + (size >> 1) + 1;
+            docs = Arrays.copyOf(docs, capacity);
+            freqs = Arrays.copyOf(freqs, capacity);
+        }
+        docs[size] = doc;
+        freqs[size] = freq;
+        size++;
+        liveDocs++;
+    }
+
+    // Called once when a document holding this term is removed
+    void removeLive() {
+        liveDocs--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Document frequency: postings of documents that have not been removed
+    int liveDocs() {
+        return liveDocs;
+    }
+
+    int doc(int index) {
+        return docs[index];
+    }
+
+    int freq(int index) {
+        return freqs[index];
+    }
+
+    // Drops postings of removed documents and renumbers the rest; returns the number kept
+    int compact(int[] ordinalMap) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int mapped = ordinalMap[docs[i]];
+            if (mapped >= 0) {
+                docs[kept] = mapped;
+                freqs[kept] = freqs[i];
+                kept++;
+            }
+        }
+        size = kept;
+        liveDocs = kept;
+        if (docs.length > 16 && size < docs.length / 4) {
+            docs = Arrays.copyOf(docs, Math.max(4, size));
+            freqs = Arrays.copyOf(freqs, Math.max(4, size));
+        }
+        return kept;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.questionbank.search;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * What the search index keeps about one question: its text, and the attributes similarity
+ * queries filter on.
+ */
+@Value
+public class QuestionDocument {
+
+    long questionId;
+    boolean active;
+    Long chapterId;
+    DifficultyLevel difficultyLevel;
+    List<String> texts;
+}
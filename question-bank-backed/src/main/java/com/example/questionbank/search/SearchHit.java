@@ -0,0 +1,10 @@
+package com.example.questionbank.search;
+
+import lombok.Value;
+
+@Value
+public class SearchHit {
+
+    long questionId;
+    float score;
+}
@@ -0,0 +1,18 @@
+package com.example.questionbank.search;
+
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Best-scoring hits in descending score order, plus the number of documents that matched at all.
+ */
+@Value
+public class SearchResult {
+
+    public static final SearchResult EMPTY = new SearchResult(0, Collections.emptyList());
+
+    int totalHits;
+    List<SearchHit> hits;
+}
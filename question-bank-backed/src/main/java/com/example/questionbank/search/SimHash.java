@@ -0,0 +1,62 @@
+package com.example.questionbank.search;
+
+import java.util.List;
+
+/**
+ * 64-bit SimHash of analyzed question text. Similar texts get signatures that differ in few
+ * bits, so near-duplicates are found by Hamming distance instead of comparing text pairwise.
+ *
+ * Features are the single terms and adjacent term pairs; pairs make reordered or partly
+ * rewritten questions drift apart while a changed word or an appended "(Copy)" only flips a
+ * few bits.
+ */
+public final class SimHash {
+
+    private SimHash() {
+    }
+
+    public static long of(List<String> terms) {
+        int[] weights = new int[64];
+        String previous = null;
+        for (String term : terms) {
+            addFeature(weights, hash(term, 0L));
+            if (previous != null) {
+                addFeature(weights, hash(term, hash(previous, 0L)));
+            }
+            previous = term;
+        }
+
+        long signature = 0L;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                signature |= 1L << bit;
+            }
+        }
+        return signature;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static void addFeature(int[] weights, long hash) {
+        for (int bit = 0; bit < 64; bit++) {
+            weights[bit] += ((hash >>> bit) & 1L) != 0 ? 1 : -1;
+        }
+    }
+
+    // FNV-1a over the chars, finished with the MurmurHash3 mixer so every input bit reaches every output bit
+    private static long hash(String term, long seed) {
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < term.length(); i++) {
+            h ^= term.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.questionbank.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive band index over {@link SimHash} signatures.
+ *
+ * The 64 bits are cut into {@code MAX_DISTANCE + 1} bands of six or seven bits. Two signatures
+ * within {@link #MAX_DISTANCE} bits of each other must agree on at least one whole band, so a
+ * lookup only compares against the questions sharing one of its band values. Buckets are
+ * addressed directly by band value, so there is no hashing on the lookup path.
+ *
+ * Short question texts give noisy signatures: a one-word edit flips about eight bits, while
+ * unrelated questions differ in about thirty.
+ */
+public class SimHashIndex {
+
+    public static final int MAX_DISTANCE = 9;
+
+    private static final int BANDS = MAX_DISTANCE + 1;
+    private static final int[] BAND_OFFSETS = new int[BANDS + 1];
+
+    static {
+        for (int band = 0; band <= BANDS; band++) {
+            BAND_OFFSETS[band] = band * 64 / BANDS;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Long> signatures = new HashMap<>();
+    // Each bucket holds (questionId, signature) pairs so candidates are compared without a map lookup
+    private final long[][][] buckets = new long[BANDS][][];
+    private final int[][] bucketSizes = new int[BANDS][];
+
+    public SimHashIndex() {
+        for (int band = 0; band < BANDS; band++) {
+            int width = BAND_OFFSETS[band + 1] - BAND_OFFSETS[band];
+            buckets[band] = new long[1 << width][];
+            bucketSizes[band] = new int[1 << width];
+        }
+    }
+
+    public void put(long questionId, long signature) {
+        lock.writeLock().lock();
+        try {
+            Long previous = signatures.put(questionId, signature);
+            if (previous != null) {
+                if (previous == signature) {
+                    return;
+                }
+                removeFromBuckets(questionId, previous);
+            }
+            for (int band = 0; band < BANDS; band++) {
+                addToBucket(band, bandValue(signature, band), questionId, signature);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long questionId) {
+        lock.writeLock().lock();
+        try {
+            Long previous = signatures.remove(questionId);
+            if (previous != null) {
+                removeFromBuckets(questionId, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Questions whose signature is within {@link #MAX_DISTANCE} bits, closest first,
+     * as question id to Hamming distance.
+     */
+    public Map<Long, Integer> findNear(long signature, Long excludeQuestionId) {
+        Map<Long, Integer> matches = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (int band = 0; band < BANDS; band++) {
+                int value = bandValue(signature, band);
+                long[] bucket = buckets[band][value];
+                for (int i = 0; i < bucketSizes[band][value]; i += 2) {
+                    int distance = SimHash.distance(signature, bucket[i + 1]);
+                    if (distance <= MAX_DISTANCE
+                            && (excludeQuestionId == null || bucket[i] != excludeQuestionId)) {
+                        matches.put(bucket[i], distance);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Long, Integer>> sorted = new ArrayList<>(matches.entrySet());
+        sorted.sort(Map.Entry.comparingByValue());
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        sorted.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    private void addToBucket(int band, int value, long questionId, long signature) {
+        long[] bucket = buckets[band][value];
+        int size = bucketSizes[band][value];
+        if (bucket == null) {
+            bucket = new long[4];
+        } else if (size == bucket.length) {
+            bucket = Arrays.copyOf(bucket, size * 2);
+        }
+        bucket[size] = questionId;
+        bucket[size + 1] = signature;
+        buckets[band][value] = bucket;
+        bucketSizes[band][value] = size + 2;
+    }
+
+    private void removeFromBuckets(long questionId, long signature) {
+        for (int band = 0; band < BANDS; band++) {
+            int value = bandValue(signature, band);
+            long[] bucket = buckets[band][value];
+            int size = bucketSizes[band][value];
+            for (int i = 0; i < size; i += 2) {
+                if (bucket[i] == questionId) {
+                    // Order inside a bucket does not matter, so fill the hole with the last pair
+                    bucket[i] = bucket[size - 2];
+                    bucket[i + 1] = bucket[size - 1];
+                    bucketSizes[band][value] = size - 2;
+                    break;
+                }
+            }
+        }
+    }
+
+    static int bandValue(long signature, int band) {
+        int width = BAND_OFFSETS[band + 1] - BAND_OFFSETS[band];
+        return (int) (signature >>> BAND_OFFSETS[band]) & ((1 << width) - 1);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.questionbank.search;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Restricts similarity results to active questions in the given chapters and difficulty.
+ * A null field does not restrict; subjects are passed as the set of their chapters.
+ */
+@Value
+public class SimilarityFilter {
+
+    public static final SimilarityFilter NONE = new SimilarityFilter(null, null);
+
+    Set<Long> chapterIds;
+    DifficultyLevel difficultyLevel;
+
+    boolean accepts(Long chapterId, DifficultyLevel difficulty) {
+        return (chapterIds == null || chapterIds.contains(chapterId))
+                && (difficultyLevel == null || difficultyLevel == difficulty);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.questionbank.search;
+
+import java.util.List;
+
+/**
+ * Turns raw question or option text into index terms. The same analyzer must be used for
+ * indexing and for queries, otherwise terms will not line up.
+ */
+public interface TextAnalyzer {
+
+    List<String> analyze(String text);
+}
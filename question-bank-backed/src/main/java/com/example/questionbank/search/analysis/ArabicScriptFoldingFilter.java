@@ -0,0 +1,47 @@
+package com.example.questionbank.search.analysis;
+
+/**
+ * Maps the letters that differ between Arabic and Urdu keyboards onto their Urdu forms
+ * (ي/ى -> ی, ك -> ک, ه -> ہ, ة -> ہ), drops tatweel, and turns Arabic-Indic and Eastern
+ * Arabic-Indic digits into ASCII digits so "۱۲" and "12" are the same term.
+ */
+public class ArabicScriptFoldingFilter implements TokenFilter {
+
+    private static final char TATWEEL = 'ـ';
+
+    @Override
+    public void apply(StringBuilder term) {
+        int out = 0;
+        for (int i = 0; i < term.length(); i++) {
+            char c = fold(term.charAt(i));
+            if (c != TATWEEL) {
+                term.setCharAt(out++, c);
+            }
+        }
+        term.setLength(out);
+    }
+
+    private static char fold(char c) {
+        if (c < '؀' || c > 'ۿ') {
+            return c;
+        }
+        if (c >= '٠' && c <= '٩') {
+            return (char) ('0' + (c - '٠'));
+        }
+        if (c >= '۰' && c <= '۹') {
+            return (char) ('0' + (c - '۰'));
+        }
+        switch (c) {
+            case 'ي': // Arabic yeh
+            case 'ى': // alef maksura
+                return 'ی';
+            case 'ك': // Arabic kaf
+                return 'ک';
+            case 'ه': // Arabic heh
+            case 'ة': // teh marbuta
+                return 'ہ';
+            default:
+                return c;
+        }
+    }
+}
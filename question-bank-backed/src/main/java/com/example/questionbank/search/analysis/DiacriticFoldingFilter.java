@@ -0,0 +1,53 @@
+package com.example.questionbank.search.analysis;
+
+import com.ibm.icu.lang.UCharacter;
+import com.ibm.icu.lang.UCharacterCategory;
+import com.ibm.icu.text.Normalizer2;
+
+/**
+ * Removes combining marks: Latin accents (é -> e) as well as Arabic-script harakat, hamza above
+ * and below and madda (أ, إ, آ -> ا), which Urdu and Arabic writers use inconsistently.
+ */
+public class DiacriticFoldingFilter implements TokenFilter {
+
+    private static final Normalizer2 NFD = Normalizer2.getNFDInstance();
+    private static final Normalizer2 NFC = Normalizer2.getNFCInstance();
+
+    private final ThreadLocal<StringBuilder> scratch = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    @Override
+    public void apply(StringBuilder term) {
+        if (isAscii(term)) {
+            return;
+        }
+
+        StringBuilder decomposed = scratch.get();
+        decomposed.setLength(0);
+        NFD.normalize(term, decomposed);
+
+        term.setLength(0);
+        for (int i = 0; i < decomposed.length(); ) {
+            int cp = decomposed.codePointAt(i);
+            if (UCharacter.getType(cp) != UCharacterCategory.NON_SPACING_MARK) {
+                term.appendCodePoint(cp);
+            }
+            i += Character.charCount(cp);
+        }
+
+        if (!NFC.isNormalized(term)) {
+            decomposed.setLength(0);
+            NFC.normalize(term, decomposed);
+            term.setLength(0);
+            term.append(decomposed);
+        }
+    }
+
+    private static boolean isAscii(CharSequence term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (term.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
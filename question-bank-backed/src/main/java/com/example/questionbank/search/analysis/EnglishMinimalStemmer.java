@@ -0,0 +1,49 @@
+package com.example.questionbank.search.analysis;
+
+/**
+ * Inflectional stemming only: possessives and plurals ("atoms", "atom's" -> "atom",
+ * "properties" -> "property"). Derivational suffixes are left alone so that a term typed
+ * halfway still prefix-matches its indexed form.
+ */
+public class EnglishMinimalStemmer implements TokenFilter {
+
+    @Override
+    public void apply(StringBuilder term) {
+        stripPossessive(term);
+
+        int len = term.length();
+        if (len < 4 || term.charAt(len - 1) != 's') {
+            return;
+        }
+
+        switch (term.charAt(len - 2)) {
+            case 'u':
+            case 's':
+                // "radius", "mass"
+                return;
+            case 'e':
+                char beforeE = term.charAt(len - 3);
+                if (len > 4 && beforeE == 'i' && term.charAt(len - 4) != 'a' && term.charAt(len - 4) != 'e') {
+                    // "properties" -> "property"
+                    term.setLength(len - 2);
+                    term.setCharAt(len - 3, 'y');
+                    return;
+                }
+                if (beforeE == 'i' || beforeE == 'a' || beforeE == 'o' || beforeE == 'e') {
+                    return;
+                }
+                term.setLength(len - 1);
+                return;
+            default:
+                term.setLength(len - 1);
+        }
+    }
+
+    private static void stripPossessive(StringBuilder term) {
+        int len = term.length();
+        if (len > 2 && term.charAt(len - 1) == 's'
+                && (term.charAt(len - 2) == '\'' || term.charAt(len - 2) == '’')) {
+            term.setLength(len - 2);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.questionbank.search.analysis;
+
+import com.example.questionbank.search.TextAnalyzer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pulls formulas out of the text before word analysis and indexes them through
+ * {@link FormulaNormalizer}, keeping the terms in text order so the last query term is still
+ * the one being typed.
+ *
+ * Formulas are either delimited ($..$, $$..$$, \(..\), \[..\]) or, for search boxes where
+ * nobody types delimiters, whitespace-separated chunks that contain LaTeX markup or Unicode
+ * sub/superscripts, such as "H_2SO_4", "\frac" or "H₂O".
+ */
+public class FormulaAwareTextAnalyzer implements TextAnalyzer {
+
+    private static final String TRAILING_PUNCTUATION = ".,;:?!";
+
+    private final TextAnalyzer wordAnalyzer;
+    private final FormulaNormalizer formulaNormalizer;
+
+    public FormulaAwareTextAnalyzer(TextAnalyzer wordAnalyzer, FormulaNormalizer formulaNormalizer) {
+        this.wordAnalyzer = wordAnalyzer;
+        this.formulaNormalizer = formulaNormalizer;
+    }
+
+    @Override
+    public List<String> analyze(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> terms = new ArrayList<>();
+        int plainStart = 0;
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c != '$' && c != '\\') {
+                i++;
+                continue;
+            }
+
+            int[] formula = findDelimitedFormula(text, i);
+            if (formula == null) {
+                // Escaped "\$", or a lone dollar sign used for money
+                i += c == '\\' ? 2 : 1;
+                continue;
+            }
+
+            analyzePlain(text.substring(plainStart, i), terms);
+            terms.addAll(formulaNormalizer.terms(text.substring(formula[0], formula[1])));
+            i = formula[2];
+            plainStart = i;
+        }
+        analyzePlain(text.substring(plainStart), terms);
+        return terms;
+    }
+
+    // {contentStart, contentEnd, end} of the formula opening at 'from', or null; shared with paper rendering
+    public static int[] findDelimitedFormula(String text, int from) {
+        if (text.startsWith("$$", from)) {
+            int close = text.indexOf("$$", from + 2);
+            return close < 0 ? null : new int[]{from + 2, close, close + 2};
+        }
+        if (text.startsWith("\\(", from) || text.startsWith("\\[", from)) {
+            String closing = text.charAt(from + 1) == '(' ? "\\)" : "\\]";
+            int close = text.indexOf(closing, from + 2);
+            return close < 0 ? null : new int[]{from + 2, close, close + 2};
+        }
+        if (text.charAt(from) == '$') {
+            // Inline math opens on "$x" and closes on "x$" not followed by a digit, so "$5 and $10" is money
+            if (from + 1 >= text.length() || Character.isWhitespace(text.charAt(from + 1))) {
+                return null;
+            }
+            for (int close = text.indexOf('$', from + 1); close > 0; close = text.indexOf('$', close + 1)) {
+                boolean escaped = text.charAt(close - 1) == '\\';
+                boolean followedByDigit = close + 1 < text.length() && Character.isDigit(text.charAt(close + 1));
+                if (!escaped && !Character.isWhitespace(text.charAt(close - 1)) && !followedByDigit) {
+                    return new int[]{from + 1, close, close + 1};
+                }
+            }
+        }
+        return null;
+    }
+
+    private void analyzePlain(String text, List<String> terms) {
+        int wordsStart = 0;
+        int i = 0;
+        while (i < text.length()) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                i++;
+                continue;
+            }
+
+            int chunkStart = i;
+            while (i < text.length() && !Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            int chunkEnd = i;
+            while (chunkEnd > chunkStart && TRAILING_PUNCTUATION.indexOf(text.charAt(chunkEnd - 1)) >= 0) {
+                chunkEnd--;
+            }
+
+            if (looksLikeFormula(text, chunkStart, chunkEnd)) {
+                addWords(text.substring(wordsStart, chunkStart), terms);
+                terms.addAll(formulaNormalizer.terms(text.substring(chunkStart, chunkEnd)));
+                wordsStart = chunkEnd;
+            }
+        }
+        addWords(text.substring(wordsStart), terms);
+    }
+
+    private void addWords(String text, List<String> terms) {
+        if (!text.isBlank()) {
+            terms.addAll(wordAnalyzer.analyze(text));
+        }
+    }
+
+    private static boolean looksLikeFormula(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            // A backslash only starts markup when a macro name follows, not in "\$5" or an unclosed "\("
+            boolean macro = c == '\\' && i + 1 < end && Character.isLetter(text.charAt(i + 1));
+            if (macro || c == '_' || c == '^' || FormulaNormalizer.scriptMarker(c) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.questionbank.search.analysis;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical index terms for a LaTeX or chemical formula.
+ *
+ * Canonicalization drops whitespace, spacing and sizing macros, resolves macro aliases
+ * (\dfrac -> \frac, \le -> \leq), unwraps font macros, writes Unicode and mhchem subscripts
+ * as LaTeX scripts and removes braces around single-token scripts, so "H_{2}SO_{4}",
+ * "\ce{H2SO4}" and "H₂SO₄" all become "H_2SO_4".
+ */
+public class FormulaNormalizer {
+
+    private static final Map<String, String> ALIASES = Map.ofEntries(
+            Map.entry("\\dfrac", "\\frac"),
+            Map.entry("\\tfrac", "\\frac"),
+            Map.entry("\\cfrac", "\\frac"),
+            Map.entry("\\le", "\\leq"),
+            Map.entry("\\leqslant", "\\leq"),
+            Map.entry("\\ge", "\\geq"),
+            Map.entry("\\geqslant", "\\geq"),
+            Map.entry("\\ne", "\\neq"),
+            Map.entry("\\to", "\\rightarrow"),
+            Map.entry("\\gets", "\\leftarrow"),
+            Map.entry("\\land", "\\wedge"),
+            Map.entry("\\lor", "\\vee"),
+            Map.entry("\\lnot", "\\neg"),
+            Map.entry("\\lbrace", "\\{"),
+            Map.entry("\\rbrace", "\\}"),
+            Map.entry("\\varepsilon", "\\epsilon"),
+            Map.entry("\\varphi", "\\phi"));
+
+    // Layout only, never part of the meaning of a formula
+    private static final Set<String> IGNORED = Set.of(
+            "\\left", "\\right", "\\big", "\\Big", "\\bigl", "\\bigr", "\\Bigl", "\\Bigr",
+            "\\displaystyle", "\\textstyle", "\\limits", "\\nolimits",
+            "\\,", "\\;", "\\:", "\\!", "\\ ", "\\quad", "\\qquad");
+
+    private static final Set<String> FONT_MACROS = Set.of(
+            "\\mathrm", "\\mathit", "\\mathbf", "\\mathsf", "\\text", "\\textrm", "\\textbf", "\\rm", "\\bf");
+
+    private static final String CHEMISTRY_MACRO = "\\ce";
+
+    private static final Pattern BRACED_SCRIPT = Pattern.compile("([_^])\\{([^{}\\\\]|\\\\[A-Za-z]+)}");
+    private static final Pattern MACRO = Pattern.compile("\\\\[A-Za-z]+");
+
+    private enum Group { KEEP, UNWRAP, CHEMISTRY }
+
+    /**
+     * A formula that reduces to letters and digits ("H_2SO_4", "x^2") is indexed as that plain
+     * word, lower-cased the way the word analyzer would, so it also matches text typed without
+     * markup. Anything else is indexed as its canonical form plus every macro it uses.
+     */
+    public List<String> terms(String formula) {
+        String canonical = canonicalize(formula);
+        if (canonical.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String flattened = flatten(canonical);
+        if (!flattened.isEmpty() && flattened.chars().allMatch(Character::isLetterOrDigit)) {
+            return Collections.singletonList(flattened.toLowerCase(Locale.ROOT));
+        }
+
+        Set<String> terms = new LinkedHashSet<>();
+        terms.add(canonical);
+        Matcher macros = MACRO.matcher(canonical);
+        while (macros.find()) {
+            terms.add(macros.group());
+        }
+        return new ArrayList<>(terms);
+    }
+
+    public String canonicalize(String formula) {
+        String source = expandUnicodeScripts(formula);
+        StringBuilder out = new StringBuilder(source.length());
+        Deque<Group> groups = new ArrayDeque<>();
+
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+
+            if (c == '\\' && i + 1 < source.length()) {
+                int end = i + 2;
+                if (Character.isLetter(source.charAt(i + 1))) {
+                    while (end < source.length() && Character.isLetter(source.charAt(end))) {
+                        end++;
+                    }
+                }
+                String macro = ALIASES.getOrDefault(source.substring(i, end), source.substring(i, end));
+                i = end;
+
+                if (IGNORED.contains(macro)) {
+                    continue;
+                }
+                if (FONT_MACROS.contains(macro) || CHEMISTRY_MACRO.equals(macro)) {
+                    int next = skipWhitespace(source, i);
+                    if (next < source.length() && source.charAt(next) == '{') {
+                        groups.push(CHEMISTRY_MACRO.equals(macro) ? Group.CHEMISTRY : Group.UNWRAP);
+                        i = next + 1;
+                    }
+                    continue;
+                }
+
+                out.append(macro);
+                // "\alpha x" must not collapse into the different macro "\alphax"
+                int next = skipWhitespace(source, i);
+                if (Character.isLetter(macro.charAt(macro.length() - 1))
+                        && next < source.length() && Character.isLetter(source.charAt(next))) {
+                    out.append(' ');
+                }
+            } else if (c == '{') {
+                groups.push(Group.KEEP);
+                out.append(c);
+                i++;
+            } else if (c == '}') {
+                if (groups.isEmpty() || groups.pop() == Group.KEEP) {
+                    out.append(c);
+                }
+                i++;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else if (Character.isDigit(c) && groups.contains(Group.CHEMISTRY) && isSubscriptable(out)) {
+                // mhchem: digits after an element or closing parenthesis are subscripts
+                int end = i;
+                while (end < source.length() && Character.isDigit(source.charAt(end))) {
+                    end++;
+                }
+                appendScript(out, '_', source.substring(i, end));
+                i = end;
+            } else if (c == '^' && groups.contains(Group.CHEMISTRY)
+                    && i + 1 < source.length() && isChargeChar(source.charAt(i + 1))) {
+                // mhchem: a charge is written without braces ("SO4^2-")
+                int end = i + 1;
+                while (end < source.length() && isChargeChar(source.charAt(end))) {
+                    end++;
+                }
+                appendScript(out, '^', source.substring(i + 1, end));
+                i = end;
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+
+        return BRACED_SCRIPT.matcher(out).replaceAll("$1$2");
+    }
+
+    private static String flatten(String canonical) {
+        StringBuilder flat = new StringBuilder(canonical.length());
+        for (int i = 0; i < canonical.length(); i++) {
+            char c = canonical.charAt(i);
+            if (c != '_' && c != '^' && c != '{' && c != '}') {
+                flat.append(c);
+            }
+        }
+        return flat.toString();
+    }
+
+    private static String expandUnicodeScripts(String formula) {
+        StringBuilder out = null;
+        int i = 0;
+        while (i < formula.length()) {
+            char marker = scriptMarker(formula.charAt(i));
+            if (marker == 0) {
+                if (out != null) {
+                    out.append(formula.charAt(i));
+                }
+                i++;
+                continue;
+            }
+
+            if (out == null) {
+                out = new StringBuilder(formula.length() + 8).append(formula, 0, i);
+            }
+            StringBuilder script = new StringBuilder();
+            while (i < formula.length() && scriptMarker(formula.charAt(i)) == marker) {
+                script.append(scriptValue(formula.charAt(i)));
+                i++;
+            }
+            appendScript(out, marker, script.toString());
+        }
+        return out != null ? out.toString() : formula;
+    }
+
+    private static void appendScript(StringBuilder out, char marker, String script) {
+        out.append(marker);
+        if (script.length() == 1) {
+            out.append(script);
+        } else {
+            out.append('{').append(script).append('}');
+        }
+    }
+
+    // '_' for Unicode subscripts, '^' for superscripts, 0 otherwise
+    static char scriptMarker(char c) {
+        if ((c >= '₀' && c <= '₉') || c == '₊' || c == '₋') {
+            return '_';
+        }
+        if ((c >= '⁴' && c <= '⁹') || c == '⁰' || c == '¹' || c == '²' || c == '³' || c == '⁺' || c == '⁻') {
+            return '^';
+        }
+        return 0;
+    }
+
+    private static char scriptValue(char c) {
+        switch (c) {
+            case '¹':
+                return '1';
+            case '²':
+                return '2';
+            case '³':
+                return '3';
+            case '⁺':
+            case '₊':
+                return '+';
+            case '⁻':
+            case '₋':
+                return '-';
+            default:
+                return (char) ('0' + (c >= '₀' ? c - '₀' : c - '⁰'));
+        }
+    }
+
+    private static boolean isSubscriptable(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char last = out.charAt(out.length() - 1);
+        return Character.isLetter(last) || last == ')';
+    }
+
+    private static boolean isChargeChar(char c) {
+        return Character.isDigit(c) || c == '+' || c == '-';
+    }
+
+    private static int skipWhitespace(String source, int from) {
+        int i = from;
+        while (i < source.length() && Character.isWhitespace(source.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.questionbank.search.analysis;
+
+import com.example.questionbank.search.TextAnalyzer;
+import com.ibm.icu.text.BreakIterator;
+import com.ibm.icu.text.Normalizer2;
+import com.ibm.icu.text.RuleBasedBreakIterator;
+import com.ibm.icu.util.ULocale;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Analyzer for mixed English and Urdu/Arabic-script text.
+ *
+ * The text is NFKC case-folded (full-width forms, ligatures and presentation forms collapse to
+ * their plain letters), split with ICU word boundaries, and every word or number is passed
+ * through the token filters in order. One instance is shared by the index for both indexing
+ * and querying; break iterators and term buffers are reused per thread.
+ */
+public class IcuTextAnalyzer implements TextAnalyzer {
+
+    private static final Normalizer2 NFKC_CASEFOLD = Normalizer2.getNFKCCasefoldInstance();
+
+    private final List<TokenFilter> filters;
+    private final BreakIterator prototype = BreakIterator.getWordInstance(ULocale.ROOT);
+
+    // BreakIterator keeps iteration state, so each thread works on its own clone
+    private final ThreadLocal<BreakIterator> wordBreaker =
+            ThreadLocal.withInitial(() -> (BreakIterator) prototype.clone());
+    private final ThreadLocal<StringBuilder> termBuffer =
+            ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    public IcuTextAnalyzer(List<TokenFilter> filters) {
+        this.filters = List.copyOf(filters);
+    }
+
+    @Override
+    public List<String> analyze(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String normalized = NFKC_CASEFOLD.normalize(text);
+        BreakIterator breaker = wordBreaker.get();
+        StringBuilder term = termBuffer.get();
+        breaker.setText(normalized);
+
+        List<String> terms = new ArrayList<>();
+        int start = breaker.first();
+        for (int end = breaker.next(); end != BreakIterator.DONE; start = end, end = breaker.next()) {
+            if (breaker.getRuleStatus() < RuleBasedBreakIterator.WORD_NONE_LIMIT) {
+                // Whitespace and punctuation
+                continue;
+            }
+
+            term.setLength(0);
+            term.append(normalized, start, end);
+            for (int i = 0; i < filters.size() && term.length() > 0; i++) {
+                filters.get(i).apply(term);
+            }
+            if (term.length() > 0) {
+                terms.add(term.toString());
+            }
+        }
+
+        // Don't pin a large question text to the thread
+        breaker.setText("");
+        if (term.capacity() > 1024) {
+            termBuffer.remove();
+        }
+        return terms;
+    }
+}
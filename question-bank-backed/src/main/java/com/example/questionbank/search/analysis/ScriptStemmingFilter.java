@@ -0,0 +1,30 @@
+package com.example.questionbank.search.analysis;
+
+import com.ibm.icu.lang.UScript;
+
+import java.util.Map;
+
+/**
+ * Picks the stemmer by the script of the term's first letter. Questions mix languages within a
+ * sentence, so the language is decided per term rather than per question. Terms in scripts
+ * without a stemmer, and numbers, pass through unchanged.
+ */
+public class ScriptStemmingFilter implements TokenFilter {
+
+    private final Map<Integer, TokenFilter> stemmersByScript;
+
+    /**
+     * @param stemmersByScript stemmer per {@link UScript} code
+     */
+    public ScriptStemmingFilter(Map<Integer, TokenFilter> stemmersByScript) {
+        this.stemmersByScript = Map.copyOf(stemmersByScript);
+    }
+
+    @Override
+    public void apply(StringBuilder term) {
+        TokenFilter stemmer = stemmersByScript.get(UScript.getScript(term.codePointAt(0)));
+        if (stemmer != null) {
+            stemmer.apply(term);
+        }
+    }
+}
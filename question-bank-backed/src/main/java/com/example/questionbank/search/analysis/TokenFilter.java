@@ -0,0 +1,10 @@
+package com.example.questionbank.search.analysis;
+
+/**
+ * One step of the analyzer chain. Filters rewrite the term buffer in place so a chain runs
+ * without allocating per step; leaving the buffer empty drops the term.
+ */
+public interface TokenFilter {
+
+    void apply(StringBuilder term);
+}
@@ -0,0 +1,54 @@
+package com.example.questionbank.search.analysis;
+
+/**
+ * Light stemmer for Urdu and Arabic terms, applied after {@link ArabicScriptFoldingFilter}.
+ * Strips the Arabic definite article and the common Urdu plural and oblique endings
+ * (کتابیں، لوگوں، لڑکے -> کتاب، لوگ، لڑک), keeping at least three letters of stem so short
+ * function words are never reduced.
+ */
+public class UrduLightStemmer implements TokenFilter {
+
+    private static final int MIN_STEM_LENGTH = 3;
+
+    private static final String[] PREFIXES = {"ال"};
+
+    // Longest first; only one suffix is removed
+    private static final String[] SUFFIXES = {"وں", "یں", "ات", "ے", "ا"};
+
+    @Override
+    public void apply(StringBuilder term) {
+        for (String prefix : PREFIXES) {
+            if (startsWith(term, prefix) && term.length() - prefix.length() >= MIN_STEM_LENGTH) {
+                term.delete(0, prefix.length());
+                break;
+            }
+        }
+
+        for (String suffix : SUFFIXES) {
+            if (endsWith(term, suffix) && term.length() - suffix.length() >= MIN_STEM_LENGTH) {
+                term.setLength(term.length() - suffix.length());
+                break;
+            }
+        }
+    }
+
+    private static boolean startsWith(StringBuilder term, String prefix) {
+        return regionMatches(term, 0, prefix);
+    }
+
+    private static boolean endsWith(StringBuilder term, String suffix) {
+        return regionMatches(term, term.length() - suffix.length(), suffix);
+    }
+
+    private static boolean regionMatches(StringBuilder term, int offset, String part) {
+        if (offset < 0 || offset + part.length() > term.length()) {
+            return false;
+        }
+        for (int i = 0; i < part.length(); i++) {
+            if (term.charAt(offset + i) != part.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
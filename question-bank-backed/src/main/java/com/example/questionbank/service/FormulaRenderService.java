@@ -0,0 +1,20 @@
+package com.example.questionbank.service;
+
+import com.example.questionbank.dto.response.FormulaCacheStatsDTO;
+import com.example.questionbank.render.FormulaImage;
+import com.example.questionbank.render.FormulaText;
+
+public interface FormulaRenderService {
+
+    // Rasterized LaTeX at the given font size in points, or null if the formula cannot be parsed
+    FormulaImage render(String latex, boolean display, float fontSize, int dpi);
+
+    // Formulas of one document at the configured font size and resolution
+    FormulaText newDocument();
+
+    // The configured font size and resolution, for cache keys of documents that embed formulas
+    String getSettingsKey();
+
+    FormulaCacheStatsDTO getStats();
+    void clear();
+}
@@ -0,0 +1,20 @@
+package com.example.questionbank.service;
+
+import com.example.questionbank.dto.response.ChapterSummaryDTO;
+import com.example.questionbank.dto.response.ClassSummaryDTO;
+import com.example.questionbank.dto.response.HierarchyCacheStatsDTO;
+import com.example.questionbank.dto.response.SubjectSummaryDTO;
+
+import java.util.Optional;
+
+public interface HierarchyCacheService {
+
+    // Lookups - each call returns a fresh DTO, empty when the id is not in the current snapshot
+    Optional<ClassSummaryDTO> getClassSummary(Long classId);
+    Optional<SubjectSummaryDTO> getSubjectSummary(Long subjectId);
+    Optional<ChapterSummaryDTO> getChapterSummary(Long chapterId);
+
+    // Maintenance
+    void reload();
+    HierarchyCacheStatsDTO getStats();
+}
@@ -6,6 +6,7 @@ import com.example.questionbank.dto.response.MCQOptionResponseDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -20,7 +21,7 @@ public interface MCQOptionService {
     // Bulk operations
     List<MCQOptionResponseDTO> createMCQOptions(List<CreateMCQOptionRequestDTO> dtos);
     List<MCQOptionResponseDTO> updateMCQOptions(List<UpdateMCQOptionRequestDTO> dtos);
-    void deleteMCQOptionsByIds(List<Long> ids);
+    int deleteMCQOptionsByIds(List<Long> ids);
 
     // Question-based operations
     List<MCQOptionResponseDTO> getOptionsByQuestionId(Long questionId);
@@ -51,12 +52,14 @@ public interface MCQOptionService {
     void markOptionAsCorrect(Long optionId);
     void markOptionAsIncorrect(Long optionId);
     void setCorrectOption(Long questionId, Long optionId);
-    void setMultipleCorrectOptions(Long questionId, List<Long> optionIds);
+    int setMultipleCorrectOptions(Long questionId, List<Long> optionIds);
     void reorderOptions(Long questionId, Map<Long, Integer> optionOrderMap);
 
     // Activation/Deactivation
     void activateOption(Long optionId);
     void deactivateOption(Long optionId);
-    void activateAllOptionsForQuestion(Long questionId);
-    void deactivateAllOptionsForQuestion(Long questionId);
+    int activateAllOptionsForQuestion(Long questionId);
+    int deactivateAllOptionsForQuestion(Long questionId);
+    // For question-level bulk changes; the caller publishes the change event
+    int updateActiveForQuestions(Collection<Long> questionIds, boolean active);
 }
\ No newline at end of file
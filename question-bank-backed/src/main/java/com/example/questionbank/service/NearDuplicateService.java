@@ -0,0 +1,20 @@
+package com.example.questionbank.service;
+
+import com.example.questionbank.dto.response.DuplicateClusterDTO;
+import com.example.questionbank.dto.response.NearDuplicateDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface NearDuplicateService {
+
+    // Signature stored on the question, computed on every create and update
+    long computeSignature(String questionText);
+
+    // Lookups against all active questions, closest first
+    List<NearDuplicateDTO> findNearDuplicates(String questionText, Long excludeQuestionId);
+    List<DuplicateClusterDTO> findDuplicateClusters(Long subjectId);
+
+    // Index maintenance
+    void refreshQuestions(Collection<Long> questionIds);
+}
@@ -0,0 +1,27 @@
+package com.example.questionbank.service;
+
+import com.example.questionbank.dto.response.PaperDraftDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface PaperDraftService {
+
+    // Operations on the current user's draft
+    PaperDraftDTO getDraft();
+    List<Long> getQuestionIds();
+    Set<Long> getQuestionIdSet();
+    Map<Long, Double> getMarksOverrides();
+    boolean contains(Long questionId);
+    int addQuestions(Collection<Long> questionIds);
+    int removeQuestions(Collection<Long> questionIds);
+    boolean toggleQuestion(Long questionId);
+    void setMarksOverride(Long questionId, Double marks);
+    void reorder(List<Long> questionIds);
+    void clear();
+
+    // Maintenance - writes dirty drafts back, returns the number written
+    int flush();
+}
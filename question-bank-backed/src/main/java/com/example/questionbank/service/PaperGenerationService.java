@@ -0,0 +1,11 @@
+package com.example.questionbank.service;
+
+import com.example.questionbank.dto.request.GeneratePaperRequestDTO;
+import com.example.questionbank.dto.response.GeneratedPaperDTO;
+
+public interface PaperGenerationService {
+
+    // Fills the blueprint from the subject's active questions; the same blueprint and seed
+    // give the same paper while the bank is unchanged
+    GeneratedPaperDTO generatePaper(GeneratePaperRequestDTO request);
+}
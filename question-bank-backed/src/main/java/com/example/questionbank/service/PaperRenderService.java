@@ -0,0 +1,25 @@
+package com.example.questionbank.service;
+
+import com.example.questionbank.dto.response.PaperSectionDTO;
+import com.example.questionbank.dto.response.PaperVariantDTO;
+import com.example.questionbank.dto.response.QuestionResponseDTO;
+import com.example.questionbank.model.enums.RenderFormat;
+import com.example.questionbank.service.RenderedArtifactService.CachedArtifact;
+import org.thymeleaf.context.Context;
+
+import java.io.OutputStream;
+import java.util.List;
+
+public interface PaperRenderService {
+
+    // Renders the questions in the given order, grouped into sections in order of first appearance
+    void renderPaper(List<Long> questionIds, String title, RenderFormat format, OutputStream out);
+    boolean supports(RenderFormat format);
+
+    // Renders through the artifact cache and returns the cached document, pinned until closed
+    CachedArtifact renderToArtifact(List<Long> questionIds, String title, RenderFormat format);
+
+    // Building blocks shared with paper variants
+    List<QuestionResponseDTO> loadQuestions(List<Long> questionIds);
+    Context paperContext(String title, PaperVariantDTO variant, List<PaperSectionDTO> sections, double totalMarks);
+}
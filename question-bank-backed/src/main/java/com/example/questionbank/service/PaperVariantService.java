@@ -0,0 +1,15 @@
+package com.example.questionbank.service;
+
+import com.example.questionbank.dto.request.PaperVariantsRequestDTO;
+import com.example.questionbank.dto.response.PaperVariantSetDTO;
+
+import java.io.OutputStream;
+
+public interface PaperVariantService {
+
+    // Shuffled sets of one question set, each with its own answer key
+    PaperVariantSetDTO generateVariants(PaperVariantsRequestDTO request);
+
+    // Zip with one PDF per set plus a CSV of all answer keys; sets are rendered in parallel
+    void writeVariantPdfs(PaperVariantsRequestDTO request, OutputStream out);
+}
@@ -0,0 +1,28 @@
+package com.example.questionbank.service;
+
+import com.example.questionbank.dto.response.QuestionCounterReportDTO;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.model.QuestionCounterKey;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface QuestionCounterService {
+
+    // Incremental maintenance, called from the question write paths
+    void onQuestionCreated(Question question);
+    void onQuestionsCreated(Collection<Question> questions);
+    void onQuestionChanged(QuestionCounterKey before, Question after);
+    // Keys of the questions, as they were before a bulk update set them all to the given active state
+    void onQuestionsActiveChanged(Collection<QuestionCounterKey> before, boolean active);
+
+    // Lookups
+    Long countActiveByChapter(Long chapterId);
+    Long countActiveBySubject(Long subjectId);
+    Long countActiveByClass(Long classId);
+    Map<Long, Long> countAllByChapterIds(Collection<Long> chapterIds);
+
+    // Verification and rebuild
+    QuestionCounterReportDTO verifyCounters();
+    QuestionCounterReportDTO rebuildCounters();
+}
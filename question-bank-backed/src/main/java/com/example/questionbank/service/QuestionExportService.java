@@ -0,0 +1,12 @@
+package com.example.questionbank.service;
+
+import com.example.questionbank.model.enums.QuestionExportFormat;
+
+import java.io.OutputStream;
+
+public interface QuestionExportService {
+
+    // Every question of the subject or class, streamed in id order; gzip-compressed when compress is set
+    void exportBySubject(Long subjectId, QuestionExportFormat format, boolean compress, OutputStream out);
+    void exportByClass(Long classId, QuestionExportFormat format, boolean compress, OutputStream out);
+}
@@ -0,0 +1,14 @@
+package com.example.questionbank.service;
+
+import com.example.questionbank.dto.response.QuestionImportJobDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface QuestionImportService {
+
+    // Jobs of the current user; admins can see every job
+    QuestionImportJobDTO submit(MultipartFile workbook);
+    QuestionImportJobDTO getJob(String jobId);
+
+    // Maintenance
+    int purgeExpired();
+}
@@ -0,0 +1,12 @@
+package com.example.questionbank.service;
+
+import com.example.questionbank.dto.request.CreateQuestionRequestDTO;
+import com.example.questionbank.dto.response.BulkIngestReportDTO;
+
+import java.util.List;
+
+public interface QuestionIngestService {
+
+    // Saves what it can, a chunk per transaction; invalid questions and failed chunks are reported, not thrown
+    BulkIngestReportDTO ingest(List<CreateQuestionRequestDTO> dtos);
+}
@@ -0,0 +1,18 @@
+package com.example.questionbank.service;
+
+import com.example.questionbank.model.Question;
+import com.example.questionbank.sampling.SamplingCriteria;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface QuestionSamplingService {
+
+    // Up to count distinct active questions in random order; the same criteria and seed
+    // return the same questions for as long as the matching questions do not change
+    List<Question> sample(SamplingCriteria criteria, int count, long seed);
+
+    // Maintenance
+    void invalidateChapters(Collection<Long> chapterIds);
+    void invalidateAll();
+}
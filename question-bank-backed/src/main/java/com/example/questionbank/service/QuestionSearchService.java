@@ -0,0 +1,23 @@
+package com.example.questionbank.service;
+
+import com.example.questionbank.dto.response.SearchIndexStatsDTO;
+import com.example.questionbank.search.SearchHit;
+import com.example.questionbank.search.SearchResult;
+import com.example.questionbank.search.SimilarityFilter;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface QuestionSearchService {
+
+    // Full-text search over question text, explanation and active option text, all query terms required
+    SearchResult search(String query, boolean activeOnly, boolean prefixLastTerm, int limit);
+
+    // Active questions most similar in content to the given question, best first
+    List<SearchHit> findSimilar(Long questionId, SimilarityFilter filter, int limit);
+
+    // Index maintenance
+    void reindexQuestions(Collection<Long> questionIds);
+    SearchIndexStatsDTO rebuildIndex();
+    SearchIndexStatsDTO getIndexStats();
+}
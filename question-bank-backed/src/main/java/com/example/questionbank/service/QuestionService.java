@@ -2,10 +2,14 @@ package com.example.questionbank.service;
 
 import com.example.questionbank.dto.request.CreateQuestionRequestDTO;
 import com.example.questionbank.dto.request.UpdateQuestionRequestDTO;
+import com.example.questionbank.dto.response.CursorPageDTO;
 import com.example.questionbank.dto.response.QuestionResponseDTO;
+import com.example.questionbank.dto.response.NearDuplicateDTO;
+import com.example.questionbank.model.Question;
 import com.example.questionbank.model.enums.SectionType;
 import com.example.questionbank.model.enums.QuestionType;
 import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.repository.pagination.CursorPageRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -23,8 +27,13 @@ public interface QuestionService {
 
     // Bulk operations
     List<QuestionResponseDTO> createQuestions(List<CreateQuestionRequestDTO> dtos);
+    // Questions that already passed validateQuestionBeforeCreate, written in JDBC batches; ids in input order
+    List<Long> saveValidatedQuestions(List<CreateQuestionRequestDTO> dtos);
+    // The two halves of saveValidatedQuestions: mapping reads no database state and may run on any thread
+    Question toNewQuestion(CreateQuestionRequestDTO dto);
+    List<Long> saveNewQuestions(List<Question> questions);
     List<QuestionResponseDTO> updateQuestions(List<UpdateQuestionRequestDTO> dtos);
-    void deleteQuestionsByIds(List<Long> ids);
+    int deleteQuestionsByIds(List<Long> ids);
 
     // Basic listing and pagination
     List<QuestionResponseDTO> getAllQuestions();
@@ -96,8 +105,8 @@ public interface QuestionService {
     QuestionResponseDTO toggleAddedToPaper(Long id);
     void addQuestionToPaper(Long id);
     void removeQuestionFromPaper(Long id);
-    void addQuestionsToPaper(List<Long> questionIds);
-    void removeQuestionsFromPaper(List<Long> questionIds);
+    int addQuestionsToPaper(List<Long> questionIds);
+    int removeQuestionsFromPaper(List<Long> questionIds);
     List<QuestionResponseDTO> getQuestionsAddedToPaper();
     List<QuestionResponseDTO> getQuestionsNotAddedToPaper();
     Page<QuestionResponseDTO> getQuestionsAddedToPaper(Pageable pageable);
@@ -112,14 +121,17 @@ public interface QuestionService {
     boolean validateQuestionForPaper(Long questionId);
     List<String> getValidationErrorsForQuestion(Long questionId);
     boolean hasValidMCQOptions(Long questionId);
-    void validateQuestionBeforeCreate(CreateQuestionRequestDTO dto);
+    // Throws on invalid input; near-duplicates of existing questions are returned as non-blocking warnings
+    List<NearDuplicateDTO> validateQuestionBeforeCreate(CreateQuestionRequestDTO dto);
+    // The same rules by field, without looking up the chapter, for callers checking many questions
+    Map<String, String> getCreationErrors(CreateQuestionRequestDTO dto, boolean chapterExists);
     void validateQuestionBeforeUpdate(Long id, UpdateQuestionRequestDTO dto);
 
     // Activation/Deactivation
     void activateQuestion(Long id);
     void deactivateQuestion(Long id);
-    void activateQuestions(List<Long> ids);
-    void deactivateQuestions(List<Long> ids);
+    int activateQuestions(List<Long> ids);
+    int deactivateQuestions(List<Long> ids);
 
     // Question duplication and cloning
     QuestionResponseDTO duplicateQuestion(Long questionId);
@@ -136,17 +148,20 @@ public interface QuestionService {
     // Import/Export operations
     List<QuestionResponseDTO> importQuestionsFromTemplate(List<Map<String, Object>> questionsData);
     List<Map<String, Object>> exportQuestionsToTemplate(List<Long> questionIds);
+    // Whole subject in one list; use QuestionExportService for large subjects
+    @Deprecated
     List<Map<String, Object>> exportQuestionsBySubject(Long subjectId);
 
-    // Random question selection
-    List<QuestionResponseDTO> getRandomQuestions(int count);
-    List<QuestionResponseDTO> getRandomQuestionsBySubject(Long subjectId, int count);
-    List<QuestionResponseDTO> getRandomQuestionsByChapter(Long chapterId, int count);
+    // Random question selection - the same seed returns the same pick while the bank is unchanged
+    List<QuestionResponseDTO> getRandomQuestions(int count, long seed);
+    List<QuestionResponseDTO> getRandomQuestionsBySubject(Long subjectId, int count, long seed);
+    List<QuestionResponseDTO> getRandomQuestionsByChapter(Long chapterId, int count, long seed);
     List<QuestionResponseDTO> getRandomQuestionsByCriteria(
             SectionType sectionType,
             DifficultyLevel difficultyLevel,
             Long subjectId,
-            int count
+            int count,
+            long seed
     );
 
     // Question ordering and arrangement
@@ -170,8 +185,40 @@ public interface QuestionService {
             Pageable pageable
     );
 
+    // Cursor (keyset) pagination - same filters as the Page based methods, without the total count
+    CursorPageDTO<QuestionResponseDTO> getAllQuestionsByCursor(CursorPageRequest request);
+    CursorPageDTO<QuestionResponseDTO> getQuestionsByChapterByCursor(Long chapterId, CursorPageRequest request);
+    CursorPageDTO<QuestionResponseDTO> getFilteredQuestionsByCursor(
+            SectionType sectionType,
+            QuestionType questionType,
+            DifficultyLevel difficultyLevel,
+            Long chapterId,
+            Long subjectId,
+            Long classId,
+            Boolean isAddedToPaper,
+            Double minMarks,
+            Double maxMarks,
+            CursorPageRequest request
+    );
+    CursorPageDTO<QuestionResponseDTO> advancedSearchByCursor(
+            String searchText,
+            List<SectionType> sectionTypes,
+            List<QuestionType> questionTypes,
+            List<DifficultyLevel> difficultyLevels,
+            List<Long> chapterIds,
+            List<Long> subjectIds,
+            List<Long> classIds,
+            Boolean isAddedToPaper,
+            Boolean isActive,
+            Double minMarks,
+            Double maxMarks,
+            CursorPageRequest request
+    );
+
     // Question recommendation
     List<QuestionResponseDTO> getRecommendedQuestions(Long questionId, int count);
     List<QuestionResponseDTO> getSimilarQuestions(Long questionId, int count);
+    List<QuestionResponseDTO> getSimilarQuestions(Long questionId, int count, Long chapterId, Long subjectId,
+                                                  DifficultyLevel difficultyLevel);
     List<QuestionResponseDTO> getQuestionsByDifficultyProgression(Long subjectId, DifficultyLevel startLevel, int count);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example.questionbank.service;
+
+import com.example.questionbank.dto.request.RenderPaperRequestDTO;
+import com.example.questionbank.dto.response.RenderJobDTO;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+public interface RenderJobService {
+
+    // Jobs of the current user; admins can see every job
+    RenderJobDTO submit(RenderPaperRequestDTO request);
+    RenderJobDTO getJob(Long jobId);
+    CompletableFuture<RenderJobDTO> awaitJob(Long jobId, Duration timeout);
+    Path getArtifact(Long jobId);
+
+    // Maintenance
+    int dispatchQueued();
+    int purgeExpired();
+}
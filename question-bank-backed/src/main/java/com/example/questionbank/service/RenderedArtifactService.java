@@ -0,0 +1,36 @@
+package com.example.questionbank.service;
+
+import com.example.questionbank.dto.response.ArtifactCacheStatsDTO;
+import com.example.questionbank.model.enums.RenderFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+public interface RenderedArtifactService {
+
+    @FunctionalInterface
+    interface ArtifactWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    // A cached document that is not evicted until closed; read the file before closing it
+    interface CachedArtifact extends Closeable {
+        Path getFile();
+
+        @Override
+        void close();
+    }
+
+    // Content key of a rendered paper; changes with any question, option or template change
+    String paperKey(List<Long> questionIds, RenderFormat format, String title, String variant);
+
+    // Cached document for the key, rendered by the writer on a miss
+    CachedArtifact getOrRender(String key, RenderFormat format, ArtifactWriter writer);
+
+    // Maintenance
+    ArtifactCacheStatsDTO getStats();
+    void clear();
+}
@@ -3,6 +3,7 @@ package com.example.questionbank.service.impl;
 import com.example.questionbank.dto.request.CreateChapterRequestDTO;
 import com.example.questionbank.dto.request.UpdateChapterRequestDTO;
 import com.example.questionbank.dto.response.ChapterResponseDTO;
+import com.example.questionbank.event.HierarchyChangedEvent;
 import com.example.questionbank.exception.DuplicateResourceException;
 import com.example.questionbank.exception.RecordNotFoundException;
 import com.example.questionbank.mapper.ChapterMapper;
@@ -11,14 +12,18 @@ import com.example.questionbank.model.Subject;
 import com.example.questionbank.repository.ChapterRepository;
 import com.example.questionbank.repository.SubjectRepository;
 import com.example.questionbank.service.ChapterService;
+import com.example.questionbank.service.QuestionCounterService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -34,6 +39,12 @@ public class ChapterServiceImplementation implements ChapterService {
     @Autowired
     private ChapterMapper chapterMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private QuestionCounterService questionCounterService;
+
     @Override
     public ChapterResponseDTO createChapter(CreateChapterRequestDTO dto) {
         log.info("Creating new chapter with name: {} for subject ID: {}", dto.getName(), dto.getSubjectId());
@@ -52,9 +63,10 @@ public class ChapterServiceImplementation implements ChapterService {
             Chapter chapter = chapterMapper.toEntity(dto);
             chapter.setSubject(subject);
             Chapter savedChapter = chapterRepository.save(chapter);
+            eventPublisher.publishEvent(new HierarchyChangedEvent("Chapter", savedChapter.getId()));
 
             log.info("Successfully created chapter with ID: {}", savedChapter.getId());
-            return chapterMapper.toResponseDTO(savedChapter);
+            return withQuestionCount(chapterMapper.toResponseDTO(savedChapter));
 
         } catch (Exception e) {
             log.error("Failed to create chapter: {}", dto.getName(), e);
@@ -88,8 +100,9 @@ public class ChapterServiceImplementation implements ChapterService {
             existingChapter.setSubject(subject);
 
             Chapter updatedChapter = chapterRepository.save(existingChapter);
+            eventPublisher.publishEvent(new HierarchyChangedEvent("Chapter", id));
             log.info("Successfully updated chapter with ID: {}", id);
-            return chapterMapper.toResponseDTO(updatedChapter);
+            return withQuestionCount(chapterMapper.toResponseDTO(updatedChapter));
 
         } catch (Exception e) {
             log.error("Failed to update chapter with ID: {}", id, e);
@@ -108,6 +121,7 @@ public class ChapterServiceImplementation implements ChapterService {
             // Soft delete
             chapter.setIsActive(false);
             chapterRepository.save(chapter);
+            eventPublisher.publishEvent(new HierarchyChangedEvent("Chapter", id));
             log.info("Successfully soft deleted chapter with ID: {}", id);
 
         } catch (Exception e) {
@@ -124,7 +138,7 @@ public class ChapterServiceImplementation implements ChapterService {
         Chapter chapter = chapterRepository.findById(id)
                 .orElseThrow(() -> new RecordNotFoundException("Chapter", "id", id));
 
-        return chapterMapper.toResponseDTO(chapter);
+        return withQuestionCount(chapterMapper.toResponseDTO(chapter));
     }
 
     @Override
@@ -132,7 +146,7 @@ public class ChapterServiceImplementation implements ChapterService {
     public List<ChapterResponseDTO> getAllChapters() {
         log.debug("Fetching all chapters");
         List<Chapter> chapters = chapterRepository.findAll();
-        return chapterMapper.toResponseDTOList(chapters);
+        return withQuestionCounts(chapterMapper.toResponseDTOList(chapters));
     }
 
     @Override
@@ -140,7 +154,9 @@ public class ChapterServiceImplementation implements ChapterService {
     public Page<ChapterResponseDTO> getAllChaptersWithPagination(Pageable pageable) {
         log.debug("Fetching chapters with pagination");
         Page<Chapter> chapters = chapterRepository.findAll(pageable);
-        return chapters.map(chapterMapper::toResponseDTO);
+        Page<ChapterResponseDTO> page = chapters.map(chapterMapper::toResponseDTO);
+        withQuestionCounts(page.getContent());
+        return page;
     }
 
     @Override
@@ -148,7 +164,9 @@ public class ChapterServiceImplementation implements ChapterService {
     public Page<ChapterResponseDTO> searchChapters(String name, Pageable pageable) {
         log.debug("Searching chapters with name: {}", name);
         Page<Chapter> chapters = chapterRepository.findByNameContainingIgnoreCase(name, pageable);
-        return chapters.map(chapterMapper::toResponseDTO);
+        Page<ChapterResponseDTO> page = chapters.map(chapterMapper::toResponseDTO);
+        withQuestionCounts(page.getContent());
+        return page;
     }
 
     @Override
@@ -161,7 +179,7 @@ public class ChapterServiceImplementation implements ChapterService {
                 .orElseThrow(() -> new RecordNotFoundException("Subject", "id", subjectId));
 
         List<Chapter> chapters = chapterRepository.findBySubjectIdAndIsActiveTrue(subjectId);
-        return chapterMapper.toResponseDTOList(chapters);
+        return withQuestionCounts(chapterMapper.toResponseDTOList(chapters));
     }
 
     @Override
@@ -170,7 +188,7 @@ public class ChapterServiceImplementation implements ChapterService {
         log.debug("Fetching chapters for class ID: {}", classId);
 
         List<Chapter> chapters = chapterRepository.findBySubjectClassEntityIdAndIsActiveTrue(classId);
-        return chapterMapper.toResponseDTOList(chapters);
+        return withQuestionCounts(chapterMapper.toResponseDTOList(chapters));
     }
 
     @Override
@@ -178,7 +196,7 @@ public class ChapterServiceImplementation implements ChapterService {
     public List<ChapterResponseDTO> getAllActiveChapters() {
         log.debug("Fetching all active chapters");
         List<Chapter> activeChapters = chapterRepository.findByIsActiveTrue();
-        return chapterMapper.toResponseDTOList(activeChapters);
+        return withQuestionCounts(chapterMapper.toResponseDTOList(activeChapters));
     }
 
     @Override
@@ -186,7 +204,7 @@ public class ChapterServiceImplementation implements ChapterService {
     public List<ChapterResponseDTO> filterChapters(Long subjectId, Long classId) {
         log.debug("Filtering chapters with subjectId: {} and classId: {}", subjectId, classId);
         List<Chapter> chapters = chapterRepository.findActiveChaptersBySubjectAndClass(subjectId, classId);
-        return chapterMapper.toResponseDTOList(chapters);
+        return withQuestionCounts(chapterMapper.toResponseDTOList(chapters));
     }
 
     @Override
@@ -194,4 +212,20 @@ public class ChapterServiceImplementation implements ChapterService {
     public boolean existsByNameAndSubject(String name, Long subjectId) {
         return chapterRepository.existsByNameIgnoreCaseAndSubjectId(name, subjectId);
     }
+
+    private ChapterResponseDTO withQuestionCount(ChapterResponseDTO dto) {
+        withQuestionCounts(List.of(dto));
+        return dto;
+    }
+
+    // One grouped counter lookup instead of initializing every chapter's questions collection
+    private List<ChapterResponseDTO> withQuestionCounts(List<ChapterResponseDTO> dtos) {
+        List<Long> chapterIds = dtos.stream()
+                .map(ChapterResponseDTO::getId)
+                .collect(Collectors.toList());
+        Map<Long, Long> counts = questionCounterService.countAllByChapterIds(chapterIds);
+
+        dtos.forEach(dto -> dto.setQuestionCount(counts.getOrDefault(dto.getId(), 0L).intValue()));
+        return dtos;
+    }
 }
\ No newline at end of file
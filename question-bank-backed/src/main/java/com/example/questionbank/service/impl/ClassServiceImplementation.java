@@ -4,6 +4,7 @@ import com.example.questionbank.dto.request.CreateClassRequestDTO;
 import com.example.questionbank.dto.request.UpdateClassRequestDTO;
 import com.example.questionbank.dto.response.ClassResponseDTO;
 import com.example.questionbank.dto.response.ClassSummaryDTO;
+import com.example.questionbank.event.HierarchyChangedEvent;
 import com.example.questionbank.exception.RecordNotFoundException;
 import com.example.questionbank.mapper.ClassMapper;
 import com.example.questionbank.model.ClassEntity;
@@ -11,6 +12,7 @@ import com.example.questionbank.repository.ClassRepository;
 import com.example.questionbank.service.ClassService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -29,6 +31,9 @@ public class ClassServiceImplementation implements ClassService {
     @Autowired
     private ClassMapper classMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public ClassResponseDTO createClass(CreateClassRequestDTO createClassRequestDTO) {
         log.info("Creating new class with name: {}", createClassRequestDTO.getName());
@@ -41,6 +46,7 @@ public class ClassServiceImplementation implements ClassService {
         try {
             ClassEntity classEntity = classMapper.toEntity(createClassRequestDTO);
             ClassEntity savedClass = classRepository.save(classEntity);
+            eventPublisher.publishEvent(new HierarchyChangedEvent("Class", savedClass.getId()));
 
             log.info("Successfully created class with ID: {}", savedClass.getId());
             return classMapper.toResponseDTO(savedClass);
@@ -67,6 +73,7 @@ public class ClassServiceImplementation implements ClassService {
         try {
             classMapper.updateEntityFromDTO(updateClassRequestDTO, existingClass);
             ClassEntity updatedClass = classRepository.save(existingClass);
+            eventPublisher.publishEvent(new HierarchyChangedEvent("Class", id));
 
             log.info("Successfully updated class with ID: {}", id);
             return classMapper.toResponseDTO(updatedClass);
@@ -88,6 +95,7 @@ public class ClassServiceImplementation implements ClassService {
             // Soft delete by setting isActive to false
             classEntity.setIsActive(false);
             classRepository.save(classEntity);
+            eventPublisher.publishEvent(new HierarchyChangedEvent("Class", id));
 
             log.info("Successfully soft deleted class with ID: {}", id);
 
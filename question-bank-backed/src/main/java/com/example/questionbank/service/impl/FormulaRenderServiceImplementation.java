@@ -0,0 +1,281 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.response.FormulaCacheStatsDTO;
+import com.example.questionbank.render.FormulaImage;
+import com.example.questionbank.render.FormulaText;
+import com.example.questionbank.service.FormulaRenderService;
+import lombok.extern.slf4j.Slf4j;
+import org.scilab.forge.jlatexmath.TeXConstants;
+import org.scilab.forge.jlatexmath.TeXFormula;
+import org.scilab.forge.jlatexmath.TeXIcon;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Insets;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rasterized LaTeX keyed by (normalized source, display style, font size, DPI). Rasterizing is
+ * far more expensive than looking up a PNG, and papers repeat the same formulas, so images are
+ * kept in an LRU map bounded by bytes and, when a directory is configured, on disk so they
+ * survive restarts. Formulas that fail to parse are remembered in memory too.
+ *
+ * Normalization only collapses whitespace. The search canonicalizer also drops sizing macros
+ * and aliases \dfrac to \frac, which changes how a formula looks.
+ */
+@Service
+@Slf4j
+public class FormulaRenderServiceImplementation implements FormulaRenderService {
+
+    private static final FormulaImage FAILED = new FormulaImage(new byte[0], 0, 0, 0, 72);
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    private static final int DISK_FORMAT = 1;
+
+    @Value("${render.formulas.font-size:11}")
+    private float fontSize;
+
+    @Value("${render.formulas.dpi:300}")
+    private int dpi;
+
+    @Value("${render.formulas.cache.max-memory-mb:32}")
+    private long maxMemoryMb;
+
+    @Value("${render.formulas.cache.directory:}")
+    private String directory;
+
+    private long maxMemoryBytes;
+    private Path diskDirectory;
+
+    // Access-ordered, eldest first; guarded by this
+    private final LinkedHashMap<String, FormulaImage> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryBytes;
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @PostConstruct
+    public void init() throws IOException {
+        maxMemoryBytes = maxMemoryMb * 1024 * 1024;
+        if (directory != null && !directory.isBlank()) {
+            diskDirectory = Files.createDirectories(Paths.get(directory));
+            log.info("Formula images are cached on disk in {}", diskDirectory);
+        }
+    }
+
+    @Override
+    public FormulaImage render(String latex, boolean display, float fontSize, int dpi) {
+        String normalized = normalize(latex);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        String key = String.format(Locale.ROOT, "%s|%.2f|%d|%s", display ? "display" : "text", fontSize, dpi,
+                normalized);
+
+        FormulaImage image = fromMemory(key);
+        if (image != null) {
+            memoryHits.increment();
+            return image == FAILED ? null : image;
+        }
+
+        image = fromDisk(key);
+        if (image != null) {
+            diskHits.increment();
+        } else {
+            misses.increment();
+            image = rasterize(normalized, display, fontSize, dpi);
+            if (image == null) {
+                failures.increment();
+            } else {
+                toDisk(key, image);
+            }
+        }
+
+        remember(key, image != null ? image : FAILED);
+        return image;
+    }
+
+    @Override
+    public FormulaText newDocument() {
+        return new FormulaText(this, fontSize, dpi);
+    }
+
+    @Override
+    public String getSettingsKey() {
+        return fontSize + "@" + dpi;
+    }
+
+    @Override
+    public synchronized FormulaCacheStatsDTO getStats() {
+        long memoryHitCount = memoryHits.sum();
+        long diskHitCount = diskHits.sum();
+        long missCount = misses.sum();
+        long lookups = memoryHitCount + diskHitCount + missCount;
+        return FormulaCacheStatsDTO.builder()
+                .entryCount(memory.size())
+                .memoryBytes(memoryBytes)
+                .maxMemoryBytes(maxMemoryBytes)
+                .diskEnabled(diskDirectory != null)
+                .memoryHits(memoryHitCount)
+                .diskHits(diskHitCount)
+                .misses(missCount)
+                .failures(failures.sum())
+                .hitRatio(lookups > 0 ? (double) (memoryHitCount + diskHitCount) / lookups : 0.0)
+                .evictions(evictions.sum())
+                .build();
+    }
+
+    // Only the memory tier; disk entries are keyed by content and never go stale
+    @Override
+    public synchronized void clear() {
+        memory.clear();
+        memoryBytes = 0;
+        log.info("Formula image cache cleared");
+    }
+
+    private synchronized FormulaImage fromMemory(String key) {
+        return memory.get(key);
+    }
+
+    private synchronized void remember(String key, FormulaImage image) {
+        FormulaImage previous = memory.put(key, image);
+        if (previous != null) {
+            memoryBytes -= weight(previous);
+        }
+        memoryBytes += weight(image);
+
+        Iterator<Map.Entry<String, FormulaImage>> eldest = memory.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+            Map.Entry<String, FormulaImage> candidate = eldest.next();
+            if (candidate.getKey().equals(key)) {
+                continue;
+            }
+            eldest.remove();
+            memoryBytes -= weight(candidate.getValue());
+            evictions.increment();
+        }
+    }
+
+    private FormulaImage rasterize(String latex, boolean display, float fontSize, int dpi) {
+        try {
+            TeXIcon icon = new TeXFormula(latex).createTeXIcon(
+                    display ? TeXConstants.STYLE_DISPLAY : TeXConstants.STYLE_TEXT, fontSize * dpi / 72f);
+            int margin = Math.max(1, dpi / 150);
+            icon.setInsets(new Insets(margin, margin, margin, margin));
+            icon.setForeground(Color.BLACK);
+
+            int width = Math.max(1, icon.getIconWidth());
+            int height = Math.max(1, icon.getIconHeight());
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = image.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                        RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                icon.paintIcon(null, graphics, 0, 0);
+            } finally {
+                graphics.dispose();
+            }
+
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", png);
+            return new FormulaImage(png.toByteArray(), width, height, icon.getIconDepth(), dpi);
+        } catch (IOException | RuntimeException e) {
+            // jlatexmath reports bad markup as ParseException, a RuntimeException
+            log.debug("Failed to render formula {}: {}", latex, e.getMessage());
+            return null;
+        }
+    }
+
+    private FormulaImage fromDisk(String key) {
+        if (diskDirectory == null) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(diskFile(key)))) {
+            if (in.readInt() != DISK_FORMAT) {
+                return null;
+            }
+            int width = in.readInt();
+            int height = in.readInt();
+            int depth = in.readInt();
+            int dpi = in.readInt();
+            return new FormulaImage(in.readAllBytes(), width, height, depth, dpi);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Failed to read cached formula image for {}", key, e);
+            return null;
+        }
+    }
+
+    private void toDisk(String key, FormulaImage image) {
+        if (diskDirectory == null) {
+            return;
+        }
+        Path file = diskFile(key);
+        Path partial = null;
+        try {
+            partial = Files.createTempFile(diskDirectory, file.getFileName().toString(), ".part");
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(partial))) {
+                out.writeInt(DISK_FORMAT);
+                out.writeInt(image.getWidth());
+                out.writeInt(image.getHeight());
+                out.writeInt(image.getDepth());
+                out.writeInt(image.getDpi());
+                out.write(image.getPng());
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to cache formula image for {}", key, e);
+            if (partial != null) {
+                try {
+                    Files.deleteIfExists(partial);
+                } catch (IOException ignored) {
+                    // Left for the next cleanup of the directory
+                }
+            }
+        }
+    }
+
+    private Path diskFile(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return diskDirectory.resolve(HexFormat.of().formatHex(digest) + ".formula");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long weight(FormulaImage image) {
+        return image.getPng().length + ENTRY_OVERHEAD_BYTES;
+    }
+
+    static String normalize(String latex) {
+        return latex == null ? "" : latex.trim().replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.response.ChapterSummaryDTO;
+import com.example.questionbank.dto.response.ClassSummaryDTO;
+import com.example.questionbank.dto.response.HierarchyCacheStatsDTO;
+import com.example.questionbank.dto.response.SubjectSummaryDTO;
+import com.example.questionbank.event.HierarchyChangedEvent;
+import com.example.questionbank.model.Chapter;
+import com.example.questionbank.model.ClassEntity;
+import com.example.questionbank.model.Subject;
+import com.example.questionbank.repository.ChapterRepository;
+import com.example.questionbank.repository.ClassRepository;
+import com.example.questionbank.repository.SubjectRepository;
+import com.example.questionbank.service.HierarchyCacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-mostly copy of the class/subject/chapter tree. Readers see one immutable snapshot that is
+ * replaced wholesale after every committed hierarchy write, so lookups never take a lock or hit the database.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class HierarchyCacheServiceImplementation implements HierarchyCacheService {
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private ChapterRepository chapterRepository;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong reloads = new AtomicLong();
+
+    @Override
+    public Optional<ClassSummaryDTO> getClassSummary(Long classId) {
+        return lookup(snapshot.get().classes, classId).map(HierarchyCacheServiceImplementation::copy);
+    }
+
+    @Override
+    public Optional<SubjectSummaryDTO> getSubjectSummary(Long subjectId) {
+        return lookup(snapshot.get().subjects, subjectId).map(HierarchyCacheServiceImplementation::copy);
+    }
+
+    @Override
+    public Optional<ChapterSummaryDTO> getChapterSummary(Long chapterId) {
+        return lookup(snapshot.get().chapters, chapterId).map(HierarchyCacheServiceImplementation::copy);
+    }
+
+    @Override
+    public synchronized void reload() {
+        // Serialized so a slow reload can never overwrite the result of a later one
+        Map<Long, ClassSummaryDTO> classes = new HashMap<>();
+        for (ClassEntity classEntity : classRepository.findAll()) {
+            classes.put(classEntity.getId(), toSummary(classEntity));
+        }
+
+        Map<Long, SubjectSummaryDTO> subjects = new HashMap<>();
+        for (Subject subject : subjectRepository.findAllWithHierarchy()) {
+            subjects.put(subject.getId(), toSummary(subject, classes));
+        }
+
+        Map<Long, ChapterSummaryDTO> chapters = new HashMap<>();
+        for (Chapter chapter : chapterRepository.findAllWithHierarchy()) {
+            SubjectSummaryDTO subject = subjects.computeIfAbsent(
+                    chapter.getSubject().getId(), id -> toSummary(chapter.getSubject(), classes));
+            chapters.put(chapter.getId(), ChapterSummaryDTO.builder()
+                    .id(chapter.getId())
+                    .name(chapter.getName())
+                    .subjectInfo(subject)
+                    .build());
+        }
+
+        snapshot.set(new Snapshot(classes, subjects, chapters, LocalDateTime.now()));
+        reloads.incrementAndGet();
+        log.debug("Hierarchy cache reloaded: {} classes, {} subjects, {} chapters",
+                classes.size(), subjects.size(), chapters.size());
+    }
+
+    @Override
+    public HierarchyCacheStatsDTO getStats() {
+        Snapshot current = snapshot.get();
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+
+        return HierarchyCacheStatsDTO.builder()
+                .classCount(current.classes.size())
+                .subjectCount(current.subjects.size())
+                .chapterCount(current.chapters.size())
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRatio(lookups == 0 ? 0.0 : (double) hitCount / lookups)
+                .reloads(reloads.get())
+                .loadedAt(current.loadedAt)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        // Runs after the data initializer, which writes through the repositories without publishing events
+        reload();
+        log.info("Hierarchy cache loaded with {} chapters", snapshot.get().chapters.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onHierarchyChanged(HierarchyChangedEvent event) {
+        log.debug("{} {} changed, reloading hierarchy cache", event.getEntityType(), event.getEntityId());
+        reload();
+    }
+
+    private <T> Optional<T> lookup(Map<Long, T> entries, Long id) {
+        T value = id != null ? entries.get(id) : null;
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return Optional.ofNullable(value);
+    }
+
+    private static ClassSummaryDTO toSummary(ClassEntity classEntity) {
+        return ClassSummaryDTO.builder()
+                .id(classEntity.getId())
+                .name(classEntity.getName())
+                .description(classEntity.getDescription())
+                .build();
+    }
+
+    private static SubjectSummaryDTO toSummary(Subject subject, Map<Long, ClassSummaryDTO> classes) {
+        ClassEntity classEntity = subject.getClassEntity();
+        return SubjectSummaryDTO.builder()
+                .id(subject.getId())
+                .name(subject.getName())
+                .classInfo(classEntity != null
+                        ? classes.computeIfAbsent(classEntity.getId(), id -> toSummary(classEntity))
+                        : null)
+                .build();
+    }
+
+    // Cached DTOs are shared by every reader, so callers always get their own mutable copy
+
+    private static ClassSummaryDTO copy(ClassSummaryDTO dto) {
+        return ClassSummaryDTO.builder()
+                .id(dto.getId())
+                .name(dto.getName())
+                .description(dto.getDescription())
+                .build();
+    }
+
+    private static SubjectSummaryDTO copy(SubjectSummaryDTO dto) {
+        return SubjectSummaryDTO.builder()
+                .id(dto.getId())
+                .name(dto.getName())
+                .classInfo(dto.getClassInfo() != null ? copy(dto.getClassInfo()) : null)
+                .build();
+    }
+
+    private static ChapterSummaryDTO copy(ChapterSummaryDTO dto) {
+        return ChapterSummaryDTO.builder()
+                .id(dto.getId())
+                .name(dto.getName())
+                .subjectInfo(dto.getSubjectInfo() != null ? copy(dto.getSubjectInfo()) : null)
+                .build();
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), Map.of(), null);
+
+        final Map<Long, ClassSummaryDTO> classes;
+        final Map<Long, SubjectSummaryDTO> subjects;
+        final Map<Long, ChapterSummaryDTO> chapters;
+        final LocalDateTime loadedAt;
+
+        Snapshot(Map<Long, ClassSummaryDTO> classes,
+                 Map<Long, SubjectSummaryDTO> subjects,
+                 Map<Long, ChapterSummaryDTO> chapters,
+                 LocalDateTime loadedAt) {
+            this.classes = Map.copyOf(classes);
+            this.subjects = Map.copyOf(subjects);
+            this.chapters = Map.copyOf(chapters);
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.questionbank.service.impl;
 import com.example.questionbank.dto.request.CreateMCQOptionRequestDTO;
 import com.example.questionbank.dto.request.UpdateMCQOptionRequestDTO;
 import com.example.questionbank.dto.response.MCQOptionResponseDTO;
+import com.example.questionbank.event.QuestionChangedEvent;
 import com.example.questionbank.exception.RecordNotFoundException;
 import com.example.questionbank.exception.ValidationException;
 import com.example.questionbank.mapper.MCQOptionMapper;
@@ -14,11 +15,13 @@ import com.example.questionbank.repository.QuestionRepository;
 import com.example.questionbank.service.MCQOptionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -27,6 +30,9 @@ import java.util.stream.Collectors;
 @Slf4j
 public class MCQOptionServiceImplementation implements MCQOptionService {
 
+    // Ids per bulk UPDATE statement
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     @Autowired
     private MCQOptionRepository mcqOptionRepository;
 
@@ -36,6 +42,9 @@ public class MCQOptionServiceImplementation implements MCQOptionService {
     @Autowired
     private MCQOptionMapper mcqOptionMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public MCQOptionResponseDTO createMCQOption(CreateMCQOptionRequestDTO dto) {
         log.info("Creating MCQ option: {}", dto.getOptionText());
@@ -43,6 +52,7 @@ public class MCQOptionServiceImplementation implements MCQOptionService {
         try {
             MCQOption mcqOption = mcqOptionMapper.toEntity(dto);
             MCQOption savedOption = mcqOptionRepository.save(mcqOption);
+            publishOptionsChanged(List.of(savedOption));
 
             log.info("Successfully created MCQ option with ID: {}", savedOption.getId());
             return mcqOptionMapper.toResponseDTO(savedOption);
@@ -63,6 +73,7 @@ public class MCQOptionServiceImplementation implements MCQOptionService {
         try {
             mcqOptionMapper.updateEntityFromDTO(dto, existingOption);
             MCQOption updatedOption = mcqOptionRepository.save(existingOption);
+            publishOptionsChanged(List.of(updatedOption));
 
             log.info("Successfully updated MCQ option with ID: {}", id);
             return mcqOptionMapper.toResponseDTO(updatedOption);
@@ -84,6 +95,7 @@ public class MCQOptionServiceImplementation implements MCQOptionService {
             // Soft delete
             option.setIsActive(false);
             mcqOptionRepository.save(option);
+            publishOptionsChanged(List.of(option));
             log.info("Successfully soft deleted MCQ option with ID: {}", id);
 
         } catch (Exception e) {
@@ -110,6 +122,7 @@ public class MCQOptionServiceImplementation implements MCQOptionService {
         try {
             List<MCQOption> options = mcqOptionMapper.toEntityList(dtos);
             List<MCQOption> savedOptions = mcqOptionRepository.saveAll(options);
+            publishOptionsChanged(savedOptions);
 
             log.info("Successfully created {} MCQ options", savedOptions.size());
             return mcqOptionMapper.toResponseDTOList(savedOptions);
@@ -138,6 +151,7 @@ public class MCQOptionServiceImplementation implements MCQOptionService {
             }
 
             List<MCQOption> savedOptions = mcqOptionRepository.saveAll(updatedOptions);
+            publishOptionsChanged(savedOptions);
             log.info("Successfully updated {} MCQ options", savedOptions.size());
             return mcqOptionMapper.toResponseDTOList(savedOptions);
 
@@ -148,15 +162,24 @@ public class MCQOptionServiceImplementation implements MCQOptionService {
     }
 
     @Override
-    public void deleteMCQOptionsByIds(List<Long> ids) {
+    public int deleteMCQOptionsByIds(List<Long> ids) {
         log.info("Deleting {} MCQ options", ids.size());
 
         try {
-            List<MCQOption> options = mcqOptionRepository.findAllById(ids);
-            options.forEach(option -> option.setIsActive(false));
-            mcqOptionRepository.saveAll(options);
+            // Soft delete, one UPDATE per chunk; unknown and already deleted ids are skipped
+            List<Long> distinct = ids.stream().distinct().collect(Collectors.toList());
+            LocalDateTime now = LocalDateTime.now();
+            Set<Long> questionIds = new HashSet<>();
+            int deleted = 0;
+            for (int from = 0; from < distinct.size(); from += BULK_CHUNK_SIZE) {
+                List<Long> chunk = distinct.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinct.size()));
+                questionIds.addAll(mcqOptionRepository.findQuestionIdsByIdIn(chunk));
+                deleted += mcqOptionRepository.updateActiveByIdIn(chunk, false, now);
+            }
+            publishQuestionsChanged(questionIds);
 
-            log.info("Successfully deleted {} MCQ options", options.size());
+            log.info("Successfully deleted {} MCQ options", deleted);
+            return deleted;
 
         } catch (Exception e) {
             log.error("Failed to delete MCQ options", e);
@@ -239,6 +262,7 @@ public class MCQOptionServiceImplementation implements MCQOptionService {
             options.forEach(option -> option.setQuestion(question));
 
             List<MCQOption> savedOptions = mcqOptionRepository.saveAll(options);
+            publishOptionsChanged(savedOptions);
             log.info("Successfully created {} options for question ID: {}", savedOptions.size(), questionId);
 
             return mcqOptionMapper.toResponseDTOList(savedOptions);
@@ -286,6 +310,8 @@ public class MCQOptionServiceImplementation implements MCQOptionService {
                 allSavedOptions.addAll(mcqOptionRepository.saveAll(newOptions));
             }
 
+            eventPublisher.publishEvent(QuestionChangedEvent.of(questionId));
+
             log.info("Successfully updated options for question ID: {}", questionId);
             return mcqOptionMapper.toResponseDTOList(allSavedOptions);
 
@@ -303,6 +329,7 @@ public class MCQOptionServiceImplementation implements MCQOptionService {
             List<MCQOption> options = mcqOptionRepository.findByQuestionId(questionId);
             options.forEach(option -> option.setIsActive(false));
             mcqOptionRepository.saveAll(options);
+            publishOptionsChanged(options);
 
             log.info("Successfully deleted all options for question ID: {}", questionId);
 
@@ -465,29 +492,33 @@ public class MCQOptionServiceImplementation implements MCQOptionService {
     @Override
     public void setCorrectOption(Long questionId, Long optionId) {
         log.info("Setting correct option {} for question {}", optionId, questionId);
-
-        // First, mark all options as incorrect
-        List<MCQOption> allOptions = mcqOptionRepository.findByQuestionIdAndIsActiveTrue(questionId);
-        allOptions.forEach(opt -> opt.setIsCorrect(false));
-        mcqOptionRepository.saveAll(allOptions);
-
-        // Then mark the specified option as correct
-        markOptionAsCorrect(optionId);
+        setMultipleCorrectOptions(questionId, List.of(optionId));
     }
 
     @Override
-    public void setMultipleCorrectOptions(Long questionId, List<Long> optionIds) {
+    public int setMultipleCorrectOptions(Long questionId, List<Long> optionIds) {
         log.info("Setting multiple correct options for question {}: {}", questionId, optionIds);
 
-        // First, mark all options as incorrect
-        List<MCQOption> allOptions = mcqOptionRepository.findByQuestionIdAndIsActiveTrue(questionId);
-        allOptions.forEach(opt -> opt.setIsCorrect(false));
-        mcqOptionRepository.saveAll(allOptions);
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> correct = new HashSet<>(optionIds);
+        if (correct.isEmpty()) {
+            int updated = mcqOptionRepository.updateCorrectByQuestionId(questionId, false, now);
+            publishQuestionsChanged(Set.of(questionId));
+            return updated;
+        }
 
-        // Then mark specified options as correct
-        for (Long optionId : optionIds) {
-            markOptionAsCorrect(optionId);
+        Set<Long> owned = new HashSet<>(mcqOptionRepository.findIdsByQuestionIdAndIdIn(questionId, correct));
+        for (Long optionId : correct) {
+            if (!owned.contains(optionId)) {
+                throw new RecordNotFoundException("MCQOption", "id", optionId);
+            }
         }
+
+        // Only options whose flag actually changes are written, and counted
+        int updated = mcqOptionRepository.updateCorrectByQuestionIdAndIdNotIn(questionId, correct, false, now)
+                + mcqOptionRepository.updateCorrectByIdIn(correct, true, now);
+        publishQuestionsChanged(Set.of(questionId));
+        return updated;
     }
 
     @Override
@@ -512,6 +543,7 @@ public class MCQOptionServiceImplementation implements MCQOptionService {
                 .orElseThrow(() -> new RecordNotFoundException("MCQOption", "id", optionId));
         option.setIsActive(true);
         mcqOptionRepository.save(option);
+        publishOptionsChanged(List.of(option));
     }
 
     @Override
@@ -520,19 +552,47 @@ public class MCQOptionServiceImplementation implements MCQOptionService {
                 .orElseThrow(() -> new RecordNotFoundException("MCQOption", "id", optionId));
         option.setIsActive(false);
         mcqOptionRepository.save(option);
+        publishOptionsChanged(List.of(option));
     }
 
     @Override
-    public void activateAllOptionsForQuestion(Long questionId) {
-        List<MCQOption> options = mcqOptionRepository.findByQuestionId(questionId);
-        options.forEach(opt -> opt.setIsActive(true));
-        mcqOptionRepository.saveAll(options);
+    public int activateAllOptionsForQuestion(Long questionId) {
+        int updated = mcqOptionRepository.updateActiveByQuestionIdIn(List.of(questionId), true, LocalDateTime.now());
+        publishQuestionsChanged(Set.of(questionId));
+        return updated;
     }
 
     @Override
-    public void deactivateAllOptionsForQuestion(Long questionId) {
-        List<MCQOption> options = mcqOptionRepository.findByQuestionId(questionId);
-        options.forEach(opt -> opt.setIsActive(false));
-        mcqOptionRepository.saveAll(options);
+    public int deactivateAllOptionsForQuestion(Long questionId) {
+        int updated = mcqOptionRepository.updateActiveByQuestionIdIn(List.of(questionId), false, LocalDateTime.now());
+        publishQuestionsChanged(Set.of(questionId));
+        return updated;
+    }
+
+    @Override
+    public int updateActiveForQuestions(Collection<Long> questionIds, boolean active) {
+        List<Long> distinct = questionIds.stream().distinct().collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (int from = 0; from < distinct.size(); from += BULK_CHUNK_SIZE) {
+            updated += mcqOptionRepository.updateActiveByQuestionIdIn(
+                    distinct.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinct.size())), active, now);
+        }
+        return updated;
+    }
+
+    // Option text is part of the question's search document
+    private void publishOptionsChanged(Collection<MCQOption> options) {
+        publishQuestionsChanged(options.stream()
+                .map(MCQOption::getQuestion)
+                .filter(Objects::nonNull)
+                .map(Question::getId)
+                .collect(Collectors.toSet()));
+    }
+
+    private void publishQuestionsChanged(Set<Long> questionIds) {
+        if (!questionIds.isEmpty()) {
+            eventPublisher.publishEvent(new QuestionChangedEvent(questionIds));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,219 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.response.DuplicateClusterDTO;
+import com.example.questionbank.dto.response.NearDuplicateDTO;
+import com.example.questionbank.event.QuestionChangedEvent;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.repository.QuestionRepository;
+import com.example.questionbank.repository.projection.QuestionSignatureProjection;
+import com.example.questionbank.repository.projection.QuestionTextProjection;
+import com.example.questionbank.search.SimHash;
+import com.example.questionbank.search.SimHashIndex;
+import com.example.questionbank.search.TextAnalyzer;
+import com.example.questionbank.service.NearDuplicateService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Finds questions entered more than once with trivial edits. Every question stores a SimHash
+ * of its analyzed text; active questions are kept in an in-memory LSH band index so a lookup
+ * touches only the few questions sharing a signature band.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class NearDuplicateServiceImplementation implements NearDuplicateService {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private TextAnalyzer textAnalyzer;
+
+    private final SimHashIndex index = new SimHashIndex();
+
+    @Override
+    public long computeSignature(String questionText) {
+        return SimHash.of(textAnalyzer.analyze(questionText));
+    }
+
+    @Override
+    public List<NearDuplicateDTO> findNearDuplicates(String questionText, Long excludeQuestionId) {
+        if (questionText == null || questionText.isBlank()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Integer> matches = index.findNear(computeSignature(questionText), excludeQuestionId);
+        if (matches.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Question> questions = loadQuestions(matches.keySet());
+        List<NearDuplicateDTO> duplicates = new ArrayList<>();
+        // Matches are ordered closest first
+        matches.forEach((questionId, distance) -> {
+            Question question = questions.get(questionId);
+            if (question != null) {
+                duplicates.add(toDTO(question, distance));
+            }
+        });
+        return duplicates;
+    }
+
+    @Override
+    public List<DuplicateClusterDTO> findDuplicateClusters(Long subjectId) {
+        log.debug("Finding duplicate clusters for subject ID: {}", subjectId);
+
+        List<QuestionSignatureProjection> rows = questionRepository.findActiveSignaturesBySubjectId(subjectId);
+        SimHashIndex subjectIndex = new SimHashIndex();
+        Map<Long, Long> signatures = new HashMap<>();
+        for (QuestionSignatureProjection row : rows) {
+            subjectIndex.put(row.getId(), row.getTextSignature());
+            signatures.put(row.getId(), row.getTextSignature());
+        }
+
+        // Union-find over every near pair, so A~B and B~C end up in one cluster even if A and C are further apart
+        Map<Long, Long> parents = new HashMap<>();
+        for (Map.Entry<Long, Long> entry : signatures.entrySet()) {
+            for (Long match : subjectIndex.findNear(entry.getValue(), entry.getKey()).keySet()) {
+                union(parents, entry.getKey(), match);
+            }
+        }
+
+        Map<Long, List<Long>> members = new TreeMap<>();
+        for (Long questionId : parents.keySet()) {
+            members.computeIfAbsent(find(parents, questionId), root -> new ArrayList<>()).add(questionId);
+        }
+        if (members.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Question> questions = loadQuestions(parents.keySet());
+        List<DuplicateClusterDTO> clusters = new ArrayList<>();
+        for (List<Long> ids : members.values()) {
+            ids.sort(Comparator.naturalOrder());
+            long reference = signatures.get(ids.get(0));
+
+            List<NearDuplicateDTO> clusterQuestions = ids.stream()
+                    .filter(questions::containsKey)
+                    .map(id -> toDTO(questions.get(id), SimHash.distance(reference, signatures.get(id))))
+                    .collect(Collectors.toList());
+            clusters.add(DuplicateClusterDTO.builder()
+                    .size(clusterQuestions.size())
+                    .questions(clusterQuestions)
+                    .build());
+        }
+
+        clusters.sort(Comparator.comparing(DuplicateClusterDTO::getSize).reversed());
+        return clusters;
+    }
+
+    @Override
+    public void refreshQuestions(Collection<Long> questionIds) {
+        if (questionIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> missing = new HashSet<>(questionIds);
+        for (QuestionSignatureProjection row : questionRepository.findActiveSignaturesByIdIn(questionIds)) {
+            index.put(row.getId(), row.getTextSignature());
+            missing.remove(row.getId());
+        }
+        // Deactivated or deleted questions must not be reported as duplicates
+        missing.forEach(index::remove);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void loadOnStartup() {
+        backfillSignatures();
+
+        for (QuestionSignatureProjection row : questionRepository.findActiveSignatures()) {
+            index.put(row.getId(), row.getTextSignature());
+        }
+        log.info("Near-duplicate index loaded with {} questions", index.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        refreshQuestions(event.getQuestionIds());
+    }
+
+    // Questions saved before signatures existed, or written by the data initializer
+    private void backfillSignatures() {
+        int updated = 0;
+        List<QuestionTextProjection> batch;
+        do {
+            // Updated rows drop out of the query, so the first page is always the next batch
+            batch = questionRepository.findWithoutTextSignature(PageRequest.of(0, BACKFILL_BATCH_SIZE));
+            for (QuestionTextProjection row : batch) {
+                questionRepository.updateTextSignature(row.getId(), computeSignature(row.getQuestionText()));
+            }
+            updated += batch.size();
+        } while (batch.size() == BACKFILL_BATCH_SIZE);
+
+        if (updated > 0) {
+            log.info("Computed text signatures for {} questions", updated);
+        }
+    }
+
+    private Map<Long, Question> loadQuestions(Collection<Long> questionIds) {
+        return questionRepository.findAllById(questionIds).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+    }
+
+    private static NearDuplicateDTO toDTO(Question question, int distance) {
+        return NearDuplicateDTO.builder()
+                .questionId(question.getId())
+                .questionText(question.getQuestionText())
+                .chapterId(question.getChapter().getId())
+                .distance(distance)
+                .similarity(1.0 - distance / 64.0)
+                .build();
+    }
+
+    private static void union(Map<Long, Long> parents, Long a, Long b) {
+        Long rootA = find(parents, a);
+        Long rootB = find(parents, b);
+        if (!rootA.equals(rootB)) {
+            // Keep the oldest question as the root
+            if (rootA < rootB) {
+                parents.put(rootB, rootA);
+            } else {
+                parents.put(rootA, rootB);
+            }
+        }
+    }
+
+    private static Long find(Map<Long, Long> parents, Long id) {
+        Long parent = parents.putIfAbsent(id, id);
+        if (parent == null || parent.equals(id)) {
+            return id;
+        }
+        Long root = find(parents, parent);
+        parents.put(id, root);
+        return root;
+    }
+}
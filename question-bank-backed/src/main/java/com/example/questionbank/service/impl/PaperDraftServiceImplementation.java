@@ -0,0 +1,269 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.response.PaperDraftDTO;
+import com.example.questionbank.dto.response.QuestionResponseDTO;
+import com.example.questionbank.exception.RecordNotFoundException;
+import com.example.questionbank.mapper.QuestionMapper;
+import com.example.questionbank.model.PaperDraftItem;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.paper.PaperDraft;
+import com.example.questionbank.repository.PaperDraftItemRepository;
+import com.example.questionbank.repository.QuestionRepository;
+import com.example.questionbank.service.PaperDraftService;
+import com.example.questionbank.service.QuestionCounterService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Paper drafts kept per user in memory and written behind to paper_draft_items. Editing a
+ * draft never touches the questions table, so concurrent teachers neither overwrite each
+ * other's selections nor contend on question row versions. A draft is loaded on first use
+ * and written back, as one delete plus one batched insert, by a periodic flush and on
+ * shutdown. The flush also drops drafts that are written back and have been idle, so
+ * memory follows the active users rather than everyone who ever edited a paper.
+ */
+@Service
+@Slf4j
+public class PaperDraftServiceImplementation implements PaperDraftService {
+
+    private static final String ANONYMOUS_OWNER = "anonymous";
+
+    private static final String DELETE_DRAFT_SQL = "DELETE FROM paper_draft_items WHERE owner = ?";
+    private static final String INSERT_ITEM_SQL =
+            "INSERT INTO paper_draft_items (owner, question_id, position, marks_override) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private PaperDraftItemRepository paperDraftItemRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionCounterService questionCounterService;
+
+    @Autowired
+    private QuestionMapper questionMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Owner of questions flagged with the legacy is_added_to_paper column and no recorded editor
+    @Value("${paper-draft.legacy-owner:admin}")
+    private String legacyOwner;
+
+    @Value("${paper-draft.evict-idle-ms:1800000}")
+    private long evictIdleMs;
+
+    private final Map<String, PaperDraft> drafts = new ConcurrentHashMap<>();
+
+    @Override
+    public PaperDraftDTO getDraft() {
+        PaperDraft draft = currentDraft();
+        List<Long> questionIds = draft.questionIds();
+        Map<Long, Double> overrides = draft.marksOverrides();
+
+        Map<Long, Question> loaded = questionRepository.findAllById(questionIds).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+        List<QuestionResponseDTO> questions = new ArrayList<>(questionIds.size());
+        double totalMarks = 0;
+        for (Long questionId : questionIds) {
+            Question question = loaded.get(questionId);
+            if (question == null) {
+                continue;
+            }
+            QuestionResponseDTO dto = questionMapper.toResponseDTOWithoutOptions(question);
+            dto.setIsAddedToPaper(true);
+            questions.add(dto);
+            totalMarks += overrides.getOrDefault(questionId, question.getMarks() != null ? question.getMarks() : 0.0);
+        }
+
+        return PaperDraftDTO.builder()
+                .owner(draft.getOwner())
+                .questionCount(questions.size())
+                .totalMarks(totalMarks)
+                .marksOverrides(overrides)
+                .questions(questions)
+                .build();
+    }
+
+    @Override
+    public List<Long> getQuestionIds() {
+        return currentDraft().questionIds();
+    }
+
+    @Override
+    public Set<Long> getQuestionIdSet() {
+        return new LinkedHashSet<>(currentDraft().questionIds());
+    }
+
+    @Override
+    public Map<Long, Double> getMarksOverrides() {
+        return currentDraft().marksOverrides();
+    }
+
+    @Override
+    public boolean contains(Long questionId) {
+        return currentDraft().contains(questionId);
+    }
+
+    @Override
+    public int addQuestions(Collection<Long> questionIds) {
+        return currentDraft().addAll(questionIds);
+    }
+
+    @Override
+    public int removeQuestions(Collection<Long> questionIds) {
+        return currentDraft().removeAll(questionIds);
+    }
+
+    @Override
+    public boolean toggleQuestion(Long questionId) {
+        return currentDraft().toggle(questionId);
+    }
+
+    @Override
+    public void setMarksOverride(Long questionId, Double marks) {
+        if (!currentDraft().setMarksOverride(questionId, marks)) {
+            throw new RecordNotFoundException("Paper draft question", "id", questionId);
+        }
+    }
+
+    @Override
+    public void reorder(List<Long> questionIds) {
+        currentDraft().reorder(questionIds);
+    }
+
+    @Override
+    public void clear() {
+        currentDraft().clear();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${paper-draft.flush-interval-ms:2000}")
+    public int flush() {
+        int written = 0;
+        for (PaperDraft draft : drafts.values()) {
+            if (!draft.isDirty()) {
+                continue;
+            }
+            PaperDraft.Snapshot snapshot = draft.snapshot();
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(draft.getOwner(), snapshot));
+                draft.markFlushed(snapshot);
+                written++;
+            } catch (RuntimeException e) {
+                // Stays dirty, so the next flush retries it
+                log.error("Failed to write paper draft of {}", draft.getOwner(), e);
+            }
+        }
+
+        long idleSince = System.currentTimeMillis() - evictIdleMs;
+        drafts.values().removeIf(draft -> draft.evictIfIdle(idleSince));
+        return written;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int written = flush();
+        if (written > 0) {
+            log.info("Wrote {} paper drafts on shutdown", written);
+        }
+    }
+
+    /**
+     * Moves questions still flagged with the old global is_added_to_paper column into the
+     * draft of whoever last edited them, then clears the column and rebuilds the counters
+     * that were keyed on it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyPaperFlags() {
+        List<Question> flagged = questionRepository.findByIsAddedToPaperTrueOrderById();
+        if (flagged.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<Long>> byOwner = flagged.stream()
+                .collect(Collectors.groupingBy(this::legacyOwnerOf,
+                        Collectors.mapping(Question::getId, Collectors.toList())));
+        byOwner.forEach((owner, questionIds) -> draftOf(owner).addAll(questionIds));
+        flush();
+
+        transactionTemplate.executeWithoutResult(status -> questionRepository.clearLegacyPaperFlags());
+        questionCounterService.rebuildCounters();
+        log.info("Moved {} questions flagged for the paper into the drafts of {} users",
+                flagged.size(), byOwner.size());
+    }
+
+    private void write(String owner, PaperDraft.Snapshot snapshot) {
+        jdbcTemplate.update(DELETE_DRAFT_SQL, owner);
+
+        List<Object[]> rows = new ArrayList<>(snapshot.items().size());
+        int position = 0;
+        for (Map.Entry<Long, Double> item : snapshot.items().entrySet()) {
+            rows.add(new Object[]{owner, item.getKey(), position++, item.getValue()});
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, rows);
+        }
+    }
+
+    private PaperDraft currentDraft() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return draftOf(authentication != null ? authentication.getName() : ANONYMOUS_OWNER);
+    }
+
+    // Loaded outside the map so a slow load does not block lookups of other owners. The touch keeps
+    // the draft from being evicted while the caller uses it
+    private PaperDraft draftOf(String owner) {
+        while (true) {
+            PaperDraft draft = drafts.get(owner);
+            if (draft == null) {
+                draft = load(owner);
+            }
+            if (draft.touch(System.currentTimeMillis())) {
+                return draft;
+            }
+            // Evicted after the lookup; it is flushed, so a reload sees every change
+            drafts.remove(owner, draft);
+        }
+    }
+
+    private PaperDraft load(String owner) {
+        PaperDraft loaded = new PaperDraft(owner);
+        for (PaperDraftItem item : paperDraftItemRepository.findByIdOwnerOrderByPosition(owner)) {
+            loaded.restore(item.getId().getQuestionId(), item.getMarksOverride());
+        }
+        PaperDraft existing = drafts.putIfAbsent(owner, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private String legacyOwnerOf(Question question) {
+        if (question.getUpdatedBy() != null) {
+            return question.getUpdatedBy();
+        }
+        return question.getCreatedBy() != null ? question.getCreatedBy() : legacyOwner;
+    }
+}
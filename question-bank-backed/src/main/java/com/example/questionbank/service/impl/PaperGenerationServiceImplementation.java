@@ -0,0 +1,165 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.request.GeneratePaperRequestDTO;
+import com.example.questionbank.dto.response.GeneratedPaperDTO;
+import com.example.questionbank.dto.response.PaperSectionDTO;
+import com.example.questionbank.exception.RecordNotFoundException;
+import com.example.questionbank.exception.ValidationException;
+import com.example.questionbank.mapper.QuestionMapper;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+import com.example.questionbank.paper.CandidatePool;
+import com.example.questionbank.paper.PaperBlueprint;
+import com.example.questionbank.paper.PaperSolver;
+import com.example.questionbank.repository.QuestionRepository;
+import com.example.questionbank.repository.SubjectRepository;
+import com.example.questionbank.repository.projection.QuestionBlueprintProjection;
+import com.example.questionbank.service.PaperGenerationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class PaperGenerationServiceImplementation implements PaperGenerationService {
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private QuestionMapper questionMapper;
+
+    @Override
+    public GeneratedPaperDTO generatePaper(GeneratePaperRequestDTO request) {
+        if (!subjectRepository.existsById(request.getSubjectId())) {
+            throw new RecordNotFoundException("Subject", "id", request.getSubjectId());
+        }
+        validateBlueprint(request);
+
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        log.info("Generating paper for subject ID: {} with seed {}", request.getSubjectId(), seed);
+
+        List<QuestionBlueprintProjection> rows = questionRepository.findBlueprintCandidates(
+                request.getSubjectId(), request.getSectionMarks().keySet());
+        CandidatePool.Builder builder = CandidatePool.builder(rows.size());
+        for (QuestionBlueprintProjection row : rows) {
+            builder.add(row.getId(), row.getChapterId(), row.getSectionType(), row.getDifficultyLevel(),
+                    row.getMarks(), row.getTimeLimitSeconds());
+        }
+        CandidatePool pool = builder.build();
+
+        PaperBlueprint blueprint = PaperBlueprint.builder()
+                .sectionMarks(request.getSectionMarks())
+                .difficultyShares(request.getDifficultyDistribution())
+                .chapterWeights(request.getChapterWeights())
+                .timeLimitSeconds(request.getTimeLimitSeconds())
+                .build();
+
+        long start = System.currentTimeMillis();
+        int[] chosen = PaperSolver.solve(pool, blueprint, seed);
+        long solveMillis = System.currentTimeMillis() - start;
+        log.debug("Selected {} of {} candidates in {} ms", chosen.length, pool.size(), solveMillis);
+
+        List<Long> questionIds = new ArrayList<>(chosen.length);
+        for (int candidate : chosen) {
+            questionIds.add(pool.questionId(candidate));
+        }
+        Map<Long, Question> loaded = questionRepository.findWithDetailByIdIn(questionIds).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+        List<Question> questions = questionIds.stream()
+                .map(loaded::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        return toDTO(request, blueprint, questions, seed, pool.size(), solveMillis);
+    }
+
+    private void validateBlueprint(GeneratePaperRequestDTO request) {
+        Map<String, String> errors = new HashMap<>();
+        request.getSectionMarks().forEach((section, marks) -> {
+            if (marks == null || marks <= 0) {
+                errors.put("sectionMarks." + section, "Section marks must be positive");
+            }
+        });
+        if (request.getDifficultyDistribution() != null) {
+            request.getDifficultyDistribution().forEach((difficulty, share) -> {
+                if (share == null || share < 0) {
+                    errors.put("difficultyDistribution." + difficulty, "Difficulty share must not be negative");
+                }
+            });
+        }
+        if (request.getChapterWeights() != null) {
+            request.getChapterWeights().forEach((chapterId, weight) -> {
+                if (weight == null || weight < 0) {
+                    errors.put("chapterWeights." + chapterId, "Chapter weight must not be negative");
+                }
+            });
+        }
+        if (!errors.isEmpty()) {
+            throw new ValidationException("Paper blueprint validation failed", errors);
+        }
+    }
+
+    private GeneratedPaperDTO toDTO(GeneratePaperRequestDTO request, PaperBlueprint blueprint, List<Question> questions,
+                                    long seed, int candidateCount, long solveMillis) {
+        Map<SectionType, List<Question>> bySection = new EnumMap<>(SectionType.class);
+        Map<DifficultyLevel, Double> marksByDifficulty = new EnumMap<>(DifficultyLevel.class);
+        Map<Long, Double> marksByChapter = new TreeMap<>();
+        double totalMarks = 0;
+        long totalSeconds = 0;
+
+        for (Question question : questions) {
+            double marks = question.getMarks() != null ? question.getMarks() : 0.0;
+            DifficultyLevel difficulty = question.getDifficultyLevel() != null
+                    ? question.getDifficultyLevel() : DifficultyLevel.MEDIUM;
+            bySection.computeIfAbsent(question.getSectionType(), section -> new ArrayList<>()).add(question);
+            marksByDifficulty.merge(difficulty, marks, Double::sum);
+            marksByChapter.merge(question.getChapter().getId(), marks, Double::sum);
+            totalMarks += marks;
+            totalSeconds += question.getTimeLimitSeconds() != null ? question.getTimeLimitSeconds() : 0;
+        }
+
+        List<PaperSectionDTO> sections = new ArrayList<>();
+        for (Map.Entry<SectionType, Double> target : new EnumMap<>(request.getSectionMarks()).entrySet()) {
+            List<Question> sectionQuestions = bySection.getOrDefault(target.getKey(), new ArrayList<>());
+            sections.add(PaperSectionDTO.builder()
+                    .sectionType(target.getKey())
+                    .targetMarks(target.getValue())
+                    .marks(sectionQuestions.stream()
+                            .mapToDouble(q -> q.getMarks() != null ? q.getMarks() : 0.0)
+                            .sum())
+                    .questions(questionMapper.toResponseDTOList(sectionQuestions))
+                    .build());
+        }
+
+        return GeneratedPaperDTO.builder()
+                .subjectId(request.getSubjectId())
+                .seed(seed)
+                .targetMarks(blueprint.totalMarks())
+                .totalMarks(totalMarks)
+                .totalTimeSeconds(totalSeconds)
+                .marksByDifficulty(marksByDifficulty)
+                .marksByChapter(marksByChapter)
+                .sections(sections)
+                .candidateCount(candidateCount)
+                .solveMillis(solveMillis)
+                .build();
+    }
+}
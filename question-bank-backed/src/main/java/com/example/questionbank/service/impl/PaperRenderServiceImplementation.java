@@ -0,0 +1,204 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.response.PaperSectionDTO;
+import com.example.questionbank.dto.response.PaperVariantDTO;
+import com.example.questionbank.dto.response.QuestionResponseDTO;
+import com.example.questionbank.exception.RecordNotFoundException;
+import com.example.questionbank.exception.ValidationException;
+import com.example.questionbank.mapper.MCQOptionMapper;
+import com.example.questionbank.mapper.QuestionMapper;
+import com.example.questionbank.model.MCQOption;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.model.enums.RenderFormat;
+import com.example.questionbank.model.enums.SectionType;
+import com.example.questionbank.render.DocxPaperWriter;
+import com.example.questionbank.repository.QuestionRepository;
+import com.example.questionbank.repository.projection.QuestionBlueprintProjection;
+import com.example.questionbank.service.FormulaRenderService;
+import com.example.questionbank.service.PaperRenderService;
+import com.example.questionbank.service.RenderedArtifactService;
+import com.example.questionbank.service.RenderedArtifactService.CachedArtifact;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.thymeleaf.context.Context;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class PaperRenderServiceImplementation implements PaperRenderService {
+
+    private static final String DEFAULT_TITLE = "Question Paper";
+    private static final int DOCX_CHUNK_SIZE = 100;
+    private static final List<String> OPTION_LABELS = List.of(
+            "A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M",
+            "N", "O", "P", "Q", "R", "S", "T", "U", "V", "W", "X", "Y", "Z");
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionMapper questionMapper;
+
+    @Autowired
+    private MCQOptionMapper mcqOptionMapper;
+
+    @Autowired
+    private PdfService pdfService;
+
+    @Autowired
+    private RenderedArtifactService renderedArtifactService;
+
+    @Autowired
+    private FormulaRenderService formulaRenderService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void renderPaper(List<Long> questionIds, String title, RenderFormat format, OutputStream out) {
+        if (!supports(format)) {
+            throw new ValidationException("Unsupported paper format",
+                    Map.of("format", format + " rendering is not available"));
+        }
+
+        String paperTitle = title != null && !title.isBlank() ? title : DEFAULT_TITLE;
+        if (format == RenderFormat.DOCX) {
+            writeDocx(questionIds, paperTitle, out);
+            return;
+        }
+
+        List<QuestionResponseDTO> questions = loadQuestions(questionIds);
+        Map<SectionType, List<QuestionResponseDTO>> bySection = new LinkedHashMap<>();
+        for (QuestionResponseDTO question : questions) {
+            bySection.computeIfAbsent(question.getSectionType(), section -> new ArrayList<>()).add(question);
+        }
+        List<PaperSectionDTO> sections = bySection.entrySet().stream()
+                .map(entry -> PaperSectionDTO.builder()
+                        .sectionType(entry.getKey())
+                        .marks(totalMarks(entry.getValue()))
+                        .questions(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+
+        pdfService.writePdf(paperContext(paperTitle, null, sections, totalMarks(questions)), out);
+    }
+
+    @Override
+    public CachedArtifact renderToArtifact(List<Long> questionIds, String title, RenderFormat format) {
+        if (!supports(format)) {
+            throw new ValidationException("Unsupported paper format",
+                    Map.of("format", format + " rendering is not available"));
+        }
+        String key = renderedArtifactService.paperKey(questionIds, format, title, null);
+        return renderedArtifactService.getOrRender(key, format,
+                out -> renderPaper(questionIds, title, format, out));
+    }
+
+    @Override
+    public boolean supports(RenderFormat format) {
+        return format == RenderFormat.PDF || format == RenderFormat.DOCX;
+    }
+
+    @Override
+    public List<QuestionResponseDTO> loadQuestions(List<Long> questionIds) {
+        Map<Long, Question> loaded = questionRepository.findWithDetailByIdIn(questionIds).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+
+        List<QuestionResponseDTO> questions = new ArrayList<>(questionIds.size());
+        for (Long questionId : questionIds) {
+            Question question = loaded.get(questionId);
+            if (question == null) {
+                throw new RecordNotFoundException("Question", "id", questionId);
+            }
+            QuestionResponseDTO dto = questionMapper.toResponseDTOWithoutOptions(question);
+            dto.setIsAddedToPaper(true);
+            dto.setMcqOptions(mcqOptionMapper.toResponseDTOList(question.getMcqOptions().stream()
+                    .filter(option -> Boolean.TRUE.equals(option.getIsActive()))
+                    .sorted(Comparator.comparing(MCQOption::getOptionOrder,
+                            Comparator.nullsLast(Comparator.naturalOrder())))
+                    .collect(Collectors.toList())));
+            questions.add(dto);
+        }
+        return questions;
+    }
+
+    @Override
+    public Context paperContext(String title, PaperVariantDTO variant, List<PaperSectionDTO> sections,
+                                double totalMarks) {
+        // Questions are numbered through the whole paper, not per section
+        List<Integer> offsets = new ArrayList<>();
+        int offset = 0;
+        for (PaperSectionDTO section : sections) {
+            offsets.add(offset);
+            offset += section.getQuestions().size();
+        }
+
+        Context context = new Context();
+        context.setVariable("title", title);
+        context.setVariable("variant", variant);
+        context.setVariable("sections", sections);
+        context.setVariable("offsets", offsets);
+        context.setVariable("totalMarks", totalMarks);
+        context.setVariable("optionLabels", OPTION_LABELS);
+        return context;
+    }
+
+    // Only sections and marks are read up front; question content is loaded, written and dropped
+    // from the persistence context a chunk at a time, so a large paper never sits in memory
+    private void writeDocx(List<Long> questionIds, String title, OutputStream out) {
+        Map<Long, QuestionBlueprintProjection> rows = questionRepository.findBlueprintRowsByIdIn(questionIds).stream()
+                .collect(Collectors.toMap(QuestionBlueprintProjection::getId, Function.identity()));
+
+        Map<SectionType, List<Long>> bySection = new LinkedHashMap<>();
+        double totalMarks = 0;
+        for (Long questionId : questionIds) {
+            QuestionBlueprintProjection row = rows.get(questionId);
+            if (row == null) {
+                throw new RecordNotFoundException("Question", "id", questionId);
+            }
+            bySection.computeIfAbsent(row.getSectionType(), section -> new ArrayList<>()).add(questionId);
+            totalMarks += row.getMarks() != null ? row.getMarks() : 0.0;
+        }
+
+        try {
+            DocxPaperWriter writer = new DocxPaperWriter(out, formulaRenderService.newDocument());
+            writer.title(title, String.format(Locale.ROOT, "Total marks: %.1f", totalMarks));
+            int number = 0;
+            for (Map.Entry<SectionType, List<Long>> section : bySection.entrySet()) {
+                writer.section(section.getKey().getDisplayName());
+                List<Long> ids = section.getValue();
+                for (int from = 0; from < ids.size(); from += DOCX_CHUNK_SIZE) {
+                    for (QuestionResponseDTO question : loadQuestions(ids.subList(from,
+                            Math.min(from + DOCX_CHUNK_SIZE, ids.size())))) {
+                        writer.question(++number, question, OPTION_LABELS);
+                    }
+                    entityManager.clear();
+                }
+            }
+            writer.finish();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate DOCX", e);
+        }
+    }
+
+    private static double totalMarks(List<QuestionResponseDTO> questions) {
+        return questions.stream()
+                .mapToDouble(question -> question.getMarks() != null ? question.getMarks() : 0.0)
+                .sum();
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.request.PaperVariantsRequestDTO;
+import com.example.questionbank.dto.response.AnswerKeyEntryDTO;
+import com.example.questionbank.dto.response.MCQOptionResponseDTO;
+import com.example.questionbank.dto.response.PaperSectionDTO;
+import com.example.questionbank.dto.response.PaperVariantDTO;
+import com.example.questionbank.dto.response.PaperVariantSetDTO;
+import com.example.questionbank.dto.response.QuestionResponseDTO;
+import com.example.questionbank.mapper.MCQOptionMapper;
+import com.example.questionbank.mapper.QuestionMapper;
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.RenderFormat;
+import com.example.questionbank.model.enums.SectionType;
+import com.example.questionbank.paper.VariantShuffler;
+import com.example.questionbank.service.PaperRenderService;
+import com.example.questionbank.service.PaperVariantService;
+import com.example.questionbank.service.RenderedArtifactService;
+import com.example.questionbank.service.RenderedArtifactService.CachedArtifact;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.thymeleaf.context.Context;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exam-hall sets (A, B, C, ...) of one question set. Every set has the same questions and
+ * therefore the same marks and difficulty mix; question order within sections and MCQ option
+ * order differ per set. Sets are built and rendered concurrently, each from its own seed
+ * drawn from the request seed, so the result does not depend on scheduling.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class PaperVariantServiceImplementation implements PaperVariantService {
+
+    private static final String DEFAULT_TITLE = "Question Paper";
+    private static final List<String> OPTION_LABELS = List.of(
+            "A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M",
+            "N", "O", "P", "Q", "R", "S", "T", "U", "V", "W", "X", "Y", "Z");
+
+    @Autowired
+    private QuestionMapper questionMapper;
+
+    @Autowired
+    private MCQOptionMapper mcqOptionMapper;
+
+    @Autowired
+    private PdfService pdfService;
+
+    @Autowired
+    private PaperRenderService paperRenderService;
+
+    @Autowired
+    private RenderedArtifactService renderedArtifactService;
+
+    // Building and rendering sets is CPU-bound, one worker per core
+    private final ForkJoinPool variantPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    @Override
+    public PaperVariantSetDTO generateVariants(PaperVariantsRequestDTO request) {
+        // Mapped once on the request thread; the set builders only touch these DTOs
+        List<QuestionResponseDTO> questions = paperRenderService.loadQuestions(request.getQuestionIds());
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        log.info("Generating {} variants of {} questions with seed {}",
+                request.getVariantCount(), questions.size(), seed);
+
+        // Per-set seeds are drawn up front so each set is the same however the tasks are scheduled
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Callable<PaperVariantDTO>> tasks = new ArrayList<>();
+        for (int v = 0; v < request.getVariantCount(); v++) {
+            String label = OPTION_LABELS.get(v);
+            long variantSeed = seeds.nextLong();
+            tasks.add(() -> buildVariant(label, questions, Boolean.TRUE.equals(request.getShuffleOptions()),
+                    new SplittableRandom(variantSeed)));
+        }
+
+        return PaperVariantSetDTO.builder()
+                .title(titleOf(request))
+                .seed(seed)
+                .totalMarks(totalMarks(questions))
+                .variants(runAll(tasks))
+                .build();
+    }
+
+    @Override
+    public void writeVariantPdfs(PaperVariantsRequestDTO request, OutputStream out) {
+        PaperVariantSetDTO variantSet = generateVariants(request);
+
+        // Sets render in parallel to files and are then copied into the zip one by one, so no rendered
+        // set is held in memory. With an explicit seed the sets are reproducible and go through the
+        // artifact cache; random sets only ever exist once and are rendered to temp files.
+        boolean cacheable = request.getSeed() != null;
+        List<Path> temporary = new ArrayList<>();
+        // Cached sets stay pinned until they are in the zip, including when another set fails to render
+        List<CachedArtifact> pinned = Collections.synchronizedList(new ArrayList<>());
+        try {
+            List<Callable<Path>> renders = new ArrayList<>();
+            for (PaperVariantDTO variant : variantSet.getVariants()) {
+                Context context = paperRenderService.paperContext(
+                        variantSet.getTitle(), variant, variant.getSections(), variantSet.getTotalMarks());
+                if (cacheable) {
+                    String key = renderedArtifactService.paperKey(request.getQuestionIds(), RenderFormat.PDF,
+                            variantSet.getTitle(), "set " + variant.getLabel() + " seed " + variantSet.getSeed()
+                                    + " shuffle " + Boolean.TRUE.equals(request.getShuffleOptions()));
+                    renders.add(() -> {
+                        CachedArtifact cached = renderedArtifactService.getOrRender(key, RenderFormat.PDF,
+                                file -> pdfService.writePdf(context, file));
+                        pinned.add(cached);
+                        return cached.getFile();
+                    });
+                } else {
+                    Path pdf = Files.createTempFile("paper-set-" + variant.getLabel() + "-", ".pdf");
+                    temporary.add(pdf);
+                    renders.add(() -> {
+                        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(pdf))) {
+                            pdfService.writePdf(context, file);
+                        }
+                        return pdf;
+                    });
+                }
+            }
+            List<Path> pdfs = runAll(renders);
+
+            ZipOutputStream zip = new ZipOutputStream(out);
+            for (int v = 0; v < pdfs.size(); v++) {
+                zip.putNextEntry(new ZipEntry("set-" + variantSet.getVariants().get(v).getLabel() + ".pdf"));
+                Files.copy(pdfs.get(v), zip);
+                zip.closeEntry();
+            }
+
+            zip.putNextEntry(new ZipEntry("answer-keys.csv"));
+            Writer writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+            writer.write("set,question_number,question_id,correct_options\n");
+            for (PaperVariantDTO variant : variantSet.getVariants()) {
+                for (AnswerKeyEntryDTO entry : variant.getAnswerKey()) {
+                    writer.write(variant.getLabel() + "," + entry.getQuestionNumber() + "," + entry.getQuestionId()
+                            + "," + String.join(" ", entry.getCorrectOptions()) + "\n");
+                }
+            }
+            writer.flush();
+            zip.closeEntry();
+            zip.finish();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write paper variants", e);
+        } finally {
+            pinned.forEach(CachedArtifact::close);
+            for (Path pdf : temporary) {
+                try {
+                    Files.deleteIfExists(pdf);
+                } catch (IOException e) {
+                    log.warn("Failed to delete {}", pdf, e);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        variantPool.shutdown();
+    }
+
+    private PaperVariantDTO buildVariant(String label, List<QuestionResponseDTO> questions, boolean shuffleOptions,
+                                         SplittableRandom random) {
+        // Sections are numbered in order of first appearance so they print in the given order
+        Map<SectionType, Integer> sectionOrder = new LinkedHashMap<>();
+        int[] sections = new int[questions.size()];
+        int[] difficulties = new int[questions.size()];
+        for (int i = 0; i < questions.size(); i++) {
+            QuestionResponseDTO question = questions.get(i);
+            sections[i] = sectionOrder.computeIfAbsent(question.getSectionType(), section -> sectionOrder.size());
+            difficulties[i] = (question.getDifficultyLevel() != null
+                    ? question.getDifficultyLevel() : DifficultyLevel.MEDIUM).ordinal();
+        }
+        int[] order = VariantShuffler.orderQuestions(sections, difficulties, random);
+
+        Map<SectionType, List<QuestionResponseDTO>> bySection = new LinkedHashMap<>();
+        List<AnswerKeyEntryDTO> answerKey = new ArrayList<>();
+        int number = 0;
+        for (int position : order) {
+            QuestionResponseDTO source = questions.get(position);
+            QuestionResponseDTO copy = questionMapper.copyWithoutOptions(source);
+            copy.setMcqOptions(reorderOptions(source.getMcqOptions(), shuffleOptions, random));
+            bySection.computeIfAbsent(copy.getSectionType(), section -> new ArrayList<>()).add(copy);
+
+            number++;
+            if (!copy.getMcqOptions().isEmpty()) {
+                answerKey.add(AnswerKeyEntryDTO.builder()
+                        .questionNumber(number)
+                        .questionId(copy.getId())
+                        .correctOptions(copy.getMcqOptions().stream()
+                                .filter(option -> Boolean.TRUE.equals(option.getIsCorrect()))
+                                .map(option -> OPTION_LABELS.get(option.getOptionOrder() - 1))
+                                .collect(Collectors.toList()))
+                        .build());
+            }
+        }
+
+        List<PaperSectionDTO> paperSections = bySection.entrySet().stream()
+                .map(entry -> PaperSectionDTO.builder()
+                        .sectionType(entry.getKey())
+                        .marks(totalMarks(entry.getValue()))
+                        .questions(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+
+        return PaperVariantDTO.builder()
+                .label(label)
+                .sections(paperSections)
+                .answerKey(answerKey)
+                .build();
+    }
+
+    // Options are renumbered 1..n in printed order, which is what the answer key labels refer to
+    private List<MCQOptionResponseDTO> reorderOptions(List<MCQOptionResponseDTO> options, boolean shuffle,
+                                                      SplittableRandom random) {
+        if (options == null || options.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int[] permutation = shuffle ? VariantShuffler.permutation(options.size(), random) : null;
+        List<MCQOptionResponseDTO> reordered = new ArrayList<>(options.size());
+        for (int i = 0; i < options.size(); i++) {
+            MCQOptionResponseDTO copy = mcqOptionMapper.copy(options.get(permutation != null ? permutation[i] : i));
+            copy.setOptionOrder(i + 1);
+            reordered.add(copy);
+        }
+        return reordered;
+    }
+
+    private <T> List<T> runAll(List<Callable<T>> tasks) {
+        try {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : variantPool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating paper variants", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to generate paper variants", e.getCause());
+        }
+    }
+
+    private static String titleOf(PaperVariantsRequestDTO request) {
+        return request.getTitle() != null && !request.getTitle().isBlank() ? request.getTitle() : DEFAULT_TITLE;
+    }
+
+    private static double totalMarks(List<QuestionResponseDTO> questions) {
+        return questions.stream()
+                .mapToDouble(question -> question.getMarks() != null ? question.getMarks() : 0.0)
+                .sum();
+    }
+}
@@ -1,36 +1,127 @@
 package com.example.questionbank.service.impl;
 
+import com.example.questionbank.render.FormulaText;
+import com.example.questionbank.render.FormulaUserAgent;
+import com.example.questionbank.service.FormulaRenderService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.w3c.dom.Document;
 import org.xhtmlrenderer.pdf.ITextRenderer;
+import org.xhtmlrenderer.resource.XMLResource;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 @Service
+@Slf4j
 public class PdfService {
 
+    private static final String TEMPLATE = "question-bank";
+
     private final SpringTemplateEngine templateEngine;
+    private final FormulaRenderService formulaRenderService;
+
+    // Relative image and stylesheet references in templates resolve against the templates folder
+    private final String baseUrl;
 
-    public PdfService(SpringTemplateEngine templateEngine) {
+    // Part of the cache key of rendered papers, so editing the template invalidates them
+    private final String templateVersion;
+
+    public PdfService(SpringTemplateEngine templateEngine, FormulaRenderService formulaRenderService) {
         this.templateEngine = templateEngine;
+        this.formulaRenderService = formulaRenderService;
+        URL templates = getClass().getResource("/templates/");
+        this.baseUrl = templates != null ? templates.toExternalForm() : null;
+        // Formula settings change the rendered output just like the template does
+        this.templateVersion = hashTemplate() + "-" + formulaRenderService.getSettingsKey();
+    }
+
+    public String getTemplateVersion() {
+        return templateVersion;
     }
 
     public byte[] generatePdf(Context context) {
-        System.out.println(context);
-        String html = templateEngine.process("question-bank", context);
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writePdf(context, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Renders straight into {@code out}. The HTML goes through a temp file rather than a String
+     * and pages are written as they are laid out, so neither the markup nor the finished PDF is
+     * held in memory. LaTeX in the text is drawn as cached formula images. The stream is flushed
+     * but not closed.
+     */
+    public void writePdf(Context context, OutputStream out) {
+        FormulaText formulas = formulaRenderService.newDocument();
+        context.setVariable("formulas", formulas);
 
-        ITextRenderer renderer = new ITextRenderer();
-        renderer.setDocumentFromString(html, "file:///D:/Tools/Workspace/Project/question-bank/question-bank-backed/src/main/resources/templates/logo.png/");
-        renderer.layout();
+        Path html = null;
         try {
-            renderer.createPDF(outputStream);
+            html = Files.createTempFile("paper-", ".xhtml");
+            try (Writer writer = Files.newBufferedWriter(html, StandardCharsets.UTF_8)) {
+                templateEngine.process(TEMPLATE, context, writer);
+            }
+
+            Document document;
+            try (Reader reader = Files.newBufferedReader(html, StandardCharsets.UTF_8)) {
+                document = XMLResource.load(reader).getDocument();
+            }
+
+            ITextRenderer renderer = new ITextRenderer();
+            FormulaUserAgent userAgent = new FormulaUserAgent(renderer.getOutputDevice(), formulas);
+            userAgent.setSharedContext(renderer.getSharedContext());
+            renderer.getSharedContext().setUserAgentCallback(userAgent);
+            renderer.setDocument(document, baseUrl);
+            renderer.layout();
+            // iText closes the stream it writes to; callers own theirs (a response, a zip entry)
+            renderer.createPDF(new FilterOutputStream(out) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.flush();
+                }
+            });
         } catch (Exception e) {
-            e.printStackTrace();
+            throw new RuntimeException("Failed to generate PDF", e);
+        } finally {
+            if (html != null) {
+                try {
+                    Files.deleteIfExists(html);
+                } catch (IOException e) {
+                    log.warn("Failed to delete {}", html, e);
+                }
+            }
         }
+    }
 
-        return outputStream.toByteArray();
+    private String hashTemplate() {
+        try (InputStream in = getClass().getResourceAsStream("/templates/" + TEMPLATE + ".html")) {
+            if (in == null) {
+                return "missing";
+            }
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(in.readAllBytes());
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to read PDF template " + TEMPLATE, e);
+        }
     }
 }
-
@@ -0,0 +1,208 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.response.QuestionCounterDriftDTO;
+import com.example.questionbank.dto.response.QuestionCounterReportDTO;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.model.QuestionCounter;
+import com.example.questionbank.model.QuestionCounterKey;
+import com.example.questionbank.repository.QuestionCounterRepository;
+import com.example.questionbank.repository.QuestionRepository;
+import com.example.questionbank.repository.projection.QuestionCounterProjection;
+import com.example.questionbank.service.QuestionCounterService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+@Slf4j
+public class QuestionCounterServiceImplementation implements QuestionCounterService {
+
+    private static final Comparator<QuestionCounterKey> UPSERT_ORDER = Comparator
+            .comparing(QuestionCounterKey::getChapterId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(QuestionCounterKey::getSectionType, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(QuestionCounterKey::getDifficultyLevel, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(QuestionCounterKey::isActive);
+
+    @Autowired
+    private QuestionCounterRepository questionCounterRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+
+    @Override
+    public void onQuestionCreated(Question question) {
+        adjust(QuestionCounterKey.of(question), 1);
+    }
+
+    @Override
+    public void onQuestionsCreated(Collection<Question> questions) {
+        // One upsert per counter row rather than per question, in a fixed order so concurrent bulk
+        // writers lock shared counter rows in the same order
+        Map<QuestionCounterKey, Long> created = questions.stream()
+                .collect(Collectors.groupingBy(QuestionCounterKey::of, () -> new TreeMap<>(UPSERT_ORDER),
+                        Collectors.counting()));
+        created.forEach(this::adjust);
+    }
+
+    @Override
+    public void onQuestionChanged(QuestionCounterKey before, Question after) {
+        QuestionCounterKey current = QuestionCounterKey.of(after);
+        if (current.equals(before)) {
+            return;
+        }
+        adjust(before, -1);
+        adjust(current, 1);
+    }
+
+    @Override
+    public void onQuestionsActiveChanged(Collection<QuestionCounterKey> before, boolean active) {
+        Map<QuestionCounterKey, Long> moving = before.stream()
+                .collect(Collectors.groupingBy(Function.identity(), () -> new TreeMap<>(UPSERT_ORDER),
+                        Collectors.counting()));
+        moving.forEach((key, count) -> {
+            adjust(key, -count);
+            adjust(new QuestionCounterKey(key.getChapterId(), key.getSectionType(), key.getDifficultyLevel(),
+                    active), count);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long countActiveByChapter(Long chapterId) {
+        return questionCounterRepository.sumActiveByChapter(chapterId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long countActiveBySubject(Long subjectId) {
+        return questionCounterRepository.sumActiveBySubject(subjectId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long countActiveByClass(Long classId) {
+        return questionCounterRepository.sumActiveByClass(classId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Long> countAllByChapterIds(Collection<Long> chapterIds) {
+        if (chapterIds == null || chapterIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : questionCounterRepository.sumAllByChapterIds(chapterIds)) {
+            counts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QuestionCounterReportDTO verifyCounters() {
+        log.info("Verifying question counters against the questions table");
+
+        Map<QuestionCounterKey, Long> expected = toCountMap(questionRepository.aggregateQuestionCounters());
+        return compare(expected, false);
+    }
+
+    @Override
+    public QuestionCounterReportDTO rebuildCounters() {
+        log.info("Rebuilding question counters from the questions table");
+
+        Map<QuestionCounterKey, Long> expected = toCountMap(questionRepository.aggregateQuestionCounters());
+        QuestionCounterReportDTO report = compare(expected, true);
+
+        questionCounterRepository.rebuildAll();
+
+        log.info("Rebuilt {} question counters, {} had drifted", report.getCheckedKeys(), report.getDriftCount());
+        return report;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        // Questions written outside QuestionService (data seeding, manual SQL) leave the counters behind
+        QuestionCounterReportDTO report = verifyCounters();
+        if (report.getDriftCount() > 0) {
+            log.warn("{} question counters drifted from the questions table, rebuilding", report.getDriftCount());
+            rebuildCounters();
+        }
+    }
+
+    private void adjust(QuestionCounterKey key, long delta) {
+        if (key.getChapterId() == null || key.getSectionType() == null) {
+            return;
+        }
+
+        questionCounterRepository.upsertCount(
+                key.getChapterId(),
+                key.getSectionType().name(),
+                QuestionCounter.toDifficultyColumn(key.getDifficultyLevel()),
+                key.isActive(),
+                delta);
+    }
+
+    private QuestionCounterReportDTO compare(Map<QuestionCounterKey, Long> expected, boolean rebuilt) {
+        // The unique key holds one row per counter key, so the stored rows are read as they are
+        Map<QuestionCounterKey, Long> stored = new HashMap<>();
+        for (QuestionCounter counter : questionCounterRepository.findAll()) {
+            QuestionCounterKey key = new QuestionCounterKey(
+                    counter.getChapter().getId(),
+                    counter.getSectionType(),
+                    QuestionCounter.fromDifficultyColumn(counter.getDifficultyLevel()),
+                    Boolean.TRUE.equals(counter.getIsActive()));
+            stored.merge(key, counter.getQuestionCount(), Long::sum);
+        }
+        stored.values().removeIf(count -> count == 0L);
+
+        Set<QuestionCounterKey> keys = new HashSet<>(expected.keySet());
+        keys.addAll(stored.keySet());
+
+        List<QuestionCounterDriftDTO> drifts = new ArrayList<>();
+        for (QuestionCounterKey key : keys) {
+            long expectedCount = expected.getOrDefault(key, 0L);
+            long storedCount = stored.getOrDefault(key, 0L);
+            if (expectedCount != storedCount) {
+                drifts.add(QuestionCounterDriftDTO.builder()
+                        .chapterId(key.getChapterId())
+                        .sectionType(key.getSectionType())
+                        .difficultyLevel(key.getDifficultyLevel())
+                        .isActive(key.isActive())
+                        .expectedCount(expectedCount)
+                        .storedCount(storedCount)
+                        .build());
+            }
+        }
+
+        return QuestionCounterReportDTO.builder()
+                .checkedKeys(keys.size())
+                .driftCount(drifts.size())
+                .rebuilt(rebuilt)
+                .drifts(drifts)
+                .build();
+    }
+
+    private Map<QuestionCounterKey, Long> toCountMap(Collection<QuestionCounterProjection> rows) {
+        Map<QuestionCounterKey, Long> counts = new HashMap<>();
+        for (QuestionCounterProjection row : rows) {
+            QuestionCounterKey key = new QuestionCounterKey(
+                    row.getChapterId(),
+                    row.getSectionType(),
+                    row.getDifficultyLevel(),
+                    Boolean.TRUE.equals(row.getIsActive()));
+            counts.merge(key, row.getQuestionCount(), Long::sum);
+        }
+        counts.values().removeIf(count -> count == 0L);
+        return counts;
+    }
+}
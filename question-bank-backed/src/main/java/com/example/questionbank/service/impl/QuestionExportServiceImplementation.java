@@ -0,0 +1,134 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.exception.RecordNotFoundException;
+import com.example.questionbank.export.CsvQuestionWriter;
+import com.example.questionbank.export.NdjsonQuestionWriter;
+import com.example.questionbank.export.QuestionExportWriter;
+import com.example.questionbank.model.enums.QuestionExportFormat;
+import com.example.questionbank.repository.ClassRepository;
+import com.example.questionbank.repository.MCQOptionRepository;
+import com.example.questionbank.repository.QuestionRepository;
+import com.example.questionbank.repository.SubjectRepository;
+import com.example.questionbank.repository.projection.MCQOptionExportProjection;
+import com.example.questionbank.repository.projection.QuestionExportRowProjection;
+import com.example.questionbank.service.QuestionExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports stream questions, joined to their active options, from a single forward-only query as
+ * lightweight projections, so neither the persistence context nor the heap grows with the bank.
+ * Consecutive rows of one question are gathered into its options, each question is written as
+ * soon as its last row is read, and the output is flushed to the client every batch of questions.
+ */
+@Service
+@Slf4j
+public class QuestionExportServiceImplementation implements QuestionExportService {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private MCQOptionRepository mcqOptionRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Value("${questions.export.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBySubject(Long subjectId, QuestionExportFormat format, boolean compress, OutputStream out) {
+        if (!subjectRepository.existsById(subjectId)) {
+            throw new RecordNotFoundException("Subject", "id", subjectId);
+        }
+        log.info("Exporting questions of subject ID {} as {}", subjectId, format);
+        int optionColumns = format == QuestionExportFormat.CSV
+                ? firstOrZero(mcqOptionRepository.findActiveOptionCountsBySubjectId(subjectId, PageRequest.of(0, 1)))
+                : 0;
+        try (Stream<QuestionExportRowProjection> rows = questionRepository.streamExportRowsBySubjectId(subjectId)) {
+            export(rows, format, optionColumns, compress, out);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportByClass(Long classId, QuestionExportFormat format, boolean compress, OutputStream out) {
+        if (!classRepository.existsById(classId)) {
+            throw new RecordNotFoundException("Class", "id", classId);
+        }
+        log.info("Exporting questions of class ID {} as {}", classId, format);
+        int optionColumns = format == QuestionExportFormat.CSV
+                ? firstOrZero(mcqOptionRepository.findActiveOptionCountsByClassId(classId, PageRequest.of(0, 1)))
+                : 0;
+        try (Stream<QuestionExportRowProjection> rows = questionRepository.streamExportRowsByClassId(classId)) {
+            export(rows, format, optionColumns, compress, out);
+        }
+    }
+
+    private void export(Stream<QuestionExportRowProjection> rows, QuestionExportFormat format, int optionColumns,
+                        boolean compress, OutputStream out) {
+        long count = 0;
+        try {
+            // Wrapped only after the existence checks, so their error responses go out uncompressed
+            OutputStream target = compress ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE, true) : out;
+            QuestionExportWriter writer = format == QuestionExportFormat.CSV
+                    ? new CsvQuestionWriter(target, optionColumns)
+                    : new NdjsonQuestionWriter(target);
+
+            // Rows arrive ordered by question, so a question is complete when the next one starts
+            QuestionExportRowProjection question = null;
+            List<MCQOptionExportProjection> options = new ArrayList<>();
+            Iterator<QuestionExportRowProjection> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                QuestionExportRowProjection row = iterator.next();
+                if (question != null && !question.getId().equals(row.getId())) {
+                    writer.write(question, options);
+                    options = new ArrayList<>();
+                    if (++count % batchSize == 0) {
+                        writer.flush();
+                    }
+                }
+                question = row;
+                if (row.getOptionId() != null) {
+                    options.add(row);
+                }
+            }
+            if (question != null) {
+                writer.write(question, options);
+                count++;
+            }
+            writer.finish();
+            if (target instanceof GZIPOutputStream) {
+                ((GZIPOutputStream) target).finish();
+            }
+            out.flush();
+        } catch (IOException e) {
+            // Usually the client went away; the cursor is released when the stream closes
+            throw new RuntimeException("Failed to export questions after " + count + " rows", e);
+        }
+        log.info("Exported {} questions", count);
+    }
+
+    private static int firstOrZero(List<Long> counts) {
+        return counts.isEmpty() ? 0 : Math.toIntExact(counts.get(0));
+    }
+}
@@ -0,0 +1,369 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.request.CreateQuestionRequestDTO;
+import com.example.questionbank.dto.response.QuestionImportErrorDTO;
+import com.example.questionbank.dto.response.QuestionImportJobDTO;
+import com.example.questionbank.exception.RecordNotFoundException;
+import com.example.questionbank.exception.ServiceUnavailableException;
+import com.example.questionbank.exception.ValidationException;
+import com.example.questionbank.importer.QuestionRowParser;
+import com.example.questionbank.importer.XlsxRowReader;
+import com.example.questionbank.model.enums.ImportJobStatus;
+import com.example.questionbank.repository.ChapterRepository;
+import com.example.questionbank.service.QuestionImportService;
+import com.example.questionbank.service.QuestionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Spreadsheet imports run in the background, one at a time. The workbook is read row by row
+ * (see {@link XlsxRowReader}), each row is checked with the same rules as a single create, and
+ * valid rows are written in chunks of {@code questions.import.chunk-size}, one transaction and
+ * one JDBC batch per chunk. Memory use depends on the chunk size and the error cap, not on the
+ * size of the file. Chunks already written stay when a later one fails or the import stops.
+ *
+ * Job state is kept in memory only; imports running at shutdown are lost with their uploads.
+ */
+@Service
+@Slf4j
+public class QuestionImportServiceImplementation implements QuestionImportService {
+
+    private static final long RETRY_AFTER_SECONDS = 30;
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+    private static final String ANONYMOUS_OWNER = "anonymous";
+    private static final String UPLOAD_PREFIX = "import-";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private ChapterRepository chapterRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${questions.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${questions.import.max-errors:1000}")
+    private int maxErrors;
+
+    @Value("${questions.import.max-queued:10}")
+    private int maxQueued;
+
+    @Value("${questions.import.directory:${java.io.tmpdir}/question-bank/imports}")
+    private String directory;
+
+    @Value("${questions.import.retention-hours:24}")
+    private long retentionHours;
+
+    private Path workDirectory;
+    private ThreadPoolExecutor executor;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        workDirectory = Files.createDirectories(Paths.get(directory));
+        // Uploads and spooled strings of imports cut off by the last shutdown
+        try (Stream<Path> files = Files.list(workDirectory)) {
+            files.filter(Files::isRegularFile).forEach(QuestionImportServiceImplementation::deleteQuietly);
+        }
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(maxQueued), new CustomizableThreadFactory("question-import-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public QuestionImportJobDTO submit(MultipartFile workbook) {
+        String fileName = workbook.getOriginalFilename();
+        if (workbook.isEmpty()) {
+            throw new ValidationException("Workbook is empty", Map.of("file", "The uploaded file is empty"));
+        }
+        if (fileName == null || !fileName.toLowerCase(Locale.ROOT).endsWith(".xlsx")) {
+            throw new ValidationException("Unsupported workbook format",
+                    Map.of("file", "Only .xlsx workbooks can be imported"));
+        }
+
+        Path upload;
+        try {
+            upload = Files.createTempFile(workDirectory, UPLOAD_PREFIX, ".xlsx");
+            workbook.transferTo(upload);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store uploaded workbook", e);
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), currentUser(), fileName, upload);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteQuietly(upload);
+            throw new ServiceUnavailableException("Import queue is full", "IMPORT_QUEUE_FULL", RETRY_AFTER_SECONDS);
+        }
+
+        log.info("Queued question import {} of {} ({} bytes)", job.id, fileName, workbook.getSize());
+        return toDTO(job);
+    }
+
+    @Override
+    public QuestionImportJobDTO getJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        // Other users' jobs are reported as missing rather than forbidden
+        if (job == null || (!job.owner.equals(currentUser()) && !isAdmin())) {
+            throw new RecordNotFoundException("Import job", "id", jobId);
+        }
+        return toDTO(job);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${questions.import.purge-interval-ms:3600000}")
+    public int purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        List<String> expired = jobs.values().stream()
+                .filter(job -> job.isFinishedBefore(cutoff))
+                .map(job -> job.id)
+                .collect(Collectors.toList());
+        expired.forEach(jobs::remove);
+
+        if (!expired.isEmpty()) {
+            log.info("Purged {} question imports older than {} hours", expired.size(), retentionHours);
+        }
+        return expired.size();
+    }
+
+    private void run(ImportJob job) {
+        job.start();
+        long start = System.currentTimeMillis();
+        Map<Long, Boolean> chapters = new HashMap<>();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+
+        try {
+            XlsxRowReader.read(job.file, workDirectory, new XlsxRowReader.RowHandler() {
+                @Override
+                public void header(List<String> headers) {
+                    List<String> missing = QuestionRowParser.missingColumns(headers);
+                    if (!missing.isEmpty()) {
+                        throw new ValidationException("The header row lacks the columns " + String.join(", ", missing));
+                    }
+                }
+
+                @Override
+                public void row(int rowNumber, Map<String, String> values) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new IllegalStateException("Import was interrupted");
+                    }
+                    job.rowRead();
+
+                    Map<String, String> errors = new LinkedHashMap<>();
+                    CreateQuestionRequestDTO dto = QuestionRowParser.parse(values, errors);
+                    validate(dto, errors, chapters);
+                    if (!errors.isEmpty()) {
+                        job.reject(rowNumber, errors);
+                        return;
+                    }
+
+                    chunk.add(new PendingRow(rowNumber, dto));
+                    if (chunk.size() >= chunkSize) {
+                        persist(job, chunk);
+                        chunk.clear();
+                    }
+                }
+            });
+            if (!chunk.isEmpty()) {
+                persist(job, chunk);
+            }
+
+            job.finish(ImportJobStatus.COMPLETED, null);
+            log.info("Question import {} completed in {} ms: {} imported, {} rejected", job.id,
+                    System.currentTimeMillis() - start, job.importedCount, job.failedCount);
+        } catch (Exception e) {
+            log.error("Question import {} failed", job.id, e);
+            job.finish(ImportJobStatus.FAILED, e.getMessage());
+        } finally {
+            deleteQuietly(job.file);
+        }
+    }
+
+    // Bean constraints of the API request first, then the create rules; the first problem per field wins
+    private void validate(CreateQuestionRequestDTO dto, Map<String, String> errors, Map<Long, Boolean> chapters) {
+        for (ConstraintViolation<CreateQuestionRequestDTO> violation : validator.validate(dto)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        boolean chapterExists = dto.getChapterId() != null
+                && chapters.computeIfAbsent(dto.getChapterId(), chapterRepository::existsById);
+        questionService.getCreationErrors(dto, chapterExists).forEach(errors::putIfAbsent);
+    }
+
+    private void persist(ImportJob job, List<PendingRow> chunk) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> questionService.saveValidatedQuestions(
+                    chunk.stream().map(row -> row.dto).collect(Collectors.toList())));
+            job.imported(chunk.size());
+        } catch (RuntimeException e) {
+            // The chunk is rolled back as a whole; its rows are reported and the import goes on
+            log.warn("Question import {} failed to save rows {} to {}", job.id, chunk.get(0).rowNumber,
+                    chunk.get(chunk.size() - 1).rowNumber, e);
+            String message = "Not saved: " + e.getMessage();
+            for (PendingRow row : chunk) {
+                job.reject(row.rowNumber, Map.of("row", message));
+            }
+        }
+    }
+
+    private QuestionImportJobDTO toDTO(ImportJob job) {
+        synchronized (job) {
+            return QuestionImportJobDTO.builder()
+                    .id(job.id)
+                    .status(job.status)
+                    .fileName(job.fileName)
+                    .rowsRead(job.rowsRead)
+                    .importedCount(job.importedCount)
+                    .failedCount(job.failedCount)
+                    .errors(new ArrayList<>(job.errors))
+                    .errorsTruncated(job.errorsTruncated)
+                    .createdAt(job.createdAt)
+                    .startedAt(job.startedAt)
+                    .finishedAt(job.finishedAt)
+                    .errorMessage(job.errorMessage)
+                    .build();
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : ANONYMOUS_OWNER;
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> ADMIN_AUTHORITY.equals(authority.getAuthority()));
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}", path, e);
+        }
+    }
+
+    private static final class PendingRow {
+
+        private final int rowNumber;
+        private final CreateQuestionRequestDTO dto;
+
+        private PendingRow(int rowNumber, CreateQuestionRequestDTO dto) {
+            this.rowNumber = rowNumber;
+            this.dto = dto;
+        }
+    }
+
+    // Written by the import thread, read by status requests; guarded by this
+    private final class ImportJob {
+
+        private final String id;
+        private final String owner;
+        private final String fileName;
+        private final Path file;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+
+        private ImportJobStatus status = ImportJobStatus.QUEUED;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private long rowsRead;
+        private long importedCount;
+        private long failedCount;
+        private final List<QuestionImportErrorDTO> errors = new ArrayList<>();
+        private boolean errorsTruncated;
+        private String errorMessage;
+
+        private ImportJob(String id, String owner, String fileName, Path file) {
+            this.id = id;
+            this.owner = owner;
+            this.fileName = fileName;
+            this.file = file;
+        }
+
+        private synchronized void start() {
+            status = ImportJobStatus.RUNNING;
+            startedAt = LocalDateTime.now();
+        }
+
+        private synchronized void rowRead() {
+            rowsRead++;
+        }
+
+        private synchronized void imported(int count) {
+            importedCount += count;
+        }
+
+        // Only the first errors are kept, so a file of bad rows cannot fill the heap
+        private synchronized void reject(int rowNumber, Map<String, String> rowErrors) {
+            failedCount++;
+            for (Map.Entry<String, String> error : rowErrors.entrySet()) {
+                if (errors.size() >= maxErrors) {
+                    errorsTruncated = true;
+                    return;
+                }
+                errors.add(QuestionImportErrorDTO.builder()
+                        .rowNumber(rowNumber)
+                        .field(error.getKey())
+                        .message(error.getValue())
+                        .build());
+            }
+        }
+
+        private synchronized void finish(ImportJobStatus finalStatus, String error) {
+            status = finalStatus;
+            finishedAt = LocalDateTime.now();
+            errorMessage = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        }
+
+        private synchronized boolean isFinishedBefore(LocalDateTime cutoff) {
+            return status.isFinished() && finishedAt.isBefore(cutoff);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.request.CreateQuestionRequestDTO;
+import com.example.questionbank.dto.response.BulkIngestItemDTO;
+import com.example.questionbank.dto.response.BulkIngestReportDTO;
+import com.example.questionbank.dto.response.NearDuplicateDTO;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.model.enums.BulkIngestItemStatus;
+import com.example.questionbank.repository.ChapterRepository;
+import com.example.questionbank.service.NearDuplicateService;
+import com.example.questionbank.service.QuestionIngestService;
+import com.example.questionbank.service.QuestionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk creates as a two-stage pipeline. The request is cut into chunks of
+ * {@code questions.ingest.chunk-size}; each chunk is validated and mapped to entities on a
+ * CPU-sized worker pool, then handed to a small writer pool that saves it in its own
+ * transaction and JDBC batch. Later chunks are validated while earlier ones are being written,
+ * so validation scales with cores and the writers keep the database busy.
+ *
+ * Nothing is thrown for bad input: each question ends up CREATED, INVALID with its errors, or
+ * FAILED when its chunk could not be saved. Chunks already saved stay when a later one fails.
+ */
+@Service
+@Slf4j
+public class QuestionIngestServiceImplementation implements QuestionIngestService {
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private NearDuplicateService nearDuplicateService;
+
+    @Autowired
+    private ChapterRepository chapterRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${questions.ingest.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${questions.ingest.workers:0}")
+    private int configuredWorkers;
+
+    @Value("${questions.ingest.writers:2}")
+    private int writers;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    private ForkJoinPool workerPool;
+    private ThreadPoolExecutor writerPool;
+
+    @PostConstruct
+    public void init() {
+        int workers = configuredWorkers > 0 ? configuredWorkers : Runtime.getRuntime().availableProcessors();
+        // Each worker can hold a connection for near-duplicate lookups; half the pool stays free for requests
+        int maxWorkers = Math.max(1, connectionPoolSize / 2 - writers);
+        if (workers > maxWorkers) {
+            log.info("Capping ingest workers at {} for a connection pool of {} and {} writers",
+                    maxWorkers, connectionPoolSize, writers);
+            workers = maxWorkers;
+        }
+        workerPool = new ForkJoinPool(workers);
+        // Chunks of all running ingests queue here; the writer count caps the connections they hold
+        writerPool = new ThreadPoolExecutor(writers, writers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("question-ingest-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdownNow();
+        writerPool.shutdownNow();
+    }
+
+    @Override
+    public BulkIngestReportDTO ingest(List<CreateQuestionRequestDTO> dtos) {
+        long started = System.nanoTime();
+        log.info("Ingesting {} questions in chunks of {}", dtos.size(), chunkSize);
+
+        // Chapters are checked with one query up front, so the workers only touch the database for near-duplicates
+        Set<Long> chapterIds = dtos.stream()
+                .filter(Objects::nonNull)
+                .map(CreateQuestionRequestDTO::getChapterId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> chapters = chapterIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(chapterRepository.findExistingIdsByIdIn(chapterIds));
+
+        // Each slot is written by exactly one task; joining the tasks publishes them to this thread
+        BulkIngestItemDTO[] items = new BulkIngestItemDTO[dtos.size()];
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < dtos.size(); from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, dtos.size());
+            chunks.add(CompletableFuture
+                    .supplyAsync(() -> prepare(dtos, start, end, chapters, items), workerPool)
+                    .thenAcceptAsync(chunk -> persist(chunk, items), writerPool));
+        }
+        try {
+            CompletableFuture.allOf(chunks.toArray(CompletableFuture<?>[]::new)).join();
+        } catch (CompletionException e) {
+            throw new RuntimeException("Failed to ingest questions", e.getCause());
+        }
+
+        BulkIngestReportDTO report = toReport(Arrays.asList(items), started);
+        log.info("Ingested {} questions: {} created, {} invalid, {} failed in {} ms", report.getRequestedCount(),
+                report.getCreatedCount(), report.getInvalidCount(), report.getFailedCount(), report.getElapsedMillis());
+        return report;
+    }
+
+    // Stage one, on a worker: the rules of a single create, then the entity the writer will insert
+    private PreparedChunk prepare(List<CreateQuestionRequestDTO> dtos, int start, int end, Set<Long> chapters,
+                                 BulkIngestItemDTO[] items) {
+        PreparedChunk chunk = new PreparedChunk();
+        for (int i = start; i < end; i++) {
+            CreateQuestionRequestDTO dto = dtos.get(i);
+            try {
+                Map<String, String> errors = validate(dto, chapters);
+                if (!errors.isEmpty()) {
+                    items[i] = item(i, BulkIngestItemStatus.INVALID).errors(errors).build();
+                    continue;
+                }
+                chunk.add(i, questionService.toNewQuestion(dto),
+                        nearDuplicateService.findNearDuplicates(dto.getQuestionText(), null));
+            } catch (RuntimeException e) {
+                log.warn("Failed to prepare ingested question {}", i, e);
+                items[i] = item(i, BulkIngestItemStatus.FAILED).errors(Map.of("question", String.valueOf(e.getMessage())))
+                        .build();
+            }
+        }
+        return chunk;
+    }
+
+    // Bean constraints of the API request first, then the create rules; the first problem per field wins
+    private Map<String, String> validate(CreateQuestionRequestDTO dto, Set<Long> chapters) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (dto == null) {
+            errors.put("question", "Question is required");
+            return errors;
+        }
+        for (ConstraintViolation<CreateQuestionRequestDTO> violation : validator.validate(dto)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        boolean chapterExists = dto.getChapterId() != null && chapters.contains(dto.getChapterId());
+        questionService.getCreationErrors(dto, chapterExists).forEach(errors::putIfAbsent);
+        return errors;
+    }
+
+    // Stage two, on a writer: one transaction per chunk, retried once if it lost a lock to another writer
+    private void persist(PreparedChunk chunk, BulkIngestItemDTO[] items) {
+        if (chunk.questions.isEmpty()) {
+            return;
+        }
+        try {
+            List<Long> ids;
+            try {
+                ids = save(chunk.questions);
+            } catch (PessimisticLockingFailureException e) {
+                log.debug("Retrying ingest chunk at question {} after a lock conflict", chunk.indexes.get(0), e);
+                ids = save(chunk.questions);
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                int index = chunk.indexes.get(i);
+                items[index] = item(index, BulkIngestItemStatus.CREATED)
+                        .questionId(ids.get(i))
+                        .nearDuplicates(chunk.nearDuplicates.get(i))
+                        .build();
+            }
+        } catch (RuntimeException e) {
+            // The chunk is rolled back as a whole; its questions are reported and the other chunks go on
+            log.warn("Failed to save ingested questions {} to {}", chunk.indexes.get(0),
+                    chunk.indexes.get(chunk.indexes.size() - 1), e);
+            String message = "Not saved: " + e.getMessage();
+            for (int index : chunk.indexes) {
+                items[index] = item(index, BulkIngestItemStatus.FAILED).errors(Map.of("question", message)).build();
+            }
+        }
+    }
+
+    private List<Long> save(List<Question> questions) {
+        return transactionTemplate.execute(status -> questionService.saveNewQuestions(questions));
+    }
+
+    private static BulkIngestItemDTO.BulkIngestItemDTOBuilder item(int index, BulkIngestItemStatus status) {
+        return BulkIngestItemDTO.builder().index(index).status(status);
+    }
+
+    private static BulkIngestReportDTO toReport(List<BulkIngestItemDTO> items, long started) {
+        Map<BulkIngestItemStatus, Long> counts = items.stream()
+                .collect(Collectors.groupingBy(BulkIngestItemDTO::getStatus, Collectors.counting()));
+        return BulkIngestReportDTO.builder()
+                .requestedCount(items.size())
+                .createdCount(counts.getOrDefault(BulkIngestItemStatus.CREATED, 0L).intValue())
+                .invalidCount(counts.getOrDefault(BulkIngestItemStatus.INVALID, 0L).intValue())
+                .failedCount(counts.getOrDefault(BulkIngestItemStatus.FAILED, 0L).intValue())
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                .items(items)
+                .build();
+    }
+
+    // The valid questions of one chunk, with their positions in the request
+    private static final class PreparedChunk {
+
+        private final List<Integer> indexes = new ArrayList<>();
+        private final List<Question> questions = new ArrayList<>();
+        private final List<List<NearDuplicateDTO>> nearDuplicates = new ArrayList<>();
+
+        private void add(int index, Question question, List<NearDuplicateDTO> duplicates) {
+            indexes.add(index);
+            questions.add(question);
+            nearDuplicates.add(duplicates);
+        }
+    }
+}
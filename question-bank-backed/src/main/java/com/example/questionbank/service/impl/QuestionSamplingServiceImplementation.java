@@ -0,0 +1,174 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.event.QuestionChangedEvent;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.repository.ChapterRepository;
+import com.example.questionbank.repository.QuestionRepository;
+import com.example.questionbank.repository.projection.QuestionBucketProjection;
+import com.example.questionbank.sampling.ChapterIdBuckets;
+import com.example.questionbank.sampling.IdSampler;
+import com.example.questionbank.sampling.SamplingCriteria;
+import com.example.questionbank.service.QuestionSamplingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Random question picks without loading the candidates. Active question ids are cached per
+ * chapter as primitive arrays split by section and difficulty, built on first use; a pick
+ * draws ids from the matching arrays and loads only those questions.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class QuestionSamplingServiceImplementation implements QuestionSamplingService {
+
+    private static final int LOAD_BATCH_SIZE = 500;
+    // Redraws when a pick raced with a change and drew questions that no longer match
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ChapterRepository chapterRepository;
+
+    private final Map<Long, ChapterIdBuckets> chapters = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Question> sample(SamplingCriteria criteria, int count, long seed) {
+        if (count <= 0) {
+            return new ArrayList<>();
+        }
+
+        List<Long> chapterIds = resolveChapterIds(criteria);
+        for (int attempt = 1; ; attempt++) {
+            List<long[]> buckets = new ArrayList<>();
+            for (ChapterIdBuckets chapter : bucketsFor(chapterIds)) {
+                chapter.collect(criteria, buckets);
+            }
+
+            long[] ids = IdSampler.sample(buckets, count, seed);
+            List<Long> chosen = new ArrayList<>(ids.length);
+            for (long id : ids) {
+                chosen.add(id);
+            }
+            Map<Long, Question> loaded = questionRepository.findAllById(chosen).stream()
+                    .collect(Collectors.toMap(Question::getId, Function.identity()));
+
+            List<Question> questions = new ArrayList<>(ids.length);
+            Set<Long> stale = new HashSet<>();
+            for (Long id : chosen) {
+                Question question = loaded.get(id);
+                if (question != null && matches(question, criteria, chapterIds)) {
+                    questions.add(question);
+                } else {
+                    stale.add(id);
+                }
+            }
+
+            if (stale.isEmpty() || attempt == MAX_ATTEMPTS) {
+                return questions;
+            }
+            log.debug("Discarding {} stale sampling entries and drawing again", stale.size());
+            invalidateChapters(cachedChaptersContaining(stale, chapterIds));
+        }
+    }
+
+    @Override
+    public void invalidateChapters(Collection<Long> chapterIds) {
+        chapterIds.forEach(chapters::remove);
+    }
+
+    @Override
+    public void invalidateAll() {
+        chapters.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        if (event.getQuestionIds().isEmpty()) {
+            return;
+        }
+        // The chapters the questions are in now, plus any cached chapter they have left or been deleted from
+        invalidateChapters(questionRepository.findChapterIdsByIdIn(event.getQuestionIds()));
+        invalidateChapters(cachedChaptersContaining(new HashSet<>(event.getQuestionIds()), chapters.keySet()));
+    }
+
+    // Sorted, so the draw order over the chapters is the same for every call with the same seed
+    private List<Long> resolveChapterIds(SamplingCriteria criteria) {
+        List<Long> chapterIds;
+        if (criteria.getChapterId() != null) {
+            chapterIds = new ArrayList<>(List.of(criteria.getChapterId()));
+        } else if (criteria.getSubjectId() != null) {
+            chapterIds = new ArrayList<>(chapterRepository.findIdsBySubjectId(criteria.getSubjectId()));
+        } else {
+            chapterIds = new ArrayList<>(chapterRepository.findAllIds());
+        }
+        Collections.sort(chapterIds);
+        return chapterIds;
+    }
+
+    private List<ChapterIdBuckets> bucketsFor(List<Long> chapterIds) {
+        List<Long> missing = chapterIds.stream()
+                .filter(id -> !chapters.containsKey(id))
+                .collect(Collectors.toList());
+        for (int from = 0; from < missing.size(); from += LOAD_BATCH_SIZE) {
+            load(missing.subList(from, Math.min(from + LOAD_BATCH_SIZE, missing.size())));
+        }
+
+        List<ChapterIdBuckets> result = new ArrayList<>(chapterIds.size());
+        for (Long chapterId : chapterIds) {
+            ChapterIdBuckets buckets = chapters.get(chapterId);
+            // Invalidated by a concurrent change since loading; the next pick reloads it
+            if (buckets != null) {
+                result.add(buckets);
+            }
+        }
+        return result;
+    }
+
+    private void load(List<Long> chapterIds) {
+        Map<Long, ChapterIdBuckets.Builder> builders = new HashMap<>();
+        chapterIds.forEach(id -> builders.put(id, ChapterIdBuckets.builder()));
+
+        for (QuestionBucketProjection row : questionRepository.findActiveBucketRowsByChapterIdIn(chapterIds)) {
+            builders.get(row.getChapterId()).add(row.getId(), row.getSectionType(), row.getDifficultyLevel());
+        }
+        builders.forEach((chapterId, builder) -> chapters.put(chapterId, builder.build()));
+    }
+
+    private static boolean matches(Question question, SamplingCriteria criteria, List<Long> chapterIds) {
+        return Boolean.TRUE.equals(question.getIsActive())
+                && question.getChapter() != null
+                && Collections.binarySearch(chapterIds, question.getChapter().getId()) >= 0
+                && criteria.accepts(question.getSectionType(), question.getDifficultyLevel());
+    }
+
+    private Set<Long> cachedChaptersContaining(Set<Long> questionIds, Collection<Long> chapterIds) {
+        Set<Long> result = new HashSet<>();
+        for (Long chapterId : chapterIds) {
+            ChapterIdBuckets buckets = chapters.get(chapterId);
+            if (buckets != null && questionIds.stream().anyMatch(buckets::contains)) {
+                result.add(chapterId);
+            }
+        }
+        return result;
+    }
+}
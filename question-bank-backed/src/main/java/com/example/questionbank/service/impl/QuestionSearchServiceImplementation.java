@@ -0,0 +1,197 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.response.SearchIndexStatsDTO;
+import com.example.questionbank.event.QuestionChangedEvent;
+import com.example.questionbank.exception.RecordNotFoundException;
+import com.example.questionbank.model.MCQOption;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.repository.QuestionRepository;
+import com.example.questionbank.search.InvertedIndex;
+import com.example.questionbank.search.QuestionDocument;
+import com.example.questionbank.search.SearchHit;
+import com.example.questionbank.search.SearchResult;
+import com.example.questionbank.search.SimilarityFilter;
+import com.example.questionbank.search.TextAnalyzer;
+import com.example.questionbank.service.QuestionSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class QuestionSearchServiceImplementation implements QuestionSearchService {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private TextAnalyzer textAnalyzer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Reads the latest committed questions even when called from the rebuild's own transaction
+    private TransactionTemplate freshReads;
+
+    // Replaced wholesale by a rebuild so searches keep using the old index while the new one loads
+    private volatile InvertedIndex index;
+    private volatile LocalDateTime lastRebuiltAt;
+    private volatile long lastRebuildMillis;
+    // Questions changed while a rebuild runs; they went to the old index and are replayed into the new one
+    private volatile Set<Long> changedDuringRebuild;
+
+    @PostConstruct
+    public void init() {
+        freshReads = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        freshReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        freshReads.setReadOnly(true);
+    }
+
+    @Override
+    public SearchResult search(String query, boolean activeOnly, boolean prefixLastTerm, int limit) {
+        InvertedIndex current = index;
+        if (current == null || query == null || query.isBlank()) {
+            return SearchResult.EMPTY;
+        }
+        return current.search(query, activeOnly, prefixLastTerm, limit);
+    }
+
+    @Override
+    public List<SearchHit> findSimilar(Long questionId, SimilarityFilter filter, int limit) {
+        Question question = questionRepository.findAllWithOptionsByIdIn(List.of(questionId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new RecordNotFoundException("Question", "id", questionId));
+
+        InvertedIndex current = index;
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        return current.similar(textsOf(question), questionId, filter, limit);
+    }
+
+    @Override
+    public void reindexQuestions(Collection<Long> questionIds) {
+        // Recorded before the index is read: a change that still sees the old index is always replayed
+        Set<Long> pending = changedDuringRebuild;
+        if (pending != null) {
+            pending.addAll(questionIds);
+        }
+        InvertedIndex current = index;
+        if (current == null || questionIds.isEmpty()) {
+            return;
+        }
+        reindexInto(current, questionIds);
+    }
+
+    private void reindexInto(InvertedIndex current, Collection<Long> questionIds) {
+        Set<Long> missing = new HashSet<>(questionIds);
+        for (Question question : questionRepository.findAllWithOptionsByIdIn(questionIds)) {
+            addToIndex(current, question);
+            missing.remove(question.getId());
+        }
+        missing.forEach(current::remove);
+    }
+
+    @Override
+    public synchronized SearchIndexStatsDTO rebuildIndex() {
+        long start = System.currentTimeMillis();
+        InvertedIndex rebuilt = new InvertedIndex(textAnalyzer);
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+        try {
+            List<Long> ids = questionRepository.findAllIds();
+            for (int from = 0; from < ids.size(); from += REBUILD_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(from + REBUILD_BATCH_SIZE, ids.size()));
+                questionRepository.findAllWithOptionsByIdIn(batch).forEach(question -> addToIndex(rebuilt, question));
+                entityManager.clear();
+            }
+        } catch (RuntimeException e) {
+            // The old index stays in use and has every change already
+            changedDuringRebuild = null;
+            throw e;
+        }
+
+        index = rebuilt;
+        Set<Long> changed = changedDuringRebuild;
+        changedDuringRebuild = null;
+        if (!changed.isEmpty()) {
+            freshReads.executeWithoutResult(status -> reindexInto(rebuilt, changed));
+            log.debug("Replayed {} questions changed during the search index rebuild", changed.size());
+        }
+        lastRebuiltAt = LocalDateTime.now();
+        lastRebuildMillis = System.currentTimeMillis() - start;
+        log.info("Question search index rebuilt: {} questions, {} terms in {} ms",
+                rebuilt.size(), rebuilt.termCount(), lastRebuildMillis);
+        return getIndexStats();
+    }
+
+    @Override
+    public SearchIndexStatsDTO getIndexStats() {
+        InvertedIndex current = index;
+        return SearchIndexStatsDTO.builder()
+                .documentCount(current != null ? current.size() : 0)
+                .termCount(current != null ? current.termCount() : 0)
+                .lastRebuiltAt(lastRebuiltAt)
+                .lastRebuildMillis(lastRebuildMillis)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildIndex();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        reindexQuestions(event.getQuestionIds());
+    }
+
+    private void addToIndex(InvertedIndex target, Question question) {
+        target.index(new QuestionDocument(
+                question.getId(),
+                Boolean.TRUE.equals(question.getIsActive()),
+                question.getChapter() != null ? question.getChapter().getId() : null,
+                question.getDifficultyLevel(),
+                textsOf(question)));
+    }
+
+    private static List<String> textsOf(Question question) {
+        List<String> texts = new ArrayList<>();
+        texts.add(question.getQuestionText());
+        if (question.getExplanation() != null) {
+            texts.add(question.getExplanation());
+        }
+        for (MCQOption option : question.getMcqOptions()) {
+            if (Boolean.TRUE.equals(option.getIsActive())) {
+                texts.add(option.getOptionText());
+            }
+        }
+        return texts;
+    }
+}
@@ -2,32 +2,64 @@ package com.example.questionbank.service.impl;
 
 import com.example.questionbank.dto.request.CreateQuestionRequestDTO;
 import com.example.questionbank.dto.request.UpdateQuestionRequestDTO;
+import com.example.questionbank.dto.response.CursorPageDTO;
+import com.example.questionbank.dto.response.NearDuplicateDTO;
 import com.example.questionbank.dto.response.QuestionResponseDTO;
+import com.example.questionbank.event.QuestionChangedEvent;
 import com.example.questionbank.exception.RecordNotFoundException;
 import com.example.questionbank.exception.ValidationException;
+import com.example.questionbank.importer.QuestionRowParser;
+import com.example.questionbank.importer.QuestionTemplate;
 import com.example.questionbank.mapper.MCQOptionMapper;
 import com.example.questionbank.mapper.QuestionMapper;
 import com.example.questionbank.model.Chapter;
 import com.example.questionbank.model.MCQOption;
 import com.example.questionbank.model.Question;
+import com.example.questionbank.model.QuestionCounterKey;
 import com.example.questionbank.model.enums.SectionType;
 import com.example.questionbank.model.enums.QuestionType;
 import com.example.questionbank.model.enums.DifficultyLevel;
 import com.example.questionbank.repository.ChapterRepository;
 import com.example.questionbank.repository.QuestionRepository;
+import com.example.questionbank.repository.pagination.CursorPageRequest;
+import com.example.questionbank.repository.pagination.KeysetOrder;
+import com.example.questionbank.repository.pagination.QuestionCursor;
+import com.example.questionbank.repository.projection.QuestionMarksProjection;
+import com.example.questionbank.repository.projection.QuestionStateProjection;
+import com.example.questionbank.repository.projection.QuestionStatsProjection;
 import com.example.questionbank.repository.specification.QuestionSpecification;
+import com.example.questionbank.search.SearchHit;
+import com.example.questionbank.search.SearchResult;
+import com.example.questionbank.sampling.SamplingCriteria;
+import com.example.questionbank.search.SimilarityFilter;
+import com.example.questionbank.service.PaperDraftService;
+import com.example.questionbank.service.QuestionCounterService;
+import com.example.questionbank.service.QuestionSamplingService;
+import com.example.questionbank.service.QuestionSearchService;
 import com.example.questionbank.service.QuestionService;
 import com.example.questionbank.service.MCQOptionService;
+import com.example.questionbank.service.NearDuplicateService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,6 +67,13 @@ import java.util.stream.Collectors;
 @Slf4j
 public class QuestionServiceImplementation implements QuestionService {
 
+    // Questions per JDBC batch and per reload of the created rows in createQuestions, and per bulk UPDATE
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    // Best-ranked search hits kept where text search feeds an unpaged list or an id filter for SQL,
+    // so a common term never loads, or sends an IN list of, a large share of the bank
+    private static final int MAX_TEXT_SEARCH_HITS = 1000;
+
     @Autowired
     private QuestionRepository questionRepository;
 
@@ -50,32 +89,47 @@ public class QuestionServiceImplementation implements QuestionService {
     @Autowired
     private MCQOptionService mcqOptionService;
 
+    @Autowired
+    private QuestionCounterService questionCounterService;
+
+    @Autowired
+    private QuestionSearchService questionSearchService;
+
+    @Autowired
+    private NearDuplicateService nearDuplicateService;
+
+    @Autowired
+    private QuestionSamplingService questionSamplingService;
+
+    @Autowired
+    private PaperDraftService paperDraftService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public QuestionResponseDTO createQuestion(CreateQuestionRequestDTO dto) {
         log.info("Creating question: {}", dto.getQuestionText().substring(0, Math.min(50, dto.getQuestionText().length())));
 
-        validateQuestionBeforeCreate(dto);
+        List<NearDuplicateDTO> nearDuplicates = validateQuestionBeforeCreate(dto);
 
         // Validate chapter exists
         Chapter chapter = chapterRepository.findById(dto.getChapterId())
                 .orElseThrow(() -> new RecordNotFoundException("Chapter", "id", dto.getChapterId()));
 
         try {
-            Question question = questionMapper.toEntity(dto);
-            question.setChapter(chapter);
-
-            if (dto.getMcqOptions() != null && !dto.getMcqOptions().isEmpty()) {
-                dto.getMcqOptions().forEach(optDto -> {
-                    MCQOption option = mcqOptionMapper.toEntity(optDto);
-                    option.setQuestion(question);              // ✅
-                    question.getMcqOptions().add(option);      // ✅
-                });
-            }
-
+            Question question = toNewEntity(dto, chapter);
             Question savedQuestion = questionRepository.save(question);
+            questionCounterService.onQuestionCreated(savedQuestion);
+            eventPublisher.publishEvent(QuestionChangedEvent.of(savedQuestion.getId()));
 
             log.info("Successfully created question with ID: {}", savedQuestion.getId());
-            return getQuestionByIdWithOptions(savedQuestion.getId());
+            QuestionResponseDTO response = getQuestionByIdWithOptions(savedQuestion.getId());
+            response.setNearDuplicates(nearDuplicates);
+            return response;
 
         } catch (Exception e) {
             log.error("Failed to create question", e);
@@ -89,6 +143,7 @@ public class QuestionServiceImplementation implements QuestionService {
 
         Question existingQuestion = questionRepository.findById(id)
                 .orElseThrow(() -> new RecordNotFoundException("Question", "id", id));
+        QuestionCounterKey counterKey = QuestionCounterKey.of(existingQuestion);
 
         validateQuestionBeforeUpdate(id, dto);
 
@@ -101,15 +156,29 @@ public class QuestionServiceImplementation implements QuestionService {
 
         try {
             questionMapper.updateEntityFromDTO(dto, existingQuestion);
+            existingQuestion.setTextSignature(nearDuplicateService.computeSignature(existingQuestion.getQuestionText()));
             Question updatedQuestion = questionRepository.save(existingQuestion);
+            questionCounterService.onQuestionChanged(counterKey, updatedQuestion);
+            eventPublisher.publishEvent(QuestionChangedEvent.of(updatedQuestion.getId()));
 
             // Update MCQ options if provided
             if (dto.getMcqOptions() != null) {
                 mcqOptionService.updateOptionsForQuestion(updatedQuestion.getId(), dto.getMcqOptions());
             }
 
+            // Paper membership lives in the caller's draft, which only follows the update once it has committed
+            if (Boolean.TRUE.equals(dto.getIsAddedToPaper())) {
+                afterCommit(() -> paperDraftService.addQuestions(List.of(id)));
+            } else if (Boolean.FALSE.equals(dto.getIsAddedToPaper())) {
+                afterCommit(() -> paperDraftService.removeQuestions(List.of(id)));
+            }
+
             log.info("Successfully updated question with ID: {}", id);
-            return getQuestionByIdWithOptions(updatedQuestion.getId());
+            QuestionResponseDTO response = getQuestionByIdWithOptions(updatedQuestion.getId());
+            if (dto.getIsAddedToPaper() != null) {
+                response.setIsAddedToPaper(dto.getIsAddedToPaper());
+            }
+            return response;
 
         } catch (Exception e) {
             log.error("Failed to update question with ID: {}", id, e);
@@ -117,6 +186,20 @@ public class QuestionServiceImplementation implements QuestionService {
         }
     }
 
+    // Runs the action once the surrounding transaction commits, or right away when there is none
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     @Override
     public void deleteQuestion(Long id) {
         log.info("Deleting question with ID: {}", id);
@@ -124,10 +207,14 @@ public class QuestionServiceImplementation implements QuestionService {
         Question question = questionRepository.findById(id)
                 .orElseThrow(() -> new RecordNotFoundException("Question", "id", id));
 
+        QuestionCounterKey counterKey = QuestionCounterKey.of(question);
+
         try {
             // Soft delete
             question.setIsActive(false);
             questionRepository.save(question);
+            questionCounterService.onQuestionChanged(counterKey, question);
+            eventPublisher.publishEvent(QuestionChangedEvent.of(question.getId()));
 
             // Deactivate associated MCQ options
             mcqOptionService.deactivateAllOptionsForQuestion(id);
@@ -148,7 +235,9 @@ public class QuestionServiceImplementation implements QuestionService {
         Question question = questionRepository.findById(id)
                 .orElseThrow(() -> new RecordNotFoundException("Question", "id", id));
 
-        return questionMapper.toResponseDTOWithoutOptions(question);
+        QuestionResponseDTO responseDTO = questionMapper.toResponseDTOWithoutOptions(question);
+        responseDTO.setIsAddedToPaper(paperDraftService.contains(id));
+        return responseDTO;
     }
 
     @Override
@@ -156,39 +245,131 @@ public class QuestionServiceImplementation implements QuestionService {
     public QuestionResponseDTO getQuestionByIdWithOptions(Long id) {
         log.debug("Fetching question with ID and options: {}", id);
 
-        Question question = questionRepository.findById(id)
+        // Options and hierarchy come back in the same select (Question.GRAPH_DETAIL)
+        Question question = questionRepository.findWithDetailById(id)
                 .orElseThrow(() -> new RecordNotFoundException("Question", "id", id));
 
+        return toResponseWithOptions(question);
+    }
+
+    // In the order of the ids, with one select for all of them
+    private List<QuestionResponseDTO> getQuestionsWithOptions(List<Long> ids) {
+        Map<Long, Question> loaded = questionRepository.findWithDetailByIdIn(ids).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+        return ids.stream()
+                .map(id -> toResponseWithOptions(loaded.get(id)))
+                .collect(Collectors.toList());
+    }
+
+    private QuestionResponseDTO toResponseWithOptions(Question question) {
         QuestionResponseDTO responseDTO = questionMapper.toResponseDTO(question);
+        responseDTO.setIsAddedToPaper(paperDraftService.contains(question.getId()));
 
-        // Load MCQ options separately for better performance
         if (question.isMCQType()) {
-            responseDTO.setMcqOptions(mcqOptionService.getActiveOptionsByQuestionId(id));
+            List<MCQOption> activeOptions = question.getMcqOptions().stream()
+                    .filter(option -> Boolean.TRUE.equals(option.getIsActive()))
+                    .sorted(Comparator.comparing(MCQOption::getOptionOrder,
+                            Comparator.nullsLast(Comparator.naturalOrder())))
+                    .collect(Collectors.toList());
+            responseDTO.setMcqOptions(mcqOptionMapper.toResponseDTOList(activeOptions));
         }
 
         return responseDTO;
     }
 
+    private Question toNewEntity(CreateQuestionRequestDTO dto, Chapter chapter) {
+        Question question = toNewQuestion(dto);
+        question.setChapter(chapter);
+        return question;
+    }
+
+    // The chapter is left as the mapper's id-only stub. No transaction of its own, so parallel callers
+    // do not each hold a connection.
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Question toNewQuestion(CreateQuestionRequestDTO dto) {
+        Question question = questionMapper.toEntity(dto);
+        question.setTextSignature(nearDuplicateService.computeSignature(question.getQuestionText()));
+
+        if (dto.getMcqOptions() != null && !dto.getMcqOptions().isEmpty()) {
+            dto.getMcqOptions().forEach(optDto -> {
+                MCQOption option = mcqOptionMapper.toEntity(optDto);
+                option.setQuestion(question);
+                question.getMcqOptions().add(option);
+            });
+        }
+        return question;
+    }
+
     @Override
     public List<QuestionResponseDTO> createQuestions(List<CreateQuestionRequestDTO> dtos) {
         log.info("Creating {} questions", dtos.size());
 
-        List<QuestionResponseDTO> createdQuestions = new ArrayList<>();
+        // Chapters are looked up once per call rather than once per question
+        Map<Long, Boolean> chapters = new HashMap<>();
+        List<List<NearDuplicateDTO>> nearDuplicates = new ArrayList<>(dtos.size());
+        for (CreateQuestionRequestDTO dto : dtos) {
+            boolean chapterExists = dto.getChapterId() != null
+                    && chapters.computeIfAbsent(dto.getChapterId(), chapterRepository::existsById);
+            nearDuplicates.add(validateForCreate(dto, chapterExists));
+        }
 
         try {
-            for (CreateQuestionRequestDTO dto : dtos) {
-                createdQuestions.add(createQuestion(dto));
+            List<QuestionResponseDTO> createdQuestions = new ArrayList<>(dtos.size());
+            for (int from = 0; from < dtos.size(); from += BULK_CHUNK_SIZE) {
+                List<Long> ids = saveValidatedQuestions(dtos.subList(from, Math.min(from + BULK_CHUNK_SIZE, dtos.size())));
+                createdQuestions.addAll(getQuestionsWithOptions(ids));
+            }
+            for (int i = 0; i < createdQuestions.size(); i++) {
+                createdQuestions.get(i).setNearDuplicates(nearDuplicates.get(i));
             }
 
             log.info("Successfully created {} questions", createdQuestions.size());
             return createdQuestions;
 
+        } catch (ValidationException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to create questions", e);
             throw new RuntimeException("Failed to create questions", e);
         }
     }
 
+    @Override
+    public List<Long> saveValidatedQuestions(List<CreateQuestionRequestDTO> dtos) {
+        return saveNewQuestions(dtos.stream().map(this::toNewQuestion).collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<Long> saveNewQuestions(List<Question> questions) {
+        // The JDBC batch bypasses Hibernate, so the entity constraints it checked on persist are checked here
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (int i = 0; i < questions.size(); i++) {
+            String prefix = "questions[" + i + "].";
+            Question question = questions.get(i);
+            for (ConstraintViolation<Question> violation : validator.validate(question)) {
+                errors.putIfAbsent(prefix + violation.getPropertyPath(), violation.getMessage());
+            }
+            for (MCQOption option : question.getMcqOptions()) {
+                for (ConstraintViolation<MCQOption> violation : validator.validate(option)) {
+                    errors.putIfAbsent(prefix + "mcqOptions." + violation.getPropertyPath(), violation.getMessage());
+                }
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new ValidationException("Question validation failed", errors);
+        }
+
+        questions.forEach(question ->
+                question.setChapter(chapterRepository.getReferenceById(question.getChapter().getId())));
+        questionRepository.insertAllInBatch(questions);
+        questionCounterService.onQuestionsCreated(questions);
+
+        List<Long> ids = questions.stream().map(Question::getId).collect(Collectors.toList());
+        eventPublisher.publishEvent(new QuestionChangedEvent(ids));
+        return ids;
+    }
+
     @Override
     public List<QuestionResponseDTO> updateQuestions(List<UpdateQuestionRequestDTO> dtos) {
         log.info("Updating {} questions", dtos.size());
@@ -212,15 +393,15 @@ public class QuestionServiceImplementation implements QuestionService {
     }
 
     @Override
-    public void deleteQuestionsByIds(List<Long> ids) {
+    public int deleteQuestionsByIds(List<Long> ids) {
         log.info("Deleting {} questions", ids.size());
 
         try {
-            for (Long id : ids) {
-                deleteQuestion(id);
-            }
+            // Soft delete, with the options of the deleted questions deactivated alongside
+            int deleted = updateActive(ids, false, true);
 
-            log.info("Successfully deleted {} questions", ids.size());
+            log.info("Successfully deleted {} questions", deleted);
+            return deleted;
 
         } catch (Exception e) {
             log.error("Failed to delete questions", e);
@@ -234,7 +415,7 @@ public class QuestionServiceImplementation implements QuestionService {
         log.debug("Fetching all questions");
 
         List<Question> questions = questionRepository.findAll();
-        return questionMapper.toResponseDTOListWithoutOptions(questions);
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(questions));
     }
 
 //    @Override
@@ -253,7 +434,7 @@ public class QuestionServiceImplementation implements QuestionService {
 
         // Use the new method that fetches complete hierarchy
         List<Question> questions = questionRepository.findByIsActiveTrueWithCompleteHierarchy();
-        return questionMapper.toResponseDTOListWithoutOptions(questions);
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(questions));
     }
 
     @Override
@@ -262,7 +443,7 @@ public class QuestionServiceImplementation implements QuestionService {
         log.debug("Fetching questions with pagination");
 
         Page<Question> questions = questionRepository.findAll(pageable);
-        return questions.map(questionMapper::toResponseDTOWithoutOptions);
+        return withDraftMembership(questions.map(questionMapper::toResponseDTOWithoutOptions));
     }
 
     @Override
@@ -271,7 +452,7 @@ public class QuestionServiceImplementation implements QuestionService {
         log.debug("Fetching active questions with pagination");
 
         Page<Question> questions = questionRepository.findByIsActiveTrue(pageable);
-        return questions.map(questionMapper::toResponseDTOWithoutOptions);
+        return withDraftMembership(questions.map(questionMapper::toResponseDTOWithoutOptions));
     }
 
     @Override
@@ -279,8 +460,7 @@ public class QuestionServiceImplementation implements QuestionService {
     public Page<QuestionResponseDTO> searchQuestions(String questionText, Pageable pageable) {
         log.debug("Searching questions with text: {}", questionText);
 
-        Page<Question> questions = questionRepository.findByQuestionTextContainingIgnoreCase(questionText, pageable);
-        return questions.map(questionMapper::toResponseDTOWithoutOptions);
+        return searchPage(questionText, false, pageable);
     }
 
     @Override
@@ -288,8 +468,7 @@ public class QuestionServiceImplementation implements QuestionService {
     public Page<QuestionResponseDTO> searchActiveQuestions(String searchText, Pageable pageable) {
         log.debug("Searching active questions with text: {}", searchText);
 
-        Page<Question> questions = questionRepository.searchActiveQuestions(searchText, pageable);
-        return questions.map(questionMapper::toResponseDTOWithoutOptions);
+        return searchPage(searchText, true, pageable);
     }
 
     @Override
@@ -297,14 +476,35 @@ public class QuestionServiceImplementation implements QuestionService {
     public List<QuestionResponseDTO> searchQuestionsByKeywords(List<String> keywords) {
         log.debug("Searching questions by keywords: {}", keywords);
 
-        Specification<Question> spec = QuestionSpecification.isActive();
+        SearchResult result = questionSearchService.search(String.join(" ", keywords), true, false, MAX_TEXT_SEARCH_HITS);
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(findInHitOrder(result.getHits())));
+    }
 
-        for (String keyword : keywords) {
-            spec = spec.and(QuestionSpecification.searchByText(keyword));
-        }
+    // Relevance order from the search index replaces any sort requested through the Pageable
+    private Page<QuestionResponseDTO> searchPage(String text, boolean activeOnly, Pageable pageable) {
+        int limit = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        SearchResult result = questionSearchService.search(text, activeOnly, true, limit);
 
-        List<Question> questions = questionRepository.findAll(spec);
-        return questionMapper.toResponseDTOListWithoutOptions(questions);
+        List<SearchHit> hits = result.getHits();
+        List<SearchHit> pageHits = pageable.getOffset() < hits.size()
+                ? hits.subList((int) pageable.getOffset(), hits.size())
+                : Collections.emptyList();
+
+        List<QuestionResponseDTO> content = withDraftMembership(
+                questionMapper.toResponseDTOListWithoutOptions(findInHitOrder(pageHits)));
+        return new PageImpl<>(content, pageable, result.getTotalHits());
+    }
+
+    private List<Question> findInHitOrder(List<SearchHit> hits) {
+        List<Long> ids = hits.stream().map(SearchHit::getQuestionId).collect(Collectors.toList());
+        Map<Long, Question> byId = questionRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+
+        // A question committed away since the index answered is simply skipped
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -323,19 +523,11 @@ public class QuestionServiceImplementation implements QuestionService {
 
         log.debug("Filtering questions with multiple criteria");
 
-        Specification<Question> spec = Specification
-                .where(QuestionSpecification.isActive())
-                .and(QuestionSpecification.filterBySectionType(sectionType))
-                .and(QuestionSpecification.filterByQuestionType(questionType))
-                .and(QuestionSpecification.filterByDifficulty(difficultyLevel))
-                .and(QuestionSpecification.filterByChapter(chapterId))
-                .and(QuestionSpecification.filterBySubject(subjectId))
-                .and(QuestionSpecification.filterByClass(classId))
-                .and(QuestionSpecification.filterByPaperStatus(isAddedToPaper))
-                .and(QuestionSpecification.filterByMarksRange(minMarks, maxMarks));
+        Specification<Question> spec = buildFilterSpecification(sectionType, questionType, difficultyLevel,
+                chapterId, subjectId, classId, isAddedToPaper, minMarks, maxMarks);
 
         Page<Question> questions = questionRepository.findAll(spec, pageable);
-        return questions.map(questionMapper::toResponseDTOWithoutOptions);
+        return withDraftMembership(questions.map(questionMapper::toResponseDTOWithoutOptions));
     }
 
     @Override
@@ -360,7 +552,7 @@ public class QuestionServiceImplementation implements QuestionService {
         log.debug("Fetching questions for chapter ID: {}", chapterId);
 
         List<Question> questions = questionRepository.findByChapterIdAndIsActiveTrue(chapterId);
-        return questionMapper.toResponseDTOListWithoutOptions(questions);
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(questions));
     }
 
     @Override
@@ -375,13 +567,13 @@ public class QuestionServiceImplementation implements QuestionService {
         log.debug("Fetching questions for chapter ID: {} with pagination", chapterId);
 
         Page<Question> questions = questionRepository.findByChapterIdAndIsActiveTrue(chapterId, pageable);
-        return questions.map(questionMapper::toResponseDTOWithoutOptions);
+        return withDraftMembership(questions.map(questionMapper::toResponseDTOWithoutOptions));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Long countQuestionsByChapter(Long chapterId) {
-        return questionRepository.countActiveQuestionsByChapter(chapterId);
+        return questionCounterService.countActiveByChapter(chapterId);
     }
 
     @Override
@@ -390,7 +582,7 @@ public class QuestionServiceImplementation implements QuestionService {
         log.debug("Fetching questions for subject ID: {}", subjectId);
 
         List<Question> questions = questionRepository.findByChapterSubjectId(subjectId);
-        return questionMapper.toResponseDTOListWithoutOptions(questions);
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(questions));
     }
 
     @Override
@@ -398,9 +590,9 @@ public class QuestionServiceImplementation implements QuestionService {
     public List<QuestionResponseDTO> getActiveQuestionsBySubject(Long subjectId) {
         log.debug("Fetching active questions for subject ID: {}", subjectId);
 
-        List<Question> questions = questionRepository.findActiveQuestionsBySubjectAndPaperStatus(subjectId, null);
+        List<Question> questions = questionRepository.findActiveQuestionsBySubject(subjectId);
 
-        return questionMapper.toResponseDTOListWithoutOptions(questions);
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(questions));
     }
 
     @Override
@@ -408,8 +600,9 @@ public class QuestionServiceImplementation implements QuestionService {
     public List<QuestionResponseDTO> getQuestionsBySubjectAndAddedToPaper(Long subjectId) {
         log.debug("Fetching questions added to paper for subject ID: {}", subjectId);
 
-        List<Question> questions = questionRepository.findByChapterSubjectIdAndIsAddedToPaper(subjectId, true);
-        return questionMapper.toResponseDTOListWithoutOptions(questions);
+        Specification<Question> spec = QuestionSpecification.filterBySubject(subjectId)
+                .and(QuestionSpecification.hasIdIn(paperDraftService.getQuestionIdSet()));
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(questionRepository.findAll(spec)));
     }
 
     @Override
@@ -417,8 +610,10 @@ public class QuestionServiceImplementation implements QuestionService {
     public List<QuestionResponseDTO> getQuestionsBySubjectAndNotAddedToPaper(Long subjectId) {
         log.debug("Fetching questions not added to paper for subject ID: {}", subjectId);
 
-        List<Question> questions = questionRepository.findActiveQuestionsBySubjectAndPaperStatus(subjectId, false);
-        return questionMapper.toResponseDTOListWithoutOptions(questions);
+        Specification<Question> spec = QuestionSpecification.isActive()
+                .and(QuestionSpecification.filterBySubject(subjectId))
+                .and(QuestionSpecification.filterByDraftMembership(false, paperDraftService.getQuestionIdSet()));
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(questionRepository.findAll(spec)));
     }
 
     @Override
@@ -426,23 +621,16 @@ public class QuestionServiceImplementation implements QuestionService {
     public Map<SectionType, List<QuestionResponseDTO>> getQuestionsBySubjectGroupedBySection(Long subjectId) {
         log.debug("Fetching questions grouped by section for subject ID: {}", subjectId);
 
-        List<Question> questions = questionRepository.findActiveQuestionsBySubjectAndPaperStatus(subjectId, null);
+        List<Question> questions = questionRepository.findActiveQuestionsBySubject(subjectId);
 
-        return questions.stream()
-                .collect(Collectors.groupingBy(
-                        Question::getSectionType,
-                        Collectors.mapping(
-                                questionMapper::toResponseDTOWithoutOptions,
-                                Collectors.toList()
-                        )
-                ));
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(questions)).stream()
+                .collect(Collectors.groupingBy(QuestionResponseDTO::getSectionType));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Long countQuestionsBySubject(Long subjectId) {
-        List<Question> questions = questionRepository.findActiveQuestionsBySubjectAndPaperStatus(subjectId, null);
-        return (long) questions.size();
+        return questionCounterService.countActiveBySubject(subjectId);
     }
 
     @Override
@@ -451,7 +639,7 @@ public class QuestionServiceImplementation implements QuestionService {
         log.debug("Fetching questions for class ID: {}", classId);
 
         List<Question> questions = questionRepository.findActiveQuestionsByClass(classId);
-        return questionMapper.toResponseDTOListWithoutOptions(questions);
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(questions));
     }
 
     @Override
@@ -463,8 +651,7 @@ public class QuestionServiceImplementation implements QuestionService {
     @Override
     @Transactional(readOnly = true)
     public Long countQuestionsByClass(Long classId) {
-        List<Question> questions = questionRepository.findActiveQuestionsByClass(classId);
-        return (long) questions.size();
+        return questionCounterService.countActiveByClass(classId);
     }
 
     @Override
@@ -473,7 +660,7 @@ public class QuestionServiceImplementation implements QuestionService {
         log.debug("Fetching questions by section type: {}", sectionType);
 
         List<Question> questions = questionRepository.findBySectionTypeAndIsActiveTrue(sectionType);
-        return questionMapper.toResponseDTOListWithoutOptions(questions);
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(questions));
     }
 
     @Override
@@ -500,7 +687,7 @@ public class QuestionServiceImplementation implements QuestionService {
         log.debug("Fetching questions by section type: {} with pagination", sectionType);
 
         Page<Question> questions = questionRepository.findBySectionTypeAndIsActiveTrue(sectionType, pageable);
-        return questions.map(questionMapper::toResponseDTOWithoutOptions);
+        return withDraftMembership(questions.map(questionMapper::toResponseDTOWithoutOptions));
     }
 
     @Override
@@ -509,7 +696,7 @@ public class QuestionServiceImplementation implements QuestionService {
         log.debug("Fetching questions by difficulty: {}", difficultyLevel);
 
         List<Question> questions = questionRepository.findByDifficultyLevelAndIsActiveTrue(difficultyLevel);
-        return questionMapper.toResponseDTOListWithoutOptions(questions);
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(questions));
     }
 
     @Override
@@ -533,7 +720,7 @@ public class QuestionServiceImplementation implements QuestionService {
         }
 
         List<Question> questions = questionRepository.findAll(spec);
-        return questionMapper.toResponseDTOListWithoutOptions(questions);
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(questions));
     }
 
     @Override
@@ -541,13 +728,8 @@ public class QuestionServiceImplementation implements QuestionService {
     public Map<DifficultyLevel, Long> getQuestionCountByDifficulty(Long subjectId) {
         log.debug("Getting question count by difficulty for subject ID: {}", subjectId);
 
-        List<Question> questions = questionRepository.findActiveQuestionsBySubjectAndPaperStatus(subjectId, null);
-
-        return questions.stream()
-                .collect(Collectors.groupingBy(
-                        Question::getDifficultyLevel,
-                        Collectors.counting()
-                ));
+        List<QuestionStatsProjection> rows = questionRepository.aggregateActiveQuestionStatsBySubject(subjectId);
+        return countGroupedBy(rows, QuestionStatsProjection::getDifficultyLevel);
     }
 
     @Override
@@ -557,56 +739,93 @@ public class QuestionServiceImplementation implements QuestionService {
         Question question = questionRepository.findById(id)
                 .orElseThrow(() -> new RecordNotFoundException("Question", "id", id));
 
-        question.togglePaperStatus();
-        Question updatedQuestion = questionRepository.save(question);
+        if (!paperDraftService.contains(id)) {
+            requireValidForPaper(id);
+        }
+        boolean added = paperDraftService.toggleQuestion(id);
 
         log.info("Successfully toggled paper status for question ID: {}", id);
-        return questionMapper.toResponseDTOWithoutOptions(updatedQuestion);
+        QuestionResponseDTO response = questionMapper.toResponseDTOWithoutOptions(question);
+        response.setIsAddedToPaper(added);
+        return response;
     }
 
     @Override
     public void addQuestionToPaper(Long id) {
         log.info("Adding question to paper: {}", id);
-
-        Question question = questionRepository.findById(id)
-                .orElseThrow(() -> new RecordNotFoundException("Question", "id", id));
-
-        if (!validateQuestionForPaper(id)) {
-            throw new ValidationException("Question is not valid for paper",
-                    Map.of("validation", String.join(", ", getValidationErrorsForQuestion(id))));
-        }
-
-        question.setIsAddedToPaper(true);
-        questionRepository.save(question);
+        addQuestionsToPaper(List.of(id));
     }
 
     @Override
     public void removeQuestionFromPaper(Long id) {
         log.info("Removing question from paper: {}", id);
-
-        Question question = questionRepository.findById(id)
-                .orElseThrow(() -> new RecordNotFoundException("Question", "id", id));
-
-        question.setIsAddedToPaper(false);
-        questionRepository.save(question);
+        removeQuestionsFromPaper(List.of(id));
     }
 
     @Override
-    public void addQuestionsToPaper(List<Long> questionIds) {
+    public int addQuestionsToPaper(List<Long> questionIds) {
         log.info("Adding {} questions to paper", questionIds.size());
 
-        for (Long id : questionIds) {
-            addQuestionToPaper(id);
+        // Checked a chunk at a time with options loaded alongside, instead of several lookups per question
+        List<Long> distinct = questionIds.stream().distinct().collect(Collectors.toList());
+        for (int from = 0; from < distinct.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinct.size()));
+            Map<Long, Question> loaded = questionRepository.findWithDetailByIdIn(chunk).stream()
+                    .collect(Collectors.toMap(Question::getId, Function.identity()));
+            for (Long id : chunk) {
+                Question question = loaded.get(id);
+                if (question == null) {
+                    throw new RecordNotFoundException("Question", "id", id);
+                }
+                if (!isValidForPaper(question)) {
+                    throw invalidForPaper(id);
+                }
+            }
         }
+        return paperDraftService.addQuestions(questionIds);
     }
 
     @Override
-    public void removeQuestionsFromPaper(List<Long> questionIds) {
+    public int removeQuestionsFromPaper(List<Long> questionIds) {
         log.info("Removing {} questions from paper", questionIds.size());
+        return paperDraftService.removeQuestions(questionIds);
+    }
 
-        for (Long id : questionIds) {
-            removeQuestionFromPaper(id);
+    // validateQuestionForPaper on a question loaded with its options
+    private static boolean isValidForPaper(Question question) {
+        if (!question.isValidForPaper()) {
+            return false;
+        }
+        if (!question.isMCQType()) {
+            return true;
         }
+        List<MCQOption> active = question.getMcqOptions().stream()
+                .filter(option -> Boolean.TRUE.equals(option.getIsActive()))
+                .collect(Collectors.toList());
+        return active.size() >= 2 && active.stream().anyMatch(option -> Boolean.TRUE.equals(option.getIsCorrect()));
+    }
+
+    private void requireValidForPaper(Long id) {
+        if (!validateQuestionForPaper(id)) {
+            throw invalidForPaper(id);
+        }
+    }
+
+    private ValidationException invalidForPaper(Long id) {
+        return new ValidationException("Question is not valid for paper",
+                Map.of("validation", String.join(", ", getValidationErrorsForQuestion(id))));
+    }
+
+    // Paper status in responses reflects the caller's draft, not the legacy question column
+    private List<QuestionResponseDTO> withDraftMembership(List<QuestionResponseDTO> questions) {
+        Set<Long> draft = paperDraftService.getQuestionIdSet();
+        questions.forEach(question -> question.setIsAddedToPaper(draft.contains(question.getId())));
+        return questions;
+    }
+
+    private Page<QuestionResponseDTO> withDraftMembership(Page<QuestionResponseDTO> questions) {
+        withDraftMembership(questions.getContent());
+        return questions;
     }
 
     @Override
@@ -614,11 +833,16 @@ public class QuestionServiceImplementation implements QuestionService {
     public List<QuestionResponseDTO> getQuestionsAddedToPaper() {
         log.debug("Fetching questions added to paper");
 
-        Specification<Question> spec = QuestionSpecification.isActive()
-                .and(QuestionSpecification.filterByPaperStatus(true));
-
-        List<Question> questions = questionRepository.findAll(spec);
-        return questionMapper.toResponseDTOListWithoutOptions(questions);
+        // In draft order, which is the order the paper prints in
+        List<Long> draft = paperDraftService.getQuestionIds();
+        Map<Long, Question> loaded = questionRepository.findAll(QuestionSpecification.isActive()
+                        .and(QuestionSpecification.hasIdIn(draft))).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+        List<Question> questions = draft.stream()
+                .map(loaded::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(questions));
     }
 
     @Override
@@ -627,10 +851,10 @@ public class QuestionServiceImplementation implements QuestionService {
         log.debug("Fetching questions not added to paper");
 
         Specification<Question> spec = QuestionSpecification.isActive()
-                .and(QuestionSpecification.filterByPaperStatus(false));
+                .and(QuestionSpecification.filterByDraftMembership(false, paperDraftService.getQuestionIdSet()));
 
         List<Question> questions = questionRepository.findAll(spec);
-        return questionMapper.toResponseDTOListWithoutOptions(questions);
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(questions));
     }
 
     @Override
@@ -639,10 +863,14 @@ public class QuestionServiceImplementation implements QuestionService {
         log.debug("Fetching questions added to paper with pagination");
 
         Specification<Question> spec = QuestionSpecification.isActive()
-                .and(QuestionSpecification.filterByPaperStatus(true));
+                .and(QuestionSpecification.hasIdIn(paperDraftService.getQuestionIdSet()));
 
         Page<Question> questions = questionRepository.findAll(spec, pageable);
-        return questions.map(questionMapper::toResponseDTOWithoutOptions);
+        return questions.map(question -> {
+            QuestionResponseDTO dto = questionMapper.toResponseDTOWithoutOptions(question);
+            dto.setIsAddedToPaper(true);
+            return dto;
+        });
     }
 
     @Override
@@ -654,7 +882,7 @@ public class QuestionServiceImplementation implements QuestionService {
                 .and(QuestionSpecification.filterByMarksRange(minMarks, maxMarks));
 
         List<Question> questions = questionRepository.findAll(spec);
-        return questionMapper.toResponseDTOListWithoutOptions(questions);
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(questions));
     }
 
     @Override
@@ -662,10 +890,7 @@ public class QuestionServiceImplementation implements QuestionService {
     public Double getTotalMarksBySubject(Long subjectId) {
         log.debug("Calculating total marks for subject ID: {}", subjectId);
 
-        List<Question> questions = questionRepository.findActiveQuestionsBySubjectAndPaperStatus(subjectId, true);
-        return questions.stream()
-                .mapToDouble(Question::getMarks)
-                .sum();
+        return sumDraftMarks(draftMarks(row -> inScope(subjectId, row.getSubjectId())));
     }
 
     @Override
@@ -673,11 +898,7 @@ public class QuestionServiceImplementation implements QuestionService {
     public Double getTotalMarksByChapter(Long chapterId) {
         log.debug("Calculating total marks for chapter ID: {}", chapterId);
 
-        List<Question> questions = questionRepository.findByChapterIdAndIsActiveTrue(chapterId);
-        return questions.stream()
-                .filter(Question::isAddedToPaper)
-                .mapToDouble(Question::getMarks)
-                .sum();
+        return sumDraftMarks(draftMarks(row -> inScope(chapterId, row.getChapterId())));
     }
 
     @Override
@@ -685,12 +906,11 @@ public class QuestionServiceImplementation implements QuestionService {
     public Map<SectionType, Double> getTotalMarksBySubjectAndSection(Long subjectId) {
         log.debug("Calculating total marks by section for subject ID: {}", subjectId);
 
-        List<Question> questions = questionRepository.findActiveQuestionsBySubjectAndPaperStatus(subjectId, true);
-
-        return questions.stream()
+        Map<Long, Double> overrides = paperDraftService.getMarksOverrides();
+        return draftMarks(row -> inScope(subjectId, row.getSubjectId())).stream()
                 .collect(Collectors.groupingBy(
-                        Question::getSectionType,
-                        Collectors.summingDouble(Question::getMarks)
+                        QuestionMarksProjection::getSectionType,
+                        Collectors.summingDouble(row -> effectiveMarks(row, overrides))
                 ));
     }
 
@@ -743,11 +963,36 @@ public class QuestionServiceImplementation implements QuestionService {
     }
 
     @Override
-    public void validateQuestionBeforeCreate(CreateQuestionRequestDTO dto) {
+    public List<NearDuplicateDTO> validateQuestionBeforeCreate(CreateQuestionRequestDTO dto) {
+        return validateForCreate(dto, dto.getChapterId() != null && chapterRepository.existsById(dto.getChapterId()));
+    }
+
+    // Bean constraints of the request first, since a list body is not validated element by element
+    private List<NearDuplicateDTO> validateForCreate(CreateQuestionRequestDTO dto, boolean chapterExists) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<CreateQuestionRequestDTO> violation : validator.validate(dto)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        getCreationErrors(dto, chapterExists).forEach(errors::putIfAbsent);
+        if (!errors.isEmpty()) {
+            throw new ValidationException("Question validation failed", errors);
+        }
+
+        List<NearDuplicateDTO> nearDuplicates = nearDuplicateService.findNearDuplicates(dto.getQuestionText(), null);
+        if (!nearDuplicates.isEmpty()) {
+            log.warn("New question looks like a near-duplicate of question IDs: {}",
+                    nearDuplicates.stream().map(NearDuplicateDTO::getQuestionId).collect(Collectors.toList()));
+        }
+        return nearDuplicates;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Map<String, String> getCreationErrors(CreateQuestionRequestDTO dto, boolean chapterExists) {
         Map<String, String> errors = new HashMap<>();
 
         // Validate chapter exists
-        if (!chapterRepository.existsById(dto.getChapterId())) {
+        if (!chapterExists) {
             errors.put("chapterId", "Chapter not found");
         }
 
@@ -767,10 +1012,7 @@ public class QuestionServiceImplementation implements QuestionService {
                 }
             }
         }
-
-        if (!errors.isEmpty()) {
-            throw new ValidationException("Question validation failed", errors);
-        }
+        return errors;
     }
 
     @Override
@@ -808,29 +1050,77 @@ public class QuestionServiceImplementation implements QuestionService {
     public void activateQuestion(Long id) {
         Question question = questionRepository.findById(id)
                 .orElseThrow(() -> new RecordNotFoundException("Question", "id", id));
+        QuestionCounterKey counterKey = QuestionCounterKey.of(question);
         question.setIsActive(true);
         questionRepository.save(question);
+        questionCounterService.onQuestionChanged(counterKey, question);
+        eventPublisher.publishEvent(QuestionChangedEvent.of(question.getId()));
     }
 
     @Override
     public void deactivateQuestion(Long id) {
         Question question = questionRepository.findById(id)
                 .orElseThrow(() -> new RecordNotFoundException("Question", "id", id));
+        QuestionCounterKey counterKey = QuestionCounterKey.of(question);
         question.setIsActive(false);
         questionRepository.save(question);
+        questionCounterService.onQuestionChanged(counterKey, question);
+        eventPublisher.publishEvent(QuestionChangedEvent.of(question.getId()));
     }
 
     @Override
-    public void activateQuestions(List<Long> ids) {
-        for (Long id : ids) {
-            activateQuestion(id);
-        }
+    public int activateQuestions(List<Long> ids) {
+        log.info("Activating {} questions", ids.size());
+        return updateActive(ids, true, false);
     }
 
     @Override
-    public void deactivateQuestions(List<Long> ids) {
+    public int deactivateQuestions(List<Long> ids) {
+        log.info("Deactivating {} questions", ids.size());
+        return updateActive(ids, false, false);
+    }
+
+    // One UPDATE per chunk instead of a load and save per question. Questions already in the state are
+    // left alone and not counted; any unknown id fails the whole call, as the single-question path does.
+    private int updateActive(List<Long> ids, boolean active, boolean includeOptions) {
+        List<Long> distinct = ids.stream().distinct().collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (int from = 0; from < distinct.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinct.size()));
+            // The rows stay locked until commit, so the update changes exactly the questions counted here
+            List<QuestionStateProjection> states = questionRepository.lockStatesByIdIn(chunk);
+            requireExisting(chunk, states);
+            List<QuestionCounterKey> moving = states.stream()
+                    .filter(state -> Boolean.TRUE.equals(state.getIsActive()) != active)
+                    .map(state -> new QuestionCounterKey(state.getChapterId(), state.getSectionType(),
+                            state.getDifficultyLevel(), !active))
+                    .collect(Collectors.toList());
+
+            int changed = questionRepository.updateActiveByIdIn(chunk, active, now);
+            if (changed != moving.size()) {
+                // Cannot happen while the locks hold; roll back rather than commit counters known to be wrong
+                throw new IllegalStateException("Updated " + changed + " questions but locked " + moving.size()
+                        + " for the question counters");
+            }
+            questionCounterService.onQuestionsActiveChanged(moving, active);
+            if (includeOptions) {
+                mcqOptionService.updateActiveForQuestions(chunk, active);
+            }
+            updated += changed;
+        }
+        if (!distinct.isEmpty()) {
+            eventPublisher.publishEvent(new QuestionChangedEvent(distinct));
+        }
+        return updated;
+    }
+
+    private static void requireExisting(List<Long> ids, List<QuestionStateProjection> states) {
+        Set<Long> existing = states.stream().map(QuestionStateProjection::getId).collect(Collectors.toSet());
         for (Long id : ids) {
-            deactivateQuestion(id);
+            if (!existing.contains(id)) {
+                throw new RecordNotFoundException("Question", "id", id);
+            }
         }
     }
 
@@ -842,8 +1132,10 @@ public class QuestionServiceImplementation implements QuestionService {
                 .orElseThrow(() -> new RecordNotFoundException("Question", "id", questionId));
 
         try {
+            String copyText = originalQuestion.getQuestionText() + " (Copy)";
             Question duplicatedQuestion = Question.builder()
-                    .questionText(originalQuestion.getQuestionText() + " (Copy)")
+                    .questionText(copyText)
+                    .textSignature(nearDuplicateService.computeSignature(copyText))
                     .questionImageUrl(originalQuestion.getQuestionImageUrl())
                     .explanation(originalQuestion.getExplanation())
                     .sectionType(originalQuestion.getSectionType())
@@ -858,6 +1150,8 @@ public class QuestionServiceImplementation implements QuestionService {
                     .build();
 
             Question savedQuestion = questionRepository.save(duplicatedQuestion);
+            questionCounterService.onQuestionCreated(savedQuestion);
+            eventPublisher.publishEvent(QuestionChangedEvent.of(savedQuestion.getId()));
 
             // Duplicate MCQ options if it's an MCQ question
             if (originalQuestion.isMCQType()) {
@@ -899,6 +1193,7 @@ public class QuestionServiceImplementation implements QuestionService {
         try {
             Question duplicatedQuestion = Question.builder()
                     .questionText(originalQuestion.getQuestionText())
+                    .textSignature(originalQuestion.getTextSignature())
                     .questionImageUrl(originalQuestion.getQuestionImageUrl())
                     .explanation(originalQuestion.getExplanation())
                     .sectionType(originalQuestion.getSectionType())
@@ -913,6 +1208,8 @@ public class QuestionServiceImplementation implements QuestionService {
                     .build();
 
             Question savedQuestion = questionRepository.save(duplicatedQuestion);
+            questionCounterService.onQuestionCreated(savedQuestion);
+            eventPublisher.publishEvent(QuestionChangedEvent.of(savedQuestion.getId()));
 
             // Duplicate MCQ options if it's an MCQ question
             if (originalQuestion.isMCQType()) {
@@ -959,15 +1256,18 @@ public class QuestionServiceImplementation implements QuestionService {
     public Map<String, Long> getQuestionStatsBySubject(Long subjectId) {
         log.debug("Getting question statistics for subject ID: {}", subjectId);
 
-        List<Question> questions = questionRepository.findActiveQuestionsBySubjectAndPaperStatus(subjectId, null);
+        List<QuestionStatsProjection> rows = questionRepository.aggregateActiveQuestionStatsBySubject(subjectId);
+
+        long total = sumCounts(rows, row -> true);
+        long addedToPaper = draftMarks(row -> inScope(subjectId, row.getSubjectId())).size();
 
         Map<String, Long> stats = new HashMap<>();
-        stats.put("total", (long) questions.size());
-        stats.put("addedToPaper", questions.stream().mapToLong(q -> q.getIsAddedToPaper() ? 1 : 0).sum());
-        stats.put("notAddedToPaper", questions.stream().mapToLong(q -> !q.getIsAddedToPaper() ? 1 : 0).sum());
-        stats.put("mcq", questions.stream().mapToLong(q -> q.getSectionType() == SectionType.MCQ ? 1 : 0).sum());
-        stats.put("shortAnswer", questions.stream().mapToLong(q -> q.getSectionType() == SectionType.SHORT_QUESTION ? 1 : 0).sum());
-        stats.put("longAnswer", questions.stream().mapToLong(q -> q.getSectionType() == SectionType.LONG_QUESTION ? 1 : 0).sum());
+        stats.put("total", total);
+        stats.put("addedToPaper", addedToPaper);
+        stats.put("notAddedToPaper", total - addedToPaper);
+        stats.put("mcq", sumCounts(rows, row -> row.getSectionType() == SectionType.MCQ));
+        stats.put("shortAnswer", sumCounts(rows, row -> row.getSectionType() == SectionType.SHORT_QUESTION));
+        stats.put("longAnswer", sumCounts(rows, row -> row.getSectionType() == SectionType.LONG_QUESTION));
 
         return stats;
     }
@@ -977,12 +1277,15 @@ public class QuestionServiceImplementation implements QuestionService {
     public Map<String, Long> getQuestionStatsByChapter(Long chapterId) {
         log.debug("Getting question statistics for chapter ID: {}", chapterId);
 
-        List<Question> questions = questionRepository.findByChapterIdAndIsActiveTrue(chapterId);
+        List<QuestionStatsProjection> rows = questionRepository.aggregateActiveQuestionStatsByChapter(chapterId);
+
+        long total = sumCounts(rows, row -> true);
+        long addedToPaper = draftMarks(row -> inScope(chapterId, row.getChapterId())).size();
 
         Map<String, Long> stats = new HashMap<>();
-        stats.put("total", (long) questions.size());
-        stats.put("addedToPaper", questions.stream().mapToLong(q -> q.getIsAddedToPaper() ? 1 : 0).sum());
-        stats.put("notAddedToPaper", questions.stream().mapToLong(q -> !q.getIsAddedToPaper() ? 1 : 0).sum());
+        stats.put("total", total);
+        stats.put("addedToPaper", addedToPaper);
+        stats.put("notAddedToPaper", total - addedToPaper);
 
         return stats;
     }
@@ -992,11 +1295,11 @@ public class QuestionServiceImplementation implements QuestionService {
     public Map<String, Long> getQuestionStatsByClass(Long classId) {
         log.debug("Getting question statistics for class ID: {}", classId);
 
-        List<Question> questions = questionRepository.findActiveQuestionsByClass(classId);
+        List<QuestionStatsProjection> rows = questionRepository.aggregateActiveQuestionStatsByClass(classId);
 
         Map<String, Long> stats = new HashMap<>();
-        stats.put("total", (long) questions.size());
-        stats.put("addedToPaper", questions.stream().mapToLong(q -> q.getIsAddedToPaper() ? 1 : 0).sum());
+        stats.put("total", sumCounts(rows, row -> true));
+        stats.put("addedToPaper", (long) draftMarks(row -> inScope(classId, row.getClassId())).size());
 
         return stats;
     }
@@ -1006,13 +1309,8 @@ public class QuestionServiceImplementation implements QuestionService {
     public Map<SectionType, Long> getQuestionCountBySectionType(Long subjectId) {
         log.debug("Getting question count by section type for subject ID: {}", subjectId);
 
-        List<Question> questions = questionRepository.findActiveQuestionsBySubjectAndPaperStatus(subjectId, null);
-
-        return questions.stream()
-                .collect(Collectors.groupingBy(
-                        Question::getSectionType,
-                        Collectors.counting()
-                ));
+        List<QuestionStatsProjection> rows = questionRepository.aggregateActiveQuestionStatsBySubject(subjectId);
+        return countGroupedBy(rows, QuestionStatsProjection::getSectionType);
     }
 
     @Override
@@ -1020,78 +1318,161 @@ public class QuestionServiceImplementation implements QuestionService {
     public Map<QuestionType, Long> getQuestionCountByQuestionType(Long subjectId) {
         log.debug("Getting question count by question type for subject ID: {}", subjectId);
 
-        List<Question> questions = questionRepository.findActiveQuestionsBySubjectAndPaperStatus(subjectId, null);
+        List<QuestionStatsProjection> rows = questionRepository.aggregateActiveQuestionStatsBySubject(subjectId);
+        return countGroupedBy(rows, QuestionStatsProjection::getQuestionType);
+    }
+
+    // Helpers for folding the grouped statistics rows into the shapes the endpoints return
+
+    private static long sumCounts(List<QuestionStatsProjection> rows, Predicate<QuestionStatsProjection> filter) {
+        return rows.stream()
+                .filter(filter)
+                .mapToLong(QuestionStatsProjection::getQuestionCount)
+                .sum();
+    }
+
+    // Active questions of the caller's paper draft within the given scope. A draft holds one paper's
+    // questions, so the rows are scoped in memory; a marks override replaces the question's own marks
+    private List<QuestionMarksProjection> draftMarks(Predicate<QuestionMarksProjection> scope) {
+        Set<Long> draftIds = paperDraftService.getQuestionIdSet();
+        if (draftIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return questionRepository.findActiveMarksByIdIn(draftIds).stream()
+                .filter(scope)
+                .collect(Collectors.toList());
+    }
+
+    private static boolean inScope(Long scopeId, Long id) {
+        return scopeId == null || scopeId.equals(id);
+    }
+
+    private double sumDraftMarks(List<QuestionMarksProjection> rows) {
+        Map<Long, Double> overrides = paperDraftService.getMarksOverrides();
+        return rows.stream()
+                .mapToDouble(row -> effectiveMarks(row, overrides))
+                .sum();
+    }
+
+    private static double effectiveMarks(QuestionMarksProjection row, Map<Long, Double> overrides) {
+        Double override = overrides.get(row.getId());
+        if (override != null) {
+            return override;
+        }
+        return row.getMarks() != null ? row.getMarks() : 0.0;
+    }
 
-        return questions.stream()
+    private static <K> Map<K, Long> countGroupedBy(List<QuestionStatsProjection> rows,
+                                                   Function<QuestionStatsProjection, K> classifier) {
+        return rows.stream()
+                .filter(row -> classifier.apply(row) != null)
                 .collect(Collectors.groupingBy(
-                        Question::getQuestionType,
-                        Collectors.counting()
+                        classifier,
+                        Collectors.summingLong(QuestionStatsProjection::getQuestionCount)
                 ));
     }
 
     // Simplified implementations for remaining methods
     @Override
     public List<QuestionResponseDTO> importQuestionsFromTemplate(List<Map<String, Object>> questionsData) {
-        // Implementation for importing questions from template
-        throw new UnsupportedOperationException("Import functionality not yet implemented");
+        // Rows keyed by the spreadsheet template's column names; whole workbooks go through QuestionImportService
+        Map<String, String> errors = new LinkedHashMap<>();
+        List<CreateQuestionRequestDTO> dtos = new ArrayList<>(questionsData.size());
+        for (int i = 0; i < questionsData.size(); i++) {
+            Map<String, String> rowErrors = new LinkedHashMap<>();
+            dtos.add(QuestionRowParser.parse(questionsData.get(i), rowErrors));
+            int row = i + 1;
+            rowErrors.forEach((field, message) -> errors.put("row " + row + " " + field, message));
+        }
+        if (!errors.isEmpty()) {
+            throw new ValidationException("Question import failed", errors);
+        }
+        return createQuestions(dtos);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Map<String, Object>> exportQuestionsToTemplate(List<Long> questionIds) {
-        // Implementation for exporting questions to template
-        throw new UnsupportedOperationException("Export functionality not yet implemented");
+        log.debug("Exporting {} questions to the import template", questionIds.size());
+
+        Map<Long, Question> questions = questionRepository.findWithDetailByIdIn(questionIds).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+        List<Map<String, Object>> rows = new ArrayList<>(questions.size());
+        for (Long id : questionIds) {
+            Question question = questions.get(id);
+            if (question != null) {
+                rows.add(toTemplateRow(question));
+            }
+        }
+        return rows;
     }
 
+    // Holds the whole subject in memory; large subjects go through QuestionExportService instead
     @Override
+    @Deprecated
     @Transactional(readOnly = true)
     public List<Map<String, Object>> exportQuestionsBySubject(Long subjectId) {
-        // Implementation for exporting questions by subject
-        throw new UnsupportedOperationException("Export functionality not yet implemented");
+        log.debug("Exporting questions of subject ID {} to the import template", subjectId);
+
+        List<Long> ids = questionRepository.findByChapterSubjectId(subjectId).stream()
+                .map(Question::getId)
+                .sorted()
+                .collect(Collectors.toList());
+        return exportQuestionsToTemplate(ids);
+    }
+
+    // Keyed by the template columns, so rows can be written to a sheet and imported again
+    private Map<String, Object> toTemplateRow(Question question) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put(QuestionTemplate.QUESTION_ID, question.getId());
+        row.put(QuestionTemplate.CHAPTER_ID, question.getChapter().getId());
+        row.put(QuestionTemplate.CHAPTER, question.getChapter().getName());
+        row.put(QuestionTemplate.SECTION_TYPE, question.getSectionType());
+        row.put(QuestionTemplate.QUESTION_TYPE, question.getQuestionType());
+        row.put(QuestionTemplate.DIFFICULTY, question.getDifficultyLevel());
+        row.put(QuestionTemplate.MARKS, question.getMarks());
+        row.put(QuestionTemplate.NEGATIVE_MARKS, question.getNegativeMarks());
+        row.put(QuestionTemplate.TIME_LIMIT, question.getTimeLimitSeconds());
+        row.put(QuestionTemplate.QUESTION_TEXT, question.getQuestionText());
+        row.put(QuestionTemplate.QUESTION_IMAGE_URL, question.getQuestionImageUrl());
+        row.put(QuestionTemplate.EXPLANATION, question.getExplanation());
+        row.put(QuestionTemplate.ACTIVE, question.getIsActive());
+
+        List<MCQOption> options = question.getMcqOptions().stream()
+                .filter(option -> Boolean.TRUE.equals(option.getIsActive()))
+                .sorted(Comparator.comparing(MCQOption::getOptionOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(MCQOption::getId))
+                .collect(Collectors.toList());
+        List<String> correct = new ArrayList<>();
+        for (int i = 0; i < options.size(); i++) {
+            row.put(QuestionTemplate.optionColumn(i), options.get(i).getOptionText());
+            if (Boolean.TRUE.equals(options.get(i).getIsCorrect())) {
+                correct.add(String.valueOf(QuestionTemplate.optionLetter(i)));
+            }
+        }
+        row.put(QuestionTemplate.CORRECT_OPTIONS, String.join(", ", correct));
+        return row;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<QuestionResponseDTO> getRandomQuestions(int count) {
+    public List<QuestionResponseDTO> getRandomQuestions(int count, long seed) {
         log.debug("Getting {} random questions", count);
-
-        Pageable pageable = PageRequest.of(0, count);
-        Page<Question> questions = questionRepository.findByIsActiveTrue(pageable);
-
-        List<Question> questionList = questions.getContent();
-        Collections.shuffle(questionList);
-
-        return questionMapper.toResponseDTOListWithoutOptions(questionList);
+        return sampleQuestions(SamplingCriteria.ANY, count, seed);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<QuestionResponseDTO> getRandomQuestionsBySubject(Long subjectId, int count) {
+    public List<QuestionResponseDTO> getRandomQuestionsBySubject(Long subjectId, int count, long seed) {
         log.debug("Getting {} random questions for subject ID: {}", count, subjectId);
-
-        List<Question> allQuestions = questionRepository.findActiveQuestionsBySubjectAndPaperStatus(subjectId, null);
-        Collections.shuffle(allQuestions);
-
-        List<Question> selectedQuestions = allQuestions.stream()
-                .limit(count)
-                .collect(Collectors.toList());
-
-        return questionMapper.toResponseDTOListWithoutOptions(selectedQuestions);
+        return sampleQuestions(SamplingCriteria.builder().subjectId(subjectId).build(), count, seed);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<QuestionResponseDTO> getRandomQuestionsByChapter(Long chapterId, int count) {
+    public List<QuestionResponseDTO> getRandomQuestionsByChapter(Long chapterId, int count, long seed) {
         log.debug("Getting {} random questions for chapter ID: {}", count, chapterId);
-
-        List<Question> allQuestions = questionRepository.findByChapterIdAndIsActiveTrue(chapterId);
-        Collections.shuffle(allQuestions);
-
-        List<Question> selectedQuestions = allQuestions.stream()
-                .limit(count)
-                .collect(Collectors.toList());
-
-        return questionMapper.toResponseDTOListWithoutOptions(selectedQuestions);
+        return sampleQuestions(SamplingCriteria.builder().chapterId(chapterId).build(), count, seed);
     }
 
     @Override
@@ -1100,23 +1481,22 @@ public class QuestionServiceImplementation implements QuestionService {
             SectionType sectionType,
             DifficultyLevel difficultyLevel,
             Long subjectId,
-            int count) {
+            int count,
+            long seed) {
 
         log.debug("Getting {} random questions by criteria", count);
 
-        Specification<Question> spec = QuestionSpecification.isActive()
-                .and(QuestionSpecification.filterBySectionType(sectionType))
-                .and(QuestionSpecification.filterByDifficulty(difficultyLevel))
-                .and(QuestionSpecification.filterBySubject(subjectId));
-
-        List<Question> allQuestions = questionRepository.findAll(spec);
-        Collections.shuffle(allQuestions);
-
-        List<Question> selectedQuestions = allQuestions.stream()
-                .limit(count)
-                .collect(Collectors.toList());
+        SamplingCriteria criteria = SamplingCriteria.builder()
+                .subjectId(subjectId)
+                .sectionType(sectionType)
+                .difficultyLevel(difficultyLevel)
+                .build();
+        return sampleQuestions(criteria, count, seed);
+    }
 
-        return questionMapper.toResponseDTOListWithoutOptions(selectedQuestions);
+    private List<QuestionResponseDTO> sampleQuestions(SamplingCriteria criteria, int count, long seed) {
+        return withDraftMembership(
+                questionMapper.toResponseDTOListWithoutOptions(questionSamplingService.sample(criteria, count, seed)));
     }
 
     @Override
@@ -1158,6 +1538,110 @@ public class QuestionServiceImplementation implements QuestionService {
 
         log.debug("Performing advanced search with multiple criteria");
 
+        Specification<Question> spec = buildAdvancedSearchSpecification(searchText, sectionTypes, questionTypes,
+                difficultyLevels, isAddedToPaper, isActive, minMarks, maxMarks);
+
+        Page<Question> questions = questionRepository.findAll(spec, pageable);
+        return withDraftMembership(questions.map(questionMapper::toResponseDTOWithoutOptions));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<QuestionResponseDTO> getAllQuestionsByCursor(CursorPageRequest request) {
+        log.debug("Fetching questions by cursor");
+
+        return findByCursor(Specification.where(null), request);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<QuestionResponseDTO> getQuestionsByChapterByCursor(Long chapterId, CursorPageRequest request) {
+        log.debug("Fetching questions for chapter ID: {} by cursor", chapterId);
+
+        Specification<Question> spec = QuestionSpecification.isActive()
+                .and(QuestionSpecification.filterByChapter(chapterId));
+        return findByCursor(spec, request);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<QuestionResponseDTO> getFilteredQuestionsByCursor(
+            SectionType sectionType,
+            QuestionType questionType,
+            DifficultyLevel difficultyLevel,
+            Long chapterId,
+            Long subjectId,
+            Long classId,
+            Boolean isAddedToPaper,
+            Double minMarks,
+            Double maxMarks,
+            CursorPageRequest request) {
+
+        log.debug("Filtering questions with multiple criteria by cursor");
+
+        return findByCursor(buildFilterSpecification(sectionType, questionType, difficultyLevel,
+                chapterId, subjectId, classId, isAddedToPaper, minMarks, maxMarks), request);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<QuestionResponseDTO> advancedSearchByCursor(
+            String searchText,
+            List<SectionType> sectionTypes,
+            List<QuestionType> questionTypes,
+            List<DifficultyLevel> difficultyLevels,
+            List<Long> chapterIds,
+            List<Long> subjectIds,
+            List<Long> classIds,
+            Boolean isAddedToPaper,
+            Boolean isActive,
+            Double minMarks,
+            Double maxMarks,
+            CursorPageRequest request) {
+
+        log.debug("Performing advanced search with multiple criteria by cursor");
+
+        return findByCursor(buildAdvancedSearchSpecification(searchText, sectionTypes, questionTypes,
+                difficultyLevels, isAddedToPaper, isActive, minMarks, maxMarks), request);
+    }
+
+    private Specification<Question> buildFilterSpecification(
+            SectionType sectionType,
+            QuestionType questionType,
+            DifficultyLevel difficultyLevel,
+            Long chapterId,
+            Long subjectId,
+            Long classId,
+            Boolean isAddedToPaper,
+            Double minMarks,
+            Double maxMarks) {
+
+        return Specification
+                .where(QuestionSpecification.isActive())
+                .and(QuestionSpecification.filterBySectionType(sectionType))
+                .and(QuestionSpecification.filterByQuestionType(questionType))
+                .and(QuestionSpecification.filterByDifficulty(difficultyLevel))
+                .and(QuestionSpecification.filterByChapter(chapterId))
+                .and(QuestionSpecification.filterBySubject(subjectId))
+                .and(QuestionSpecification.filterByClass(classId))
+                .and(QuestionSpecification.filterByDraftMembership(isAddedToPaper, draftIdsIfNeeded(isAddedToPaper)))
+                .and(QuestionSpecification.filterByMarksRange(minMarks, maxMarks));
+    }
+
+    private Set<Long> draftIdsIfNeeded(Boolean isAddedToPaper) {
+        return isAddedToPaper != null ? paperDraftService.getQuestionIdSet() : Collections.emptySet();
+    }
+
+    private Specification<Question> buildAdvancedSearchSpecification(
+            String searchText,
+            List<SectionType> sectionTypes,
+            List<QuestionType> questionTypes,
+            List<DifficultyLevel> difficultyLevels,
+            Boolean isAddedToPaper,
+            Boolean isActive,
+            Double minMarks,
+            Double maxMarks) {
+
         Specification<Question> spec = Specification.where(null);
 
         if (isActive != null && isActive) {
@@ -1165,11 +1649,17 @@ public class QuestionServiceImplementation implements QuestionService {
         }
 
         if (searchText != null && !searchText.trim().isEmpty()) {
-            spec = spec.and(QuestionSpecification.searchByText(searchText));
+            // Text matching is answered by the search index; the remaining filters narrow its best hits in SQL
+            SearchResult result = questionSearchService.search(searchText, Boolean.TRUE.equals(isActive), false,
+                    MAX_TEXT_SEARCH_HITS);
+            spec = spec.and(QuestionSpecification.hasIdIn(result.getHits().stream()
+                    .map(SearchHit::getQuestionId)
+                    .collect(Collectors.toList())));
         }
 
         if (isAddedToPaper != null) {
-            spec = spec.and(QuestionSpecification.filterByPaperStatus(isAddedToPaper));
+            spec = spec.and(QuestionSpecification.filterByDraftMembership(isAddedToPaper,
+                    paperDraftService.getQuestionIdSet()));
         }
 
         if (minMarks != null || maxMarks != null) {
@@ -1195,8 +1685,32 @@ public class QuestionServiceImplementation implements QuestionService {
             spec = spec.and(difficultySpec);
         }
 
-        Page<Question> questions = questionRepository.findAll(spec, pageable);
-        return questions.map(questionMapper::toResponseDTOWithoutOptions);
+        return spec;
+    }
+
+    // Seek past the cursor position and read one extra row to learn whether another page exists
+    private CursorPageDTO<QuestionResponseDTO> findByCursor(Specification<Question> spec, CursorPageRequest request) {
+        QuestionCursor after = request.getCursor() != null ? QuestionCursor.decode(request.getCursor()) : null;
+        KeysetOrder order = after != null ? after.getOrder() : request.getOrder();
+        Sort.Direction direction = after != null ? after.getDirection() : request.getDirection();
+
+        if (after != null) {
+            spec = spec.and(after.toSpecification());
+        }
+
+        List<Question> rows = questionRepository.findSlice(
+                spec, QuestionCursor.sort(order, direction), request.getSize() + 1);
+        boolean hasNext = rows.size() > request.getSize();
+        List<Question> content = hasNext ? rows.subList(0, request.getSize()) : rows;
+
+        return CursorPageDTO.<QuestionResponseDTO>builder()
+                .content(withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(content)))
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext
+                        ? QuestionCursor.after(content.get(content.size() - 1), order, direction).encode()
+                        : null)
+                .build();
     }
 
     @Override
@@ -1207,28 +1721,40 @@ public class QuestionServiceImplementation implements QuestionService {
         Question baseQuestion = questionRepository.findById(questionId)
                 .orElseThrow(() -> new RecordNotFoundException("Question", "id", questionId));
 
-        // Simple recommendation based on same chapter and difficulty
-        Specification<Question> spec = QuestionSpecification.isActive()
-                .and(QuestionSpecification.filterByChapter(baseQuestion.getChapter().getId()))
-                .and(QuestionSpecification.filterByDifficulty(baseQuestion.getDifficultyLevel()))
-                .and((root, query, criteriaBuilder) ->
-                        criteriaBuilder.notEqual(root.get("id"), questionId));
-
-        List<Question> questions = questionRepository.findAll(spec);
-        Collections.shuffle(questions);
-
-        List<Question> recommended = questions.stream()
-                .limit(count)
-                .collect(Collectors.toList());
-
-        return questionMapper.toResponseDTOListWithoutOptions(recommended);
+        // Same chapter and difficulty, closest in content first
+        SimilarityFilter filter = new SimilarityFilter(
+                Set.of(baseQuestion.getChapter().getId()), baseQuestion.getDifficultyLevel());
+        return findSimilarQuestions(questionId, filter, count);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<QuestionResponseDTO> getSimilarQuestions(Long questionId, int count) {
-        // Similar to recommended questions for now
-        return getRecommendedQuestions(questionId, count);
+        return getSimilarQuestions(questionId, count, null, null, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<QuestionResponseDTO> getSimilarQuestions(Long questionId, int count, Long chapterId, Long subjectId,
+                                                         DifficultyLevel difficultyLevel) {
+        log.debug("Getting {} similar questions for question ID: {}", count, questionId);
+
+        Set<Long> chapterIds = null;
+        if (subjectId != null) {
+            chapterIds = new HashSet<>(chapterRepository.findIdsBySubjectId(subjectId));
+        }
+        if (chapterId != null) {
+            chapterIds = chapterIds == null || chapterIds.contains(chapterId)
+                    ? Set.of(chapterId)
+                    : Collections.emptySet();
+        }
+
+        return findSimilarQuestions(questionId, new SimilarityFilter(chapterIds, difficultyLevel), count);
+    }
+
+    private List<QuestionResponseDTO> findSimilarQuestions(Long questionId, SimilarityFilter filter, int count) {
+        List<SearchHit> hits = questionSearchService.findSimilar(questionId, filter, count);
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(findInHitOrder(hits)));
     }
 
     @Override
@@ -1236,7 +1762,7 @@ public class QuestionServiceImplementation implements QuestionService {
     public List<QuestionResponseDTO> getQuestionsByDifficultyProgression(Long subjectId, DifficultyLevel startLevel, int count) {
         log.debug("Getting questions by difficulty progression for subject ID: {}", subjectId);
 
-        List<Question> allQuestions = questionRepository.findActiveQuestionsBySubjectAndPaperStatus(subjectId, null);
+        List<Question> allQuestions = questionRepository.findActiveQuestionsBySubject(subjectId);
 
         // Sort by difficulty level
         List<Question> sortedQuestions = allQuestions.stream()
@@ -1245,6 +1771,6 @@ public class QuestionServiceImplementation implements QuestionService {
                 .limit(count)
                 .collect(Collectors.toList());
 
-        return questionMapper.toResponseDTOListWithoutOptions(sortedQuestions);
+        return withDraftMembership(questionMapper.toResponseDTOListWithoutOptions(sortedQuestions));
     }
 }
\ No newline at end of file
@@ -0,0 +1,375 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.request.RenderPaperRequestDTO;
+import com.example.questionbank.dto.response.RenderJobDTO;
+import com.example.questionbank.event.RenderJobQueuedEvent;
+import com.example.questionbank.exception.RecordNotFoundException;
+import com.example.questionbank.exception.ServiceUnavailableException;
+import com.example.questionbank.exception.ValidationException;
+import com.example.questionbank.model.RenderJob;
+import com.example.questionbank.model.enums.RenderJobStatus;
+import com.example.questionbank.repository.RenderJobRepository;
+import com.example.questionbank.service.PaperRenderService;
+import com.example.questionbank.service.RenderJobService;
+import com.example.questionbank.service.RenderedArtifactService.CachedArtifact;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Paper renders run off the request thread. The render_jobs table is the queue, so accepted
+ * jobs survive a restart; a fixed pool of workers, one per core by default, pulls jobs from it.
+ * Workers are handed at most two jobs each, the rest wait in the table, and submissions are
+ * refused once the table holds {@code render.jobs.max-pending} unfinished jobs.
+ *
+ * Interrupted jobs are requeued on startup, which assumes a single application instance.
+ */
+@Service
+@Slf4j
+public class RenderJobServiceImplementation implements RenderJobService {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_AFTER_SECONDS = 30;
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+    private static final String ANONYMOUS_OWNER = "anonymous";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private RenderJobRepository renderJobRepository;
+
+    @Autowired
+    private PaperRenderService paperRenderService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${render.jobs.workers:0}")
+    private int configuredWorkers;
+
+    @Value("${render.jobs.max-pending:200}")
+    private long maxPending;
+
+    @Value("${render.jobs.directory:${java.io.tmpdir}/question-bank/render-jobs}")
+    private String directory;
+
+    @Value("${render.jobs.retention-hours:24}")
+    private long retentionHours;
+
+    private int workers;
+    private Path artifactDirectory;
+    private ThreadPoolExecutor executor;
+
+    // Jobs handed to the executor and not yet finished, so a job is never handed over twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Completed when a job finishes, for long-polling clients
+    private final Map<Long, CompletableFuture<Void>> completions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        workers = configuredWorkers > 0 ? configuredWorkers : Runtime.getRuntime().availableProcessors();
+        artifactDirectory = Files.createDirectories(Paths.get(directory));
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(workers), new CustomizableThreadFactory("paper-render-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running jobs stay RUNNING and are requeued on the next startup
+        executor.shutdownNow();
+    }
+
+    @Override
+    @Transactional
+    public RenderJobDTO submit(RenderPaperRequestDTO request) {
+        if (!paperRenderService.supports(request.getFormat())) {
+            throw new ValidationException("Unsupported paper format",
+                    Map.of("format", request.getFormat() + " rendering is not available"));
+        }
+        long pending = renderJobRepository.countByStatusIn(List.of(RenderJobStatus.QUEUED, RenderJobStatus.RUNNING));
+        if (pending >= maxPending) {
+            throw new ServiceUnavailableException("Render queue is full (" + pending + " jobs pending)",
+                    "RENDER_QUEUE_FULL", RETRY_AFTER_SECONDS);
+        }
+
+        RenderJob job = renderJobRepository.save(RenderJob.builder()
+                .owner(currentUser())
+                .status(RenderJobStatus.QUEUED)
+                .format(request.getFormat())
+                .title(request.getTitle())
+                .questionIds(request.getQuestionIds().stream().map(String::valueOf).collect(Collectors.joining(",")))
+                .questionCount(request.getQuestionIds().size())
+                .build());
+        eventPublisher.publishEvent(new RenderJobQueuedEvent(job.getId()));
+
+        log.info("Queued {} render job {} for {} questions", job.getFormat(), job.getId(), job.getQuestionCount());
+        return toDTO(job);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RenderJobDTO getJob(Long jobId) {
+        return toDTO(loadAccessible(jobId));
+    }
+
+    @Override
+    public CompletableFuture<RenderJobDTO> awaitJob(Long jobId, Duration timeout) {
+        RenderJob job = loadAccessible(jobId);
+        if (job.getStatus().isFinished() || timeout.isZero()) {
+            return CompletableFuture.completedFuture(toDTO(job));
+        }
+
+        // Status is read again after registering, so a job finishing in between still wakes this waiter
+        CompletableFuture<Void> signal = completions.computeIfAbsent(jobId, id -> new CompletableFuture<>());
+        RenderJobStatus status = renderJobRepository.findStatusById(jobId);
+        if (status == null || status.isFinished()) {
+            signalFinished(jobId);
+        }
+
+        // The copy times out on its own without completing the shared signal for other waiters. The
+        // job is re-read off the request thread, whose persistence context still holds the old state.
+        return signal.copy()
+                .completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApplyAsync(ignored -> toDTO(renderJobRepository.findById(jobId)
+                        .orElseThrow(() -> new RecordNotFoundException("Render job", "id", jobId))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Path getArtifact(Long jobId) {
+        RenderJob job = loadAccessible(jobId);
+        if (job.getStatus() != RenderJobStatus.COMPLETED) {
+            throw new ValidationException("Render job is not completed",
+                    Map.of("status", job.getStatus().name()));
+        }
+
+        Path artifact = Paths.get(job.getArtifactPath());
+        if (!Files.isReadable(artifact)) {
+            throw new RecordNotFoundException("Render artifact", "jobId", jobId);
+        }
+        return artifact;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${render.jobs.poll-interval-ms:5000}")
+    public synchronized int dispatchQueued() {
+        if (executor.isShutdown()) {
+            return 0;
+        }
+        int free = workers * 2 - inFlight.size();
+        if (free <= 0) {
+            return 0;
+        }
+
+        // Over-fetch by the in-flight count, whose rows may still read QUEUED
+        List<Long> queued = renderJobRepository.findIdsByStatus(RenderJobStatus.QUEUED,
+                PageRequest.of(0, free + inFlight.size()));
+        int dispatched = 0;
+        for (Long jobId : queued) {
+            if (dispatched == free) {
+                break;
+            }
+            if (inFlight.add(jobId)) {
+                try {
+                    executor.execute(() -> run(jobId));
+                    dispatched++;
+                } catch (RejectedExecutionException e) {
+                    // Shutting down; the job stays QUEUED
+                    inFlight.remove(jobId);
+                    break;
+                }
+            }
+        }
+        return dispatched;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${render.jobs.purge-interval-ms:3600000}")
+    public int purgeExpired() {
+        List<RenderJob> expired = renderJobRepository.findByStatusInAndFinishedAtBefore(
+                List.of(RenderJobStatus.COMPLETED, RenderJobStatus.FAILED),
+                LocalDateTime.now().minusHours(retentionHours));
+        for (RenderJob job : expired) {
+            if (job.getArtifactPath() != null) {
+                deleteQuietly(Paths.get(job.getArtifactPath()));
+            }
+        }
+        renderJobRepository.deleteAllInBatch(expired);
+
+        if (!expired.isEmpty()) {
+            log.info("Purged {} render jobs older than {} hours", expired.size(), retentionHours);
+        }
+        return expired.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int requeued = renderJobRepository.requeueInterrupted(MAX_ATTEMPTS, now);
+            int failed = renderJobRepository.failInterrupted(now);
+            if (requeued + failed > 0) {
+                log.info("Requeued {} interrupted render jobs, gave up on {}", requeued, failed);
+            }
+        });
+        dispatchQueued();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobQueued(RenderJobQueuedEvent event) {
+        dispatchQueued();
+    }
+
+    private void run(Long jobId) {
+        Path partial = null;
+        try {
+            Integer claimed = transactionTemplate.execute(status ->
+                    renderJobRepository.claim(jobId, LocalDateTime.now()));
+            if (claimed == null || claimed == 0) {
+                return;
+            }
+
+            RenderJob job = renderJobRepository.findById(jobId)
+                    .orElseThrow(() -> new RecordNotFoundException("Render job", "id", jobId));
+            Path artifact = artifactDirectory.resolve("job-" + jobId + "." + job.getFormat().getExtension());
+            partial = artifact.resolveSibling(artifact.getFileName() + ".part");
+
+            long start = System.currentTimeMillis();
+            // The job keeps its own copy, since the cached document can be evicted once it is unpinned
+            try (CachedArtifact cached = paperRenderService.renderToArtifact(parseIds(job.getQuestionIds()),
+                    job.getTitle(), job.getFormat())) {
+                Files.copy(cached.getFile(), partial, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(partial, artifact, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            long size = Files.size(artifact);
+            finish(jobId, RenderJobStatus.COMPLETED, artifact.toString(), size, null);
+            log.info("Render job {} completed in {} ms ({} bytes)", jobId, System.currentTimeMillis() - start, size);
+        } catch (Exception e) {
+            log.error("Render job {} failed", jobId, e);
+            if (partial != null) {
+                deleteQuietly(partial);
+            }
+            finish(jobId, RenderJobStatus.FAILED, null, null, e.getMessage());
+        } finally {
+            inFlight.remove(jobId);
+            signalFinished(jobId);
+            dispatchQueued();
+        }
+    }
+
+    private void finish(Long jobId, RenderJobStatus status, String artifactPath, Long artifactSize, String error) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> renderJobRepository.findById(jobId).ifPresent(job -> {
+                job.setStatus(status);
+                job.setFinishedAt(LocalDateTime.now());
+                job.setArtifactPath(artifactPath);
+                job.setArtifactSize(artifactSize);
+                job.setErrorMessage(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+                renderJobRepository.save(job);
+            }));
+        } catch (RuntimeException e) {
+            // Left RUNNING, so it is requeued on the next startup
+            log.error("Failed to record {} for render job {}", status, jobId, e);
+        }
+    }
+
+    private void signalFinished(Long jobId) {
+        CompletableFuture<Void> signal = completions.remove(jobId);
+        if (signal != null) {
+            signal.complete(null);
+        }
+    }
+
+    private RenderJob loadAccessible(Long jobId) {
+        RenderJob job = renderJobRepository.findById(jobId)
+                .orElseThrow(() -> new RecordNotFoundException("Render job", "id", jobId));
+        // Other users' jobs are reported as missing rather than forbidden
+        if (!job.getOwner().equals(currentUser()) && !isAdmin()) {
+            throw new RecordNotFoundException("Render job", "id", jobId);
+        }
+        return job;
+    }
+
+    private RenderJobDTO toDTO(RenderJob job) {
+        boolean completed = job.getStatus() == RenderJobStatus.COMPLETED;
+        return RenderJobDTO.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .format(job.getFormat())
+                .title(job.getTitle())
+                .questionCount(job.getQuestionCount())
+                .queuePosition(job.getStatus() == RenderJobStatus.QUEUED
+                        ? renderJobRepository.countByStatusAndIdLessThan(RenderJobStatus.QUEUED, job.getId())
+                        : null)
+                .attempts(job.getAttempts())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .artifactSize(completed ? job.getArtifactSize() : null)
+                .downloadUrl(completed ? "/api/papers/render-jobs/" + job.getId() + "/artifact" : null)
+                .errorMessage(job.getErrorMessage())
+                .build();
+    }
+
+    private static List<Long> parseIds(String questionIds) {
+        return Arrays.stream(questionIds.split(","))
+                .map(Long::valueOf)
+                .collect(Collectors.toList());
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : ANONYMOUS_OWNER;
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> ADMIN_AUTHORITY.equals(authority.getAuthority()));
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.response.ArtifactCacheStatsDTO;
+import com.example.questionbank.model.enums.RenderFormat;
+import com.example.questionbank.render.DocxPaperWriter;
+import com.example.questionbank.repository.QuestionRepository;
+import com.example.questionbank.repository.projection.QuestionVersionProjection;
+import com.example.questionbank.service.FormulaRenderService;
+import com.example.questionbank.service.RenderedArtifactService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Rendered papers on local disk, named by a hash of everything that goes into them: question
+ * ids in paper order with the @Version of every question and option, the template version,
+ * format, title and variant. An edit bumps a version and so changes the key; stale documents
+ * are never looked up again and age out under the LRU size cap. Recency survives restarts
+ * through file modification times.
+ *
+ * Documents handed out are pinned until the caller closes them: eviction and clearing skip
+ * pinned entries, and a cleared entry's file is deleted when its last reader lets go.
+ */
+@Service
+@Slf4j
+public class RenderedArtifactServiceImplementation implements RenderedArtifactService {
+
+    // Bump when the key layout or renderer output changes in a way the template version does not capture
+    private static final String KEY_VERSION = "1";
+    private static final String PARTIAL_SUFFIX = ".part";
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private PdfService pdfService;
+
+    @Autowired
+    private FormulaRenderService formulaRenderService;
+
+    @Value("${render.cache.directory:${java.io.tmpdir}/question-bank/artifact-cache}")
+    private String directory;
+
+    @Value("${render.cache.max-size-mb:1024}")
+    private long maxSizeMb;
+
+    private Path cacheDirectory;
+    private long maxBytes;
+
+    // Access-ordered, eldest first; guarded by this
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    // Concurrent misses for one key wait for a single render
+    private final Map<String, CompletableFuture<Void>> rendering = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder joins = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @PostConstruct
+    public void init() throws IOException {
+        cacheDirectory = Files.createDirectories(Paths.get(directory));
+        maxBytes = maxSizeMb * 1024 * 1024;
+
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            List<Path> existing = files.filter(Files::isRegularFile).collect(Collectors.toList());
+            Map<Path, Long> modified = new HashMap<>();
+            for (Path file : existing) {
+                if (file.getFileName().toString().endsWith(PARTIAL_SUFFIX)) {
+                    // Left over from a render interrupted by a shutdown
+                    Files.deleteIfExists(file);
+                } else {
+                    modified.put(file, Files.getLastModifiedTime(file).toMillis());
+                }
+            }
+
+            synchronized (this) {
+                modified.keySet().stream()
+                        .sorted(Comparator.comparing(modified::get))
+                        .forEach(file -> register(keyOf(file), file, sizeOf(file)));
+                evictOverCap();
+            }
+        }
+        log.info("Rendered paper cache opened with {} documents ({} bytes)", entries.size(), totalBytes);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String paperKey(List<Long> questionIds, RenderFormat format, String title, String variant) {
+        Map<Long, StringBuilder> versions = new HashMap<>();
+        for (QuestionVersionProjection row : questionRepository.findVersionsByIdIn(questionIds)) {
+            StringBuilder version = versions.computeIfAbsent(row.getQuestionId(),
+                    id -> new StringBuilder().append(row.getQuestionVersion()));
+            if (row.getOptionId() != null) {
+                version.append(',').append(row.getOptionId()).append('@').append(row.getOptionVersion());
+            }
+        }
+
+        MessageDigest digest = sha256();
+        update(digest, KEY_VERSION);
+        update(digest, templateVersion(format));
+        update(digest, format.name());
+        update(digest, title);
+        update(digest, variant);
+        for (Long questionId : questionIds) {
+            update(digest, questionId + ":" + versions.getOrDefault(questionId, new StringBuilder("missing")));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Override
+    public CachedArtifact getOrRender(String key, RenderFormat format, ArtifactWriter writer) {
+        Path file = cacheDirectory.resolve(key + "." + format.getExtension());
+        boolean joined = false;
+        while (true) {
+            CachedArtifact cached = pin(key, file);
+            if (cached != null) {
+                (joined ? joins : hits).increment();
+                return cached;
+            }
+
+            CompletableFuture<Void> render = new CompletableFuture<>();
+            CompletableFuture<Void> running = rendering.putIfAbsent(key, render);
+            if (running == null) {
+                misses.increment();
+                return render(key, file, writer, render);
+            }
+            // Pinned on the next pass; rendered again if it was already evicted in between
+            awaitRender(running);
+            joined = true;
+        }
+    }
+
+    private CachedArtifact render(String key, Path file, ArtifactWriter writer, CompletableFuture<Void> render) {
+        Path partial = null;
+        try {
+            partial = Files.createTempFile(cacheDirectory, key, PARTIAL_SUFFIX);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                writer.write(out);
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            CachedArtifact cached;
+            synchronized (this) {
+                Entry entry = register(key, file, sizeOf(file));
+                cached = pinned(key, entry);
+                evictOverCap();
+            }
+            render.complete(null);
+            return cached;
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(partial);
+            render.completeExceptionally(e);
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw new RuntimeException("Failed to render artifact " + key, e);
+        } finally {
+            rendering.remove(key);
+        }
+    }
+
+    @Override
+    public synchronized ArtifactCacheStatsDTO getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long joinCount = joins.sum();
+        long requests = hitCount + missCount + joinCount;
+        return ArtifactCacheStatsDTO.builder()
+                .entryCount(entries.size())
+                .totalBytes(totalBytes)
+                .maxBytes(maxBytes)
+                .hits(hitCount)
+                .misses(missCount)
+                .joins(joinCount)
+                .hitRatio(requests > 0 ? (double) hitCount / requests : 0.0)
+                .evictions(evictions.sum())
+                .build();
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (Entry entry : entries.values()) {
+            entry.removed = true;
+            if (entry.pins == 0) {
+                deleteQuietly(entry.file);
+            }
+        }
+        entries.clear();
+        totalBytes = 0;
+        log.info("Rendered paper cache cleared");
+    }
+
+    // The cached document pinned for the caller, or null on a miss
+    private synchronized CachedArtifact pin(String key, Path file) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!Files.exists(file)) {
+            // Removed behind our back
+            entries.remove(key);
+            totalBytes -= entry.size;
+            entry.removed = true;
+            return null;
+        }
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            log.debug("Failed to touch {}", file, e);
+        }
+        return pinned(key, entry);
+    }
+
+    // Callers hold the lock
+    private CachedArtifact pinned(String key, Entry entry) {
+        entry.pins++;
+        return new CachedArtifact() {
+            private boolean closed;
+
+            @Override
+            public Path getFile() {
+                return entry.file;
+            }
+
+            @Override
+            public void close() {
+                synchronized (RenderedArtifactServiceImplementation.this) {
+                    if (!closed) {
+                        closed = true;
+                        release(key, entry);
+                    }
+                }
+            }
+        };
+    }
+
+    // Callers hold the lock
+    private void release(String key, Entry entry) {
+        entry.pins--;
+        if (entry.pins > 0) {
+            return;
+        }
+        if (entry.removed) {
+            // Cleared while it was being read; the file is only deleted now
+            if (!entries.containsKey(key)) {
+                deleteQuietly(entry.file);
+            }
+        } else {
+            // Pinned entries may have held the cache over its cap
+            evictOverCap();
+        }
+    }
+
+    // Callers hold the lock
+    private Entry register(String key, Path file, long size) {
+        Entry entry = new Entry(file, size);
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            // Same file name; the new document has already replaced it on disk
+            previous.removed = true;
+            totalBytes -= previous.size;
+        }
+        totalBytes += size;
+        return entry;
+    }
+
+    // Callers hold the lock; documents being read are never evicted
+    private void evictOverCap() {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Entry candidate = eldest.next().getValue();
+            if (candidate.pins > 0) {
+                continue;
+            }
+            eldest.remove();
+            candidate.removed = true;
+            totalBytes -= candidate.size;
+            deleteQuietly(candidate.file);
+            evictions.increment();
+        }
+    }
+
+    private String templateVersion(RenderFormat format) {
+        switch (format) {
+            case PDF:
+                return pdfService.getTemplateVersion();
+            case DOCX:
+                return DocxPaperWriter.VERSION + "-" + formulaRenderService.getSettingsKey();
+            default:
+                return KEY_VERSION;
+        }
+    }
+
+    private static void awaitRender(CompletableFuture<Void> render) {
+        try {
+            render.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Failed to render artifact", e.getCause());
+        }
+    }
+
+    private static String keyOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Each part is terminated so adjacent parts cannot run together into the same bytes
+    private static void update(MessageDigest digest, String part) {
+        if (part != null) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}", file, e);
+        }
+    }
+
+    // Pins and removed are guarded by the service lock
+    private static final class Entry {
+
+        private final Path file;
+        private final long size;
+        private int pins;
+        private boolean removed;
+
+        private Entry(Path file, long size) {
+            this.file = file;
+            this.size = size;
+        }
+    }
+}
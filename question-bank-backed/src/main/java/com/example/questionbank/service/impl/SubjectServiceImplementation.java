@@ -3,6 +3,7 @@ package com.example.questionbank.service.impl;
 import com.example.questionbank.dto.request.CreateSubjectRequestDTO;
 import com.example.questionbank.dto.request.UpdateSubjectRequestDTO;
 import com.example.questionbank.dto.response.SubjectResponseDTO;
+import com.example.questionbank.event.HierarchyChangedEvent;
 import com.example.questionbank.exception.DuplicateResourceException;
 import com.example.questionbank.exception.RecordNotFoundException;
 import com.example.questionbank.mapper.SubjectMapper;
@@ -13,6 +14,7 @@ import com.example.questionbank.repository.SubjectRepository;
 import com.example.questionbank.service.SubjectService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -34,6 +36,9 @@ public class SubjectServiceImplementation implements SubjectService {
     @Autowired
     private SubjectMapper subjectMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public SubjectResponseDTO createSubject(CreateSubjectRequestDTO dto) {
         log.info("Creating new subject with name: {} for class ID: {}", dto.getName(), dto.getClassId());
@@ -51,6 +56,7 @@ public class SubjectServiceImplementation implements SubjectService {
             Subject subject = subjectMapper.toEntity(dto);
             subject.setClassEntity(classEntity);
             Subject savedSubject = subjectRepository.save(subject);
+            eventPublisher.publishEvent(new HierarchyChangedEvent("Subject", savedSubject.getId()));
 
             log.info("Successfully created subject with ID: {}", savedSubject.getId());
             return subjectMapper.toResponseDTO(savedSubject);
@@ -90,6 +96,7 @@ public class SubjectServiceImplementation implements SubjectService {
             }
 
             Subject updatedSubject = subjectRepository.save(existingSubject);
+            eventPublisher.publishEvent(new HierarchyChangedEvent("Subject", id));
             log.info("Successfully updated subject with ID: {}", id);
             return subjectMapper.toResponseDTO(updatedSubject);
 
@@ -110,6 +117,7 @@ public class SubjectServiceImplementation implements SubjectService {
             // Soft delete
             subject.setIsActive(false);
             subjectRepository.save(subject);
+            eventPublisher.publishEvent(new HierarchyChangedEvent("Subject", id));
             log.info("Successfully soft deleted subject with ID: {}", id);
 
         } catch (Exception e) {
@@ -0,0 +1,127 @@
+package com.example.questionbank.importer;
+
+import com.example.questionbank.dto.request.CreateMCQOptionRequestDTO;
+import com.example.questionbank.dto.request.CreateQuestionRequestDTO;
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.QuestionType;
+import com.example.questionbank.model.enums.SectionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reading one template row into a create request: header matching, cell formats, options
+ * and the errors reported for cells that cannot be read.
+ */
+class QuestionRowParserTest {
+
+    private final Map<String, String> errors = new HashMap<>();
+
+    @Test
+    void readsEveryTemplateColumn() {
+        Map<String, String> row = new LinkedHashMap<>();
+        row.put(QuestionTemplate.CHAPTER_ID, "12");
+        row.put(QuestionTemplate.SECTION_TYPE, "MCQ");
+        row.put(QuestionTemplate.QUESTION_TYPE, "Multiple Choice");
+        row.put(QuestionTemplate.DIFFICULTY, "Hard");
+        row.put(QuestionTemplate.MARKS, "2.5");
+        row.put(QuestionTemplate.NEGATIVE_MARKS, "0.5");
+        row.put(QuestionTemplate.TIME_LIMIT, "90");
+        row.put(QuestionTemplate.QUESTION_TEXT, "  Which of these are noble gases?  ");
+        row.put(QuestionTemplate.EXPLANATION, "Group 18");
+        row.put(QuestionTemplate.optionColumn(1), "Neon");
+        row.put(QuestionTemplate.optionColumn(0), "Argon");
+        row.put(QuestionTemplate.optionColumn(2), "Sodium");
+        row.put(QuestionTemplate.CORRECT_OPTIONS, "a, B");
+
+        CreateQuestionRequestDTO dto = QuestionRowParser.parse(row, errors);
+
+        assertThat(errors).isEmpty();
+        assertThat(dto.getChapterId()).isEqualTo(12L);
+        assertThat(dto.getSectionType()).isEqualTo(SectionType.MCQ);
+        assertThat(dto.getQuestionType()).isEqualTo(QuestionType.MULTIPLE_CHOICE);
+        assertThat(dto.getDifficultyLevel()).isEqualTo(DifficultyLevel.HARD);
+        assertThat(dto.getMarks()).isEqualTo(2.5);
+        assertThat(dto.getNegativeMarks()).isEqualTo(0.5);
+        assertThat(dto.getTimeLimitSeconds()).isEqualTo(90);
+        assertThat(dto.getQuestionText()).isEqualTo("Which of these are noble gases?");
+        assertThat(dto.getExplanation()).isEqualTo("Group 18");
+        assertThat(dto.getMcqOptions().stream().map(CreateMCQOptionRequestDTO::getOptionText).collect(Collectors.toList()))
+                .containsExactly("Argon", "Neon", "Sodium");
+        assertThat(dto.getMcqOptions().stream().map(CreateMCQOptionRequestDTO::getIsCorrect).collect(Collectors.toList()))
+                .containsExactly(true, true, false);
+        assertThat(dto.getMcqOptions().stream().map(CreateMCQOptionRequestDTO::getOptionOrder).collect(Collectors.toList()))
+                .containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void matchesHeadersIgnoringCaseSpacesAndPunctuationAndAcceptsAliases() {
+        CreateQuestionRequestDTO dto = QuestionRowParser.parse(Map.of(
+                "chapter_id", "12.0",
+                "SECTION", "Short",
+                "Question", "State Ohm's law.",
+                "difficulty level", "4",
+                "option-a", "V = IR",
+                "OPTION (B)", "V = I/R",
+                "Answer", "b"), errors);
+
+        assertThat(errors).isEmpty();
+        assertThat(dto.getChapterId()).isEqualTo(12L);
+        assertThat(dto.getSectionType()).isEqualTo(SectionType.SHORT_QUESTION);
+        assertThat(dto.getQuestionText()).isEqualTo("State Ohm's law.");
+        assertThat(dto.getDifficultyLevel()).isEqualTo(DifficultyLevel.HARD);
+        assertThat(dto.getMcqOptions().stream().map(CreateMCQOptionRequestDTO::getIsCorrect).collect(Collectors.toList()))
+                .containsExactly(false, true);
+    }
+
+    @Test
+    void blankOptionalCellsKeepTheApiDefaults() {
+        CreateQuestionRequestDTO dto = QuestionRowParser.parse(Map.of(
+                QuestionTemplate.CHAPTER_ID, "3",
+                QuestionTemplate.SECTION_TYPE, "Essay",
+                QuestionTemplate.QUESTION_TEXT, "Describe the water cycle.",
+                QuestionTemplate.MARKS, "   "), errors);
+
+        assertThat(errors).isEmpty();
+        assertThat(dto.getQuestionType()).isEqualTo(QuestionType.SINGLE_CHOICE);
+        assertThat(dto.getDifficultyLevel()).isEqualTo(DifficultyLevel.MEDIUM);
+        assertThat(dto.getMarks()).isEqualTo(1.0);
+        assertThat(dto.getTimeLimitSeconds()).isNull();
+        assertThat(dto.getMcqOptions()).isNull();
+    }
+
+    @Test
+    void reportsUnreadableCellsByField() {
+        CreateQuestionRequestDTO dto = QuestionRowParser.parse(Map.of(
+                QuestionTemplate.CHAPTER_ID, "12.5",
+                QuestionTemplate.SECTION_TYPE, "Quiz",
+                QuestionTemplate.DIFFICULTY, "7",
+                QuestionTemplate.MARKS, "two",
+                QuestionTemplate.TIME_LIMIT, "99999999999",
+                QuestionTemplate.QUESTION_TEXT, "Name the largest planet.",
+                QuestionTemplate.optionColumn(0), "Jupiter",
+                QuestionTemplate.CORRECT_OPTIONS, "A, D"), errors);
+
+        assertThat(errors).containsOnlyKeys(
+                "chapterId", "sectionType", "difficultyLevel", "marks", "timeLimitSeconds", "correctOptions");
+        assertThat(errors.get("marks")).isEqualTo("'two' is not a valid number");
+        assertThat(errors.get("correctOptions")).isEqualTo("Correct option 'D' is not one of the filled option columns");
+        assertThat(dto.getChapterId()).isNull();
+        assertThat(dto.getMarks()).isEqualTo(1.0);
+        assertThat(dto.getMcqOptions()).hasSize(1);
+        assertThat(dto.getMcqOptions().get(0).getIsCorrect()).isTrue();
+    }
+
+    @Test
+    void listsMissingRequiredColumns() {
+        assertThat(QuestionRowParser.missingColumns(List.of("chapter id", "Question Text", "Marks")))
+                .containsExactly(QuestionTemplate.SECTION_TYPE);
+        assertThat(QuestionRowParser.missingColumns(QuestionRowParser.REQUIRED_COLUMNS)).isEmpty();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.questionbank.importer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Spooling a shared strings part to disk and reading entries back by index.
+ */
+class SpreadsheetSharedStringsTest {
+
+    private static final String HEADER = "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">";
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    void readsPlainRichAndEmptyEntries() throws IOException {
+        String xml = HEADER
+                + "<si><t>Chapter ID</t></si>"
+                + "<si><r><rPr><b/></rPr><t>H</t></r><r><t xml:space=\"preserve\">2O </t></r><r><t>is water</t></r></si>"
+                + "<si><t/></si>"
+                + "<si><t>پانی</t><rPh sb=\"0\" eb=\"1\"><t>ignored</t></rPh></si>"
+                + "<si><t>a &amp; b &lt; c</t></si>"
+                + "</sst>";
+
+        try (SpreadsheetSharedStrings strings = SpreadsheetSharedStrings.spool(stream(xml), workDirectory)) {
+            assertThat(strings.getCount()).isEqualTo(5);
+            assertThat(strings.getString(0)).isEqualTo("Chapter ID");
+            assertThat(strings.getString(1)).isEqualTo("H2O is water");
+            assertThat(strings.getString(2)).isEmpty();
+            assertThat(strings.getString(3)).isEqualTo("پانی");
+            assertThat(strings.getString(4)).isEqualTo("a & b < c");
+            assertThat(strings.getItemAt(1).getString()).isEqualTo("H2O is water");
+        }
+    }
+
+    @Test
+    void readsBackMoreEntriesThanItKeepsInMemory() throws IOException {
+        StringBuilder xml = new StringBuilder(HEADER);
+        for (int i = 0; i < 5000; i++) {
+            xml.append("<si><t>Question ").append(i).append("</t></si>");
+        }
+        xml.append("</sst>");
+
+        try (SpreadsheetSharedStrings strings = SpreadsheetSharedStrings.spool(stream(xml.toString()), workDirectory)) {
+            for (int i = 4999; i >= 0; i -= 7) {
+                assertThat(strings.getString(i)).isEqualTo("Question " + i);
+            }
+            assertThat(strings.getString(4999)).isEqualTo("Question 4999");
+            assertThat(strings.getString(0)).isEqualTo("Question 0");
+        }
+    }
+
+    @Test
+    void rejectsIndexesOutsideTheTable() throws IOException {
+        try (SpreadsheetSharedStrings strings = SpreadsheetSharedStrings.spool(stream(HEADER + "<si><t>x</t></si></sst>"), workDirectory)) {
+            assertThatThrownBy(() -> strings.getString(1)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> strings.getString(-1)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void missingPartIsAnEmptyTable() throws IOException {
+        try (SpreadsheetSharedStrings strings = SpreadsheetSharedStrings.spool(null, workDirectory)) {
+            assertThat(strings.getCount()).isZero();
+        }
+    }
+
+    @Test
+    void closingRemovesTheSpoolFiles() throws IOException {
+        SpreadsheetSharedStrings strings = SpreadsheetSharedStrings.spool(stream(HEADER + "<si><t>x</t></si></sst>"), workDirectory);
+        assertThat(spoolFileCount()).isEqualTo(2);
+
+        strings.close();
+
+        assertThat(spoolFileCount()).isZero();
+    }
+
+    @Test
+    void malformedXmlLeavesNoSpoolFiles() {
+        assertThatThrownBy(() -> SpreadsheetSharedStrings.spool(stream(HEADER + "<si><t>x</si>"), workDirectory))
+                .isInstanceOf(IOException.class);
+
+        assertThat(spoolFileCount()).isZero();
+    }
+
+    private long spoolFileCount() {
+        try (Stream<Path> files = Files.list(workDirectory)) {
+            return files.count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.questionbank.importer;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Streaming a workbook written by POI back as header-keyed rows.
+ */
+class XlsxRowReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsRowsKeyedByHeaderWithExcelFormatting() throws IOException {
+        Path workbook = directory.resolve("questions.xlsx");
+        try (XSSFWorkbook book = new XSSFWorkbook()) {
+            Sheet sheet = book.createSheet("Questions");
+            CellStyle twoDecimals = book.createCellStyle();
+            twoDecimals.setDataFormat(book.createDataFormat().getFormat("0.00"));
+
+            // Row 1 left empty; the header starts on row 2 and leaves column C unnamed
+            Row header = sheet.createRow(1);
+            header.createCell(0).setCellValue("Chapter ID");
+            header.createCell(1).setCellValue(" Question Text ");
+            header.createCell(3).setCellValue("Marks");
+
+            Row first = sheet.createRow(2);
+            first.createCell(0).setCellValue(12);
+            first.createCell(1).setCellValue("What is the SI unit of force?");
+            first.createCell(2).setCellValue("unnamed column");
+            first.createCell(3).setCellValue(2.5);
+            first.getCell(3).setCellStyle(twoDecimals);
+            first.createCell(6).setCellValue("past the header");
+
+            // Row 4 only has blank cells, row 5 is missing altogether
+            Row blank = sheet.createRow(3);
+            blank.createCell(0).setCellValue("   ");
+
+            Row second = sheet.createRow(5);
+            second.createCell(1).setCellValue("What is the SI unit of force?");
+            second.createCell(3).setCellValue(true);
+
+            write(book, workbook);
+        }
+
+        List<String> headers = new ArrayList<>();
+        Map<Integer, Map<String, String>> rows = new LinkedHashMap<>();
+        XlsxRowReader.read(workbook, directory, new XlsxRowReader.RowHandler() {
+            @Override
+            public void header(List<String> names) {
+                headers.addAll(names);
+            }
+
+            @Override
+            public void row(int rowNumber, Map<String, String> values) {
+                rows.put(rowNumber, values);
+            }
+        });
+
+        assertThat(headers).containsExactly("Chapter ID", "Question Text", null, "Marks");
+        assertThat(rows).containsOnlyKeys(3, 6);
+        assertThat(rows.get(3)).containsExactly(
+                entry("Chapter ID", "12"),
+                entry("Question Text", "What is the SI unit of force?"),
+                entry("Marks", "2.50"));
+        assertThat(rows.get(6)).containsExactly(
+                entry("Question Text", "What is the SI unit of force?"),
+                entry("Marks", "TRUE"));
+        // Spooled shared strings are removed once the read returns
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.filter(file -> !file.equals(workbook)).count()).isZero();
+        }
+    }
+
+    @Test
+    void rejectsAFileThatIsNotAWorkbook() throws IOException {
+        Path notAWorkbook = Files.writeString(directory.resolve("questions.xlsx"), "Chapter ID,Question Text\n");
+
+        assertThatThrownBy(() -> XlsxRowReader.read(notAWorkbook, directory, new XlsxRowReader.RowHandler() {
+            @Override
+            public void header(List<String> headers) {
+            }
+
+            @Override
+            public void row(int rowNumber, Map<String, String> values) {
+            }
+        })).isInstanceOf(IOException.class);
+    }
+
+    private static void write(XSSFWorkbook book, Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            book.write(out);
+        }
+    }
+}
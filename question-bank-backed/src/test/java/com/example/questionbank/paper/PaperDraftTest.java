@@ -0,0 +1,183 @@
+package com.example.questionbank.paper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Draft editing and the dirty accounting between snapshots and flushes, including edits
+ * that land while a write of an earlier snapshot is in flight.
+ */
+class PaperDraftTest {
+
+    @Test
+    void restoredDraftIsClean() {
+        PaperDraft draft = new PaperDraft("teacher");
+        draft.restore(1L, null);
+        draft.restore(2L, 4.0);
+
+        assertThat(draft.isDirty()).isFalse();
+        assertThat(draft.questionIds()).containsExactly(1L, 2L);
+        assertThat(draft.marksOverrides()).containsExactly(entry(2L, 4.0));
+    }
+
+    @Test
+    void onlyRealChangesMarkTheDraftDirty() {
+        PaperDraft draft = new PaperDraft("teacher");
+        draft.restore(1L, null);
+
+        assertThat(draft.addAll(List.of(1L))).isZero();
+        assertThat(draft.removeAll(List.of(9L))).isZero();
+        assertThat(draft.setMarksOverride(9L, 2.0)).isFalse();
+        assertThat(draft.isDirty()).isFalse();
+
+        assertThat(draft.addAll(List.of(1L, 2L, 3L))).isEqualTo(2);
+        assertThat(draft.isDirty()).isTrue();
+    }
+
+    @Test
+    void editsKeepPaperOrder() {
+        PaperDraft draft = new PaperDraft("teacher");
+        draft.addAll(List.of(1L, 2L, 3L, 4L));
+
+        assertThat(draft.toggle(2L)).isFalse();
+        assertThat(draft.toggle(5L)).isTrue();
+        draft.reorder(List.of(4L, 9L, 1L));
+
+        assertThat(draft.questionIds()).containsExactly(4L, 1L, 3L, 5L);
+        assertThat(draft.contains(2L)).isFalse();
+    }
+
+    @Test
+    void flushingASnapshotCleansTheDraft() {
+        PaperDraft draft = new PaperDraft("teacher");
+        draft.addAll(List.of(1L, 2L));
+        draft.setMarksOverride(2L, 5.0);
+
+        PaperDraft.Snapshot snapshot = draft.snapshot();
+        draft.markFlushed(snapshot);
+
+        assertThat(snapshot.items()).containsExactly(entry(1L, null), entry(2L, 5.0));
+        assertThat(draft.isDirty()).isFalse();
+    }
+
+    @Test
+    void editAfterSnapshotStaysDirtyOnceTheSnapshotIsFlushed() {
+        PaperDraft draft = new PaperDraft("teacher");
+        draft.addAll(List.of(1L));
+        PaperDraft.Snapshot inFlight = draft.snapshot();
+
+        draft.addAll(List.of(2L));
+        draft.markFlushed(inFlight);
+
+        assertThat(inFlight.items()).containsOnlyKeys(1L);
+        assertThat(draft.isDirty()).isTrue();
+
+        draft.markFlushed(draft.snapshot());
+
+        assertThat(draft.isDirty()).isFalse();
+    }
+
+    @Test
+    void flushingAnOlderSnapshotLateDoesNotUndoANewerFlush() {
+        PaperDraft draft = new PaperDraft("teacher");
+        draft.addAll(List.of(1L));
+        PaperDraft.Snapshot older = draft.snapshot();
+        draft.clear();
+        PaperDraft.Snapshot newer = draft.snapshot();
+
+        draft.markFlushed(newer);
+        draft.markFlushed(older);
+
+        assertThat(draft.isDirty()).isFalse();
+    }
+
+    @Test
+    void onlyFlushedIdleDraftsAreEvicted() {
+        PaperDraft draft = new PaperDraft("teacher");
+        draft.touch(1_000);
+        draft.addAll(List.of(1L));
+
+        assertThat(draft.evictIfIdle(5_000)).as("unflushed changes").isFalse();
+        draft.markFlushed(draft.snapshot());
+        assertThat(draft.evictIfIdle(1_000)).as("used at the cutoff").isFalse();
+        assertThat(draft.evictIfIdle(1_001)).isTrue();
+        assertThat(draft.evictIfIdle(1_001)).as("already evicted").isFalse();
+    }
+
+    @Test
+    void evictedDraftRefusesTouchSoCallersReload() {
+        PaperDraft draft = new PaperDraft("teacher");
+        assertThat(draft.touch(2_000)).isTrue();
+        // A touch from a thread with an older clock reading never moves the last use back
+        assertThat(draft.touch(1_000)).isTrue();
+        assertThat(draft.evictIfIdle(2_000)).isFalse();
+
+        assertThat(draft.evictIfIdle(2_001)).isTrue();
+        assertThat(draft.touch(3_000)).isFalse();
+    }
+
+    @Test
+    void concurrentEditsAreNeverLostBetweenFlushes() throws Exception {
+        PaperDraft draft = new PaperDraft("teacher");
+        int editors = 4;
+        int editsPerEditor = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(editors + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean editing = new AtomicBoolean(true);
+        List<Map<Long, Double>> written = new ArrayList<>();
+
+        try {
+            List<Future<?>> edits = new ArrayList<>();
+            for (int e = 0; e < editors; e++) {
+                long base = e * 100_000L;
+                edits.add(executor.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < editsPerEditor; i++) {
+                        draft.addAll(List.of(base + i));
+                        draft.setMarksOverride(base + i, (double) i);
+                    }
+                    return null;
+                }));
+            }
+            // Plays the background writer: persist whatever is dirty, then mark that snapshot
+            Future<?> writer = executor.submit(() -> {
+                start.await();
+                while (editing.get() || draft.isDirty()) {
+                    if (draft.isDirty()) {
+                        PaperDraft.Snapshot snapshot = draft.snapshot();
+                        written.add(snapshot.items());
+                        draft.markFlushed(snapshot);
+                    }
+                }
+                return null;
+            });
+
+            start.countDown();
+            for (Future<?> edit : edits) {
+                edit.get(30, TimeUnit.SECONDS);
+            }
+            editing.set(false);
+            writer.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<Long, Double> last = written.get(written.size() - 1);
+        assertThat(draft.isDirty()).isFalse();
+        assertThat(last).hasSize(editors * editsPerEditor);
+        assertThat(last).isEqualTo(draft.snapshot().items());
+        assertThat(last.get(100_000L + editsPerEditor - 1)).isEqualTo(editsPerEditor - 1.0);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.questionbank.paper;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Blueprint targets the solver must meet exactly on a pool that allows it, and the
+ * determinism and ordering of what it returns.
+ */
+class PaperSolverTest {
+
+    private static final long ALGEBRA = 10L;
+    private static final long GEOMETRY = 20L;
+
+    // 40 one-mark MCQs and 12 five-mark short questions, alternating chapter and difficulty
+    private final CandidatePool pool = pool();
+
+    @Test
+    void meetsSectionMarksExactly() {
+        PaperBlueprint blueprint = PaperBlueprint.builder()
+                .sectionMarks(Map.of(SectionType.MCQ, 12.0, SectionType.SHORT_QUESTION, 25.0))
+                .build();
+
+        int[] chosen = PaperSolver.solve(pool, blueprint, 1L);
+
+        assertThat(marks(chosen, SectionType.MCQ)).isEqualTo(12.0);
+        assertThat(marks(chosen, SectionType.SHORT_QUESTION)).isEqualTo(25.0);
+    }
+
+    @Test
+    void meetsDifficultySharesAndChapterWeights() {
+        PaperBlueprint blueprint = PaperBlueprint.builder()
+                .sectionMarks(Map.of(SectionType.MCQ, 20.0, SectionType.SHORT_QUESTION, 20.0))
+                .difficultyShares(Map.of(DifficultyLevel.EASY, 1.0, DifficultyLevel.HARD, 1.0))
+                .chapterWeights(Map.of(ALGEBRA, 3.0, GEOMETRY, 1.0))
+                .build();
+
+        int[] chosen = PaperSolver.solve(pool, blueprint, 7L);
+
+        assertThat(marks(chosen, SectionType.MCQ) + marks(chosen, SectionType.SHORT_QUESTION)).isEqualTo(40.0);
+        assertThat(difficultyMarks(chosen, DifficultyLevel.EASY)).isEqualTo(20.0);
+        assertThat(difficultyMarks(chosen, DifficultyLevel.HARD)).isEqualTo(20.0);
+        assertThat(chapterMarks(chosen, ALGEBRA)).isEqualTo(30.0);
+        assertThat(chapterMarks(chosen, GEOMETRY)).isEqualTo(10.0);
+    }
+
+    @Test
+    void staysWithinTheTimeLimit() {
+        PaperBlueprint blueprint = PaperBlueprint.builder()
+                .sectionMarks(Map.of(SectionType.MCQ, 10.0))
+                .timeLimitSeconds(600)
+                .build();
+
+        int[] chosen = PaperSolver.solve(pool, blueprint, 3L);
+
+        assertThat(marks(chosen, SectionType.MCQ)).isEqualTo(10.0);
+        assertThat(Arrays.stream(chosen).map(candidate -> pool.seconds[candidate]).sum()).isLessThanOrEqualTo(600);
+    }
+
+    @Test
+    void sameSeedGivesTheSamePaper() {
+        PaperBlueprint blueprint = PaperBlueprint.builder()
+                .sectionMarks(Map.of(SectionType.MCQ, 15.0, SectionType.SHORT_QUESTION, 15.0))
+                .difficultyShares(Map.of(DifficultyLevel.EASY, 2.0, DifficultyLevel.HARD, 1.0))
+                .build();
+
+        int[] first = PaperSolver.solve(pool, blueprint, 42L);
+
+        assertThat(PaperSolver.solve(pool, blueprint, 42L)).containsExactly(first);
+        assertThat(PaperSolver.solve(pool, blueprint, 43L)).isNotEqualTo(first);
+    }
+
+    @Test
+    void returnsDistinctCandidatesBySectionThenPoolOrder() {
+        PaperBlueprint blueprint = PaperBlueprint.builder()
+                .sectionMarks(Map.of(SectionType.SHORT_QUESTION, 15.0, SectionType.MCQ, 6.0))
+                .build();
+
+        int[] chosen = PaperSolver.solve(pool, blueprint, 5L);
+
+        assertThat(Arrays.stream(chosen).distinct().count()).isEqualTo(chosen.length);
+        for (int i = 1; i < chosen.length; i++) {
+            int previousSection = pool.sections[chosen[i - 1]];
+            int section = pool.sections[chosen[i]];
+            assertThat(previousSection < section || (previousSection == section && chosen[i - 1] < chosen[i])).isTrue();
+        }
+    }
+
+    @Test
+    void emptyPoolGivesAnEmptyPaper() {
+        PaperBlueprint blueprint = PaperBlueprint.builder()
+                .sectionMarks(Map.of(SectionType.MCQ, 10.0))
+                .build();
+
+        assertThat(PaperSolver.solve(CandidatePool.builder(0).build(), blueprint, 1L)).isEmpty();
+    }
+
+    private static CandidatePool pool() {
+        CandidatePool.Builder builder = CandidatePool.builder(8);
+        long id = 1;
+        for (int i = 0; i < 40; i++) {
+            builder.add(id++, i % 2 == 0 ? ALGEBRA : GEOMETRY, SectionType.MCQ,
+                    i % 4 < 2 ? DifficultyLevel.EASY : DifficultyLevel.HARD, 1.0, 60);
+        }
+        for (int i = 0; i < 12; i++) {
+            builder.add(id++, i % 2 == 0 ? ALGEBRA : GEOMETRY, SectionType.SHORT_QUESTION,
+                    i % 4 < 2 ? DifficultyLevel.EASY : DifficultyLevel.HARD, 5.0, 300);
+        }
+        return builder.build();
+    }
+
+    private double marks(int[] chosen, SectionType section) {
+        return Arrays.stream(chosen).filter(c -> pool.sections[c] == section.ordinal()).mapToDouble(c -> pool.marks[c]).sum();
+    }
+
+    private double difficultyMarks(int[] chosen, DifficultyLevel difficulty) {
+        return Arrays.stream(chosen).filter(c -> pool.difficulties[c] == difficulty.ordinal()).mapToDouble(c -> pool.marks[c]).sum();
+    }
+
+    private double chapterMarks(int[] chosen, long chapterId) {
+        int chapter = pool.chapterOrdinal(chapterId);
+        return Arrays.stream(chosen).filter(c -> pool.chapters[c] == chapter).mapToDouble(c -> pool.marks[c]).sum();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.questionbank.paper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Variant orderings are permutations that keep sections together and spread each
+ * difficulty level evenly through its section.
+ */
+class VariantShufflerTest {
+
+    // Two sections; the first has six easy (0) and three hard (2) questions, the second mixes levels 0 and 1
+    private static final int[] SECTIONS = {0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1};
+    private static final int[] DIFFICULTIES = {0, 0, 0, 0, 0, 0, 2, 2, 2, 1, 0, 1, 0};
+
+    @Test
+    void isAPermutationKeepingSectionsContiguousAndInOrder() {
+        for (long seed = 0; seed < 50; seed++) {
+            int[] order = VariantShuffler.orderQuestions(SECTIONS, DIFFICULTIES, new SplittableRandom(seed));
+
+            assertThat(Arrays.stream(order).sorted().toArray()).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12);
+            for (int i = 0; i < order.length; i++) {
+                assertThat(SECTIONS[order[i]]).isEqualTo(i < 9 ? 0 : 1);
+            }
+        }
+    }
+
+    @Test
+    void spreadsEachLevelEvenlyThroughItsSection() {
+        for (long seed = 0; seed < 50; seed++) {
+            int[] order = VariantShuffler.orderQuestions(SECTIONS, DIFFICULTIES, new SplittableRandom(seed));
+
+            // One hard question in every third of the first section
+            for (int third = 0; third < 3; third++) {
+                int hard = 0;
+                for (int i = third * 3; i < third * 3 + 3; i++) {
+                    hard += DIFFICULTIES[order[i]] == 2 ? 1 : 0;
+                }
+                assertThat(hard).as("hard questions in third %d, seed %d", third, seed).isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    void sameSeedGivesTheSameOrder() {
+        int[] first = VariantShuffler.orderQuestions(SECTIONS, DIFFICULTIES, new SplittableRandom(9));
+
+        assertThat(VariantShuffler.orderQuestions(SECTIONS, DIFFICULTIES, new SplittableRandom(9))).containsExactly(first);
+    }
+
+    @Test
+    void differentSeedsGiveDifferentOrders() {
+        long distinct = LongStream.range(0, 20)
+                .mapToObj(seed -> Arrays.toString(VariantShuffler.orderQuestions(SECTIONS, DIFFICULTIES, new SplittableRandom(seed))))
+                .distinct()
+                .count();
+
+        assertThat(distinct).isGreaterThan(10);
+    }
+
+    @Test
+    void permutationCoversEveryIndex() {
+        int[] permutation = VariantShuffler.permutation(6, new SplittableRandom(1));
+
+        assertThat(Arrays.stream(permutation).sorted().toArray()).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(VariantShuffler.permutation(0, new SplittableRandom(1))).isEmpty();
+    }
+}
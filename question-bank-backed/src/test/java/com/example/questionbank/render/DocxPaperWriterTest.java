@@ -0,0 +1,152 @@
+package com.example.questionbank.render;
+
+import com.example.questionbank.dto.response.MCQOptionResponseDTO;
+import com.example.questionbank.dto.response.QuestionResponseDTO;
+import com.example.questionbank.service.FormulaRenderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * The streamed .docx package: the parts Word needs, well-formed document XML, one media part per
+ * distinct formula image, and the caller's stream left open.
+ */
+@ExtendWith(MockitoExtension.class)
+class DocxPaperWriterTest {
+
+    private static final String W = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String A = "http://schemas.openxmlformats.org/drawingml/2006/main";
+    private static final String R = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private static final FormulaImage SQUARE = new FormulaImage(new byte[]{1, 2, 3}, 30, 20, 5, 300);
+
+    @Mock
+    private FormulaRenderService formulaRenderService;
+
+    @Test
+    void packageHasTheDocumentStylesAndRelationships() throws Exception {
+        TrackingOutputStream out = new TrackingOutputStream();
+
+        DocxPaperWriter writer = new DocxPaperWriter(out, new FormulaText(formulaRenderService, 11f, 300));
+        writer.title("Physics", "Total marks: 3.0");
+        writer.section("Multiple Choice");
+        writer.question(1, question("Which of these is a vector quantity?", 1.0, "Speed", "Velocity"),
+                List.of("A", "B"));
+        writer.section("Essay");
+        writer.question(2, question("Describe the three laws of motion.\nUse examples.", 2.0), List.of("A", "B"));
+        writer.finish();
+
+        assertThat(out.closed).isFalse();
+        Map<String, byte[]> parts = unzip(out.toByteArray());
+        assertThat(parts).containsKeys("[Content_Types].xml", "_rels/.rels", "word/styles.xml",
+                "word/document.xml", "word/_rels/document.xml.rels");
+
+        Document document = parse(parts.get("word/document.xml"));
+        NodeList paragraphs = document.getElementsByTagNameNS(W, "p");
+        // Title, subtitle, two headings, two questions and two options
+        assertThat(paragraphs.getLength()).isEqualTo(8);
+        assertThat(paragraphs.item(4).getTextContent()).isEqualTo("(A) Speed");
+        assertThat(paragraphs.item(5).getTextContent()).isEqualTo("(B) Velocity");
+        // A question keeps with its first option, and options with the next one
+        assertThat(((Element) paragraphs.item(3)).getElementsByTagNameNS(W, "keepNext").getLength()).isEqualTo(1);
+        assertThat(((Element) paragraphs.item(5)).getElementsByTagNameNS(W, "keepNext").getLength()).isZero();
+        assertThat(((Element) paragraphs.item(7)).getElementsByTagNameNS(W, "br").getLength()).isEqualTo(1);
+        assertThat(document.getElementsByTagNameNS(W, "sectPr").getLength()).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedFormulaIsStoredAsOneMediaPart() throws Exception {
+        when(formulaRenderService.render("x^2", false, 11f, 300)).thenReturn(SQUARE);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        DocxPaperWriter writer = new DocxPaperWriter(out, new FormulaText(formulaRenderService, 11f, 300));
+        writer.question(1, question("Expand $x^2$.", 1.0, "$x^2$", "$x^2$ + 1"), List.of("A", "B"));
+        writer.question(2, question("Differentiate $x^2$.", 1.0), List.of("A", "B"));
+        writer.finish();
+
+        Map<String, byte[]> parts = unzip(out.toByteArray());
+        assertThat(parts.keySet().stream().filter(name -> name.startsWith("word/media/")))
+                .containsExactly("word/media/formula2.png");
+        assertThat(parts.get("word/media/formula2.png")).isEqualTo(SQUARE.getPng());
+
+        Document document = parse(parts.get("word/document.xml"));
+        NodeList blips = document.getElementsByTagNameNS(A, "blip");
+        assertThat(blips.getLength()).isEqualTo(4);
+        for (int i = 0; i < blips.getLength(); i++) {
+            assertThat(((Element) blips.item(i)).getAttributeNS(R, "embed")).isEqualTo("rId2");
+        }
+        assertThat(new String(parts.get("word/_rels/document.xml.rels"), StandardCharsets.UTF_8))
+                .contains("Id=\"rId2\"")
+                .contains("Target=\"media/formula2.png\"");
+    }
+
+    @Test
+    void controlCharactersAreDroppedFromTheText() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        DocxPaperWriter writer = new DocxPaperWriter(out, new FormulaText(formulaRenderService, 11f, 300));
+        writer.question(1, question("Pasted\u0001 from a PDF\u000B", 1.0), List.of());
+        writer.finish();
+
+        Document document = parse(unzip(out.toByteArray()).get("word/document.xml"));
+        assertThat(document.getElementsByTagNameNS(W, "p").item(0).getTextContent())
+                .isEqualTo("1. Pasted from a PDF[1.0]");
+    }
+
+    private static QuestionResponseDTO question(String text, double marks, String... options) {
+        List<MCQOptionResponseDTO> optionList = new ArrayList<>();
+        for (String option : options) {
+            optionList.add(MCQOptionResponseDTO.builder().optionText(option).build());
+        }
+        return QuestionResponseDTO.builder()
+                .questionText(text)
+                .marks(marks)
+                .mcqOptions(optionList)
+                .build();
+    }
+
+    private static Map<String, byte[]> unzip(byte[] docx) throws IOException {
+        Map<String, byte[]> parts = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(docx))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                parts.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return parts;
+    }
+
+    private static Document parse(byte[] xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+    }
+
+    private static final class TrackingOutputStream extends ByteArrayOutputStream {
+
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
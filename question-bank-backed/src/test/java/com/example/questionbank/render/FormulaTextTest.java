@@ -0,0 +1,74 @@
+package com.example.questionbank.render;
+
+import com.example.questionbank.service.FormulaRenderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Splitting text into plain runs and formula images for the paper template, with one URI per
+ * distinct image in a document.
+ */
+@ExtendWith(MockitoExtension.class)
+class FormulaTextTest {
+
+    private static final FormulaImage SQUARE = new FormulaImage(new byte[]{1}, 30, 20, 5, 300);
+    private static final FormulaImage FRACTION = new FormulaImage(new byte[]{2}, 40, 60, 20, 300);
+
+    @Mock
+    private FormulaRenderService formulaRenderService;
+
+    private FormulaText formulas;
+
+    @BeforeEach
+    void setUp() {
+        formulas = new FormulaText(formulaRenderService, 11f, 300);
+    }
+
+    @Test
+    void formulasBetweenPlainTextBecomeImages() {
+        when(formulaRenderService.render("x^2", false, 11f, 300)).thenReturn(SQUARE);
+        when(formulaRenderService.render("\\frac{a}{b}", true, 11f, 300)).thenReturn(FRACTION);
+
+        List<FormulaText.Segment> segments = formulas.segments("Solve $x^2$ for $$\\frac{a}{b}$$.");
+
+        assertThat(segments.stream().map(FormulaText.Segment::getText))
+                .containsExactly("Solve ", "$x^2$", " for ", "$$\\frac{a}{b}$$", ".");
+        assertThat(segments.get(0).getImage()).isNull();
+        assertThat(segments.get(1).getImage()).isSameAs(SQUARE);
+        assertThat(segments.get(3).getImage()).isSameAs(FRACTION);
+        assertThat(formulas.image(segments.get(3).getSrc())).isSameAs(FRACTION);
+        // 20 px at 300 DPI is 4.8 pt
+        assertThat(segments.get(1).getStyle()).isEqualTo("width: 7.20pt; height: 4.80pt; vertical-align: -1.20pt");
+    }
+
+    @Test
+    void repeatedFormulaSharesOneUri() {
+        when(formulaRenderService.render("x^2", false, 11f, 300)).thenReturn(SQUARE);
+
+        String first = formulas.segments("$x^2$").get(0).getSrc();
+        String second = formulas.segments("Again $x^2$").get(1).getSrc();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(first).startsWith(FormulaText.URI_PREFIX);
+    }
+
+    @Test
+    void formulasThatCannotBeRenderedStayAsWritten() {
+        when(formulaRenderService.render("\\undefinedmacro", false, 11f, 300)).thenReturn(null);
+
+        List<FormulaText.Segment> segments = formulas.segments("Costs $\\undefinedmacro$ each");
+
+        assertThat(segments.stream().map(FormulaText.Segment::getText))
+                .containsExactly("Costs $\\undefinedmacro$ each");
+        assertThat(segments.get(0).getImage()).isNull();
+        assertThat(formulas.image("http://example.com/a.png")).isNull();
+    }
+}
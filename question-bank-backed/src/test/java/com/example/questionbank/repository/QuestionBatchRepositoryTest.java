@@ -0,0 +1,109 @@
+package com.example.questionbank.repository;
+
+import com.example.questionbank.model.Chapter;
+import com.example.questionbank.model.ClassEntity;
+import com.example.questionbank.model.MCQOption;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.model.Subject;
+import com.example.questionbank.model.enums.QuestionType;
+import com.example.questionbank.model.enums.SectionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The JDBC batch insert behind bulk creation: every question and option row is written, and the
+ * generated keys are handed back to the entities in insert order.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class QuestionBatchRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    private Chapter chapter;
+
+    @BeforeEach
+    void setUp() {
+        ClassEntity classEntity = entityManager.persist(ClassEntity.builder().name("Grade 9").build());
+        Subject subject = entityManager.persist(Subject.builder().name("Physics").classEntity(classEntity).build());
+        chapter = entityManager.persist(Chapter.builder().name("Motion").subject(subject).build());
+        entityManager.flush();
+    }
+
+    @Test
+    void insertsQuestionsAndOptionsAndAssignsTheirKeys() {
+        Question mcq = question("Which of these is a vector quantity?", SectionType.MCQ, 2.0);
+        mcq.setTextSignature(42L);
+        MCQOption speed = option(mcq, "Speed", false, 1);
+        MCQOption velocity = option(mcq, "Velocity", true, 2);
+        Question essay = question("Describe the three laws of motion.", SectionType.ESSAY, 10.0);
+        essay.setTimeLimitSeconds(600);
+
+        questionRepository.insertAllInBatch(List.of(mcq, essay));
+        entityManager.clear();
+
+        assertThat(mcq.getId()).isNotNull();
+        assertThat(essay.getId()).isGreaterThan(mcq.getId());
+        assertThat(speed.getId()).isNotNull();
+        assertThat(velocity.getId()).isGreaterThan(speed.getId());
+        assertThat(mcq.getVersion()).isEqualTo(0L);
+
+        Question storedMcq = entityManager.find(Question.class, mcq.getId());
+        assertThat(storedMcq.getQuestionText()).isEqualTo("Which of these is a vector quantity?");
+        assertThat(storedMcq.getSectionType()).isEqualTo(SectionType.MCQ);
+        assertThat(storedMcq.getQuestionType()).isEqualTo(QuestionType.SINGLE_CHOICE);
+        assertThat(storedMcq.getMarks()).isEqualTo(2.0);
+        assertThat(storedMcq.getTextSignature()).isEqualTo(42L);
+        assertThat(storedMcq.getIsActive()).isTrue();
+        assertThat(storedMcq.getChapter().getId()).isEqualTo(chapter.getId());
+        assertThat(storedMcq.getMcqOptions().stream().map(MCQOption::getOptionText))
+                .containsExactlyInAnyOrder("Speed", "Velocity");
+
+        MCQOption storedVelocity = entityManager.find(MCQOption.class, velocity.getId());
+        assertThat(storedVelocity.getIsCorrect()).isTrue();
+        assertThat(storedVelocity.getOptionOrder()).isEqualTo(2);
+        assertThat(storedVelocity.getQuestion().getId()).isEqualTo(mcq.getId());
+
+        Question storedEssay = entityManager.find(Question.class, essay.getId());
+        assertThat(storedEssay.getTimeLimitSeconds()).isEqualTo(600);
+        assertThat(storedEssay.getTextSignature()).isNull();
+        assertThat(storedEssay.getMcqOptions()).isEmpty();
+    }
+
+    @Test
+    void emptyBatchWritesNothing() {
+        long before = questionRepository.count();
+
+        questionRepository.insertAllInBatch(List.of());
+
+        assertThat(questionRepository.count()).isEqualTo(before);
+    }
+
+    private Question question(String text, SectionType sectionType, Double marks) {
+        Question question = new Question();
+        question.setQuestionText(text);
+        question.setSectionType(sectionType);
+        question.setMarks(marks);
+        question.setChapter(chapter);
+        return question;
+    }
+
+    private static MCQOption option(Question question, String text, boolean correct, int order) {
+        MCQOption option = new MCQOption();
+        option.setOptionText(text);
+        option.setIsCorrect(correct);
+        option.setOptionOrder(order);
+        question.getMcqOptions().add(option);
+        return option;
+    }
+}
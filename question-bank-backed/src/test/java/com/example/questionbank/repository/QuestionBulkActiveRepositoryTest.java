@@ -0,0 +1,115 @@
+package com.example.questionbank.repository;
+
+import com.example.questionbank.model.Chapter;
+import com.example.questionbank.model.ClassEntity;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.model.Subject;
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+import com.example.questionbank.repository.projection.QuestionStateProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The locked state read and the set-based update behind bulk activation, which the question
+ * counters rely on to agree about which rows change.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class QuestionBulkActiveRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    private Chapter chapter;
+    private Question easy;
+    private Question noDifficulty;
+    private Question essay;
+    private Question inactive;
+
+    @BeforeEach
+    void setUp() {
+        ClassEntity classEntity = entityManager.persist(ClassEntity.builder().name("Grade 9").build());
+        Subject subject = entityManager.persist(Subject.builder().name("Physics").classEntity(classEntity).build());
+        chapter = entityManager.persist(Chapter.builder().name("Motion").subject(subject).build());
+
+        easy = persist(SectionType.MCQ, DifficultyLevel.EASY, true);
+        noDifficulty = persist(SectionType.SHORT_QUESTION, null, true);
+        essay = persist(SectionType.ESSAY, DifficultyLevel.HARD, true);
+        inactive = persist(SectionType.MCQ, DifficultyLevel.EASY, false);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void lockedStatesCarryTheCounterColumnsInIdOrder() {
+        List<QuestionStateProjection> states = questionRepository.lockStatesByIdIn(
+                List.of(inactive.getId(), noDifficulty.getId(), easy.getId()));
+
+        assertThat(states.stream().map(QuestionStateProjection::getId))
+                .containsExactly(easy.getId(), noDifficulty.getId(), inactive.getId());
+
+        QuestionStateProjection first = states.get(0);
+        assertThat(first.getChapterId()).isEqualTo(chapter.getId());
+        assertThat(first.getSectionType()).isEqualTo(SectionType.MCQ);
+        assertThat(first.getDifficultyLevel()).isEqualTo(DifficultyLevel.EASY);
+        assertThat(first.getIsActive()).isTrue();
+
+        assertThat(states.get(1).getDifficultyLevel()).isNull();
+        assertThat(states.get(2).getIsActive()).isFalse();
+    }
+
+    @Test
+    void updateChangesOnlyRowsInTheOtherState() {
+        LocalDateTime now = LocalDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Long> ids = List.of(easy.getId(), noDifficulty.getId(), inactive.getId());
+
+        int changed = questionRepository.updateActiveByIdIn(ids, false, now);
+
+        assertThat(changed).isEqualTo(2);
+        Question deactivated = entityManager.find(Question.class, easy.getId());
+        assertThat(deactivated.getIsActive()).isFalse();
+        assertThat(deactivated.getUpdatedAt()).isEqualTo(now);
+        assertThat(deactivated.getVersion()).isEqualTo(easy.getVersion() + 1);
+
+        // Already inactive, so neither the version nor the timestamp moves
+        Question untouched = entityManager.find(Question.class, inactive.getId());
+        assertThat(untouched.getVersion()).isEqualTo(inactive.getVersion());
+        assertThat(untouched.getUpdatedAt()).isNotEqualTo(now);
+
+        // Not in the id list at all
+        assertThat(entityManager.find(Question.class, essay.getId()).getIsActive()).isTrue();
+    }
+
+    @Test
+    void updateMatchesTheLockedCountOfMovingRows() {
+        List<Long> ids = List.of(easy.getId(), essay.getId(), inactive.getId());
+        long moving = questionRepository.lockStatesByIdIn(ids).stream()
+                .filter(state -> !Boolean.TRUE.equals(state.getIsActive()))
+                .count();
+
+        assertThat(questionRepository.updateActiveByIdIn(ids, true, LocalDateTime.now())).isEqualTo((int) moving);
+        assertThat(questionRepository.updateActiveByIdIn(ids, true, LocalDateTime.now())).isZero();
+    }
+
+    private Question persist(SectionType sectionType, DifficultyLevel difficulty, boolean active) {
+        return entityManager.persist(Question.builder()
+                .questionText(sectionType + " question?")
+                .sectionType(sectionType)
+                .difficultyLevel(difficulty)
+                .isActive(active)
+                .chapter(chapter)
+                .build());
+    }
+}
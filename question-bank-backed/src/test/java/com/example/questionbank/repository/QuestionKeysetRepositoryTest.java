@@ -0,0 +1,108 @@
+package com.example.questionbank.repository;
+
+import com.example.questionbank.model.Chapter;
+import com.example.questionbank.model.ClassEntity;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.model.Subject;
+import com.example.questionbank.model.enums.SectionType;
+import com.example.questionbank.repository.pagination.KeysetOrder;
+import com.example.questionbank.repository.pagination.QuestionCursor;
+import com.example.questionbank.repository.specification.QuestionSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks every page through encoded cursors and checks the walk visits exactly the rows a
+ * single ordered read returns, in the same order, for each keyset ordering and direction.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class QuestionKeysetRepositoryTest {
+
+    private static final int QUESTIONS = 11;
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @BeforeEach
+    void setUp() {
+        ClassEntity classEntity = entityManager.persist(ClassEntity.builder().name("Grade 9").build());
+        Subject subject = entityManager.persist(Subject.builder().name("Chemistry").classEntity(classEntity).build());
+        Chapter chapter = entityManager.persist(Chapter.builder().name("Atoms").subject(subject).build());
+
+        // Persisted back to back, so several rows share an updatedAt and the id has to break ties
+        for (int q = 1; q <= QUESTIONS; q++) {
+            entityManager.persist(Question.builder()
+                    .questionText("Question " + q + "?")
+                    .sectionType(SectionType.SHORT_QUESTION)
+                    .chapter(chapter)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void idCursorWalksEveryRowOnceAscending() {
+        assertWalkMatchesOrderedRead(KeysetOrder.ID, Sort.Direction.ASC);
+    }
+
+    @Test
+    void idCursorWalksEveryRowOnceDescending() {
+        assertWalkMatchesOrderedRead(KeysetOrder.ID, Sort.Direction.DESC);
+    }
+
+    @Test
+    void updatedAtCursorWalksEveryRowOnceAscending() {
+        assertWalkMatchesOrderedRead(KeysetOrder.UPDATED_AT, Sort.Direction.ASC);
+    }
+
+    @Test
+    void updatedAtCursorWalksEveryRowOnceDescending() {
+        assertWalkMatchesOrderedRead(KeysetOrder.UPDATED_AT, Sort.Direction.DESC);
+    }
+
+    private void assertWalkMatchesOrderedRead(KeysetOrder order, Sort.Direction direction) {
+        Specification<Question> active = Specification.where(QuestionSpecification.isActive());
+        Sort sort = QuestionCursor.sort(order, direction);
+        List<Long> expected = ids(questionRepository.findSlice(active, sort, QUESTIONS + 1));
+
+        List<Long> walked = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            Specification<Question> spec = token != null
+                    ? active.and(QuestionCursor.decode(token).toSpecification())
+                    : active;
+            List<Question> rows = questionRepository.findSlice(spec, sort, PAGE_SIZE + 1);
+            boolean hasNext = rows.size() > PAGE_SIZE;
+            List<Question> content = hasNext ? rows.subList(0, PAGE_SIZE) : rows;
+
+            walked.addAll(ids(content));
+            token = hasNext ? QuestionCursor.after(content.get(content.size() - 1), order, direction).encode() : null;
+            pages++;
+        } while (token != null);
+
+        assertThat(expected).hasSize(QUESTIONS);
+        assertThat(walked).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo((QUESTIONS + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    private static List<Long> ids(List<Question> questions) {
+        return questions.stream().map(Question::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.questionbank.repository;
+
+import com.example.questionbank.model.Chapter;
+import com.example.questionbank.model.ClassEntity;
+import com.example.questionbank.model.MCQOption;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.model.Subject;
+import com.example.questionbank.model.enums.SectionType;
+import com.example.questionbank.repository.specification.QuestionSpecification;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements issued by the repository calls behind the question endpoints,
+ * including touching every association the response mapping reads.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class QuestionRepositoryFetchPlanTest {
+
+    private static final int QUESTIONS_PER_CHAPTER = 6;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    private Statistics statistics;
+    private Long subjectId;
+    private Long mcqQuestionId;
+    private final List<Long> draftQuestionIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ClassEntity classEntity = entityManager.persist(ClassEntity.builder().name("Grade 10").build());
+        Subject subject = entityManager.persist(Subject.builder().name("Physics").classEntity(classEntity).build());
+        subjectId = subject.getId();
+
+        for (int c = 1; c <= 3; c++) {
+            Chapter chapter = entityManager.persist(Chapter.builder().name("Chapter " + c).subject(subject).build());
+            for (int q = 1; q <= QUESTIONS_PER_CHAPTER; q++) {
+                Question question = entityManager.persist(Question.builder()
+                        .questionText("Question " + q + " of chapter " + c + "?")
+                        .sectionType(SectionType.MCQ)
+                        .chapter(chapter)
+                        .build());
+                for (int o = 1; o <= 4; o++) {
+                    entityManager.persist(MCQOption.builder()
+                            .optionText("Option " + o)
+                            .optionOrder(o)
+                            .isCorrect(o == 1)
+                            .question(question)
+                            .build());
+                }
+                if (q % 2 == 0) {
+                    draftQuestionIds.add(question.getId());
+                }
+                mcqQuestionId = question.getId();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void pagedListLoadsHierarchyWithSelectAndCountOnly() {
+        // GET /api/questions/page
+        Page<Question> page = questionRepository.findAll(PageRequest.of(0, 10));
+        page.forEach(this::touchHierarchy);
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void filteredPageDoesNotAddStatementsPerRow() {
+        // GET /api/questions/filter?subjectId=..&isAddedToPaper=..
+        Specification<Question> spec = Specification
+                .where(QuestionSpecification.isActive())
+                .and(QuestionSpecification.filterBySubject(subjectId))
+                .and(QuestionSpecification.filterByDraftMembership(true, draftQuestionIds));
+
+        Page<Question> page = questionRepository.findAll(spec, PageRequest.of(0, 5));
+        page.forEach(this::touchHierarchy);
+
+        assertThat(page.getTotalElements()).isEqualTo(9);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void subjectListIsSingleStatement() {
+        // GET /api/questions/subject/{subjectId}
+        List<Question> questions = questionRepository.findByChapterSubjectId(subjectId);
+        questions.forEach(this::touchHierarchy);
+
+        assertThat(questions).hasSize(3 * QUESTIONS_PER_CHAPTER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void detailLoadsOptionsAndHierarchyInOneStatement() {
+        // GET /api/questions/{id}/with-options
+        Question question = questionRepository.findWithDetailById(mcqQuestionId).orElseThrow();
+        touchHierarchy(question);
+
+        assertThat(question.getMcqOptions()).hasSize(4);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void paperRenderLoadsOptionsWithoutDuplicates() {
+        // Paper rendering
+        List<Question> questions = questionRepository.findWithDetailByIdIn(draftQuestionIds);
+        questions.forEach(question -> {
+            question.getChapter().getSubject().getName();
+            question.getMcqOptions().forEach(MCQOption::getOptionText);
+        });
+
+        assertThat(questions).hasSize(9).doesNotHaveDuplicates();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void plainFindByIdLeavesHierarchyLazy() {
+        // Single question responses resolve the chapter from the hierarchy cache by id
+        Question question = questionRepository.findById(mcqQuestionId).orElseThrow();
+        assertThat(question.getChapter().getId()).isNotNull();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private void touchHierarchy(Question question) {
+        question.getChapter().getName();
+        question.getChapter().getSubject().getName();
+        question.getChapter().getSubject().getClassEntity().getName();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.questionbank.repository;
+
+import com.example.questionbank.model.Chapter;
+import com.example.questionbank.model.ClassEntity;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.model.Subject;
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.QuestionType;
+import com.example.questionbank.model.enums.SectionType;
+import com.example.questionbank.repository.projection.QuestionMarksProjection;
+import com.example.questionbank.repository.projection.QuestionStatsProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The grouped statistics queries: one row per (section, type, difficulty) of the active
+ * questions in scope, with the scope following the chapter, subject and class links.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class QuestionStatsRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    private ClassEntity classEntity;
+    private Subject physics;
+    private Chapter motion;
+    private Question inactiveMcq;
+    private Question longQuestion;
+    private Question atomsMcq;
+
+    @BeforeEach
+    void setUp() {
+        classEntity = entityManager.persist(ClassEntity.builder().name("Grade 10").build());
+        physics = entityManager.persist(Subject.builder().name("Physics").classEntity(classEntity).build());
+        Subject chemistry = entityManager.persist(Subject.builder().name("Chemistry").classEntity(classEntity).build());
+        motion = entityManager.persist(Chapter.builder().name("Motion").subject(physics).build());
+        Chapter waves = entityManager.persist(Chapter.builder().name("Waves").subject(physics).build());
+        Chapter atoms = entityManager.persist(Chapter.builder().name("Atoms").subject(chemistry).build());
+
+        persist(motion, SectionType.MCQ, QuestionType.SINGLE_CHOICE, DifficultyLevel.EASY, true);
+        persist(motion, SectionType.MCQ, QuestionType.SINGLE_CHOICE, DifficultyLevel.EASY, true);
+        inactiveMcq = persist(motion, SectionType.MCQ, QuestionType.SINGLE_CHOICE, DifficultyLevel.EASY, false);
+        longQuestion = persist(motion, SectionType.LONG_QUESTION, QuestionType.LONG_ANSWER, DifficultyLevel.HARD, true);
+        persist(waves, SectionType.MCQ, QuestionType.SINGLE_CHOICE, DifficultyLevel.EASY, true);
+        persist(waves, SectionType.SHORT_QUESTION, QuestionType.SHORT_ANSWER, null, true);
+        atomsMcq = persist(atoms, SectionType.MCQ, QuestionType.MULTIPLE_CHOICE, DifficultyLevel.MEDIUM, true);
+        longQuestion.setMarks(5.0);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void chapterStatsGroupActiveQuestionsOfThatChapter() {
+        assertThat(describe(questionRepository.aggregateActiveQuestionStatsByChapter(motion.getId())))
+                .containsExactlyInAnyOrder("MCQ/SINGLE_CHOICE/EASY=2", "LONG_QUESTION/LONG_ANSWER/HARD=1");
+    }
+
+    @Test
+    void subjectStatsMergeItsChaptersAndKeepMissingDifficulty() {
+        assertThat(describe(questionRepository.aggregateActiveQuestionStatsBySubject(physics.getId())))
+                .containsExactlyInAnyOrder("MCQ/SINGLE_CHOICE/EASY=3", "LONG_QUESTION/LONG_ANSWER/HARD=1",
+                        "SHORT_QUESTION/SHORT_ANSWER/null=1");
+    }
+
+    @Test
+    void classStatsCoverEverySubject() {
+        List<QuestionStatsProjection> rows = questionRepository.aggregateActiveQuestionStatsByClass(classEntity.getId());
+
+        assertThat(describe(rows)).contains("MCQ/MULTIPLE_CHOICE/MEDIUM=1", "MCQ/SINGLE_CHOICE/EASY=3");
+        assertThat(rows.stream().mapToLong(QuestionStatsProjection::getQuestionCount).sum()).isEqualTo(6L);
+    }
+
+    @Test
+    void unknownScopeHasNoRows() {
+        assertThat(questionRepository.aggregateActiveQuestionStatsBySubject(-1L)).isEmpty();
+    }
+
+    @Test
+    void draftMarksCarryTheScopeOfActiveQuestionsOnly() {
+        List<QuestionMarksProjection> rows = questionRepository.findActiveMarksByIdIn(
+                List.of(inactiveMcq.getId(), longQuestion.getId(), atomsMcq.getId()));
+
+        assertThat(rows.stream().map(QuestionMarksProjection::getId))
+                .containsExactlyInAnyOrder(longQuestion.getId(), atomsMcq.getId());
+        QuestionMarksProjection row = rows.stream()
+                .filter(candidate -> candidate.getId().equals(longQuestion.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(row.getChapterId()).isEqualTo(motion.getId());
+        assertThat(row.getSubjectId()).isEqualTo(physics.getId());
+        assertThat(row.getClassId()).isEqualTo(classEntity.getId());
+        assertThat(row.getSectionType()).isEqualTo(SectionType.LONG_QUESTION);
+        assertThat(row.getMarks()).isEqualTo(5.0);
+    }
+
+    private static List<String> describe(List<QuestionStatsProjection> rows) {
+        return rows.stream()
+                .map(row -> row.getSectionType() + "/" + row.getQuestionType() + "/" + row.getDifficultyLevel()
+                        + "=" + row.getQuestionCount())
+                .collect(Collectors.toList());
+    }
+
+    private Question persist(Chapter chapter, SectionType sectionType, QuestionType questionType,
+                             DifficultyLevel difficulty, boolean active) {
+        return entityManager.persist(Question.builder()
+                .questionText(sectionType + " question in " + chapter.getName() + "?")
+                .sectionType(sectionType)
+                .questionType(questionType)
+                .difficultyLevel(difficulty)
+                .isActive(active)
+                .chapter(chapter)
+                .build());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.questionbank.repository.pagination;
+
+import com.example.questionbank.exception.ValidationException;
+import com.example.questionbank.model.Question;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cursor tokens survive an encode/decode round trip and reject anything they did not produce.
+ */
+class QuestionCursorTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000);
+
+    @Test
+    void idCursorRoundTrips() {
+        QuestionCursor cursor = new QuestionCursor(KeysetOrder.ID, Sort.Direction.ASC, null, 42L);
+
+        assertThat(QuestionCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void updatedAtCursorRoundTripsWithFractionalSeconds() {
+        QuestionCursor cursor = new QuestionCursor(KeysetOrder.UPDATED_AT, Sort.Direction.DESC, UPDATED_AT, 7L);
+
+        assertThat(QuestionCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new QuestionCursor(KeysetOrder.UPDATED_AT, Sort.Direction.DESC, UPDATED_AT, Long.MAX_VALUE).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void afterKeepsUpdatedAtOnlyForUpdatedAtOrder() {
+        Question last = Question.builder().build();
+        last.setId(9L);
+        last.setUpdatedAt(UPDATED_AT);
+
+        assertThat(QuestionCursor.after(last, KeysetOrder.ID, Sort.Direction.DESC))
+                .isEqualTo(new QuestionCursor(KeysetOrder.ID, Sort.Direction.DESC, null, 9L));
+        assertThat(QuestionCursor.after(last, KeysetOrder.UPDATED_AT, Sort.Direction.ASC))
+                .isEqualTo(new QuestionCursor(KeysetOrder.UPDATED_AT, Sort.Direction.ASC, UPDATED_AT, 9L));
+    }
+
+    @Test
+    void sortEndsInTheId() {
+        assertThat(QuestionCursor.sort(KeysetOrder.ID, Sort.Direction.ASC)).isEqualTo(Sort.by(Sort.Direction.ASC, "id"));
+        assertThat(QuestionCursor.sort(KeysetOrder.UPDATED_AT, Sort.Direction.DESC))
+                .isEqualTo(Sort.by(Sort.Direction.DESC, "updatedAt", "id"));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertRejected("not base64!");
+        assertRejected(raw("1|ID|ASC||"));
+        assertRejected(raw("1|ID|ASC||abc"));
+        assertRejected(raw("1|SCORE|ASC||5"));
+        assertRejected(raw("1|ID|SIDEWAYS||5"));
+        assertRejected(raw("1|UPDATED_AT|ASC||5"));
+        assertRejected(raw("1|UPDATED_AT|ASC|yesterday|5"));
+        assertRejected(raw("1|ID|ASC||5|extra"));
+    }
+
+    @Test
+    void rejectsOtherVersions() {
+        assertRejected(raw("2|ID|ASC||5"));
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertRejected(String token) {
+        assertThatThrownBy(() -> QuestionCursor.decode(token))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Invalid or expired cursor");
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.questionbank.sampling;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bucketing of a chapter's ids by section type and difficulty, and which buckets a
+ * sampling criteria selects.
+ */
+class ChapterIdBucketsTest {
+
+    private final ChapterIdBuckets buckets = ChapterIdBuckets.builder()
+            .add(12, SectionType.MCQ, DifficultyLevel.EASY)
+            .add(3, SectionType.MCQ, DifficultyLevel.EASY)
+            .add(7, SectionType.MCQ, DifficultyLevel.HARD)
+            .add(9, SectionType.MCQ, null)
+            .add(20, SectionType.ESSAY, DifficultyLevel.EASY)
+            .build();
+
+    @Test
+    void countsAndFindsEveryId() {
+        assertThat(buckets.size()).isEqualTo(5);
+        assertThat(buckets.contains(3)).isTrue();
+        assertThat(buckets.contains(9)).isTrue();
+        assertThat(buckets.contains(20)).isTrue();
+        assertThat(buckets.contains(4)).isFalse();
+    }
+
+    @Test
+    void collectsSortedBucketsInSlotOrder() {
+        List<long[]> out = new ArrayList<>();
+
+        buckets.collect(SamplingCriteria.ANY, out);
+
+        assertThat(out).hasSize(4);
+        assertThat(out.get(0)).containsExactly(3, 12);
+        assertThat(out.get(1)).containsExactly(7);
+        assertThat(out.get(2)).containsExactly(9);
+        assertThat(out.get(3)).containsExactly(20);
+    }
+
+    @Test
+    void collectsOnlyBucketsTheCriteriaAccepts() {
+        List<long[]> easy = new ArrayList<>();
+        buckets.collect(SamplingCriteria.builder().difficultyLevel(DifficultyLevel.EASY).build(), easy);
+
+        List<long[]> mcq = new ArrayList<>();
+        buckets.collect(SamplingCriteria.builder().sectionType(SectionType.MCQ).build(), mcq);
+
+        List<long[]> none = new ArrayList<>();
+        buckets.collect(SamplingCriteria.builder()
+                .sectionType(SectionType.ESSAY)
+                .difficultyLevel(DifficultyLevel.HARD)
+                .build(), none);
+
+        assertThat(easy).hasSize(2);
+        assertThat(easy.get(0)).containsExactly(3, 12);
+        assertThat(easy.get(1)).containsExactly(20);
+        assertThat(mcq).hasSize(3);
+        assertThat(none).isEmpty();
+    }
+
+    @Test
+    void emptyBuilderBuildsEmptyBuckets() {
+        ChapterIdBuckets empty = ChapterIdBuckets.builder().build();
+        List<long[]> out = new ArrayList<>();
+
+        empty.collect(SamplingCriteria.ANY, out);
+
+        assertThat(empty.size()).isZero();
+        assertThat(empty.contains(1)).isFalse();
+        assertThat(out).isEmpty();
+    }
+}
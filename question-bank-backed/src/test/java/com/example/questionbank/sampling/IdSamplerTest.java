@@ -0,0 +1,92 @@
+package com.example.questionbank.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sampling without replacement across several id arrays: distinctness, determinism by seed
+ * and an even spread over every position, including bucket boundaries and empty buckets.
+ */
+class IdSamplerTest {
+
+    @Test
+    void sameSeedDrawsSameIdsInSameOrder() {
+        List<long[]> buckets = List.of(range(1, 50), range(100, 130), range(500, 520));
+
+        assertThat(IdSampler.sample(buckets, 25, 42L)).containsExactly(IdSampler.sample(buckets, 25, 42L));
+        assertThat(IdSampler.sample(buckets, 25, 42L)).isNotEqualTo(IdSampler.sample(buckets, 25, 43L));
+    }
+
+    @Test
+    void drawsDistinctIdsFromTheBuckets() {
+        List<long[]> buckets = List.of(range(1, 10), new long[0], range(20, 25), new long[0], range(40, 41));
+        Set<Long> all = new HashSet<>();
+        buckets.forEach(bucket -> Arrays.stream(bucket).forEach(all::add));
+
+        for (long seed = 0; seed < 200; seed++) {
+            long[] ids = IdSampler.sample(buckets, 12, seed);
+
+            assertThat(ids).hasSize(12);
+            assertThat(Arrays.stream(ids).distinct().count()).isEqualTo(12);
+            assertThat(Arrays.stream(ids).allMatch(all::contains)).isTrue();
+        }
+    }
+
+    @Test
+    void countBeyondTotalReturnsEveryIdOnce() {
+        List<long[]> buckets = List.of(range(1, 4), new long[0], range(10, 12));
+
+        assertThat(IdSampler.sample(buckets, 100, 7L)).containsExactlyInAnyOrder(1, 2, 3, 10, 11);
+        assertThat(IdSampler.sample(buckets, 0, 7L)).isEmpty();
+        assertThat(IdSampler.sample(buckets, -3, 7L)).isEmpty();
+        assertThat(IdSampler.sample(List.of(), 5, 7L)).isEmpty();
+    }
+
+    @Test
+    void everyIdIsEquallyLikely() {
+        // Uneven buckets, so a bias towards small or trailing buckets would show up
+        List<long[]> buckets = List.of(range(0, 3), new long[0], range(3, 13), range(13, 20));
+        int total = 20;
+        int picks = 5;
+        int rounds = 40_000;
+        int[] hits = new int[total];
+
+        for (long seed = 0; seed < rounds; seed++) {
+            for (long id : IdSampler.sample(buckets, picks, seed)) {
+                hits[(int) id]++;
+            }
+        }
+
+        double expected = (double) rounds * picks / total;
+        for (int id = 0; id < total; id++) {
+            assertThat(hits[id]).as("draws of id %d", id).isBetween((int) (expected * 0.95), (int) (expected * 1.05));
+        }
+    }
+
+    @Test
+    void everyIdIsEquallyLikelyToComeFirst() {
+        List<long[]> buckets = List.of(range(0, 2), range(2, 8));
+        int rounds = 40_000;
+        int[] firsts = new int[8];
+
+        for (long seed = 0; seed < rounds; seed++) {
+            firsts[(int) IdSampler.sample(buckets, 4, seed)[0]]++;
+        }
+
+        double expected = rounds / 8.0;
+        for (int id = 0; id < firsts.length; id++) {
+            assertThat(firsts[id]).as("first draws of id %d", id).isBetween((int) (expected * 0.93), (int) (expected * 1.07));
+        }
+    }
+
+    private static long[] range(long fromInclusive, long toExclusive) {
+        return LongStream.range(fromInclusive, toExclusive).toArray();
+    }
+}
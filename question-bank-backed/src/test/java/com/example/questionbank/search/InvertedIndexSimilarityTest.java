@@ -0,0 +1,102 @@
+package com.example.questionbank.search;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * "More like this" lookups: TF-IDF cosine ranking, the chapter/difficulty filter, and the
+ * pruning of terms common enough to say nothing about similarity.
+ */
+class InvertedIndexSimilarityTest {
+
+    private static final TextAnalyzer WORDS = text -> Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(term -> !term.isEmpty())
+            .collect(Collectors.toList());
+
+    private final InvertedIndex index = new InvertedIndex(WORDS);
+
+    @Test
+    void sharedRareTermsRankFirstAndUnrelatedQuestionsAreLeftOut() {
+        index(1, 10L, DifficultyLevel.EASY, true, "Photosynthesis in green plants needs chlorophyll and light");
+        index(2, 10L, DifficultyLevel.EASY, true, "Chlorophyll absorbs light for photosynthesis");
+        index(3, 10L, DifficultyLevel.EASY, true, "Green plants need water");
+        index(4, 10L, DifficultyLevel.EASY, true, "Newton's third law of motion");
+
+        List<SearchHit> hits = similarTo("Photosynthesis in green plants needs chlorophyll and light", 1L,
+                SimilarityFilter.NONE, 10);
+
+        assertThat(ids(hits)).containsExactly(2L, 3L);
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+    }
+
+    @Test
+    void identicalTextHasCosineOne() {
+        index(1, 10L, DifficultyLevel.EASY, true, "Balance the equation for burning methane");
+        index(2, 10L, DifficultyLevel.EASY, true, "Name the products of burning coal");
+
+        List<SearchHit> hits = similarTo("Balance the equation for burning methane", null, SimilarityFilter.NONE, 1);
+
+        assertThat(ids(hits)).containsExactly(1L);
+        assertThat((double) hits.get(0).getScore()).isCloseTo(1.0, within(1e-4));
+    }
+
+    @Test
+    void filterRestrictsChapterAndDifficultyAndSkipsInactiveQuestions() {
+        index(1, 10L, DifficultyLevel.EASY, true, "Velocity and acceleration of a falling body");
+        index(2, 11L, DifficultyLevel.EASY, true, "Velocity and acceleration of a falling stone");
+        index(3, 10L, DifficultyLevel.HARD, true, "Velocity and acceleration of a falling ball");
+        index(4, 10L, DifficultyLevel.EASY, false, "Velocity and acceleration of a falling apple");
+        index(5, 10L, DifficultyLevel.EASY, true, "Velocity of a car");
+
+        String query = "Velocity and acceleration of a falling body";
+        assertThat(ids(similarTo(query, 1L, new SimilarityFilter(Set.of(10L), DifficultyLevel.EASY), 10)))
+                .containsExactly(5L);
+        assertThat(ids(similarTo(query, 1L, new SimilarityFilter(Set.of(10L, 11L), null), 10)))
+                .containsExactlyInAnyOrder(2L, 3L, 5L);
+        assertThat(similarTo(query, 1L, new SimilarityFilter(Set.of(), null), 10)).isEmpty();
+    }
+
+    @Test
+    void limitKeepsTheClosestQuestions() {
+        index(1, 10L, DifficultyLevel.EASY, true, "acid base salt indicator");
+        index(2, 10L, DifficultyLevel.EASY, true, "acid base salt");
+        index(3, 10L, DifficultyLevel.EASY, true, "acid base");
+        index(4, 10L, DifficultyLevel.EASY, true, "acid");
+
+        assertThat(ids(similarTo("acid base salt indicator", 1L, SimilarityFilter.NONE, 2))).containsExactly(2L, 3L);
+        assertThat(similarTo("acid", 1L, SimilarityFilter.NONE, 0)).isEmpty();
+        assertThat(similarTo("", 1L, SimilarityFilter.NONE, 5)).isEmpty();
+    }
+
+    @Test
+    void termsInMostQuestionsOfALargeIndexDoNotMakeQuestionsSimilar() {
+        for (int id = 1; id <= 1000; id++) {
+            index(id, 10L, DifficultyLevel.EASY, true, "common word" + id);
+        }
+        index(1001, 10L, DifficultyLevel.EASY, true, "common isotope");
+        index(1002, 10L, DifficultyLevel.EASY, true, "isotope half life");
+
+        assertThat(ids(similarTo("common isotope", 1001L, SimilarityFilter.NONE, 10))).containsExactly(1002L);
+    }
+
+    private void index(long questionId, Long chapterId, DifficultyLevel difficulty, boolean active, String text) {
+        index.index(new QuestionDocument(questionId, active, chapterId, difficulty, List.of(text)));
+    }
+
+    private List<SearchHit> similarTo(String text, Long excludeQuestionId, SimilarityFilter filter, int limit) {
+        return index.similar(List.of(text), excludeQuestionId, filter, limit);
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getQuestionId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.questionbank.search;
+
+import com.example.questionbank.model.enums.DifficultyLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * BM25 search over the inverted index: all-terms matching, ranking, prefix expansion, and
+ * document frequencies that follow removals and re-indexing.
+ */
+class InvertedIndexTest {
+
+    // Lowercased words only, so these tests do not depend on the production analyzer chain
+    private static final TextAnalyzer WORDS = text -> Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(term -> !term.isEmpty())
+            .collect(Collectors.toList());
+
+    private final InvertedIndex index = new InvertedIndex(WORDS);
+
+    @Test
+    void matchesOnlyDocumentsContainingEveryTerm() {
+        index(1, "Newton's second law of motion");
+        index(2, "Newton's law of gravitation");
+        index(3, "Laws of motion in fluids");
+
+        SearchResult result = index.search("law motion", false, false, 10);
+
+        assertThat(ids(result)).containsExactly(1L);
+        assertThat(result.getTotalHits()).isEqualTo(1);
+        assertThat(index.search("law electricity", false, false, 10)).isEqualTo(SearchResult.EMPTY);
+    }
+
+    @Test
+    void ranksRarerAndDenserMatchesFirst() {
+        index(1, "energy");
+        index(2, "energy energy kinetic");
+        index(3, "kinetic energy of a moving body and its potential energy at rest in a field");
+        index(4, "potential difference");
+
+        SearchResult result = index.search("kinetic energy", false, false, 10);
+
+        assertThat(ids(result)).containsExactly(2L, 3L);
+        assertThat(result.getHits().get(0).getScore()).isGreaterThan(result.getHits().get(1).getScore());
+    }
+
+    @Test
+    void limitKeepsTheBestHitsButCountsEveryMatch() {
+        for (long id = 1; id <= 20; id++) {
+            index(id, "cell " + "membrane ".repeat((int) id));
+        }
+
+        SearchResult result = index.search("membrane", false, false, 3);
+
+        assertThat(result.getTotalHits()).isEqualTo(20);
+        assertThat(ids(result)).containsExactly(20L, 19L, 18L);
+    }
+
+    @Test
+    void activeOnlySkipsInactiveQuestions() {
+        index.index(new QuestionDocument(1, false, 1L, DifficultyLevel.EASY, List.of("photosynthesis in plants")));
+        index(2, "photosynthesis and respiration");
+
+        assertThat(ids(index.search("photosynthesis", true, false, 10))).containsExactly(2L);
+        assertThat(ids(index.search("photosynthesis", false, false, 10))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void lastTermCanBeSearchedAsPrefix() {
+        index(1, "electric current");
+        index(2, "electrolysis of water");
+        index(3, "magnetic current");
+
+        assertThat(ids(index.search("electr", false, false, 10))).isEmpty();
+        assertThat(ids(index.search("electr", false, true, 10))).containsExactlyInAnyOrder(1L, 2L);
+        // Only the last term is a prefix
+        assertThat(ids(index.search("curr electr", false, true, 10))).isEmpty();
+        assertThat(ids(index.search("current electr", false, true, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void reindexingReplacesThePreviousVersion() {
+        index(1, "velocity of sound");
+        index(1, "speed of light");
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(ids(index.search("sound", false, false, 10))).isEmpty();
+        assertThat(ids(index.search("light", false, false, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void removedQuestionsNoLongerMatch() {
+        index(1, "acid base reaction");
+        index(2, "acid rain");
+
+        index.remove(1);
+        index.remove(99);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(ids(index.search("acid", false, false, 10))).containsExactly(2L);
+        assertThat(ids(index.search("base", false, false, 10))).isEmpty();
+    }
+
+    @Test
+    void scoresUseLiveDocumentFrequencies() {
+        // Same live documents, one index with a history of removed ones: idf must not see the tombstones
+        InvertedIndex fresh = new InvertedIndex(WORDS);
+        fresh.index(document(1, "common rare"));
+        fresh.index(document(2, "other words"));
+
+        index(1, "common rare");
+        index(2, "other words");
+        for (long id = 10; id < 40; id++) {
+            index(id, "common filler");
+        }
+        for (long id = 10; id < 40; id++) {
+            index.remove(id);
+        }
+
+        float expected = fresh.search("common", false, false, 1).getHits().get(0).getScore();
+        float actual = index.search("common", false, false, 1).getHits().get(0).getScore();
+
+        assertThat(actual).isCloseTo(expected, within(1e-5f));
+    }
+
+    @Test
+    void prefixSkipsTermsLeftOnlyInRemovedQuestions() {
+        // More dead terms than the prefix expansion limit, all sorting before the live one
+        for (long id = 1; id <= 100; id++) {
+            index(id, String.format("isotope%03d", id));
+        }
+        index(500, "isotopez");
+        for (long id = 1; id <= 100; id++) {
+            index.remove(id);
+        }
+
+        assertThat(ids(index.search("isotope", false, true, 10))).containsExactly(500L);
+    }
+
+    @Test
+    void compactionKeepsEveryLiveQuestionSearchable() {
+        // Enough re-indexing to leave thousands of tombstones and trigger compaction
+        for (int round = 0; round < 6; round++) {
+            for (long id = 1; id <= 500; id++) {
+                index(id, "round" + round + " question" + id + (id % 2 == 0 ? " even" : " odd"));
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(500);
+        assertThat(index.search("even", false, false, 1000).getTotalHits()).isEqualTo(250);
+        assertThat(index.search("round0", false, false, 10)).isEqualTo(SearchResult.EMPTY);
+        assertThat(ids(index.search("round5 question321", false, false, 10))).containsExactly(321L);
+        assertThat(ids(index.search("round5 question321 odd", false, false, 10))).containsExactly(321L);
+        assertThat(index.search("round5 question321 even", false, false, 10)).isEqualTo(SearchResult.EMPTY);
+    }
+
+    private void index(long questionId, String text) {
+        index.index(document(questionId, text));
+    }
+
+    private static QuestionDocument document(long questionId, String text) {
+        return new QuestionDocument(questionId, true, 1L, DifficultyLevel.MEDIUM, List.of(text));
+    }
+
+    private static List<Long> ids(SearchResult result) {
+        return result.getHits().stream().map(SearchHit::getQuestionId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.questionbank.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * SimHash signatures and the band index that finds signatures within
+ * {@link SimHashIndex#MAX_DISTANCE} bits without comparing against every question.
+ */
+class SimHashIndexTest {
+
+    private static final List<String> QUESTION = List.of(
+            "state", "newton", "second", "law", "of", "motion", "and", "derive", "the", "relation",
+            "between", "force", "mass", "and", "acceleration", "for", "a", "body");
+
+    @Test
+    void signatureDependsOnlyOnTheTerms() {
+        assertThat(SimHash.of(QUESTION)).isEqualTo(SimHash.of(List.copyOf(QUESTION)));
+        assertThat(SimHash.of(List.of())).isZero();
+    }
+
+    @Test
+    void smallEditsStayCloseAndUnrelatedTextDoesNot() {
+        long original = SimHash.of(QUESTION);
+        long copy = SimHash.of(concat(QUESTION, List.of("copy")));
+        long unrelated = SimHash.of(List.of(
+                "list", "the", "main", "causes", "of", "the", "first", "world", "war", "and",
+                "explain", "their", "effect", "on", "the", "european", "economy", "today"));
+
+        assertThat(SimHash.distance(original, copy)).isLessThanOrEqualTo(SimHashIndex.MAX_DISTANCE);
+        assertThat(SimHash.distance(original, unrelated)).isGreaterThan(SimHashIndex.MAX_DISTANCE);
+    }
+
+    @Test
+    void findsEverySignatureWithinTheMaximumDistance() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int round = 0; round < 500; round++) {
+            SimHashIndex index = new SimHashIndex();
+            long signature = random.nextLong();
+            int flips = random.nextInt(SimHashIndex.MAX_DISTANCE + 1);
+            long near = flipDistinctBits(signature, flips, random);
+            index.put(1L, near);
+            index.put(2L, ~signature);
+
+            assertThat(index.findNear(signature, null)).containsExactly(entry(1L, flips));
+        }
+    }
+
+    @Test
+    void ordersMatchesByDistanceAndSkipsTheExcludedQuestion() {
+        long signature = 0x5DEECE66DL;
+        SimHashIndex index = new SimHashIndex();
+        index.put(1L, signature);
+        index.put(2L, signature ^ 0b1011L);
+        index.put(3L, signature ^ 0b1L);
+        index.put(4L, signature ^ 0xFFFFL);
+
+        Map<Long, Integer> near = index.findNear(signature, 1L);
+
+        assertThat(near).containsExactly(entry(3L, 1), entry(2L, 3));
+    }
+
+    @Test
+    void reputtingMovesAQuestionAndRemovingDropsIt() {
+        SimHashIndex index = new SimHashIndex();
+        index.put(1L, 0L);
+        index.put(2L, 0L);
+        index.put(1L, -1L);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findNear(0L, null)).containsOnlyKeys(2L);
+        assertThat(index.findNear(-1L, null)).containsOnlyKeys(1L);
+
+        index.remove(2L);
+        index.remove(99L);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.findNear(0L, null)).isEmpty();
+    }
+
+    @Test
+    void crowdedBucketsKeepEveryEntry() {
+        // All share band values with signature 0, so their buckets grow and shrink through the swap-remove path
+        SimHashIndex index = new SimHashIndex();
+        for (long id = 1; id <= 100; id++) {
+            index.put(id, 1L << (id % 64));
+        }
+        for (long id = 1; id <= 100; id += 2) {
+            index.remove(id);
+        }
+
+        assertThat(index.findNear(0L, null)).hasSize(50).containsOnlyKeys(evenIds(100));
+    }
+
+    private static long flipDistinctBits(long signature, int flips, SplittableRandom random) {
+        long mask = 0;
+        while (Long.bitCount(mask) < flips) {
+            mask |= 1L << random.nextInt(64);
+        }
+        return signature ^ mask;
+    }
+
+    private static Long[] evenIds(int max) {
+        Long[] ids = new Long[max / 2];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 2L * (i + 1);
+        }
+        return ids;
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> terms = new ArrayList<>(first);
+        terms.addAll(second);
+        return terms;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.questionbank.search.analysis;
+
+import com.example.questionbank.search.TextAnalyzer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Finding formulas in question text, delimited or not, while keeping terms in text order.
+ */
+class FormulaAwareTextAnalyzerTest {
+
+    private static final TextAnalyzer WORDS = text -> Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(term -> !term.isEmpty())
+            .collect(Collectors.toList());
+
+    private final FormulaAwareTextAnalyzer analyzer = new FormulaAwareTextAnalyzer(WORDS, new FormulaNormalizer());
+
+    @Test
+    void everySpellingOfAFormulaGivesTheSameTerm() {
+        assertThat(analyzer.analyze("$H_{2}SO_{4}$ and \\ce{H2SO4} and H₂SO₄ and H2SO4"))
+                .containsExactly("h2so4", "and", "h2so4", "and", "h2so4", "and", "h2so4");
+    }
+
+    @Test
+    void recognisesEveryDelimiter() {
+        assertThat(analyzer.analyze("\\(E = mc^2\\) energy")).containsExactly("E=mc^2", "energy");
+        assertThat(analyzer.analyze("half is \\[\\tfrac{1}{2}\\]")).containsExactly("half", "is", "\\frac{1}{2}", "\\frac");
+        assertThat(analyzer.analyze("$$\\frac{1}{2}$$")).containsExactly("\\frac{1}{2}", "\\frac");
+    }
+
+    @Test
+    void dollarAmountsAreNotFormulas() {
+        assertThat(analyzer.analyze("Solve $\\dfrac{a}{b} \\le x^{2}$ costs $5 and $10"))
+                .containsExactly("solve", "\\frac{a}{b}\\leq x^2", "\\frac", "\\leq", "costs", "5", "and", "10");
+        assertThat(analyzer.analyze("pay $ 5 or \\$6")).containsExactly("pay", "5", "or", "6");
+    }
+
+    @Test
+    void undelimitedMarkupIsTreatedAsAFormula() {
+        assertThat(analyzer.analyze("balance H_2SO_4, then x^2 + y^2?")).containsExactly("balance", "h2so4", "then", "x2", "y2");
+    }
+
+    @Test
+    void unclosedDelimiterIsPlainText() {
+        assertThat(analyzer.analyze("open \\(x + y")).containsExactly("open", "x", "y");
+    }
+}
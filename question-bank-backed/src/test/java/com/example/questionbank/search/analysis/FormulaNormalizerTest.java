@@ -0,0 +1,46 @@
+package com.example.questionbank.search.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Spellings of the same formula canonicalize to one form, and the index terms derived from it.
+ */
+class FormulaNormalizerTest {
+
+    private final FormulaNormalizer normalizer = new FormulaNormalizer();
+
+    @Test
+    void chemicalSpellingsShareOneCanonicalForm() {
+        assertThat(normalizer.canonicalize("H_{2}SO_{4}")).isEqualTo("H_2SO_4");
+        assertThat(normalizer.canonicalize("\\ce{H2SO4}")).isEqualTo("H_2SO_4");
+        assertThat(normalizer.canonicalize("H₂SO₄")).isEqualTo("H_2SO_4");
+        assertThat(normalizer.canonicalize("\\ce{Ca^2+}")).isEqualTo(normalizer.canonicalize("Ca^{2+}"));
+    }
+
+    @Test
+    void resolvesAliasesAndDropsLayout() {
+        assertThat(normalizer.canonicalize("\\dfrac{a}{b}")).isEqualTo("\\frac{a}{b}");
+        assertThat(normalizer.canonicalize("a \\le b")).isEqualTo("a\\leq b");
+        assertThat(normalizer.canonicalize("\\left( x \\right)")).isEqualTo("(x)");
+        assertThat(normalizer.canonicalize("\\mathrm{d}x")).isEqualTo("dx");
+    }
+
+    @Test
+    void plainFormulasIndexAsTheirWord() {
+        assertThat(normalizer.terms("H_{2}SO_{4}")).containsExactly("h2so4");
+        assertThat(normalizer.terms("x^{2}")).containsExactly("x2");
+    }
+
+    @Test
+    void structuredFormulasIndexTheirFormAndMacros() {
+        assertThat(normalizer.terms("\\dfrac{a}{b} \\le x^{2}")).containsExactly("\\frac{a}{b}\\leq x^2", "\\frac", "\\leq");
+        assertThat(normalizer.terms("Ca^{2+}")).containsExactly("Ca^{2+}");
+    }
+
+    @Test
+    void layoutOnlyFormulaHasNoTerms() {
+        assertThat(normalizer.terms("\\quad \\,")).isEmpty();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.questionbank.search.analysis;
+
+import com.ibm.icu.lang.UScript;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The word analyzer chain as the search index wires it: case and width folding, word
+ * boundaries, diacritic and Arabic-script folding, and per-script stemming.
+ */
+class IcuTextAnalyzerTest {
+
+    private final IcuTextAnalyzer analyzer = new IcuTextAnalyzer(List.of(
+            new DiacriticFoldingFilter(),
+            new ArabicScriptFoldingFilter(),
+            new ScriptStemmingFilter(Map.of(
+                    UScript.LATIN, new EnglishMinimalStemmer(),
+                    UScript.ARABIC, new UrduLightStemmer()))));
+
+    @Test
+    void dropsPunctuationAndStemsEnglishInflections() {
+        assertThat(analyzer.analyze("The Atoms' properties: mass, radius & atom's charges."))
+                .containsExactly("the", "atom", "property", "mass", "radius", "atom", "charge");
+    }
+
+    @Test
+    void foldsWidthAndAccents() {
+        assertThat(analyzer.analyze("ＡＴＯＭＳ café naïve")).containsExactly("atom", "cafe", "naive");
+    }
+
+    @Test
+    void foldsArabicKeyboardLettersOntoUrduForms() {
+        // Arabic kaf and yeh, tatweel and hamza above all reach the same terms as the Urdu spelling
+        assertThat(analyzer.analyze("كتاب كـتاب أحمد")).containsExactly("کتاب", "کتاب", "احمد");
+    }
+
+    @Test
+    void foldsArabicIndicDigits() {
+        assertThat(analyzer.analyze("۱۲ ١٢ 12")).containsExactly("12", "12", "12");
+    }
+
+    @Test
+    void stemsUrduPluralsAndArabicArticle() {
+        assertThat(analyzer.analyze("کتابیں لوگوں لڑکے الکتاب")).containsExactly("کتاب", "لوگ", "لڑک", "کتاب");
+        // Too short to lose an ending
+        assertThat(analyzer.analyze("کا سے")).containsExactly("کا", "سے");
+    }
+
+    @Test
+    void keepsMixedScriptsInTextOrder() {
+        assertThat(analyzer.analyze("Newton کا قانون 2nd")).containsExactly("newton", "کا", "قانون", "2nd");
+    }
+
+    @Test
+    void blankTextHasNoTerms() {
+        assertThat(analyzer.analyze(null)).isEmpty();
+        assertThat(analyzer.analyze("")).isEmpty();
+        assertThat(analyzer.analyze(" ?! ")).isEmpty();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.response.FormulaCacheStatsDTO;
+import com.example.questionbank.render.FormulaImage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The formula image cache: repeats are served from memory, parse failures are remembered, the
+ * memory tier is bounded by bytes, and images on disk survive a restart.
+ */
+class FormulaRenderServiceImplementationTest {
+
+    private static final float FONT_SIZE = 11f;
+    private static final int DPI = 150;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void repeatedFormulaIsRasterizedOnce() throws IOException {
+        FormulaRenderServiceImplementation service = open(null);
+
+        FormulaImage first = service.render("x^{2} + y^{2}", false, FONT_SIZE, DPI);
+        // Only whitespace is normalized
+        FormulaImage second = service.render("  x^{2}  +   y^{2} ", false, FONT_SIZE, DPI);
+
+        assertThat(first).isNotNull();
+        assertThat(second).isSameAs(first);
+        assertThat(first.getWidth()).isGreaterThan(0);
+        assertThat(first.getDpi()).isEqualTo(DPI);
+        FormulaCacheStatsDTO stats = service.getStats();
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getMemoryHits()).isEqualTo(1);
+        assertThat(stats.getEntryCount()).isEqualTo(1);
+    }
+
+    @Test
+    void displayStyleAndResolutionAreSeparateEntries() throws IOException {
+        FormulaRenderServiceImplementation service = open(null);
+
+        FormulaImage inline = service.render("\\frac{a}{b}", false, FONT_SIZE, DPI);
+        FormulaImage display = service.render("\\frac{a}{b}", true, FONT_SIZE, DPI);
+        FormulaImage sharper = service.render("\\frac{a}{b}", false, FONT_SIZE, DPI * 2);
+
+        assertThat(display).isNotSameAs(inline);
+        assertThat(sharper.getWidth()).isGreaterThan(inline.getWidth());
+        assertThat(service.getStats().getMisses()).isEqualTo(3);
+    }
+
+    @Test
+    void unparsableFormulaIsRememberedAsAFailure() throws IOException {
+        FormulaRenderServiceImplementation service = open(null);
+
+        assertThat(service.render("\\undefinedmacro{x}", false, FONT_SIZE, DPI)).isNull();
+        assertThat(service.render("\\undefinedmacro{x}", false, FONT_SIZE, DPI)).isNull();
+        assertThat(service.render("   ", false, FONT_SIZE, DPI)).isNull();
+
+        FormulaCacheStatsDTO stats = service.getStats();
+        assertThat(stats.getFailures()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getMemoryHits()).isEqualTo(1);
+    }
+
+    @Test
+    void leastRecentlyUsedImagesAreEvictedOverTheByteCap() throws IOException {
+        FormulaRenderServiceImplementation service = open(null);
+        FormulaImage a = service.render("a^{2}", false, FONT_SIZE, DPI);
+        // Room for a single image
+        ReflectionTestUtils.setField(service, "maxMemoryBytes", a.getPng().length + 200L);
+
+        service.render("b^{2}", false, FONT_SIZE, DPI);
+        FormulaImage again = service.render("a^{2}", false, FONT_SIZE, DPI);
+
+        assertThat(again).isNotSameAs(a);
+        FormulaCacheStatsDTO stats = service.getStats();
+        assertThat(stats.getEvictions()).isEqualTo(2);
+        assertThat(stats.getEntryCount()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(3);
+    }
+
+    @Test
+    void imagesOnDiskSurviveARestart() throws IOException {
+        FormulaImage rendered = open(directory).render("\\sqrt{x}", true, FONT_SIZE, DPI);
+        try (var files = Files.list(directory)) {
+            assertThat(files.filter(file -> file.toString().endsWith(".formula"))).hasSize(1);
+        }
+
+        FormulaRenderServiceImplementation restarted = open(directory);
+        FormulaImage reloaded = restarted.render("\\sqrt{x}", true, FONT_SIZE, DPI);
+
+        assertThat(reloaded.getPng()).isEqualTo(rendered.getPng());
+        assertThat(reloaded.getDepth()).isEqualTo(rendered.getDepth());
+        assertThat(restarted.getStats().getDiskHits()).isEqualTo(1);
+        assertThat(restarted.getStats().getMisses()).isEqualTo(0);
+    }
+
+    private static FormulaRenderServiceImplementation open(Path directory) throws IOException {
+        FormulaRenderServiceImplementation service = new FormulaRenderServiceImplementation();
+        ReflectionTestUtils.setField(service, "fontSize", FONT_SIZE);
+        ReflectionTestUtils.setField(service, "dpi", DPI);
+        ReflectionTestUtils.setField(service, "maxMemoryMb", 32L);
+        ReflectionTestUtils.setField(service, "directory", directory != null ? directory.toString() : "");
+        service.init();
+        return service;
+    }
+}
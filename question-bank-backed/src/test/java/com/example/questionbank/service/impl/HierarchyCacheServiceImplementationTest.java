@@ -0,0 +1,141 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.response.ChapterSummaryDTO;
+import com.example.questionbank.dto.response.HierarchyCacheStatsDTO;
+import com.example.questionbank.event.HierarchyChangedEvent;
+import com.example.questionbank.model.Chapter;
+import com.example.questionbank.model.ClassEntity;
+import com.example.questionbank.model.Subject;
+import com.example.questionbank.repository.ChapterRepository;
+import com.example.questionbank.repository.ClassRepository;
+import com.example.questionbank.repository.SubjectRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Snapshot building, reload on hierarchy changes and the hit/miss accounting of the
+ * class/subject/chapter cache.
+ */
+@ExtendWith(MockitoExtension.class)
+class HierarchyCacheServiceImplementationTest {
+
+    @Mock
+    private ClassRepository classRepository;
+
+    @Mock
+    private SubjectRepository subjectRepository;
+
+    @Mock
+    private ChapterRepository chapterRepository;
+
+    @InjectMocks
+    private HierarchyCacheServiceImplementation hierarchyCacheService;
+
+    private final ClassEntity grade9 = classEntity(1L, "Grade 9");
+    private final Subject physics = subject(10L, "Physics", grade9);
+    private final Subject chemistry = subject(11L, "Chemistry", grade9);
+
+    @Test
+    void lookupsMissUntilTheFirstLoad() {
+        assertThat(hierarchyCacheService.getChapterSummary(100L)).isEmpty();
+
+        HierarchyCacheStatsDTO stats = hierarchyCacheService.getStats();
+        assertThat(stats.getMisses()).isEqualTo(1L);
+        assertThat(stats.getChapterCount()).isZero();
+        assertThat(stats.getLoadedAt()).isNull();
+    }
+
+    @Test
+    void reloadLinksChaptersToTheirSubjectAndClass() {
+        load(List.of(physics, chemistry), List.of(chapter(100L, "Motion", physics)));
+
+        ChapterSummaryDTO motion = hierarchyCacheService.getChapterSummary(100L).orElseThrow();
+        assertThat(motion.getName()).isEqualTo("Motion");
+        assertThat(motion.getSubjectInfo().getName()).isEqualTo("Physics");
+        assertThat(motion.getSubjectInfo().getClassInfo().getName()).isEqualTo("Grade 9");
+
+        // A subject without chapters is still cached
+        assertThat(hierarchyCacheService.getSubjectSummary(11L).orElseThrow().getClassInfo().getId()).isEqualTo(1L);
+        assertThat(hierarchyCacheService.getClassSummary(1L).orElseThrow().getName()).isEqualTo("Grade 9");
+    }
+
+    @Test
+    void callersGetCopiesTheyCanChange() {
+        load(List.of(physics), List.of(chapter(100L, "Motion", physics)));
+
+        ChapterSummaryDTO first = hierarchyCacheService.getChapterSummary(100L).orElseThrow();
+        first.setName("Changed");
+        first.getSubjectInfo().setName("Changed");
+
+        ChapterSummaryDTO second = hierarchyCacheService.getChapterSummary(100L).orElseThrow();
+        assertThat(second.getName()).isEqualTo("Motion");
+        assertThat(second.getSubjectInfo().getName()).isEqualTo("Physics");
+    }
+
+    @Test
+    void changeEventReplacesTheSnapshot() {
+        load(List.of(physics), List.of(chapter(100L, "Motion", physics), chapter(101L, "Waves", physics)));
+
+        when(classRepository.findAll()).thenReturn(List.of(grade9));
+        when(subjectRepository.findAllWithHierarchy()).thenReturn(List.of(physics));
+        when(chapterRepository.findAllWithHierarchy()).thenReturn(List.of(chapter(100L, "Kinematics", physics)));
+        hierarchyCacheService.onHierarchyChanged(new HierarchyChangedEvent("Chapter", 101L));
+
+        assertThat(hierarchyCacheService.getChapterSummary(100L).orElseThrow().getName()).isEqualTo("Kinematics");
+        assertThat(hierarchyCacheService.getChapterSummary(101L)).isEmpty();
+        assertThat(hierarchyCacheService.getStats().getReloads()).isEqualTo(2L);
+    }
+
+    @Test
+    void statsCountHitsAndMisses() {
+        load(List.of(physics), List.of(chapter(100L, "Motion", physics)));
+
+        hierarchyCacheService.getChapterSummary(100L);
+        hierarchyCacheService.getChapterSummary(100L);
+        hierarchyCacheService.getSubjectSummary(10L);
+        hierarchyCacheService.getChapterSummary(999L);
+        hierarchyCacheService.getChapterSummary(null);
+
+        HierarchyCacheStatsDTO stats = hierarchyCacheService.getStats();
+        assertThat(stats.getHits()).isEqualTo(3L);
+        assertThat(stats.getMisses()).isEqualTo(2L);
+        assertThat(stats.getHitRatio()).isEqualTo(0.6);
+        assertThat(stats.getClassCount()).isEqualTo(1);
+        assertThat(stats.getSubjectCount()).isEqualTo(1);
+        assertThat(stats.getChapterCount()).isEqualTo(1);
+        assertThat(stats.getLoadedAt()).isNotNull();
+    }
+
+    private void load(List<Subject> subjects, List<Chapter> chapters) {
+        when(classRepository.findAll()).thenReturn(List.of(grade9));
+        when(subjectRepository.findAllWithHierarchy()).thenReturn(subjects);
+        when(chapterRepository.findAllWithHierarchy()).thenReturn(chapters);
+        hierarchyCacheService.reload();
+    }
+
+    private static ClassEntity classEntity(Long id, String name) {
+        ClassEntity classEntity = ClassEntity.builder().name(name).build();
+        classEntity.setId(id);
+        return classEntity;
+    }
+
+    private static Subject subject(Long id, String name, ClassEntity classEntity) {
+        Subject subject = Subject.builder().name(name).classEntity(classEntity).build();
+        subject.setId(id);
+        return subject;
+    }
+
+    private static Chapter chapter(Long id, String name, Subject subject) {
+        Chapter chapter = Chapter.builder().name(name).subject(subject).build();
+        chapter.setId(id);
+        return chapter;
+    }
+}
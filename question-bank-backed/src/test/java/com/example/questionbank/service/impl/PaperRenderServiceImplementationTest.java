@@ -0,0 +1,157 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.response.QuestionResponseDTO;
+import com.example.questionbank.exception.RecordNotFoundException;
+import com.example.questionbank.mapper.MCQOptionMapper;
+import com.example.questionbank.mapper.QuestionMapper;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.model.enums.RenderFormat;
+import com.example.questionbank.model.enums.SectionType;
+import com.example.questionbank.render.FormulaText;
+import com.example.questionbank.repository.QuestionRepository;
+import com.example.questionbank.repository.projection.QuestionBlueprintProjection;
+import com.example.questionbank.service.FormulaRenderService;
+import com.example.questionbank.service.RenderedArtifactService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.w3c.dom.NodeList;
+
+import javax.persistence.EntityManager;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * DOCX papers: questions are grouped by section from the projection, numbered through the whole
+ * paper, loaded a section chunk at a time, and a missing question fails before anything is written.
+ */
+@ExtendWith(MockitoExtension.class)
+class PaperRenderServiceImplementationTest {
+
+    private static final String W = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private QuestionMapper questionMapper;
+
+    @Mock
+    private MCQOptionMapper mcqOptionMapper;
+
+    @Mock
+    private RenderedArtifactService renderedArtifactService;
+
+    @Mock
+    private FormulaRenderService formulaRenderService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private PaperRenderServiceImplementation paperRenderService;
+
+    @Test
+    void docxGroupsQuestionsBySectionAndNumbersThemThroughThePaper() throws Exception {
+        when(questionRepository.findBlueprintRowsByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                row(1L, SectionType.MCQ, 1.0),
+                row(2L, SectionType.ESSAY, 10.0),
+                row(3L, SectionType.MCQ, 2.0)));
+        Question first = question(1L, "Which of these is a vector quantity?");
+        Question second = question(2L, "Describe the three laws of motion.");
+        Question third = question(3L, "Which unit measures force?");
+        when(questionRepository.findWithDetailByIdIn(List.of(1L, 3L))).thenReturn(List.of(first, third));
+        when(questionRepository.findWithDetailByIdIn(List.of(2L))).thenReturn(List.of(second));
+        when(questionMapper.toResponseDTOWithoutOptions(first)).thenReturn(dto(first));
+        when(questionMapper.toResponseDTOWithoutOptions(second)).thenReturn(dto(second));
+        when(questionMapper.toResponseDTOWithoutOptions(third)).thenReturn(dto(third));
+        when(mcqOptionMapper.toResponseDTOList(anyList())).thenReturn(List.of());
+        when(formulaRenderService.newDocument()).thenReturn(new FormulaText(formulaRenderService, 11f, 300));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        paperRenderService.renderPaper(List.of(1L, 2L, 3L), "Physics", RenderFormat.DOCX, out);
+
+        assertThat(paragraphs(out.toByteArray())).containsExactly(
+                "Physics",
+                "Total marks: 13.0",
+                "Multiple Choice Questions",
+                "1. Which of these is a vector quantity?[1.0]",
+                "2. Which unit measures force?[1.0]",
+                "Essay Questions",
+                "3. Describe the three laws of motion.[1.0]");
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void missingQuestionFailsBeforeTheDocumentIsStarted() {
+        when(questionRepository.findBlueprintRowsByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(row(1L, SectionType.MCQ, 1.0)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThatThrownBy(() -> paperRenderService.renderPaper(List.of(1L, 2L), null, RenderFormat.DOCX, out))
+                .isInstanceOf(RecordNotFoundException.class);
+        assertThat(out.size()).isZero();
+        verifyNoInteractions(formulaRenderService);
+    }
+
+    private static QuestionBlueprintProjection row(Long id, SectionType sectionType, Double marks) {
+        Map<String, Object> values = Map.of("getId", id, "getSectionType", sectionType, "getMarks", marks);
+        return (QuestionBlueprintProjection) Proxy.newProxyInstance(
+                QuestionBlueprintProjection.class.getClassLoader(),
+                new Class<?>[]{QuestionBlueprintProjection.class},
+                (proxy, method, args) -> values.get(method.getName()));
+    }
+
+    private static Question question(Long id, String text) {
+        Question question = new Question();
+        question.setId(id);
+        question.setQuestionText(text);
+        return question;
+    }
+
+    private static QuestionResponseDTO dto(Question question) {
+        return QuestionResponseDTO.builder()
+                .id(question.getId())
+                .questionText(question.getQuestionText())
+                .marks(1.0)
+                .build();
+    }
+
+    private static List<String> paragraphs(byte[] docx) throws Exception {
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(docx))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                if (entry.getName().equals("word/document.xml")) {
+                    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+                    factory.setNamespaceAware(true);
+                    NodeList nodes = factory.newDocumentBuilder()
+                            .parse(new ByteArrayInputStream(zip.readAllBytes()))
+                            .getElementsByTagNameNS(W, "p");
+                    List<String> texts = new ArrayList<>();
+                    for (int i = 0; i < nodes.getLength(); i++) {
+                        texts.add(nodes.item(i).getTextContent());
+                    }
+                    return texts;
+                }
+            }
+        }
+        throw new IOException("No document part");
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.service.FormulaRenderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * PDF rendering into a caller's stream: the document is written through, the stream is flushed
+ * but left open, and the template version follows the formula settings.
+ */
+class PdfServiceTest {
+
+    private FormulaRenderService formulaRenderService;
+    private PdfService pdfService;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        formulaRenderService = mock(FormulaRenderService.class);
+        when(formulaRenderService.getSettingsKey()).thenReturn("png-300");
+        pdfService = new PdfService(templateEngine, formulaRenderService);
+    }
+
+    @Test
+    void writesTheDocumentIntoTheCallersStreamAndLeavesItOpen() {
+        TrackingOutputStream out = new TrackingOutputStream();
+
+        pdfService.writePdf(emptyPaper(), out);
+
+        assertThat(new String(out.toByteArray(), 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+        assertThat(out.flushed).isTrue();
+        assertThat(out.closed).isFalse();
+    }
+
+    @Test
+    void templateVersionChangesWithTheFormulaSettings() {
+        assertThat(pdfService.getTemplateVersion()).endsWith("-png-300");
+    }
+
+    private static Context emptyPaper() {
+        Context context = new Context();
+        context.setVariable("title", "Physics Mid-Term");
+        context.setVariable("variant", null);
+        context.setVariable("sections", List.of());
+        context.setVariable("offsets", List.of());
+        context.setVariable("optionLabels", List.of());
+        context.setVariable("totalMarks", 0.0);
+        return context;
+    }
+
+    private static class TrackingOutputStream extends ByteArrayOutputStream {
+
+        boolean flushed;
+        boolean closed;
+
+        @Override
+        public void flush() {
+            flushed = true;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.response.QuestionCounterReportDTO;
+import com.example.questionbank.model.Chapter;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.model.QuestionCounter;
+import com.example.questionbank.model.QuestionCounterKey;
+import com.example.questionbank.model.enums.DifficultyLevel;
+import com.example.questionbank.model.enums.SectionType;
+import com.example.questionbank.repository.QuestionCounterRepository;
+import com.example.questionbank.repository.QuestionRepository;
+import com.example.questionbank.repository.projection.QuestionCounterProjection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Which counter rows the question write paths adjust, and how stored counters are checked
+ * against the questions table.
+ */
+@ExtendWith(MockitoExtension.class)
+class QuestionCounterServiceImplementationTest {
+
+    @Mock
+    private QuestionCounterRepository questionCounterRepository;
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @InjectMocks
+    private QuestionCounterServiceImplementation questionCounterService;
+
+    @Test
+    void createdQuestionsUpsertOncePerKeyInKeyOrder() {
+        questionCounterService.onQuestionsCreated(List.of(
+                question(2L, SectionType.MCQ, DifficultyLevel.EASY),
+                question(1L, SectionType.SHORT_QUESTION, null),
+                question(2L, SectionType.MCQ, DifficultyLevel.EASY),
+                question(2L, SectionType.MCQ, DifficultyLevel.EASY)));
+
+        InOrder upserts = inOrder(questionCounterRepository);
+        upserts.verify(questionCounterRepository).upsertCount(1L, "SHORT_QUESTION", QuestionCounter.NO_DIFFICULTY, true, 1L);
+        upserts.verify(questionCounterRepository).upsertCount(2L, "MCQ", "EASY", true, 3L);
+        verifyNoMoreInteractions(questionCounterRepository);
+    }
+
+    @Test
+    void questionsWithoutAChapterAreNotCounted() {
+        questionCounterService.onQuestionCreated(question(null, SectionType.MCQ, DifficultyLevel.EASY));
+
+        verifyNoInteractions(questionCounterRepository);
+    }
+
+    @Test
+    void unchangedKeyLeavesCountersAlone() {
+        Question question = question(1L, SectionType.MCQ, DifficultyLevel.HARD);
+
+        questionCounterService.onQuestionChanged(QuestionCounterKey.of(question), question);
+
+        verifyNoInteractions(questionCounterRepository);
+    }
+
+    @Test
+    void changedKeyMovesTheQuestionBetweenRows() {
+        Question question = question(1L, SectionType.MCQ, DifficultyLevel.HARD);
+        QuestionCounterKey before = QuestionCounterKey.of(question);
+        question.setDifficultyLevel(null);
+
+        questionCounterService.onQuestionChanged(before, question);
+
+        verify(questionCounterRepository).upsertCount(1L, "MCQ", "HARD", true, -1L);
+        verify(questionCounterRepository).upsertCount(1L, "MCQ", QuestionCounter.NO_DIFFICULTY, true, 1L);
+        verifyNoMoreInteractions(questionCounterRepository);
+    }
+
+    @Test
+    void activeChangeMovesGroupedCounts() {
+        QuestionCounterKey easy = new QuestionCounterKey(1L, SectionType.MCQ, DifficultyLevel.EASY, true);
+        QuestionCounterKey essay = new QuestionCounterKey(1L, SectionType.ESSAY, null, true);
+
+        questionCounterService.onQuestionsActiveChanged(List.of(easy, essay, easy), false);
+
+        InOrder upserts = inOrder(questionCounterRepository);
+        upserts.verify(questionCounterRepository).upsertCount(1L, "MCQ", "EASY", true, -2L);
+        upserts.verify(questionCounterRepository).upsertCount(1L, "MCQ", "EASY", false, 2L);
+        upserts.verify(questionCounterRepository).upsertCount(1L, "ESSAY", QuestionCounter.NO_DIFFICULTY, true, -1L);
+        upserts.verify(questionCounterRepository).upsertCount(1L, "ESSAY", QuestionCounter.NO_DIFFICULTY, false, 1L);
+        verifyNoMoreInteractions(questionCounterRepository);
+    }
+
+    @Test
+    void verifyMatchesRowsWithoutDifficultyAndReportsDrift() {
+        when(questionRepository.aggregateQuestionCounters()).thenReturn(List.of(
+                projection(1L, SectionType.MCQ, null, true, 4L),
+                projection(1L, SectionType.MCQ, DifficultyLevel.EASY, true, 3L),
+                projection(2L, SectionType.ESSAY, DifficultyLevel.HARD, false, 1L)));
+        when(questionCounterRepository.findAll()).thenReturn(List.of(
+                counter(1L, SectionType.MCQ, QuestionCounter.NO_DIFFICULTY, true, 4L),
+                counter(1L, SectionType.MCQ, "EASY", true, 2L),
+                counter(1L, SectionType.LONG_QUESTION, "MEDIUM", true, 0L)));
+
+        QuestionCounterReportDTO report = questionCounterService.verifyCounters();
+
+        assertThat(report.getCheckedKeys()).isEqualTo(3);
+        assertThat(report.getDriftCount()).isEqualTo(2);
+        assertThat(report.getRebuilt()).isFalse();
+        assertThat(report.getDrifts().stream()
+                .map(drift -> drift.getChapterId() + "/" + drift.getSectionType() + "/" + drift.getDifficultyLevel()
+                        + "=" + drift.getStoredCount() + "->" + drift.getExpectedCount()))
+                .containsExactlyInAnyOrder("1/MCQ/EASY=2->3", "2/ESSAY/HARD=0->1");
+    }
+
+    @Test
+    void rebuildRecountsInPlaceAndReportsWhatDrifted() {
+        when(questionRepository.aggregateQuestionCounters()).thenReturn(List.of(
+                projection(1L, SectionType.MCQ, DifficultyLevel.EASY, true, 3L)));
+        when(questionCounterRepository.findAll()).thenReturn(List.of(
+                counter(1L, SectionType.MCQ, "EASY", true, 2L)));
+
+        QuestionCounterReportDTO report = questionCounterService.rebuildCounters();
+
+        assertThat(report.getRebuilt()).isTrue();
+        assertThat(report.getDriftCount()).isEqualTo(1);
+        // One statement recounts the rows, so no window opens in which concurrent upserts are lost
+        verify(questionCounterRepository).findAll();
+        verify(questionCounterRepository).rebuildAll();
+        verifyNoMoreInteractions(questionCounterRepository);
+    }
+
+    @Test
+    void difficultyColumnRoundTrips() {
+        for (DifficultyLevel difficulty : DifficultyLevel.values()) {
+            assertThat(QuestionCounter.fromDifficultyColumn(QuestionCounter.toDifficultyColumn(difficulty))).isEqualTo(difficulty);
+        }
+        assertThat(QuestionCounter.toDifficultyColumn(null)).isEqualTo(QuestionCounter.NO_DIFFICULTY);
+        assertThat(QuestionCounter.fromDifficultyColumn(QuestionCounter.NO_DIFFICULTY)).isNull();
+    }
+
+    private static Question question(Long chapterId, SectionType sectionType, DifficultyLevel difficulty) {
+        return Question.builder()
+                .chapter(chapterId != null ? chapter(chapterId) : null)
+                .sectionType(sectionType)
+                .difficultyLevel(difficulty)
+                .build();
+    }
+
+    private static Chapter chapter(Long id) {
+        Chapter chapter = Chapter.builder().name("Chapter " + id).build();
+        chapter.setId(id);
+        return chapter;
+    }
+
+    private static QuestionCounter counter(Long chapterId, SectionType sectionType, String difficulty,
+                                           boolean active, long count) {
+        return QuestionCounter.builder()
+                .chapter(chapter(chapterId))
+                .sectionType(sectionType)
+                .difficultyLevel(difficulty)
+                .isActive(active)
+                .questionCount(count)
+                .build();
+    }
+
+    private static QuestionCounterProjection projection(Long chapterId, SectionType sectionType,
+                                                        DifficultyLevel difficulty, boolean active, long count) {
+        return new QuestionCounterProjection() {
+            @Override
+            public Long getChapterId() {
+                return chapterId;
+            }
+
+            @Override
+            public SectionType getSectionType() {
+                return sectionType;
+            }
+
+            @Override
+            public DifficultyLevel getDifficultyLevel() {
+                return difficulty;
+            }
+
+            @Override
+            public Boolean getIsActive() {
+                return active;
+            }
+
+            @Override
+            public Long getQuestionCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.exception.RecordNotFoundException;
+import com.example.questionbank.model.enums.QuestionExportFormat;
+import com.example.questionbank.model.enums.SectionType;
+import com.example.questionbank.repository.ClassRepository;
+import com.example.questionbank.repository.MCQOptionRepository;
+import com.example.questionbank.repository.QuestionRepository;
+import com.example.questionbank.repository.SubjectRepository;
+import com.example.questionbank.repository.projection.QuestionExportRowProjection;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Streaming exports: option rows of the joined export query are gathered under their question,
+ * questions without active options are written once, and unknown scopes are rejected before the
+ * stream is opened.
+ */
+@ExtendWith(MockitoExtension.class)
+class QuestionExportServiceImplementationTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private MCQOptionRepository mcqOptionRepository;
+
+    @Mock
+    private SubjectRepository subjectRepository;
+
+    @Mock
+    private ClassRepository classRepository;
+
+    @InjectMocks
+    private QuestionExportServiceImplementation exportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(exportService, "batchSize", 2);
+    }
+
+    @Test
+    void ndjsonGathersOptionRowsUnderTheirQuestion() throws IOException {
+        when(subjectRepository.existsById(5L)).thenReturn(true);
+        when(questionRepository.streamExportRowsBySubjectId(5L)).thenReturn(Stream.of(
+                row(1L, "Which of these is a vector quantity?", 11L, "Speed", false, 1),
+                row(1L, "Which of these is a vector quantity?", 12L, "Velocity", true, 2),
+                row(2L, "Describe the three laws of motion.", null, null, null, null),
+                row(3L, "Which unit measures force?", 31L, "Newton", true, 1)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportBySubject(5L, QuestionExportFormat.NDJSON, false, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+
+        JsonNode first = JSON.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("mcqOptions")).hasSize(2);
+        assertThat(first.get("mcqOptions").get(1).get("optionText").asText()).isEqualTo("Velocity");
+        assertThat(first.get("mcqOptions").get(1).get("isCorrect").asBoolean()).isTrue();
+
+        JsonNode second = JSON.readTree(lines[1]);
+        assertThat(second.get("id").asLong()).isEqualTo(2L);
+        assertThat(second.get("mcqOptions")).isEmpty();
+
+        assertThat(JSON.readTree(lines[2]).get("mcqOptions")).hasSize(1);
+    }
+
+    @Test
+    void compressedCsvHasTheHeaderAndOneLinePerQuestion() throws IOException {
+        when(classRepository.existsById(7L)).thenReturn(true);
+        when(mcqOptionRepository.findActiveOptionCountsByClassId(7L, PageRequest.of(0, 1)))
+                .thenReturn(List.of(2L));
+        when(questionRepository.streamExportRowsByClassId(7L)).thenReturn(Stream.of(
+                row(1L, "Which of these is a vector quantity?", 11L, "Speed", false, 1),
+                row(1L, "Which of these is a vector quantity?", 12L, "Velocity", true, 2),
+                row(2L, "Describe the three laws of motion.", null, null, null, null)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportByClass(7L, QuestionExportFormat.CSV, true, out);
+
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = csv.split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[1]).contains("Speed,Velocity");
+        assertThat(lines[2]).contains("Describe the three laws of motion.");
+    }
+
+    @Test
+    void unknownSubjectIsRejectedBeforeTheStreamOpens() {
+        when(subjectRepository.existsById(5L)).thenReturn(false);
+
+        assertThatThrownBy(() -> exportService.exportBySubject(5L, QuestionExportFormat.NDJSON, false,
+                new ByteArrayOutputStream()))
+                .isInstanceOf(RecordNotFoundException.class);
+        verifyNoInteractions(questionRepository);
+    }
+
+    // Backs the projection's getters with a map, as Spring Data does with a tuple
+    private static QuestionExportRowProjection row(Long id, String text, Long optionId, String optionText,
+                                                   Boolean correct, Integer optionOrder) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("Id", id);
+        values.put("QuestionId", id);
+        values.put("ChapterId", 100L);
+        values.put("ChapterName", "Motion");
+        values.put("SubjectId", 5L);
+        values.put("SubjectName", "Physics");
+        values.put("SectionType", optionId != null ? SectionType.MCQ : SectionType.ESSAY);
+        values.put("Marks", 1.0);
+        values.put("QuestionText", text);
+        values.put("IsActive", true);
+        values.put("OptionId", optionId);
+        values.put("OptionText", optionText);
+        values.put("IsCorrect", correct);
+        values.put("OptionOrder", optionOrder);
+        return (QuestionExportRowProjection) Proxy.newProxyInstance(
+                QuestionExportRowProjection.class.getClassLoader(),
+                new Class<?>[]{QuestionExportRowProjection.class},
+                (proxy, method, args) -> values.get(method.getName().substring("get".length())));
+    }
+}
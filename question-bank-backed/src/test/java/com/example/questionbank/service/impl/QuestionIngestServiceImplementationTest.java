@@ -0,0 +1,217 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.request.CreateQuestionRequestDTO;
+import com.example.questionbank.dto.response.BulkIngestItemDTO;
+import com.example.questionbank.dto.response.BulkIngestReportDTO;
+import com.example.questionbank.dto.response.NearDuplicateDTO;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.model.enums.BulkIngestItemStatus;
+import com.example.questionbank.model.enums.SectionType;
+import com.example.questionbank.repository.ChapterRepository;
+import com.example.questionbank.service.NearDuplicateService;
+import com.example.questionbank.service.QuestionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The bulk ingest pipeline: each question is reported CREATED, INVALID or FAILED, a chunk that
+ * cannot be saved does not stop the others, lost locks are retried once, and the worker pool is
+ * kept within the connection pool.
+ */
+@ExtendWith(MockitoExtension.class)
+class QuestionIngestServiceImplementationTest {
+
+    private static final PlatformTransactionManager NO_TRANSACTIONS = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    };
+
+    @Mock
+    private QuestionService questionService;
+
+    @Mock
+    private NearDuplicateService nearDuplicateService;
+
+    @Mock
+    private ChapterRepository chapterRepository;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private QuestionIngestServiceImplementation ingestService;
+
+    @AfterEach
+    void tearDown() {
+        ingestService.shutdown();
+    }
+
+    @Test
+    void invalidQuestionsAreReportedAndTheRestAreSavedPerChunk() {
+        start(2, 2, 1, 10);
+        CreateQuestionRequestDTO vector = dto("Which of these is a vector quantity?");
+        CreateQuestionRequestDTO tooShort = dto("Force?");
+        CreateQuestionRequestDTO newton = dto("Which unit measures force?");
+        Question vectorQuestion = question(vector);
+        Question newtonQuestion = question(newton);
+        List<NearDuplicateDTO> similar = List.of(NearDuplicateDTO.builder().questionId(40L).build());
+        when(chapterRepository.findExistingIdsByIdIn(Set.of(5L))).thenReturn(List.of(5L));
+        when(questionService.getCreationErrors(any(CreateQuestionRequestDTO.class), eq(true))).thenReturn(Map.of());
+        when(questionService.toNewQuestion(vector)).thenReturn(vectorQuestion);
+        when(questionService.toNewQuestion(newton)).thenReturn(newtonQuestion);
+        when(nearDuplicateService.findNearDuplicates(vector.getQuestionText(), null)).thenReturn(similar);
+        when(nearDuplicateService.findNearDuplicates(newton.getQuestionText(), null)).thenReturn(List.of());
+        when(questionService.saveNewQuestions(List.of(vectorQuestion))).thenReturn(List.of(101L));
+        when(questionService.saveNewQuestions(List.of(newtonQuestion))).thenReturn(List.of(102L));
+
+        BulkIngestReportDTO report = ingestService.ingest(Arrays.asList(vector, tooShort, newton, null));
+
+        assertThat(report.getRequestedCount()).isEqualTo(4);
+        assertThat(report.getCreatedCount()).isEqualTo(2);
+        assertThat(report.getInvalidCount()).isEqualTo(2);
+        assertThat(report.getFailedCount()).isZero();
+        List<BulkIngestItemDTO> items = report.getItems();
+        assertThat(items.get(0).getQuestionId()).isEqualTo(101L);
+        assertThat(items.get(0).getNearDuplicates()).isEqualTo(similar);
+        assertThat(items.get(1).getStatus()).isEqualTo(BulkIngestItemStatus.INVALID);
+        assertThat(items.get(1).getErrors()).containsKey("questionText");
+        assertThat(items.get(2).getIndex()).isEqualTo(2);
+        assertThat(items.get(2).getQuestionId()).isEqualTo(102L);
+        assertThat(items.get(3).getErrors()).containsEntry("question", "Question is required");
+    }
+
+    @Test
+    void unknownChapterIsInvalidAndNothingIsSaved() {
+        start(2, 2, 1, 10);
+        CreateQuestionRequestDTO vector = dto("Which of these is a vector quantity?");
+        when(chapterRepository.findExistingIdsByIdIn(Set.of(5L))).thenReturn(List.of());
+        when(questionService.getCreationErrors(vector, false)).thenReturn(Map.of("chapterId", "Chapter not found"));
+
+        BulkIngestReportDTO report = ingestService.ingest(List.of(vector));
+
+        assertThat(report.getItems().get(0).getStatus()).isEqualTo(BulkIngestItemStatus.INVALID);
+        assertThat(report.getItems().get(0).getErrors()).containsEntry("chapterId", "Chapter not found");
+        verify(questionService, never()).saveNewQuestions(anyList());
+    }
+
+    @Test
+    void failedChunkIsReportedAndLaterChunksAreStillSaved() {
+        start(1, 2, 1, 10);
+        CreateQuestionRequestDTO vector = dto("Which of these is a vector quantity?");
+        CreateQuestionRequestDTO newton = dto("Which unit measures force?");
+        Question vectorQuestion = question(vector);
+        Question newtonQuestion = question(newton);
+        stubValid(vector, vectorQuestion);
+        stubValid(newton, newtonQuestion);
+        when(questionService.saveNewQuestions(List.of(vectorQuestion)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+        when(questionService.saveNewQuestions(List.of(newtonQuestion))).thenReturn(List.of(102L));
+
+        BulkIngestReportDTO report = ingestService.ingest(List.of(vector, newton));
+
+        assertThat(report.getFailedCount()).isEqualTo(1);
+        assertThat(report.getItems().get(0).getStatus()).isEqualTo(BulkIngestItemStatus.FAILED);
+        assertThat(report.getItems().get(0).getErrors()).containsEntry("question", "Not saved: Duplicate entry");
+        assertThat(report.getItems().get(1).getStatus()).isEqualTo(BulkIngestItemStatus.CREATED);
+    }
+
+    @Test
+    void chunkThatLosesALockIsRetriedOnce() {
+        start(2, 2, 1, 10);
+        CreateQuestionRequestDTO vector = dto("Which of these is a vector quantity?");
+        Question vectorQuestion = question(vector);
+        stubValid(vector, vectorQuestion);
+        when(questionService.saveNewQuestions(List.of(vectorQuestion)))
+                .thenThrow(new PessimisticLockingFailureException("Deadlock found"))
+                .thenReturn(List.of(101L));
+
+        BulkIngestReportDTO report = ingestService.ingest(List.of(vector));
+
+        assertThat(report.getItems().get(0).getQuestionId()).isEqualTo(101L);
+        verify(questionService, times(2)).saveNewQuestions(List.of(vectorQuestion));
+    }
+
+    @Test
+    void workersLeaveHalfTheConnectionPoolFree() {
+        start(2, 16, 2, 10);
+
+        ForkJoinPool workerPool = (ForkJoinPool) ReflectionTestUtils.getField(ingestService, "workerPool");
+        assertThat(workerPool.getParallelism()).isEqualTo(3);
+
+        ingestService.shutdown();
+        start(2, 16, 2, 4);
+        workerPool = (ForkJoinPool) ReflectionTestUtils.getField(ingestService, "workerPool");
+        assertThat(workerPool.getParallelism()).isEqualTo(1);
+    }
+
+    private void start(int chunkSize, int workers, int writers, int connectionPoolSize) {
+        ReflectionTestUtils.setField(ingestService, "transactionTemplate", new TransactionTemplate(NO_TRANSACTIONS));
+        ReflectionTestUtils.setField(ingestService, "chunkSize", chunkSize);
+        ReflectionTestUtils.setField(ingestService, "configuredWorkers", workers);
+        ReflectionTestUtils.setField(ingestService, "writers", writers);
+        ReflectionTestUtils.setField(ingestService, "connectionPoolSize", connectionPoolSize);
+        ingestService.init();
+    }
+
+    private void stubValid(CreateQuestionRequestDTO dto, Question question) {
+        when(chapterRepository.findExistingIdsByIdIn(Set.of(5L))).thenReturn(List.of(5L));
+        when(questionService.getCreationErrors(dto, true)).thenReturn(Map.of());
+        when(questionService.toNewQuestion(dto)).thenReturn(question);
+        when(nearDuplicateService.findNearDuplicates(dto.getQuestionText(), null)).thenReturn(List.of());
+    }
+
+    private static CreateQuestionRequestDTO dto(String text) {
+        return CreateQuestionRequestDTO.builder()
+                .questionText(text)
+                .sectionType(SectionType.SHORT_QUESTION)
+                .chapterId(5L)
+                .build();
+    }
+
+    private static Question question(CreateQuestionRequestDTO dto) {
+        Question question = new Question();
+        question.setQuestionText(dto.getQuestionText());
+        question.setSectionType(dto.getSectionType());
+        return question;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.request.CreateQuestionRequestDTO;
+import com.example.questionbank.exception.ValidationException;
+import com.example.questionbank.model.Chapter;
+import com.example.questionbank.model.MCQOption;
+import com.example.questionbank.model.Question;
+import com.example.questionbank.model.enums.SectionType;
+import com.example.questionbank.repository.ChapterRepository;
+import com.example.questionbank.repository.QuestionRepository;
+import com.example.questionbank.repository.projection.QuestionMarksProjection;
+import com.example.questionbank.service.PaperDraftService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Paper draft totals: marks of the caller's draft questions within a scope, with marks
+ * overrides replacing a question's own marks. Bulk creation: bean constraints are checked
+ * before anything reaches the JDBC batch insert.
+ */
+@ExtendWith(MockitoExtension.class)
+class QuestionServiceImplementationTest {
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private PaperDraftService paperDraftService;
+
+    @Mock
+    private ChapterRepository chapterRepository;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private QuestionServiceImplementation questionService;
+
+    @Test
+    void draftTotalsApplyOverridesWithinTheScope() {
+        when(paperDraftService.getQuestionIdSet()).thenReturn(Set.of(1L, 2L, 3L, 4L));
+        when(paperDraftService.getMarksOverrides()).thenReturn(Map.of(2L, 10.0));
+        when(questionRepository.findActiveMarksByIdIn(Set.of(1L, 2L, 3L, 4L))).thenReturn(List.of(
+                row(1L, 100L, 5L, SectionType.MCQ, 1.0),
+                row(2L, 100L, 5L, SectionType.MCQ, 2.0),
+                row(3L, 101L, 5L, SectionType.LONG_QUESTION, null),
+                row(4L, 200L, 6L, SectionType.LONG_QUESTION, 5.0)));
+
+        assertThat(questionService.getTotalMarksBySubjectAndSection(5L))
+                .containsOnly(entry(SectionType.MCQ, 11.0), entry(SectionType.LONG_QUESTION, 0.0));
+    }
+
+    @Test
+    void chapterTotalCountsOnlyThatChapter() {
+        when(paperDraftService.getQuestionIdSet()).thenReturn(Set.of(1L, 2L));
+        when(paperDraftService.getMarksOverrides()).thenReturn(Map.of());
+        when(questionRepository.findActiveMarksByIdIn(Set.of(1L, 2L))).thenReturn(List.of(
+                row(1L, 100L, 5L, SectionType.MCQ, 1.5),
+                row(2L, 101L, 5L, SectionType.MCQ, 2.0)));
+
+        assertThat(questionService.getTotalMarksByChapter(100L)).isEqualTo(1.5);
+    }
+
+    @Test
+    void emptyDraftTotalsZeroWithoutAQuery() {
+        when(paperDraftService.getQuestionIdSet()).thenReturn(Set.of());
+        when(paperDraftService.getMarksOverrides()).thenReturn(Map.of());
+
+        assertThat(questionService.getTotalMarksBySubject(5L)).isEqualTo(0.0);
+        verifyNoInteractions(questionRepository);
+    }
+
+    @Test
+    void bulkCreateReportsConstraintViolationsOfEachQuestion() {
+        CreateQuestionRequestDTO dto = new CreateQuestionRequestDTO();
+        dto.setQuestionText("Too short");
+        dto.setMarks(null);
+        dto.setChapterId(100L);
+        when(chapterRepository.existsById(100L)).thenReturn(true);
+
+        ValidationException e = catchThrowableOfType(
+                () -> questionService.createQuestions(List.of(dto)), ValidationException.class);
+
+        assertThat(e.getFieldErrors()).containsOnlyKeys("questionText", "sectionType", "marks");
+        verifyNoInteractions(questionRepository);
+    }
+
+    @Test
+    void batchInsertIsSkippedWhenAnEntityBreaksAConstraint() {
+        Question valid = question("What is the unit of force?", 1.0);
+        Question invalid = question("Name it", null);
+        MCQOption option = new MCQOption();
+        option.setQuestion(invalid);
+        invalid.getMcqOptions().add(option);
+
+        ValidationException e = catchThrowableOfType(
+                () -> questionService.saveNewQuestions(List.of(valid, invalid)), ValidationException.class);
+
+        assertThat(e.getFieldErrors()).containsOnlyKeys("questions[1].questionText", "questions[1].marks",
+                "questions[1].mcqOptions.optionText");
+        verifyNoInteractions(questionRepository, chapterRepository);
+    }
+
+    private static Question question(String text, Double marks) {
+        Question question = new Question();
+        question.setQuestionText(text);
+        question.setSectionType(SectionType.MCQ);
+        question.setMarks(marks);
+        question.setChapter(new Chapter());
+        return question;
+    }
+
+    private static QuestionMarksProjection row(Long id, Long chapterId, Long subjectId, SectionType sectionType,
+                                               Double marks) {
+        return new QuestionMarksProjection() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getChapterId() {
+                return chapterId;
+            }
+
+            @Override
+            public Long getSubjectId() {
+                return subjectId;
+            }
+
+            @Override
+            public Long getClassId() {
+                return 1L;
+            }
+
+            @Override
+            public SectionType getSectionType() {
+                return sectionType;
+            }
+
+            @Override
+            public Double getMarks() {
+                return marks;
+            }
+        };
+    }
+}
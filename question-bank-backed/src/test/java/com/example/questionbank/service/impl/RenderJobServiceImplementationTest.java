@@ -0,0 +1,240 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.request.RenderPaperRequestDTO;
+import com.example.questionbank.dto.response.RenderJobDTO;
+import com.example.questionbank.event.RenderJobQueuedEvent;
+import com.example.questionbank.exception.RecordNotFoundException;
+import com.example.questionbank.exception.ServiceUnavailableException;
+import com.example.questionbank.exception.ValidationException;
+import com.example.questionbank.model.RenderJob;
+import com.example.questionbank.model.enums.RenderFormat;
+import com.example.questionbank.model.enums.RenderJobStatus;
+import com.example.questionbank.repository.RenderJobRepository;
+import com.example.questionbank.service.PaperRenderService;
+import com.example.questionbank.service.RenderedArtifactService.CachedArtifact;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * The render job queue: admission against the pending limit, rendering a dispatched job into its
+ * own artifact, recording failures, and hiding other users' jobs.
+ */
+@ExtendWith(MockitoExtension.class)
+class RenderJobServiceImplementationTest {
+
+    private static final PlatformTransactionManager NO_TRANSACTIONS = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    };
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private RenderJobRepository renderJobRepository;
+
+    @Mock
+    private PaperRenderService paperRenderService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private RenderJobServiceImplementation renderJobService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(renderJobService, "transactionTemplate", new TransactionTemplate(NO_TRANSACTIONS));
+        ReflectionTestUtils.setField(renderJobService, "configuredWorkers", 1);
+        ReflectionTestUtils.setField(renderJobService, "maxPending", 2L);
+        ReflectionTestUtils.setField(renderJobService, "directory", directory.resolve("jobs").toString());
+        renderJobService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        renderJobService.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void submitQueuesTheJobAndWakesTheDispatcher() {
+        when(paperRenderService.supports(RenderFormat.PDF)).thenReturn(true);
+        when(renderJobRepository.countByStatusIn(List.of(RenderJobStatus.QUEUED, RenderJobStatus.RUNNING)))
+                .thenReturn(1L);
+        RenderJob saved = job(9L, "anonymous");
+        when(renderJobRepository.save(any(RenderJob.class))).thenReturn(saved);
+        when(renderJobRepository.countByStatusAndIdLessThan(RenderJobStatus.QUEUED, 9L)).thenReturn(1L);
+
+        RenderJobDTO dto = renderJobService.submit(request(RenderFormat.PDF));
+
+        assertThat(dto.getId()).isEqualTo(9L);
+        assertThat(dto.getStatus()).isEqualTo(RenderJobStatus.QUEUED);
+        assertThat(dto.getQueuePosition()).isEqualTo(1L);
+        assertThat(dto.getDownloadUrl()).isNull();
+        verify(eventPublisher).publishEvent(new RenderJobQueuedEvent(9L));
+    }
+
+    @Test
+    void submitIsRefusedOnceTheQueueIsFull() {
+        when(paperRenderService.supports(RenderFormat.PDF)).thenReturn(true);
+        when(renderJobRepository.countByStatusIn(List.of(RenderJobStatus.QUEUED, RenderJobStatus.RUNNING)))
+                .thenReturn(2L);
+
+        assertThatThrownBy(() -> renderJobService.submit(request(RenderFormat.PDF)))
+                .isInstanceOf(ServiceUnavailableException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void unsupportedFormatIsRejectedBeforeTheQueueIsCounted() {
+        when(paperRenderService.supports(RenderFormat.DOCX)).thenReturn(false);
+
+        assertThatThrownBy(() -> renderJobService.submit(request(RenderFormat.DOCX)))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(renderJobRepository);
+    }
+
+    @Test
+    void dispatchedJobIsRenderedIntoItsOwnArtifact() throws Exception {
+        RenderJob job = job(7L, "anonymous");
+        Path cached = Files.write(directory.resolve("cached.pdf"), "%PDF-1.4 paper".getBytes());
+        AtomicBoolean unpinned = new AtomicBoolean();
+        stubQueuedJob(job);
+        when(paperRenderService.renderToArtifact(List.of(1L, 2L), "Physics", RenderFormat.PDF))
+                .thenReturn(artifact(cached, unpinned));
+
+        assertThat(renderJobService.dispatchQueued()).isEqualTo(1);
+        RenderJobDTO dto = renderJobService.awaitJob(7L, Duration.ofSeconds(5)).get(10, TimeUnit.SECONDS);
+
+        assertThat(dto.getStatus()).isEqualTo(RenderJobStatus.COMPLETED);
+        assertThat(dto.getArtifactSize()).isEqualTo(Files.size(cached));
+        assertThat(dto.getDownloadUrl()).isEqualTo("/api/papers/render-jobs/7/artifact");
+        assertThat(unpinned.get()).isTrue();
+        Path artifact = Paths.get(job.getArtifactPath());
+        assertThat(artifact).isEqualTo(directory.resolve("jobs").resolve("job-7.pdf"));
+        assertThat(Files.readAllBytes(artifact)).isEqualTo(Files.readAllBytes(cached));
+    }
+
+    @Test
+    void failedRenderIsRecordedWithoutAPartialFile() throws Exception {
+        RenderJob job = job(7L, "anonymous");
+        stubQueuedJob(job);
+        when(paperRenderService.renderToArtifact(List.of(1L, 2L), "Physics", RenderFormat.PDF))
+                .thenThrow(new IllegalStateException("Template missing"));
+
+        renderJobService.dispatchQueued();
+        RenderJobDTO dto = renderJobService.awaitJob(7L, Duration.ofSeconds(5)).get(10, TimeUnit.SECONDS);
+
+        assertThat(dto.getStatus()).isEqualTo(RenderJobStatus.FAILED);
+        assertThat(dto.getErrorMessage()).isEqualTo("Template missing");
+        assertThat(dto.getDownloadUrl()).isNull();
+        try (var files = Files.list(directory.resolve("jobs"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void otherUsersJobsAreReportedMissing() {
+        when(renderJobRepository.findById(7L)).thenReturn(Optional.of(job(7L, "alice")));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("bob", null,
+                List.of(new SimpleGrantedAuthority("ROLE_TEACHER"))));
+
+        assertThatThrownBy(() -> renderJobService.getJob(7L)).isInstanceOf(RecordNotFoundException.class);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        assertThat(renderJobService.getJob(7L).getId()).isEqualTo(7L);
+    }
+
+    // One queued job; later polls find the queue empty
+    private void stubQueuedJob(RenderJob job) {
+        when(renderJobRepository.findIdsByStatus(RenderJobStatus.QUEUED, PageRequest.of(0, 2)))
+                .thenReturn(List.of(job.getId()), List.of());
+        when(renderJobRepository.claim(eq(job.getId()), any())).thenReturn(1);
+        when(renderJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        // Only read when the waiter registers before the worker is done
+        lenient().when(renderJobRepository.findStatusById(job.getId())).thenReturn(RenderJobStatus.RUNNING);
+    }
+
+    private static RenderJob job(Long id, String owner) {
+        RenderJob job = RenderJob.builder()
+                .owner(owner)
+                .status(RenderJobStatus.QUEUED)
+                .format(RenderFormat.PDF)
+                .title("Physics")
+                .questionIds("1,2")
+                .questionCount(2)
+                .build();
+        job.setId(id);
+        return job;
+    }
+
+    private static RenderPaperRequestDTO request(RenderFormat format) {
+        return RenderPaperRequestDTO.builder()
+                .questionIds(List.of(1L, 2L))
+                .title("Physics")
+                .format(format)
+                .build();
+    }
+
+    private static CachedArtifact artifact(Path file, AtomicBoolean closed) {
+        return new CachedArtifact() {
+            @Override
+            public Path getFile() {
+                return file;
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+    }
+}
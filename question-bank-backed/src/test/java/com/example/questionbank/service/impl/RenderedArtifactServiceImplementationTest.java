@@ -0,0 +1,197 @@
+package com.example.questionbank.service.impl;
+
+import com.example.questionbank.dto.response.ArtifactCacheStatsDTO;
+import com.example.questionbank.model.enums.RenderFormat;
+import com.example.questionbank.service.RenderedArtifactService.CachedArtifact;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The on-disk document cache: hits and misses, LRU eviction under the size cap, pinning of
+ * documents being read, single renders for concurrent misses, and reopening a directory.
+ */
+class RenderedArtifactServiceImplementationTest {
+
+    private static final int DOCUMENT_BYTES = 100;
+
+    @TempDir
+    Path directory;
+
+    private RenderedArtifactServiceImplementation cache;
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cache = open(directory);
+        // Room for two documents
+        ReflectionTestUtils.setField(cache, "maxBytes", 2L * DOCUMENT_BYTES + DOCUMENT_BYTES / 2);
+    }
+
+    @Test
+    void rendersOnceAndServesTheFileAfterwards() throws IOException {
+        try (CachedArtifact first = get("a")) {
+            assertThat(Files.size(first.getFile())).isEqualTo(DOCUMENT_BYTES);
+        }
+        try (CachedArtifact second = get("a")) {
+            assertThat(second.getFile()).isEqualTo(directory.resolve("a.pdf"));
+        }
+
+        ArtifactCacheStatsDTO stats = cache.getStats();
+        assertThat(renders.get()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedDocumentOverTheCap() {
+        get("a").close();
+        get("b").close();
+        get("a").close();
+        get("c").close();
+
+        assertThat(Files.exists(directory.resolve("a.pdf"))).isTrue();
+        assertThat(Files.exists(directory.resolve("b.pdf"))).isFalse();
+        assertThat(Files.exists(directory.resolve("c.pdf"))).isTrue();
+        assertThat(cache.getStats().getEvictions()).isEqualTo(1);
+        assertThat(cache.getStats().getTotalBytes()).isEqualTo(2L * DOCUMENT_BYTES);
+    }
+
+    @Test
+    void pinnedDocumentsOutliveTheCapUntilClosed() {
+        CachedArtifact a = get("a");
+        CachedArtifact b = get("b");
+        CachedArtifact c = get("c");
+
+        assertThat(Files.exists(a.getFile())).isTrue();
+        assertThat(cache.getStats().getEvictions()).isZero();
+
+        a.close();
+
+        assertThat(Files.exists(a.getFile())).isFalse();
+        assertThat(Files.exists(b.getFile())).isTrue();
+        assertThat(cache.getStats().getEntryCount()).isEqualTo(2);
+
+        b.close();
+        c.close();
+    }
+
+    @Test
+    void clearingKeepsPinnedFilesUntilTheirReadersClose() {
+        CachedArtifact a = get("a");
+        get("b").close();
+
+        cache.clear();
+
+        assertThat(Files.exists(a.getFile())).isTrue();
+        assertThat(Files.exists(directory.resolve("b.pdf"))).isFalse();
+        assertThat(cache.getStats().getEntryCount()).isZero();
+
+        a.close();
+        a.close();
+
+        assertThat(Files.exists(a.getFile())).isFalse();
+    }
+
+    @Test
+    void concurrentMissesShareOneRender() throws Exception {
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<CachedArtifact> first = executor.submit(() -> cache.getOrRender("a", RenderFormat.PDF, out -> {
+                rendering.countDown();
+                await(finish);
+                out.write(new byte[DOCUMENT_BYTES]);
+            }));
+            rendering.await(10, TimeUnit.SECONDS);
+            Future<CachedArtifact> second = executor.submit(() -> cache.getOrRender("a", RenderFormat.PDF, out -> {
+                throw new IllegalStateException("Rendered twice");
+            }));
+            // Let the second request reach the running render before it completes
+            Thread.sleep(100);
+            finish.countDown();
+
+            try (CachedArtifact a = first.get(10, TimeUnit.SECONDS); CachedArtifact b = second.get(10, TimeUnit.SECONDS)) {
+                assertThat(b.getFile()).isEqualTo(a.getFile());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ArtifactCacheStatsDTO stats = cache.getStats();
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getHits() + stats.getJoins()).isEqualTo(1);
+    }
+
+    @Test
+    void failedRenderIsNotCachedAndLeavesNoPartialFile() throws IOException {
+        assertThatThrownBy(() -> cache.getOrRender("a", RenderFormat.PDF, out -> {
+            out.write(new byte[10]);
+            throw new IOException("Template missing");
+        })).isInstanceOf(RuntimeException.class).hasMessage("Failed to render artifact a");
+
+        try (CachedArtifact a = get("a")) {
+            assertThat(Files.size(a.getFile())).isEqualTo(DOCUMENT_BYTES);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(file -> file.getFileName().toString())).containsExactly("a.pdf");
+        }
+    }
+
+    @Test
+    void reopeningTheDirectoryKeepsDocumentsAndDropsPartialOnes() throws IOException {
+        get("a").close();
+        get("b").close();
+        Files.write(directory.resolve("c123.part"), new byte[5]);
+
+        RenderedArtifactServiceImplementation reopened = open(directory);
+
+        try (CachedArtifact a = reopened.getOrRender("a", RenderFormat.PDF, out -> {
+            throw new IllegalStateException("Should have been cached");
+        })) {
+            assertThat(Files.size(a.getFile())).isEqualTo(DOCUMENT_BYTES);
+        }
+        assertThat(reopened.getStats().getEntryCount()).isEqualTo(2);
+        assertThat(Files.exists(directory.resolve("c123.part"))).isFalse();
+    }
+
+    private CachedArtifact get(String key) {
+        return cache.getOrRender(key, RenderFormat.PDF, out -> {
+            renders.incrementAndGet();
+            out.write(new byte[DOCUMENT_BYTES]);
+        });
+    }
+
+    private static RenderedArtifactServiceImplementation open(Path directory) throws IOException {
+        RenderedArtifactServiceImplementation cache = new RenderedArtifactServiceImplementation();
+        ReflectionTestUtils.setField(cache, "directory", directory.toString());
+        ReflectionTestUtils.setField(cache, "maxSizeMb", 1L);
+        cache.init();
+        return cache;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
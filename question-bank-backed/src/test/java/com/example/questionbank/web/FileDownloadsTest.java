@@ -0,0 +1,101 @@
+package com.example.questionbank.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * File downloads: handed to Tomcat's sendfile when the connector offers it and the caller allows
+ * it, otherwise copied from the file channel into the response.
+ */
+@ExtendWith(MockitoExtension.class)
+class FileDownloadsTest {
+
+    private static final String CONTENT_TYPE = "application/pdf";
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private Path file;
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.write(directory.resolve("paper.pdf"), "%PDF-1.4 paper".getBytes());
+    }
+
+    @Test
+    void sendfileIsUsedWhenTheConnectorSupportsIt() throws IOException {
+        when(request.getAttribute("org.apache.tomcat.sendfile.support")).thenReturn(Boolean.TRUE);
+
+        FileDownloads.send(file, CONTENT_TYPE, "paper.pdf", true, request, response);
+
+        verify(response).setContentType(CONTENT_TYPE);
+        verify(response).setContentLengthLong(Files.size(file));
+        verify(response).setHeader("Content-Disposition", "attachment; filename=\"paper.pdf\"");
+        verify(request).setAttribute("org.apache.tomcat.sendfile.filename", file.toAbsolutePath().toString());
+        verify(request).setAttribute("org.apache.tomcat.sendfile.start", 0L);
+        verify(request).setAttribute("org.apache.tomcat.sendfile.end", Files.size(file));
+        assertThat(body.size()).isEqualTo(0);
+    }
+
+    @Test
+    void fileIsCopiedWhenSendfileIsNotAllowed() throws IOException {
+        when(response.getOutputStream()).thenReturn(servletStream());
+
+        FileDownloads.send(file, CONTENT_TYPE, "paper.pdf", false, request, response);
+
+        assertThat(body.toByteArray()).isEqualTo(Files.readAllBytes(file));
+        verify(response).flushBuffer();
+    }
+
+    @Test
+    void fileIsCopiedWhenTheConnectorHasNoSendfile() throws IOException {
+        when(request.getAttribute("org.apache.tomcat.sendfile.support")).thenReturn(null);
+        when(response.getOutputStream()).thenReturn(servletStream());
+
+        FileDownloads.send(file, CONTENT_TYPE, "paper.pdf", true, request, response);
+
+        assertThat(body.toByteArray()).isEqualTo(Files.readAllBytes(file));
+    }
+
+    private ServletOutputStream servletStream() {
+        return new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+        };
+    }
+}